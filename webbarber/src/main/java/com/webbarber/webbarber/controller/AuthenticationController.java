@@ -1,5 +1,7 @@
 package com.webbarber.webbarber.controller;
 
+import com.webbarber.webbarber.dto.RefreshTokenDTO;
+import com.webbarber.webbarber.exception.InvalidRefreshTokenException;
 import com.webbarber.webbarber.exception.UserAlreadyExistsException;
 import com.webbarber.webbarber.service.AuthenticationService;
 import jakarta.transaction.Transactional;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 /**
@@ -47,6 +50,34 @@ public class AuthenticationController {
         return ResponseEntity.ok(loginResponse);
     }
 
+    /**
+     * Endpoint para renovação do token de acesso a partir de um refresh token.
+     * Não há verificação de senha; o refresh token informado é consumido e substituído.
+     *
+     * @param data Objeto contendo o refresh token atual.
+     * @return ResponseEntity contendo o novo token de autenticação e o novo refresh token.
+     */
+    @PostMapping("/refresh")
+    @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody @Valid RefreshTokenDTO data) {
+        var loginResponse = authenticationService.refresh(data.refreshToken());
+        return ResponseEntity.ok(loginResponse);
+    }
+
+    /**
+     * Endpoint para encerramento da sessão. O token de acesso atual deixa de ser aceito imediatamente
+     * e os refresh tokens do usuário são revogados.
+     *
+     * @param authorization Cabeçalho Authorization contendo o token de acesso.
+     * @return ResponseEntity informando o sucesso do logout.
+     */
+    @PostMapping("/logout")
+    @Transactional
+    public ResponseEntity<String> logout(@RequestHeader("Authorization") String authorization) {
+        authenticationService.logout(authorization.replace("Bearer ", ""));
+        return ResponseEntity.ok("Sessão encerrada com sucesso.");
+    }
+
     /**
      * Endpoint para registro de novos usuários.
      *
@@ -80,4 +111,15 @@ public class AuthenticationController {
     public ResponseEntity<String> handleInternalAuthenticationServiceException() {
         return ResponseEntity.status(HttpStatus.CONFLICT).body("Número de telefone e/ou senha inválida");
     }
+
+    /**
+     * Manipula exceções de refresh token inválido, expirado ou reutilizado.
+     *
+     * @param ex Exceção lançada na validação do refresh token.
+     * @return ResponseEntity com status não autorizado e a mensagem de erro correspondente.
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<String> handleInvalidRefreshTokenException(InvalidRefreshTokenException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+    }
 }
@@ -1,11 +1,16 @@
 package com.webbarber.webbarber.controller;
 
 import com.webbarber.webbarber.dto.BookingDTO;
-import com.webbarber.webbarber.dto.BookingInfoDTO;
+import com.webbarber.webbarber.dto.QueueTicketDTO;
 import com.webbarber.webbarber.dto.RequestBookingDTO;
 import com.webbarber.webbarber.exception.*;
+import com.webbarber.webbarber.infra.admission.BookingAdmissionController;
+import com.webbarber.webbarber.infra.waitingroom.BookingWaitingRoom;
+import com.webbarber.webbarber.service.BarberService;
 import com.webbarber.webbarber.service.BookingService;
 import jakarta.transaction.Transactional;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -13,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controlador responsável pelo gerenciamento de agendamentos.
@@ -20,14 +26,24 @@ import java.util.List;
 @RestController
 public class BookingController {
     private final BookingService bookingService;
+    private final BarberService barberService;
+    private final BookingAdmissionController admissionController;
+    private final BookingWaitingRoom waitingRoom;
 
     /**
      * Construtor da classe BookingController.
      *
      * @param bookingService Serviço de agendamento utilizado pelo controlador.
+     * @param barberService Serviço de barbeiros, usado para identificar o barbeiro autenticado.
+     * @param admissionController Controle de admissão que limita os agendamentos simultâneos.
+     * @param waitingRoom Sala de espera virtual para as aberturas de agenda.
      */
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BarberService barberService,
+                             BookingAdmissionController admissionController, BookingWaitingRoom waitingRoom) {
         this.bookingService = bookingService;
+        this.barberService = barberService;
+        this.admissionController = admissionController;
+        this.waitingRoom = waitingRoom;
     }
 
     /**
@@ -39,31 +55,75 @@ public class BookingController {
      */
     @PostMapping("/book")
     public ResponseEntity<String> newBooking(Authentication authentication, @RequestBody RequestBookingDTO bookingData) {
-        String userId = bookingService.getUserIdByPhone(authentication.getName());
-        bookingService.bookAppointment(userId, bookingData);
+        UUID userId = bookingService.getUserIdByPhone(authentication.getName());
+        admissionController.execute(bookingData.barberId(), () -> bookingService.bookAppointment(userId, bookingData));
         return ResponseEntity.ok("Horário reservado com sucesso.");
     }
 
     /**
-     * Obtém todos os agendamentos para uma determinada data.
+     * Entra na sala de espera com uma solicitação de agendamento.
      *
-     * @param date Data dos agendamentos.
-     * @return Lista de agendamentos.
+     * @param authentication Informações do usuário autenticado.
+     * @param bookingData    Dados do agendamento a ser criado quando o ticket for admitido.
+     * @return O ticket, com a posição na fila.
+     */
+    @PostMapping("/book/queue")
+    public ResponseEntity<QueueTicketDTO> enqueueBooking(Authentication authentication, @RequestBody RequestBookingDTO bookingData) {
+        UUID userId = bookingService.getUserIdByPhone(authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(waitingRoom.enqueue(authentication.getName(), userId, bookingData));
+    }
+
+    /**
+     * Consulta a posição ou o resultado de um ticket da sala de espera.
+     *
+     * @param authentication Informações do usuário autenticado.
+     * @param ticketId       ID do ticket.
+     * @return A situação do ticket.
+     */
+    @GetMapping("/book/queue/{ticketId}")
+    public ResponseEntity<QueueTicketDTO> getTicket(Authentication authentication, @PathVariable String ticketId) {
+        return ResponseEntity.ok(waitingRoom.poll(authentication.getName(), ticketId));
+    }
+
+    /**
+     * Obtém os agendamentos do cliente autenticado, com todos os barbeiros.
+     * Com {@code date}, retorna apenas os agendamentos desse dia. Sem {@code from}, retorna apenas os agendamentos
+     * ainda não arquivados; com {@code from} anterior à data de corte do arquivamento, inclui também os
+     * agendamentos arquivados do intervalo.
+     *
+     * @param authentication Informações do usuário autenticado.
+     * @param date Data dos agendamentos, opcional (equivale a {@code from} e {@code to} iguais).
+     * @param from Data inicial (inclusiva), opcional.
+     * @param to Data final (inclusiva), opcional.
+     * @return Lista de agendamentos do cliente.
      */
     @GetMapping("/schedules/my-schedules/all")
-    public ResponseEntity<List<BookingInfoDTO>> getAllSchedules(@RequestParam LocalDate date) {
-        return ResponseEntity.ok(bookingService.getAllSchedules(date));
+    public ResponseEntity<List<BookingDTO>> getAllSchedules(Authentication authentication,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UUID userId = bookingService.getUserIdByPhone(authentication.getName());
+        if(date != null) return ResponseEntity.ok(bookingService.getAllSchedulesByUser(userId, date, date));
+        return ResponseEntity.ok(bookingService.getAllSchedulesByUser(userId, from, to));
     }
 
     /**
-     * Obtém todos os agendamentos de um usuário específico.
+     * Obtém os agendamentos de um cliente com o barbeiro autenticado.
+     * Sem {@code from}, retorna apenas os agendamentos ainda não arquivados; com {@code from} anterior à data de
+     * corte do arquivamento, inclui também os agendamentos arquivados do intervalo.
      *
+     * @param authentication Informações do barbeiro autenticado.
      * @param userId ID do usuário.
-     * @return Lista de agendamentos do usuário.
+     * @param from Data inicial (inclusiva), opcional.
+     * @param to Data final (inclusiva), opcional.
+     * @return Lista de agendamentos do usuário com o barbeiro.
      */
     @GetMapping("/barber/schedules/all/{userId}")
-    public ResponseEntity<List<BookingDTO>> getAllSchedulesByUser(@PathVariable String userId) {
-        return ResponseEntity.ok(bookingService.getAllSchedulesByUser(userId));
+    public ResponseEntity<List<BookingDTO>> getAllSchedulesByUser(Authentication authentication, @PathVariable UUID userId,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        return ResponseEntity.ok(bookingService.getAllSchedulesByBarberAndUser(barberId, userId, from, to));
     }
 
     /**
@@ -74,7 +134,7 @@ public class BookingController {
      */
     @DeleteMapping("/barber/schedules/{bookingId}/cancel")
     @Transactional
-    public ResponseEntity<String> deleteBooking(@PathVariable String bookingId) {
+    public ResponseEntity<String> deleteBooking(@PathVariable UUID bookingId) {
         bookingService.cancelAppointment(bookingId);
         return ResponseEntity.ok("Agendamento cancelado com sucesso.");
     }
@@ -122,4 +182,28 @@ public class BookingController {
     public ResponseEntity<String> handleBookingNotFoundException(BookingNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    /**
+     * Manipula exceções quando o agendamento é descartado por excesso de carga.
+     *
+     * @param ex Exceção lançada.
+     * @return Resposta HTTP com status 503, cabeçalho Retry-After e mensagem de erro.
+     */
+    @ExceptionHandler(BookingOverloadedException.class)
+    public ResponseEntity<String> handleBookingOverloadedException(BookingOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionController.retryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Manipula exceções quando um ticket da sala de espera não é encontrado.
+     *
+     * @param ex Exceção lançada.
+     * @return Resposta HTTP com status 404 e mensagem de erro.
+     */
+    @ExceptionHandler(TicketNotFoundException.class)
+    public ResponseEntity<String> handleTicketNotFoundException(TicketNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
 }
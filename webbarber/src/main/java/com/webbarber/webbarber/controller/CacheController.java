@@ -0,0 +1,36 @@
+package com.webbarber.webbarber.controller;
+
+import com.webbarber.webbarber.dto.CacheRegionStatsDTO;
+import com.webbarber.webbarber.service.CacheStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador responsável pelas estatísticas do cache de segundo nível, consultadas pela operação.
+ */
+@RestController
+public class CacheController {
+    private final CacheStatisticsService cacheStatisticsService;
+
+    /**
+     * Construtor da classe CacheController.
+     *
+     * @param cacheStatisticsService Serviço das estatísticas do cache.
+     */
+    public CacheController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    /**
+     * Obtém o tamanho, os contadores e a taxa de acerto de cada região do cache de segundo nível.
+     *
+     * @return Lista com as estatísticas das regiões.
+     */
+    @GetMapping("/internal/cache/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+}
@@ -0,0 +1,94 @@
+package com.webbarber.webbarber.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webbarber.webbarber.dto.ChangeEventDTO;
+import com.webbarber.webbarber.exception.CursorExpiredException;
+import com.webbarber.webbarber.exception.InvalidCursorException;
+import com.webbarber.webbarber.service.ChangeFeedService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Controlador responsável pelo feed de alterações consumido por sistemas externos (relatórios, mensageria etc.).
+ * Os eventos são escritos em NDJSON, um por linha; o consumidor guarda o cursor do último evento processado
+ * e o envia na leitura seguinte.
+ */
+@RestController
+public class ChangeFeedController {
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ChangeFeedService changeFeedService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Construtor da classe ChangeFeedController.
+     *
+     * @param changeFeedService Serviço do feed de alterações.
+     * @param objectMapper      Mapper usado para escrever os eventos.
+     */
+    public ChangeFeedController(ChangeFeedService changeFeedService, ObjectMapper objectMapper) {
+        this.changeFeedService = changeFeedService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lê os eventos posteriores ao cursor informado. Com {@code waitMs} maior que zero, a resposta aguarda
+     * até que surjam eventos novos ou o tempo se esgote (long-poll).
+     * O cabeçalho {@code X-Next-Cursor} traz o cursor a ser usado na próxima leitura, mesmo quando não há eventos.
+     * Se eventos posteriores ao cursor já tiverem sido descartados, responde {@code 410}: o consumidor deve reconstruir
+     * o seu estado e voltar a ler sem cursor.
+     *
+     * @param cursor Cursor do último evento processado, ou vazio para ler desde o início.
+     * @param limit  Quantidade máxima de eventos.
+     * @param waitMs Tempo máximo de espera por eventos novos, em milissegundos.
+     * @return Os eventos em NDJSON.
+     */
+    @GetMapping("/internal/changes")
+    public ResponseEntity<StreamingResponseBody> getChanges(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "500") int limit,
+                                                            @RequestParam(defaultValue = "0") long waitMs) {
+        List<ChangeEventDTO> events = changeFeedService.read(cursor, limit, waitMs);
+        String nextCursor = events.isEmpty() ? (cursor == null ? "" : cursor) : events.get(events.size() - 1).cursor();
+
+        StreamingResponseBody body = output -> {
+            for (ChangeEventDTO event : events) {
+                output.write(objectMapper.writeValueAsBytes(event));
+                output.write('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header("X-Next-Cursor", nextCursor)
+                .body(body);
+    }
+
+    /**
+     * Manipula exceções quando o cursor informado é inválido.
+     *
+     * @param ex Exceção lançada.
+     * @return Resposta HTTP com status 400 e mensagem de erro.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Manipula exceções quando eventos posteriores ao cursor informado já foram descartados.
+     *
+     * @param ex Exceção lançada.
+     * @return Resposta HTTP com status 410 e mensagem de erro.
+     */
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<String> handleCursorExpiredException(CursorExpiredException ex) {
+        return ResponseEntity.status(HttpStatus.GONE).body(ex.getMessage());
+    }
+}
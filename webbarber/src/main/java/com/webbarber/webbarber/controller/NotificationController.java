@@ -1,5 +1,34 @@
 package com.webbarber.webbarber.controller;
 
+import com.webbarber.webbarber.dto.NotificationMetricsDTO;
+import com.webbarber.webbarber.service.NotificationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador responsável pelo acompanhamento das notificações.
+ */
+@RestController
 public class NotificationController {
-    //TODO: implementar
+    private final NotificationService notificationService;
+
+    /**
+     * Construtor da classe NotificationController.
+     *
+     * @param notificationService Serviço de notificações utilizado pelo controlador.
+     */
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * Obtém as métricas de vazão e atraso do despachante de notificações.
+     *
+     * @return As métricas do despachante.
+     */
+    @GetMapping("/barber/notifications/metrics")
+    public ResponseEntity<NotificationMetricsDTO> getMetrics() {
+        return ResponseEntity.ok(notificationService.getMetrics());
+    }
 }
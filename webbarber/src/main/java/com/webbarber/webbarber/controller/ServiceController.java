@@ -2,16 +2,20 @@ package com.webbarber.webbarber.controller;
 
 import com.webbarber.webbarber.dto.ServiceDTO;
 import com.webbarber.webbarber.exception.ServiceNotFoundException;
+import com.webbarber.webbarber.infra.cache.ContentVersions;
 import com.webbarber.webbarber.service.BarberService;
 import com.webbarber.webbarber.service.ServiceService;
 import jakarta.transaction.Transactional;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controlador responsável pelo gerenciamento de serviços oferecidos pelos barbeiros.
@@ -21,16 +25,19 @@ import java.util.List;
 public class ServiceController {
     private final ServiceService serviceService;
     private final BarberService barberService;
+    private final ContentVersions contentVersions;
 
     /**
      * Construtor da classe {@code ServiceController}.
      *
-     * @param serviceService Serviço responsável pelo gerenciamento de serviços de barbearia.
-     * @param barberService  Serviço responsável pelo gerenciamento de barbeiros.
+     * @param serviceService  Serviço responsável pelo gerenciamento de serviços de barbearia.
+     * @param barberService   Serviço responsável pelo gerenciamento de barbeiros.
+     * @param contentVersions Versões do conteúdo, usadas nas requisições condicionais.
      */
-    public ServiceController(ServiceService serviceService, BarberService barberService) {
+    public ServiceController(ServiceService serviceService, BarberService barberService, ContentVersions contentVersions) {
         this.serviceService = serviceService;
         this.barberService = barberService;
+        this.contentVersions = contentVersions;
     }
 
     /**
@@ -44,7 +51,7 @@ public class ServiceController {
     @Transactional
     @PreAuthorize("hasRole('admin')")
     public ResponseEntity<String> createService(Authentication authentication, @RequestBody ServiceDTO service) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         serviceService.createService(barberId, service);
         return ResponseEntity.ok("Serviço criado com sucesso");
     }
@@ -59,8 +66,8 @@ public class ServiceController {
      */
     @PutMapping("/barber/services/{serviceId}/update")
     @Transactional
-    public ResponseEntity<String> updateService(Authentication authentication, @PathVariable String serviceId, @RequestBody ServiceDTO updatedService) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+    public ResponseEntity<String> updateService(Authentication authentication, @PathVariable UUID serviceId, @RequestBody ServiceDTO updatedService) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         serviceService.updateService(barberId, serviceId, updatedService);
         return ResponseEntity.ok("Serviço atualizado com sucesso");
     }
@@ -74,20 +81,27 @@ public class ServiceController {
      */
     @DeleteMapping("/barber/services/{id}/delete")
     @Transactional
-    public ResponseEntity<String> deleteService(Authentication authentication, @PathVariable String id) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+    public ResponseEntity<String> deleteService(Authentication authentication, @PathVariable UUID id) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         serviceService.deleteService(barberId, id);
         return ResponseEntity.ok("Serviço deletado com sucesso");
     }
 
     /**
      * Retorna todos os serviços ativos de um barbeiro.
+     * Se o cliente enviar {@code If-None-Match}, a versão atual do catálogo é lida do banco e, se for a enviada,
+     * responde {@code 304} sem consultar os serviços. Sem o cabeçalho, a ETag vem da última versão vista por esta
+     * instância.
      *
      * @param barberId Identificador do barbeiro cujos serviços ativos serão retornados.
-     * @return Lista de serviços ativos do barbeiro.
+     * @param request  Requisição, usada para verificar a ETag enviada pelo cliente.
+     * @return Lista de serviços ativos do barbeiro, ou null se o conteúdo não mudou.
      */
     @GetMapping("/services/all/{barberId}")
-    public ResponseEntity<List<ServiceDTO>> getAllActiveServices(@PathVariable String barberId) {
+    public ResponseEntity<List<ServiceDTO>> getAllActiveServices(@PathVariable UUID barberId, WebRequest request) {
+        String eTag = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                ? contentVersions.catalogETag(barberId) : contentVersions.knownCatalogETag(barberId);
+        if(request.checkNotModified(eTag)) return null;
         return ResponseEntity.ok(serviceService.getActives(barberId));
     }
 
@@ -100,8 +114,8 @@ public class ServiceController {
      */
     @PutMapping("/barber/services/{id}/status")
     @Transactional
-    public ResponseEntity<String> setStatusService(Authentication authentication, @PathVariable String id) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+    public ResponseEntity<String> setStatusService(Authentication authentication, @PathVariable UUID id) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         serviceService.updateServiceStatus(barberId, id);
         return ResponseEntity.ok("Estado do serviço atualizado com sucesso.");
     }
@@ -0,0 +1,80 @@
+package com.webbarber.webbarber.controller;
+
+import com.webbarber.webbarber.dto.SyncDTO;
+import com.webbarber.webbarber.exception.UserNotFoundException;
+import com.webbarber.webbarber.service.BarberService;
+import com.webbarber.webbarber.service.SyncService;
+import com.webbarber.webbarber.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Controlador responsável pela sincronização incremental dos caches dos clientes.
+ * O cliente envia o cursor recebido na sincronização anterior (ou 0 na primeira) e recebe apenas as alterações
+ * ocorridas desde então, incluindo as exclusões.
+ */
+@RestController
+public class SyncController {
+    private final SyncService syncService;
+    private final BarberService barberService;
+    private final UserService userService;
+
+    /**
+     * Construtor da classe SyncController.
+     *
+     * @param syncService   Serviço de sincronização.
+     * @param barberService Serviço para gerenciar informações dos barbeiros.
+     * @param userService   Serviço para gerenciar informações dos usuários.
+     */
+    public SyncController(SyncService syncService, BarberService barberService, UserService userService) {
+        this.syncService = syncService;
+        this.barberService = barberService;
+        this.userService = userService;
+    }
+
+    /**
+     * Obtém as alterações na agenda, nos horários e nos serviços do barbeiro autenticado.
+     *
+     * @param authentication Objeto de autenticação do barbeiro.
+     * @param since          Cursor da última sincronização.
+     * @return As alterações e o novo cursor.
+     */
+    @GetMapping("/barber/sync")
+    public ResponseEntity<SyncDTO> syncBarber(Authentication authentication, @RequestParam(defaultValue = "0") long since) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        if(barberId == null) throw new UserNotFoundException("Barbeiro não encontrado.");
+        return ResponseEntity.ok(syncService.getBarberChanges(barberId, since));
+    }
+
+    /**
+     * Obtém as alterações nos agendamentos do cliente autenticado.
+     *
+     * @param authentication Objeto de autenticação do cliente.
+     * @param since          Cursor da última sincronização.
+     * @return As alterações e o novo cursor.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<SyncDTO> syncUser(Authentication authentication, @RequestParam(defaultValue = "0") long since) {
+        UUID userId = userService.findIdByPhone(authentication.getName());
+        if(userId == null) throw new UserNotFoundException("Usuário não encontrado.");
+        return ResponseEntity.ok(syncService.getUserChanges(userId, since));
+    }
+
+    /**
+     * Manipula exceções quando o usuário autenticado não é encontrado.
+     *
+     * @param ex Exceção lançada.
+     * @return Resposta HTTP com status 404 e mensagem de erro.
+     */
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<String> handleUserNotFoundException(UserNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+}
@@ -1,22 +1,33 @@
 package com.webbarber.webbarber.controller;
 
 import com.webbarber.webbarber.dto.EditedTimeSlotDTO;
+import com.webbarber.webbarber.dto.RangeOverrideDTO;
+import com.webbarber.webbarber.dto.RecurringOverrideDTO;
 import com.webbarber.webbarber.dto.StandardTimeSlotDTO;
+import com.webbarber.webbarber.dto.SyncedRangeOverrideDTO;
+import com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO;
 import com.webbarber.webbarber.exception.*;
+import com.webbarber.webbarber.infra.cache.AvailabilityPayloadCache;
+import com.webbarber.webbarber.infra.cache.ContentVersions;
+import com.webbarber.webbarber.infra.codec.CompactBinaryHttpMessageConverter;
+import com.webbarber.webbarber.infra.codec.RepresentationNegotiation;
 import com.webbarber.webbarber.service.BarberService;
 import com.webbarber.webbarber.service.TimeSlotAvailabilityService;
 import com.webbarber.webbarber.service.TimeSlotService;
 import jakarta.transaction.Transactional;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controlador responsável pela gestão dos horários disponíveis para agendamentos dos barbeiros.
@@ -26,6 +37,8 @@ public class TimeSlotController {
     private final TimeSlotService timeSlotService;
     private final TimeSlotAvailabilityService timeSlotAvailabilityService;
     private final BarberService barberService;
+    private final ContentVersions contentVersions;
+    private final AvailabilityPayloadCache availabilityPayloadCache;
 
     /**
      * Construtor da classe {@code TimeSlotController}.
@@ -33,11 +46,17 @@ public class TimeSlotController {
      * @param timeSlotService               Serviço para gerenciar os horários.
      * @param timeSlotAvailabilityService   Serviço para verificar disponibilidade de horários.
      * @param barberService                 Serviço para gerenciar informações dos barbeiros.
+     * @param contentVersions               Versões do conteúdo, usadas nas requisições condicionais.
+     * @param availabilityPayloadCache      Cache das respostas de disponibilidade já serializadas.
      */
-    public TimeSlotController(TimeSlotService timeSlotService, TimeSlotAvailabilityService timeSlotAvailabilityService, BarberService barberService) {
+    public TimeSlotController(TimeSlotService timeSlotService, TimeSlotAvailabilityService timeSlotAvailabilityService,
+                              BarberService barberService, ContentVersions contentVersions,
+                              AvailabilityPayloadCache availabilityPayloadCache) {
         this.timeSlotService = timeSlotService;
         this.timeSlotAvailabilityService = timeSlotAvailabilityService;
         this.barberService = barberService;
+        this.contentVersions = contentVersions;
+        this.availabilityPayloadCache = availabilityPayloadCache;
     }
 
     /**
@@ -50,7 +69,7 @@ public class TimeSlotController {
     @PostMapping("/barber/schedules/config")
     @PreAuthorize("hasRole('admin')")
     public ResponseEntity<String> setTimeSlot(Authentication authentication, @RequestBody StandardTimeSlotDTO standardTimeSlotDTO) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         timeSlotService.setTimeSlot(barberId, standardTimeSlotDTO);
         return ResponseEntity.ok("Horários definidos com sucesso.");
     }
@@ -64,7 +83,7 @@ public class TimeSlotController {
      */
     @PostMapping("/barber/schedules/edit")
     public ResponseEntity<String> editTimeSlot(Authentication authentication, @RequestBody EditedTimeSlotDTO editedTimeSlotDTO) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         timeSlotService.editTimeSlot(barberId, editedTimeSlotDTO);
         return ResponseEntity.ok("Horários atualizados para a data " + editedTimeSlotDTO.date());
     }
@@ -78,11 +97,89 @@ public class TimeSlotController {
      */
     @DeleteMapping("/barber/schedules/edit/{date}/delete")
     public ResponseEntity<String> deleteTimeSlot(Authentication authentication, @PathVariable LocalDate date) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         timeSlotService.removeTimeSlotOverride(barberId, date);
         return ResponseEntity.ok("Data atualizada para o horário padrão.");
     }
 
+    /**
+     * Altera os horários de todas as datas de um intervalo, como férias ou feriados prolongados.
+     *
+     * @param authentication    Autenticação do barbeiro logado.
+     * @param rangeOverrideDTO  DTO contendo o intervalo e os horários.
+     * @return Resposta com o ID da alteração criada.
+     */
+    @PostMapping("/barber/schedules/ranges")
+    public ResponseEntity<UUID> addRangeOverride(Authentication authentication, @RequestBody RangeOverrideDTO rangeOverrideDTO) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(timeSlotService.addRangeOverride(barberId, rangeOverrideDTO));
+    }
+
+    /**
+     * Lista as alterações de horário por intervalo do barbeiro que ainda não terminaram.
+     *
+     * @param authentication  Autenticação do barbeiro logado.
+     * @return Lista de alterações, em ordem de início.
+     */
+    @GetMapping("/barber/schedules/ranges")
+    public ResponseEntity<List<SyncedRangeOverrideDTO>> getRangeOverrides(Authentication authentication) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        return ResponseEntity.ok(timeSlotService.getRangeOverrides(barberId));
+    }
+
+    /**
+     * Remove uma alteração de horário por intervalo, retornando as datas ao padrão.
+     *
+     * @param authentication  Autenticação do barbeiro logado.
+     * @param id              ID da alteração a ser removida.
+     * @return Resposta indicando sucesso na remoção.
+     */
+    @DeleteMapping("/barber/schedules/ranges/{id}")
+    public ResponseEntity<String> deleteRangeOverride(Authentication authentication, @PathVariable UUID id) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        timeSlotService.removeRangeOverride(barberId, id);
+        return ResponseEntity.ok("Período atualizado para o horário padrão.");
+    }
+
+    /**
+     * Cria uma regra de alteração de horários recorrente, como "fechado toda primeira segunda-feira".
+     *
+     * @param authentication        Autenticação do barbeiro logado.
+     * @param recurringOverrideDTO  DTO contendo a recorrência e os horários.
+     * @return Resposta com o ID da regra criada.
+     */
+    @PostMapping("/barber/schedules/rules")
+    public ResponseEntity<UUID> addRecurringOverride(Authentication authentication, @RequestBody RecurringOverrideDTO recurringOverrideDTO) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(timeSlotService.addRecurringOverride(barberId, recurringOverrideDTO));
+    }
+
+    /**
+     * Lista as regras de alteração recorrentes do barbeiro que ainda não terminaram.
+     *
+     * @param authentication  Autenticação do barbeiro logado.
+     * @return Lista de regras, em ordem de início.
+     */
+    @GetMapping("/barber/schedules/rules")
+    public ResponseEntity<List<SyncedRecurringOverrideDTO>> getRecurringOverrides(Authentication authentication) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        return ResponseEntity.ok(timeSlotService.getRecurringOverrides(barberId));
+    }
+
+    /**
+     * Remove uma regra de alteração recorrente.
+     *
+     * @param authentication  Autenticação do barbeiro logado.
+     * @param id              ID da regra a ser removida.
+     * @return Resposta indicando sucesso na remoção.
+     */
+    @DeleteMapping("/barber/schedules/rules/{id}")
+    public ResponseEntity<String> deleteRecurringOverride(Authentication authentication, @PathVariable UUID id) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        timeSlotService.removeRecurringOverride(barberId, id);
+        return ResponseEntity.ok("Regra de horários removida.");
+    }
+
     /**
      * Adiciona horários fechados para uma determinada data.
      *
@@ -94,7 +191,7 @@ public class TimeSlotController {
     @PutMapping("/barber/schedules/edit/{date}/closed-slots/add")
     @Transactional
     public ResponseEntity<String> addClosedSlots(Authentication authentication, @PathVariable LocalDate date, @RequestBody List<String> slots) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         timeSlotService.addClosedSlots(barberId, date, slots);
         return ResponseEntity.ok("Horários fechados com sucesso.");
     }
@@ -110,7 +207,7 @@ public class TimeSlotController {
     @PutMapping("/barber/schedules/edit/{date}/closed-slots/remove")
     @Transactional
     public ResponseEntity<String> removeClosedSlots(Authentication authentication, @PathVariable LocalDate date, @RequestBody List<String> slots) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         timeSlotService.removeClosedSlots(barberId, date, slots);
         return ResponseEntity.ok("Horários fechados removidos com sucesso.");
     }
@@ -125,7 +222,7 @@ public class TimeSlotController {
     @PutMapping("/barber/schedules/edit/{date}/closed-slots/clear")
     @Transactional
     public ResponseEntity<String> clearClosedSlots(Authentication authentication, @PathVariable LocalDate date) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         timeSlotService.clearClosedSlots(barberId, date);
         return ResponseEntity.ok("Horários fechados deletados com sucesso.");
     }
@@ -141,7 +238,7 @@ public class TimeSlotController {
     @PutMapping("/barber/schedules/edit/{date}/{isOpen}")
     @Transactional
     public ResponseEntity<String> setDataAvailability(Authentication authentication, @PathVariable LocalDate date, @PathVariable boolean isOpen) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
         timeSlotService.setDataAvailability(barberId, date, isOpen);
         return ResponseEntity.ok("Disponibilidade da data alterada com sucesso.");
     }
@@ -151,12 +248,13 @@ public class TimeSlotController {
      *
      * @param authentication  Autenticação do barbeiro logado.
      * @param date            Data de referência.
-     * @return Lista de horários disponíveis.
+     * @param request         Requisição, usada para verificar a ETag enviada pelo cliente.
+     * @return Lista de horários disponíveis em JSON já serializado, ou null se o conteúdo não mudou.
      */
     @GetMapping("/barber/schedules/all")
-    public ResponseEntity<List<LocalTime>> getAllTimeSlots(Authentication authentication, @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        String barberId = barberService.findIdByPhone(authentication.getName());
-        return ResponseEntity.ok(timeSlotAvailabilityService.getAvailableTimeSlotsByService(barberId, date, null));
+    public ResponseEntity<byte[]> getAllTimeSlots(Authentication authentication, @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, ServletWebRequest request) {
+        UUID barberId = barberService.findIdByPhone(authentication.getName());
+        return writeAvailability(barberId, date, null, request);
     }
 
     /**
@@ -165,10 +263,90 @@ public class TimeSlotController {
      * @param barberId   ID do barbeiro.
      * @param date       Data de referência.
      * @param serviceId  ID do serviço.
-     * @return Lista de horários disponíveis.
+     * @param request    Requisição, usada para verificar a ETag enviada pelo cliente.
+     * @return Lista de horários disponíveis em JSON já serializado, ou null se o conteúdo não mudou.
      */
     @GetMapping("/{barberId}/all/{serviceId}")
-    public ResponseEntity<List<LocalTime>> getTimeSlotsByService(@PathVariable String barberId, @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, @PathVariable String serviceId) {
-        return ResponseEntity.ok(timeSlotAvailabilityService.getAvailableTimeSlotsByService(barberId, date, serviceId));
+    public ResponseEntity<byte[]> getTimeSlotsByService(@PathVariable UUID barberId, @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, @PathVariable UUID serviceId, ServletWebRequest request) {
+        return writeAvailability(barberId, date, serviceId, request);
+    }
+
+    /**
+     * Manipula exceções quando uma alteração de horário por intervalo se sobrepõe a outra.
+     *
+     * @param ex Exceção lançada.
+     * @return Resposta com status 409 (Conflict) e a mensagem de erro.
+     */
+    @ExceptionHandler(OverlappingRangeOverrideException.class)
+    public ResponseEntity<String> handleOverlappingRangeOverrideException(OverlappingRangeOverrideException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    /**
+     * Manipula exceções quando a recorrência de uma regra de horários é inválida.
+     *
+     * @param ex Exceção lançada.
+     * @return Resposta com status 400 (Bad Request) e a mensagem de erro.
+     */
+    @ExceptionHandler(InvalidRecurrenceException.class)
+    public ResponseEntity<String> handleInvalidRecurrenceException(InvalidRecurrenceException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Manipula exceções quando uma alteração de horário não é encontrada.
+     *
+     * @param ex Exceção lançada.
+     * @return Resposta com status 404 (Not Found) e a mensagem de erro.
+     */
+    @ExceptionHandler(TimeSlotNotFoundException.class)
+    public ResponseEntity<String> handleTimeSlotNotFoundException(TimeSlotNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    /**
+     * Escreve a disponibilidade a partir do cache de respostas serializadas.
+     * Se o cliente enviar {@code If-None-Match}, a versão atual é lida do banco e, se for a enviada, responde {@code 304}
+     * sem calcular a disponibilidade. Sem o cabeçalho, a resposta guardada é servida sem consultar o banco. Usa o formato binário compacto quando o cliente
+     * o prefere ao JSON no {@code Accept} e, no JSON, o corpo em gzip quando o cliente o aceita com peso maior que zero.
+     *
+     * @param barberId   ID do barbeiro.
+     * @param date       Data de referência.
+     * @param serviceId  ID do serviço, ou null para todos os horários.
+     * @param request    Requisição, usada para verificar a ETag e a codificação aceita.
+     * @return O corpo JSON já serializado, ou null se o conteúdo não mudou.
+     */
+    private ResponseEntity<byte[]> writeAvailability(UUID barberId, LocalDate date, UUID serviceId, ServletWebRequest request) {
+        AvailabilityPayloadCache.Payload payload = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                ? null : availabilityPayloadCache.find(barberId, date, serviceId);
+        String eTag = payload != null ? payload.eTag() : contentVersions.availabilityETag(barberId, date, serviceId);
+        boolean compact = RepresentationNegotiation.prefersCompact(request.getHeader(HttpHeaders.ACCEPT));
+        boolean gzip = !compact && RepresentationNegotiation.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // Cada representação tem a sua própria ETag; o JSON de quem aceita gzip usa a do corpo comprimido mesmo quando
+        // o corpo é pequeno demais para ser comprimido, já que o tamanho é fixo para cada versão
+        String representationETag = compact
+                ? RepresentationNegotiation.variantETag(eTag, RepresentationNegotiation.COMPACT_ETAG_SUFFIX)
+                : gzip ? RepresentationNegotiation.variantETag(eTag, RepresentationNegotiation.GZIP_ETAG_SUFFIX) : eTag;
+        // O Vary vai também nas respostas 304, para que um cache compartilhado não reutilize a representação errada
+        if(request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.VARY, compact ? HttpHeaders.ACCEPT
+                    : HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        }
+        if(request.checkNotModified(representationETag)) return null;
+        if(payload == null) {
+            payload = availabilityPayloadCache.get(barberId, date, serviceId, eTag,
+                    () -> timeSlotAvailabilityService.getAvailableTimeSlotsByService(barberId, date, serviceId));
+        }
+
+        if(compact) {
+            return ResponseEntity.ok()
+                    .contentType(CompactBinaryHttpMessageConverter.MEDIA_TYPE)
+                    .body(payload.compact());
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if(gzip && payload.gzip() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
     }
 }
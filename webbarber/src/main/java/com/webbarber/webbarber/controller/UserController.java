@@ -9,6 +9,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controlador responsável pela gestão de usuários dentro do sistema.
@@ -45,7 +46,7 @@ public class UserController {
      * @return {@code ResponseEntity} contendo uma mensagem de sucesso.
      */
     @DeleteMapping("/{id}/delete")
-    public ResponseEntity<String> deleteUser(@PathVariable String id) {
+    public ResponseEntity<String> deleteUser(@PathVariable UUID id) {
         userService.deleteUser(id);
         return ResponseEntity.ok("Usuário deletado com sucesso");
     }
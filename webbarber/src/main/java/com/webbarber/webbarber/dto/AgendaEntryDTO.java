@@ -0,0 +1,18 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * DTO que representa um horário da agenda diária de um barbeiro, usado na geração do resumo diário.
+ *
+ * @param barberId    Identificador do barbeiro.
+ * @param barberPhone Telefone do barbeiro.
+ * @param userName    Nome do cliente.
+ * @param serviceName Nome do serviço agendado.
+ * @param startTime   Horário de início do agendamento.
+ * @param endTime     Horário de término do agendamento.
+ */
+public record AgendaEntryDTO(UUID barberId, String barberPhone, String userName, String serviceName,
+                             LocalTime startTime, LocalTime endTime) {
+}
@@ -0,0 +1,16 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO enviado aos clientes inscritos na disponibilidade de um barbeiro em uma data.
+ * As mudanças devem ser aplicadas na ordem recebida; quando {@code resync} é verdadeiro, a grade mudou de forma
+ * que não cabe em um delta e o cliente deve consultar novamente os horários disponíveis.
+ *
+ * @param date    Data a que as mudanças se referem.
+ * @param resync  Indica se o cliente deve recarregar a disponibilidade.
+ * @param changes Mudanças de disponibilidade, em ordem.
+ */
+public record AvailabilityDeltaDTO(LocalDate date, boolean resync, List<SlotChangeDTO> changes) {
+}
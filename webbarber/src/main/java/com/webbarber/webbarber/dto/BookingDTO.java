@@ -2,6 +2,7 @@ package com.webbarber.webbarber.dto;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.UUID;
 
 /**
  * DTO utilizado para representar uma reserva (agendamento) no sistema.
@@ -13,7 +14,7 @@ import java.time.LocalTime;
  * @param startTime Horário de início do agendamento.
  * @param endTime   Horário de término do agendamento (opcional, pode ser nulo).
  */
-public record BookingDTO(String userId, String barberId, String serviceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+public record BookingDTO(UUID userId, UUID barberId, UUID serviceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
 
     /**
      * Construtor alternativo que permite criar um agendamento sem especificar o horário de término.
@@ -24,7 +25,7 @@ public record BookingDTO(String userId, String barberId, String serviceId, Local
      * @param date      Data do agendamento.
      * @param startTime Horário de início do agendamento.
      */
-    public BookingDTO(String userId, String barberId, String serviceId, LocalDate date, LocalTime startTime) {
+    public BookingDTO(UUID userId, UUID barberId, UUID serviceId, LocalDate date, LocalTime startTime) {
         this(userId, barberId, serviceId, date, startTime, null);
     }
 }
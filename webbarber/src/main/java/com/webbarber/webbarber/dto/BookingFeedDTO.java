@@ -0,0 +1,13 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO enviado ao painel do barbeiro com os agendamentos criados ou cancelados em uma data.
+ *
+ * @param date   Data dos agendamentos.
+ * @param events Eventos de agendamento, em ordem.
+ */
+public record BookingFeedDTO(LocalDate date, List<BookingFeedEntryDTO> events) {
+}
@@ -0,0 +1,20 @@
+package com.webbarber.webbarber.dto;
+
+import com.webbarber.webbarber.event.BookingChangedEvent;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * DTO que representa um evento do feed de agendamentos do painel do barbeiro.
+ *
+ * @param type      Tipo da alteração (criação ou cancelamento).
+ * @param bookingId Identificador do agendamento.
+ * @param userId    Identificador do cliente.
+ * @param serviceId Identificador do serviço.
+ * @param startTime Horário de início do agendamento.
+ * @param endTime   Horário de término do agendamento.
+ */
+public record BookingFeedEntryDTO(BookingChangedEvent.Type type, UUID bookingId, UUID userId, UUID serviceId,
+                                  LocalTime startTime, LocalTime endTime) {
+}
@@ -0,0 +1,24 @@
+package com.webbarber.webbarber.dto;
+
+/**
+ * DTO com as estatísticas de uma região do cache de segundo nível.
+ *
+ * @param region     Nome da região.
+ * @param maxEntries Quantidade máxima de entradas.
+ * @param size       Quantidade atual de entradas.
+ * @param hits       Leituras atendidas pelo cache.
+ * @param misses     Leituras que precisaram consultar o banco.
+ * @param puts       Gravações no cache.
+ * @param evictions  Entradas descartadas por limite de tamanho ou por expiração.
+ * @param hitRatio   Fração das leituras atendidas pelo cache (0 a 1).
+ */
+public record CacheRegionStatsDTO(
+        String region,
+        int maxEntries,
+        int size,
+        long hits,
+        long misses,
+        long puts,
+        long evictions,
+        double hitRatio) {
+}
@@ -0,0 +1,21 @@
+package com.webbarber.webbarber.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO que representa um evento do feed de alterações, escrito como uma linha do NDJSON.
+ *
+ * @param cursor      Cursor do evento; o consumidor o envia na próxima leitura para continuar a partir dele.
+ * @param type        Tipo da alteração (ex: BOOKING_CREATED, SERVICE_DELETED, SCHEDULE_CHANGED).
+ * @param aggregate   Tipo do registro alterado (BOOKING, SERVICE ou SCHEDULE).
+ * @param aggregateId ID do registro alterado, ou null para alterações de horário.
+ * @param barberId    ID do barbeiro.
+ * @param createdAt   Instante em que a alteração foi registrada.
+ * @param payload     Dados da alteração em JSON.
+ */
+public record ChangeEventDTO(String cursor, String type, String aggregate, UUID aggregateId, UUID barberId,
+                             Instant createdAt, @JsonRawValue String payload) {
+}
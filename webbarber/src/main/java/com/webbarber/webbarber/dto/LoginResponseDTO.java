@@ -3,7 +3,8 @@ package com.webbarber.webbarber.dto;
 /**
  * DTO utilizado para representar a resposta de autenticação após um login bem-sucedido.
  *
- * @param token Token JWT gerado para autenticação do usuário.
+ * @param token        Token JWT gerado para autenticação do usuário.
+ * @param refreshToken Token opaco utilizado para obter um novo JWT sem reenviar a senha.
  */
-public record LoginResponseDTO(String token) {
+public record LoginResponseDTO(String token, String refreshToken) {
 }
@@ -0,0 +1,24 @@
+package com.webbarber.webbarber.dto;
+
+/**
+ * DTO com as métricas do despachante de notificações.
+ *
+ * @param lastBatchSize Quantidade de notificações do último lote processado.
+ * @param lastBatchDurationMillis Duração do último lote, em milissegundos.
+ * @param lastBatchThroughput Vazão do último lote, em notificações por segundo.
+ * @param lastBatchMaxLagMillis Maior atraso entre a criação e o envio no último lote, em milissegundos.
+ * @param totalSent Total de notificações enviadas desde o início da aplicação.
+ * @param totalFailedAttempts Total de tentativas de envio que falharam desde o início da aplicação.
+ * @param pending Quantidade de notificações aguardando envio.
+ * @param currentLagMillis Idade da notificação não entregue mais antiga, em milissegundos.
+ */
+public record NotificationMetricsDTO(
+        int lastBatchSize,
+        long lastBatchDurationMillis,
+        double lastBatchThroughput,
+        long lastBatchMaxLagMillis,
+        long totalSent,
+        long totalFailedAttempts,
+        long pending,
+        long currentLagMillis) {
+}
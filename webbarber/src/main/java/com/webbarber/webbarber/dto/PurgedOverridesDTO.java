@@ -0,0 +1,10 @@
+package com.webbarber.webbarber.dto;
+
+/**
+ * DTO com o resultado da limpeza de um lote de alterações de horário expiradas.
+ *
+ * @param overrides Quantidade de alterações de horário excluídas.
+ * @param closedSlots Quantidade de horários bloqueados excluídos.
+ */
+public record PurgedOverridesDTO(int overrides, int closedSlots) {
+}
@@ -0,0 +1,18 @@
+package com.webbarber.webbarber.dto;
+
+import com.webbarber.webbarber.infra.waitingroom.TicketStatus;
+
+/**
+ * DTO que representa a situação de um ticket da sala de espera de agendamentos.
+ *
+ * @param ticketId Identificador do ticket.
+ * @param status Situação atual do ticket.
+ * @param position Quantidade de tickets à frente na fila (zero após a admissão).
+ * @param message Mensagem do resultado do agendamento, quando concluído.
+ */
+public record QueueTicketDTO(
+        String ticketId,
+        TicketStatus status,
+        long position,
+        String message) {
+}
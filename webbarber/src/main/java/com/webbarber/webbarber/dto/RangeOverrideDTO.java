@@ -0,0 +1,28 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO utilizado para alterar os horários de atendimento de um barbeiro em um intervalo de datas,
+ * como férias ou feriados prolongados.
+ *
+ * @param startDate   Primeira data do intervalo.
+ * @param endDate     Última data do intervalo (inclusiva).
+ * @param amStartTime Horário de início do atendimento matutino (ignorado se o intervalo estiver fechado).
+ * @param amEndTime   Horário de término do atendimento matutino (ignorado se o intervalo estiver fechado).
+ * @param pmStartTime Horário de início do atendimento vespertino (ignorado se o intervalo estiver fechado).
+ * @param pmEndTime   Horário de término do atendimento vespertino (ignorado se o intervalo estiver fechado).
+ * @param interval    Intervalo entre os horários disponíveis, em minutos (ignorado se o intervalo estiver fechado).
+ * @param isClosed    Indica se todas as datas do intervalo estão fechadas para atendimento.
+ */
+public record RangeOverrideDTO(
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalTime amStartTime,
+        LocalTime amEndTime,
+        LocalTime pmStartTime,
+        LocalTime pmEndTime,
+        int interval,
+        boolean isClosed
+) {}
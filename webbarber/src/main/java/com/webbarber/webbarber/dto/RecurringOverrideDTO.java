@@ -0,0 +1,36 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO utilizado para criar uma regra de alteração de horário que se repete, como "fechado toda primeira
+ * segunda-feira" ou "horário reduzido em sábados alternados".
+ *
+ * @param dayOfWeek    Dia da semana da regra (1 = segunda-feira, 7 = domingo).
+ * @param weeksOfMonth Máscara das ocorrências do dia no mês (bit 0 = primeira, ..., bit 4 = quinta, bit 5 = última),
+ *                     ou 0 para repetir a cada {@code weekInterval} semanas.
+ * @param weekInterval Repetição em semanas, contada a partir da primeira ocorrência em {@code startDate} ou depois
+ *                     (ignorada se {@code weeksOfMonth} for informada).
+ * @param startDate    Data a partir da qual a regra vale.
+ * @param endDate      Última data em que a regra vale, ou null para não terminar.
+ * @param amStartTime  Horário de início do atendimento matutino (ignorado se a regra fechar o dia).
+ * @param amEndTime    Horário de término do atendimento matutino (ignorado se a regra fechar o dia).
+ * @param pmStartTime  Horário de início do atendimento vespertino (ignorado se a regra fechar o dia).
+ * @param pmEndTime    Horário de término do atendimento vespertino (ignorado se a regra fechar o dia).
+ * @param interval     Intervalo entre os horários disponíveis, em minutos (ignorado se a regra fechar o dia).
+ * @param isClosed     Indica se a regra fecha o dia para atendimento.
+ */
+public record RecurringOverrideDTO(
+        int dayOfWeek,
+        int weeksOfMonth,
+        int weekInterval,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalTime amStartTime,
+        LocalTime amEndTime,
+        LocalTime pmStartTime,
+        LocalTime pmEndTime,
+        int interval,
+        boolean isClosed
+) {}
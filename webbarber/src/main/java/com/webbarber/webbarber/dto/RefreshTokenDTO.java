@@ -0,0 +1,13 @@
+package com.webbarber.webbarber.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO utilizado para solicitar a renovação do token de acesso.
+ *
+ * @param refreshToken Token de renovação recebido no login ou na última renovação.
+ */
+public record RefreshTokenDTO(
+        @NotBlank(message = "O refresh token é obrigatório")
+        String refreshToken) {
+}
@@ -2,6 +2,7 @@ package com.webbarber.webbarber.dto;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.UUID;
 
 /**
  * DTO utilizado para representar a solicitação de agendamento de um serviço com um barbeiro.
@@ -13,8 +14,8 @@ import java.time.LocalTime;
  * @param endTime Hora de término do serviço.
  */
 public record RequestBookingDTO(
-        String barberId,
-        String serviceId,
+        UUID barberId,
+        UUID serviceId,
         LocalDate date,
         LocalTime startTime,
         LocalTime endTime) {
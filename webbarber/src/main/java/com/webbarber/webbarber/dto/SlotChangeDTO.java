@@ -0,0 +1,13 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalTime;
+
+/**
+ * DTO que representa a mudança de disponibilidade de um intervalo de horários.
+ *
+ * @param start     Início do intervalo (inclusivo).
+ * @param end       Fim do intervalo (exclusivo).
+ * @param available Indica se os horários do intervalo ficaram livres (true) ou ocupados (false).
+ */
+public record SlotChangeDTO(LocalTime start, LocalTime end, boolean available) {
+}
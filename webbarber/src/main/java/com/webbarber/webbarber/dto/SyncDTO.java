@@ -0,0 +1,24 @@
+package com.webbarber.webbarber.dto;
+
+import java.util.List;
+
+/**
+ * DTO com as alterações ocorridas desde o cursor informado pelo cliente.
+ * O cliente aplica as alterações ao seu cache e guarda o novo cursor para a próxima sincronização.
+ *
+ * @param cursor    Cursor a ser enviado na próxima sincronização.
+ * @param resync    Indica que o cursor enviado é antigo demais: o cliente deve descartar o cache, que é
+ *                  recarregado por inteiro nesta resposta.
+ * @param bookings  Agendamentos criados ou alterados.
+ * @param timeSlots Horários padrão criados ou alterados.
+ * @param overrides Alterações de horário de dias específicos criadas ou modificadas.
+ * @param rangeOverrides Alterações de horário por intervalo de datas criadas (a remoção chega em {@code deleted}).
+ * @param recurringOverrides Regras de alteração de horário recorrentes criadas (a remoção chega em {@code deleted}).
+ * @param services  Serviços criados ou alterados.
+ * @param deleted   Linhas excluídas.
+ */
+public record SyncDTO(long cursor, boolean resync, List<SyncedBookingDTO> bookings, List<SyncedTimeSlotDTO> timeSlots,
+                      List<SyncedTimeSlotOverrideDTO> overrides, List<SyncedRangeOverrideDTO> rangeOverrides,
+                      List<SyncedRecurringOverrideDTO> recurringOverrides, List<SyncedServiceDTO> services,
+                      List<TombstoneDTO> deleted) {
+}
@@ -0,0 +1,20 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * DTO que representa um agendamento criado ou alterado desde o cursor de sincronização do cliente.
+ *
+ * @param id        Identificador do agendamento.
+ * @param userId    Identificador do cliente.
+ * @param barberId  Identificador do barbeiro.
+ * @param serviceId Identificador do serviço.
+ * @param date      Data do agendamento.
+ * @param startTime Horário de início do agendamento.
+ * @param endTime   Horário de término do agendamento.
+ */
+public record SyncedBookingDTO(UUID id, UUID userId, UUID barberId, UUID serviceId, LocalDate date,
+                               LocalTime startTime, LocalTime endTime) {
+}
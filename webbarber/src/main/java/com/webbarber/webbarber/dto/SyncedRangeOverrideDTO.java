@@ -0,0 +1,24 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * DTO que representa uma alteração de horário de um intervalo de datas, usado na listagem, na sincronização
+ * incremental e no índice em memória consultado pela disponibilidade.
+ *
+ * @param id          Identificador da alteração.
+ * @param startDate   Primeira data do intervalo.
+ * @param endDate     Última data do intervalo (inclusiva).
+ * @param amStartTime Hora de início do turno da manhã.
+ * @param amEndTime   Hora de término do turno da manhã.
+ * @param pmStartTime Hora de início do turno da tarde.
+ * @param pmEndTime   Hora de término do turno da tarde.
+ * @param interval    Intervalo entre os horários de agendamento, em minutos.
+ * @param closed      Indica se as datas do intervalo estão fechadas para agendamentos.
+ */
+public record SyncedRangeOverrideDTO(UUID id, LocalDate startDate, LocalDate endDate, LocalTime amStartTime,
+                                     LocalTime amEndTime, LocalTime pmStartTime, LocalTime pmEndTime, int interval,
+                                     boolean closed) {
+}
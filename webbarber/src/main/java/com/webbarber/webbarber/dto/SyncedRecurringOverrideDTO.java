@@ -0,0 +1,28 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * DTO que representa uma regra de alteração de horário recorrente, usado na listagem, na sincronização
+ * incremental e na avaliação das regras pela disponibilidade.
+ *
+ * @param id           Identificador da regra.
+ * @param dayOfWeek    Dia da semana da regra (1 = segunda-feira, 7 = domingo).
+ * @param weeksOfMonth Máscara das ocorrências do dia no mês, ou 0 para repetir a cada {@code weekInterval} semanas.
+ * @param weekInterval Repetição em semanas.
+ * @param startDate    Data a partir da qual a regra vale.
+ * @param endDate      Última data em que a regra vale, ou null para não terminar.
+ * @param amStartTime  Hora de início do turno da manhã.
+ * @param amEndTime    Hora de término do turno da manhã.
+ * @param pmStartTime  Hora de início do turno da tarde.
+ * @param pmEndTime    Hora de término do turno da tarde.
+ * @param interval     Intervalo entre os horários de agendamento, em minutos.
+ * @param closed       Indica se a regra fecha o dia para agendamentos.
+ */
+public record SyncedRecurringOverrideDTO(UUID id, int dayOfWeek, int weeksOfMonth, int weekInterval,
+                                         LocalDate startDate, LocalDate endDate, LocalTime amStartTime,
+                                         LocalTime amEndTime, LocalTime pmStartTime, LocalTime pmEndTime,
+                                         int interval, boolean closed) {
+}
@@ -0,0 +1,16 @@
+package com.webbarber.webbarber.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO que representa um serviço criado ou alterado desde o cursor de sincronização do cliente.
+ *
+ * @param id           Identificador do serviço.
+ * @param name         Nome do serviço.
+ * @param description  Descrição do serviço.
+ * @param duration     Duração do serviço, em quantidade de intervalos.
+ * @param priceInCents Preço do serviço em centavos.
+ * @param active       Indica se o serviço está ativo.
+ */
+public record SyncedServiceDTO(UUID id, String name, String description, int duration, int priceInCents, boolean active) {
+}
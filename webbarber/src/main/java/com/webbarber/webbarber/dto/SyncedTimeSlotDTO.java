@@ -0,0 +1,19 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * DTO que representa um horário padrão criado ou alterado desde o cursor de sincronização do cliente.
+ *
+ * @param id          Identificador do horário padrão.
+ * @param dayOfWeek   Dia da semana (1 = Domingo, 7 = Sábado).
+ * @param amStartTime Hora de início do turno da manhã.
+ * @param amEndTime   Hora de término do turno da manhã.
+ * @param pmStartTime Hora de início do turno da tarde.
+ * @param pmEndTime   Hora de término do turno da tarde.
+ * @param interval    Intervalo entre os horários de agendamento, em minutos.
+ */
+public record SyncedTimeSlotDTO(UUID id, int dayOfWeek, LocalTime amStartTime, LocalTime amEndTime,
+                                LocalTime pmStartTime, LocalTime pmEndTime, int interval) {
+}
@@ -0,0 +1,24 @@
+package com.webbarber.webbarber.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO que representa uma alteração de horário de um dia específico, criada ou modificada desde o cursor de sincronização do cliente.
+ *
+ * @param id          Identificador da alteração.
+ * @param date        Data à qual a alteração se aplica.
+ * @param amStartTime Hora de início do turno da manhã.
+ * @param amEndTime   Hora de término do turno da manhã.
+ * @param pmStartTime Hora de início do turno da tarde.
+ * @param pmEndTime   Hora de término do turno da tarde.
+ * @param interval    Intervalo entre os horários de agendamento, em minutos.
+ * @param closed      Indica se o dia está fechado para agendamentos.
+ * @param closedSlots Horários bloqueados no dia.
+ */
+public record SyncedTimeSlotOverrideDTO(UUID id, LocalDate date, LocalTime amStartTime, LocalTime amEndTime,
+                                        LocalTime pmStartTime, LocalTime pmEndTime, int interval, boolean closed,
+                                        List<String> closedSlots) {
+}
@@ -0,0 +1,12 @@
+package com.webbarber.webbarber.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO que representa uma linha excluída desde o cursor de sincronização do cliente.
+ *
+ * @param entity Tipo da linha excluída (BOOKING, TIMESLOT, OVERRIDE ou SERVICE).
+ * @param id     Identificador da linha excluída.
+ */
+public record TombstoneDTO(String entity, UUID id) {
+}
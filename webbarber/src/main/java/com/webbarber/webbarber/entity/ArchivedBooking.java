@@ -0,0 +1,60 @@
+package com.webbarber.webbarber.entity;
+
+import com.webbarber.webbarber.dto.BookingDTO;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Entidade que representa um agendamento antigo, movido da tabela de agendamentos pelo arquivamento.
+ * Os registros são gravados apenas pelo arquivamento e não são alterados depois disso.
+ * Esta classe é mapeada para a tabela "bookings_archive" no banco de dados.
+ */
+@Entity(name = "ArchivedBooking")
+@Table(name = "bookings_archive")
+public class ArchivedBooking {
+    @Id
+    private UUID id;
+
+    private UUID barberId;
+    private UUID userId;
+    private UUID serviceId;
+    private LocalDate date;
+    private short startMinute; // Horário de início, em minutos desde a meia-noite
+    private short endMinute; // Horário de término, em minutos desde a meia-noite
+
+    /**
+     * Construtor padrão necessário para a JPA.
+     */
+    public ArchivedBooking() {}
+
+    /**
+     * Obtém o identificador do agendamento.
+     *
+     * @return O identificador do agendamento.
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Obtém a data do agendamento.
+     *
+     * @return A data do agendamento.
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Converte o agendamento arquivado no mesmo DTO usado pelos agendamentos ativos.
+     *
+     * @return O {@link BookingDTO} correspondente.
+     */
+    public BookingDTO toDTO() {
+        return new BookingDTO(userId, barberId, serviceId, date,
+                LocalTime.ofSecondOfDay(startMinute * 60L), LocalTime.ofSecondOfDay(endMinute * 60L));
+    }
+}
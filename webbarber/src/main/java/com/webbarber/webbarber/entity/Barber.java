@@ -1,14 +1,19 @@
 package com.webbarber.webbarber.entity;
 
 import com.webbarber.webbarber.infra.UserRole;
+import com.webbarber.webbarber.infra.persistence.CacheRegions;
+import com.webbarber.webbarber.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Entidade que representa um barbeiro no sistema, com informações sobre nome, telefone, senha e papel (role).
@@ -17,11 +22,13 @@ import java.util.List;
  * @see UserRole
  */
 @Entity(name = "Barber")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BARBER)
 @Table(name = "barbers")
 public class Barber implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @TimeOrderedUuid
+    private UUID id;
 
     private String name;
     private String phone;
@@ -54,7 +61,7 @@ public class Barber implements UserDetails {
      *
      * @return O ID do barbeiro.
      */
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
@@ -2,9 +2,11 @@ package com.webbarber.webbarber.entity;
 
 import com.webbarber.webbarber.dto.BookingDTO;
 import com.webbarber.webbarber.dto.RequestBookingDTO;
+import com.webbarber.webbarber.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.UUID;
 
 /**
  * Entidade que representa uma reserva (agendamento) feita por um usuário com um barbeiro, incluindo o serviço, o horário de início e término, e a data da reserva.
@@ -14,15 +16,17 @@ import java.time.LocalTime;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @TimeOrderedUuid
+    private UUID id;
 
-    private String barberId;
-    private String userId;
-    private String serviceId;
+    private UUID barberId;
+    private UUID userId;
+    private UUID serviceId;
     private LocalDate date;
     private LocalTime startTime;
     private LocalTime endTime;
+    @Column(insertable = false, updatable = false)
+    private long syncTxid; // Transação que gravou a linha por último, preenchida pelo banco
 
     /**
      * Construtor padrão necessário para a JPA.
@@ -37,7 +41,7 @@ public class Booking {
      * @param data Dados de reserva fornecidos no {@link RequestBookingDTO}.
      * @param endTime Hora de término da reserva.
      */
-    public Booking(String userId, RequestBookingDTO data, LocalTime endTime) {
+    public Booking(UUID userId, RequestBookingDTO data, LocalTime endTime) {
         this.barberId = data.barberId();
         this.userId = userId;
         this.serviceId = data.serviceId();
@@ -56,7 +60,7 @@ public class Booking {
      * @param startTime Hora de início da reserva.
      * @param endTime Hora de término da reserva.
      */
-    public Booking(String barberId, String userId, String serviceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+    public Booking(UUID barberId, UUID userId, UUID serviceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
         this.barberId = barberId;
         this.endTime = endTime;
         this.startTime = startTime;
@@ -70,7 +74,7 @@ public class Booking {
      *
      * @return O ID do barbeiro.
      */
-    public String getBarberId() {
+    public UUID getBarberId() {
         return barberId;
     }
 
@@ -79,7 +83,7 @@ public class Booking {
      *
      * @return O ID da reserva.
      */
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
@@ -88,7 +92,7 @@ public class Booking {
      *
      * @return O ID do usuário.
      */
-    public String getUserId() {
+    public UUID getUserId() {
         return userId;
     }
 
@@ -97,7 +101,7 @@ public class Booking {
      *
      * @return O ID do serviço.
      */
-    public String getServiceId() {
+    public UUID getServiceId() {
         return serviceId;
     }
 
@@ -136,4 +140,13 @@ public class Booking {
     public void addStartTime(int minutes) {
         this.startTime = this.startTime.plusMinutes(minutes);
     }
+
+    /**
+     * Obtém o ID da transação que gravou a linha por último, usado como cursor da sincronização incremental.
+     *
+     * @return O ID da transação.
+     */
+    public long getSyncTxid() {
+        return syncTxid;
+    }
 }
@@ -0,0 +1,124 @@
+package com.webbarber.webbarber.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entidade que representa um evento do feed de alterações consumido por sistemas externos
+ * (relatórios, mensageria etc.). O evento é gravado na mesma transação da alteração que o originou,
+ * de modo que o feed nunca contém alterações desfeitas nem deixa de conter alterações confirmadas.
+ * Esta classe é mapeada para a tabela "change_events" no banco de dados.
+ */
+@Entity(name = "ChangeEvent")
+@Table(name = "change_events")
+public class ChangeEvent {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(insertable = false, updatable = false)
+    private long txid; // Transação que gravou o evento, preenchida pelo banco
+
+    private String aggregate; // Tipo do registro alterado (BOOKING, SERVICE ou SCHEDULE)
+    private UUID aggregateId;
+    private UUID barberId;
+    private String type;
+    private String payload; // Dados da alteração em JSON
+    private Instant createdAt;
+
+    /**
+     * Construtor padrão necessário para a JPA.
+     */
+    public ChangeEvent() {}
+
+    /**
+     * Construtor utilizado ao registrar uma alteração.
+     *
+     * @param aggregate Tipo do registro alterado.
+     * @param aggregateId ID do registro alterado, ou null se a alteração não tiver um registro próprio.
+     * @param barberId ID do barbeiro.
+     * @param type Tipo da alteração.
+     * @param payload Dados da alteração em JSON.
+     */
+    public ChangeEvent(String aggregate, UUID aggregateId, UUID barberId, String type, String payload) {
+        this.aggregate = aggregate;
+        this.aggregateId = aggregateId;
+        this.barberId = barberId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Obtém o ID do evento.
+     *
+     * @return O ID do evento.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o ID da transação que gravou o evento.
+     *
+     * @return O ID da transação.
+     */
+    public long getTxid() {
+        return txid;
+    }
+
+    /**
+     * Obtém o tipo do registro alterado.
+     *
+     * @return O tipo do registro.
+     */
+    public String getAggregate() {
+        return aggregate;
+    }
+
+    /**
+     * Obtém o ID do registro alterado.
+     *
+     * @return O ID do registro.
+     */
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    /**
+     * Obtém o ID do barbeiro.
+     *
+     * @return O ID do barbeiro.
+     */
+    public UUID getBarberId() {
+        return barberId;
+    }
+
+    /**
+     * Obtém o tipo da alteração.
+     *
+     * @return O tipo da alteração.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Obtém os dados da alteração em JSON.
+     *
+     * @return Os dados da alteração.
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * Obtém o instante em que a alteração foi registrada.
+     *
+     * @return O instante do registro.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
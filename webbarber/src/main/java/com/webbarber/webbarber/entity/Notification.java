@@ -1,52 +1,143 @@
 package com.webbarber.webbarber.entity;
 
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import com.webbarber.webbarber.infra.notification.NotificationStatus;
+import com.webbarber.webbarber.infra.notification.NotificationType;
+import jakarta.persistence.*;
 
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entidade que representa uma notificação na caixa de saída (outbox).
+ * A notificação é gravada na mesma transação da operação que a originou (agendamento, cancelamento etc.)
+ * e enviada posteriormente por um despachante em segundo plano, fora do caminho da requisição.
+ * Esta classe é mapeada para a tabela "notifications" no banco de dados.
+ */
+@Entity(name = "Notification")
+@Table(name = "notifications")
 public class Notification {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private User user;
+    private UUID recipientId;
+    private String recipientPhone;
+    @Enumerated(EnumType.STRING)
+    private NotificationType type;
     private String message;
-    private String type;
-    private String status;
+    @Enumerated(EnumType.STRING)
+    private NotificationStatus status;
+    private int attempts;
+    private String lastError;
+    private Instant createdAt;
+    private Instant nextAttemptAt;
+    private Instant sentAt;
+    private String dedupKey;
 
-    public Notification(User user, String message, String type, String status) {
-        this.user = user;
-        this.message = message;
+    /**
+     * Construtor que cria uma notificação pendente, elegível para envio imediato.
+     *
+     * @param recipientId ID do usuário destinatário.
+     * @param recipientPhone Telefone do destinatário.
+     * @param type Tipo da notificação.
+     * @param message Texto a ser enviado.
+     * @param now Instante de criação.
+     */
+    public Notification(UUID recipientId, String recipientPhone, NotificationType type, String message, Instant now) {
+        this.recipientId = recipientId;
+        this.recipientPhone = recipientPhone;
         this.type = type;
-        this.status = status;
+        this.message = message;
+        this.status = NotificationStatus.PENDING;
+        this.attempts = 0;
+        this.createdAt = now;
+        this.nextAttemptAt = now;
     }
 
+    /**
+     * Construtor padrão necessário para a JPA.
+     */
     public Notification() {}
 
+    /**
+     * Reserva a notificação para envio até o prazo informado, contabilizando uma tentativa.
+     *
+     * @param leaseUntil Instante em que a reserva expira e a notificação volta a ser elegível.
+     */
+    public void claim(Instant leaseUntil) {
+        this.status = NotificationStatus.SENDING;
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    /**
+     * Obtém o ID da notificação.
+     *
+     * @return O ID da notificação.
+     */
     public Long getId() {
         return id;
     }
 
-    public User getUser() {
-        return user;
+    /**
+     * Obtém o ID do usuário destinatário.
+     *
+     * @return O ID do destinatário.
+     */
+    public UUID getRecipientId() {
+        return recipientId;
     }
 
-    public String getMessage() {
-        return message;
+    /**
+     * Obtém o telefone do destinatário.
+     *
+     * @return O telefone do destinatário.
+     */
+    public String getRecipientPhone() {
+        return recipientPhone;
     }
 
-    public void setMessage(String message) {
-        this.message = message;
+    /**
+     * Obtém o tipo da notificação.
+     *
+     * @return O tipo da notificação.
+     */
+    public NotificationType getType() {
+        return type;
     }
 
-    public String getType() {
-        return type;
+    /**
+     * Obtém o texto da notificação.
+     *
+     * @return O texto da notificação.
+     */
+    public String getMessage() {
+        return message;
     }
 
-    public String getStatus() {
+    /**
+     * Obtém a situação da notificação.
+     *
+     * @return A situação da notificação.
+     */
+    public NotificationStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
-        this.status = status;
+    /**
+     * Obtém a quantidade de tentativas de envio já realizadas.
+     *
+     * @return A quantidade de tentativas.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Obtém o instante de criação da notificação.
+     *
+     * @return O instante de criação.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
     }
 }
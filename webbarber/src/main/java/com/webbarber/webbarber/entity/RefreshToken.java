@@ -0,0 +1,122 @@
+package com.webbarber.webbarber.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Entidade que representa um refresh token emitido para um usuário ou barbeiro.
+ * Apenas o hash SHA-256 do token é armazenado; o valor original é entregue uma única vez ao cliente.
+ * Tokens da mesma cadeia de rotação compartilham o mesmo {@code familyId}.
+ * Esta classe é mapeada para a tabela "refresh_tokens" no banco de dados.
+ */
+@Entity(name = "RefreshToken")
+@Table(name = "refresh_tokens")
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    private String tokenHash; // Hash SHA-256 (hex) do token opaco
+    private String familyId; // Identificador da cadeia de rotação
+    private String phone; // Telefone do titular do token (login)
+    private String role; // Papel que será incluído no JWT renovado
+    private Instant expiresAt;
+    private boolean revoked;
+
+    /**
+     * Construtor padrão necessário para a JPA.
+     */
+    public RefreshToken() {}
+
+    /**
+     * Construtor utilizado ao emitir um novo refresh token.
+     *
+     * @param tokenHash Hash do token opaco.
+     * @param familyId Identificador da cadeia de rotação à qual o token pertence.
+     * @param phone Telefone do titular do token.
+     * @param role Papel do titular do token.
+     * @param expiresAt Instante de expiração do token.
+     */
+    public RefreshToken(String tokenHash, String familyId, String phone, String role, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.phone = phone;
+        this.role = role;
+        this.expiresAt = expiresAt;
+        this.revoked = false;
+    }
+
+    /**
+     * Obtém o ID do refresh token.
+     *
+     * @return O ID do refresh token.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o hash do token.
+     *
+     * @return O hash SHA-256 do token.
+     */
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    /**
+     * Obtém o identificador da cadeia de rotação.
+     *
+     * @return O identificador da família do token.
+     */
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    /**
+     * Obtém o telefone do titular do token.
+     *
+     * @return O telefone do titular.
+     */
+    public String getPhone() {
+        return phone;
+    }
+
+    /**
+     * Obtém o papel do titular do token.
+     *
+     * @return O papel do titular.
+     */
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Obtém o instante de expiração do token.
+     *
+     * @return O instante de expiração.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Verifica se o token já foi utilizado ou revogado.
+     *
+     * @return True se o token estiver revogado, false caso contrário.
+     */
+    public boolean isRevoked() {
+        return revoked;
+    }
+
+    /**
+     * Verifica se o token está expirado em relação ao instante informado.
+     *
+     * @param now Instante de referência.
+     * @return True se o token estiver expirado, false caso contrário.
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+}
@@ -0,0 +1,65 @@
+package com.webbarber.webbarber.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Entidade que representa um JWT revogado antes da sua expiração, identificado pelo claim {@code jti}.
+ * O registro só precisa existir até a expiração do token; depois disso o próprio JWT deixa de ser aceito.
+ * Esta classe é mapeada para a tabela "revoked_tokens" no banco de dados.
+ */
+@Entity(name = "RevokedToken")
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    private String tokenId; // Claim jti do token revogado
+
+    private Instant revokedAt;
+    private Instant expiresAt;
+
+    /**
+     * Construtor padrão necessário para a JPA.
+     */
+    public RevokedToken() {}
+
+    /**
+     * Construtor utilizado ao revogar um token.
+     *
+     * @param tokenId Identificador (jti) do token.
+     * @param revokedAt Instante da revogação.
+     * @param expiresAt Instante de expiração original do token.
+     */
+    public RevokedToken(String tokenId, Instant revokedAt, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Obtém o identificador (jti) do token revogado.
+     *
+     * @return O identificador do token.
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * Obtém o instante da revogação.
+     *
+     * @return O instante da revogação.
+     */
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    /**
+     * Obtém o instante de expiração original do token.
+     *
+     * @return O instante de expiração.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -1,26 +1,36 @@
 package com.webbarber.webbarber.entity;
 
 import com.webbarber.webbarber.dto.ServiceDTO;
+import com.webbarber.webbarber.infra.persistence.CacheRegions;
+import com.webbarber.webbarber.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.UUID;
 
 /**
  * Entidade que representa um serviço oferecido por um barbeiro, incluindo nome, descrição, duração, preço e status ativo.
  * Esta classe é mapeada para a tabela "services" no banco de dados.
  */
 @Entity(name = "Service")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SERVICE)
 @Table(name = "services")
 public class Service {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @TimeOrderedUuid
+    private UUID id;
 
-    private String barberId;
+    private UUID barberId;
 
     private String name;
     private String description;
     private int duration;
     private int priceInCents;
     private boolean active;
+    @Column(insertable = false, updatable = false)
+    private long syncTxid; // Transação que gravou a linha por último, preenchida pelo banco
 
     /**
      * Construtor para criar um serviço com todos os parâmetros necessários.
@@ -31,7 +41,7 @@ public class Service {
      * @param duration Duração do serviço em minutos.
      * @param priceInCents Preço do serviço em centavos.
      */
-    public Service(String barberId, String name, String description, int duration, int priceInCents) {
+    public Service(UUID barberId, String name, String description, int duration, int priceInCents) {
         this.barberId = barberId;
         this.name = name;
         this.description = description;
@@ -48,7 +58,7 @@ public class Service {
      * @param duration Duração do serviço em minutos.
      * @param priceInCents Preço do serviço em centavos.
      */
-    public Service(String barberId, String name, int duration, int priceInCents) {
+    public Service(UUID barberId, String name, int duration, int priceInCents) {
         this.barberId = barberId;
         this.name = name;
         this.duration = duration;
@@ -62,7 +72,7 @@ public class Service {
      * @param barberId ID do barbeiro responsável pelo serviço.
      * @param serviceDTO Objeto que contém os dados do serviço.
      */
-    public Service(String barberId, ServiceDTO serviceDTO) {
+    public Service(UUID barberId, ServiceDTO serviceDTO) {
         this.barberId = barberId;
         this.name = serviceDTO.name();
         this.description = serviceDTO.description();
@@ -82,7 +92,7 @@ public class Service {
      *
      * @return O ID do serviço.
      */
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
@@ -175,4 +185,13 @@ public class Service {
     public void setActive(boolean status) {
         this.active = status;
     }
+
+    /**
+     * Obtém o ID da transação que gravou a linha por último, usado como cursor da sincronização incremental.
+     *
+     * @return O ID da transação.
+     */
+    public long getSyncTxid() {
+        return syncTxid;
+    }
 }
@@ -0,0 +1,58 @@
+package com.webbarber.webbarber.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entidade que representa a exclusão de uma linha sincronizável (agendamento, horário padrão, alteração de horário ou serviço).
+ * Os registros são gravados por gatilhos do banco, na mesma transação da exclusão, e servem para que os clientes
+ * da sincronização incremental removam a linha dos seus caches.
+ * Esta classe é mapeada para a tabela "sync_tombstones" no banco de dados.
+ */
+@Entity(name = "SyncTombstone")
+@Table(name = "sync_tombstones")
+public class SyncTombstone {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String entity; // Tipo da linha excluída (BOOKING, TIMESLOT, OVERRIDE ou SERVICE)
+    private UUID entityId;
+    private UUID barberId;
+    private UUID userId; // Preenchido apenas para agendamentos
+    private long syncTxid;
+    private Instant deletedAt;
+
+    /**
+     * Construtor padrão necessário para a JPA.
+     */
+    public SyncTombstone() {}
+
+    /**
+     * Obtém o tipo da linha excluída.
+     *
+     * @return O tipo da linha.
+     */
+    public String getEntity() {
+        return entity;
+    }
+
+    /**
+     * Obtém o identificador da linha excluída.
+     *
+     * @return O identificador da linha.
+     */
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Obtém o ID da transação que excluiu a linha.
+     *
+     * @return O ID da transação.
+     */
+    public long getSyncTxid() {
+        return syncTxid;
+    }
+}
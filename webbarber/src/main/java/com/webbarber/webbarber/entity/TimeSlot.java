@@ -1,9 +1,14 @@
 package com.webbarber.webbarber.entity;
 
 import com.webbarber.webbarber.dto.StandardTimeSlotDTO;
+import com.webbarber.webbarber.infra.persistence.CacheRegions;
+import com.webbarber.webbarber.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalTime;
+import java.util.UUID;
 
 /**
  * Entidade que representa o horário de atendimento de um barbeiro em um dia específico da semana.
@@ -12,18 +17,22 @@ import java.time.LocalTime;
  */
 @Table(name = "timeslot")
 @Entity(name = "Timeslot")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TIMESLOT)
 public class TimeSlot {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @TimeOrderedUuid
+    private UUID id;
 
-    private String barberId;
+    private UUID barberId;
     private int dayOfWeek; // Representa o dia da semana (1 = Domingo, 7 = Sábado)
     private LocalTime amStartTime; // Hora de início do turno da manhã
     private LocalTime amEndTime; // Hora de término do turno da manhã
     private LocalTime pmStartTime; // Hora de início do turno da tarde
     private LocalTime pmEndTime; // Hora de término do turno da tarde
     private int interval; // Intervalo entre os horários de agendamento
+    @Column(insertable = false, updatable = false)
+    private long syncTxid; // Transação que gravou a linha por último, preenchida pelo banco
 
     /**
      * Construtor padrão necessário para a JPA.
@@ -36,7 +45,7 @@ public class TimeSlot {
      * @param barberId ID do barbeiro responsável pelo horário.
      * @param standardTimeSlotDTO Objeto DTO contendo os dados do horário.
      */
-    public TimeSlot(String barberId, StandardTimeSlotDTO standardTimeSlotDTO) {
+    public TimeSlot(UUID barberId, StandardTimeSlotDTO standardTimeSlotDTO) {
         this.barberId = barberId;
         this.dayOfWeek =  standardTimeSlotDTO.dayOfWeek();
         this.amStartTime = standardTimeSlotDTO.amStartTime();
@@ -51,7 +60,7 @@ public class TimeSlot {
      *
      * @return O ID do horário.
      */
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
@@ -60,7 +69,7 @@ public class TimeSlot {
      *
      * @return O ID do barbeiro.
      */
-    public String getBarberId() {
+    public UUID getBarberId() {
         return barberId;
     }
 
@@ -171,4 +180,13 @@ public class TimeSlot {
     public void setInterval(int interval) {
         this.interval = interval;
     }
+
+    /**
+     * Obtém o ID da transação que gravou a linha por último, usado como cursor da sincronização incremental.
+     *
+     * @return O ID da transação.
+     */
+    public long getSyncTxid() {
+        return syncTxid;
+    }
 }
@@ -2,11 +2,16 @@ package com.webbarber.webbarber.entity;
 
 import com.webbarber.webbarber.dto.EditedTimeSlotDTO;
 import com.webbarber.webbarber.dto.StandardTimeSlotDTO;
+import com.webbarber.webbarber.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -19,10 +24,10 @@ import java.util.stream.Collectors;
 @Entity(name = "TimeslotOverride")
 public class TimeSlotOverride {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @TimeOrderedUuid
+    private UUID id;
 
-    private String barberId; // ID do barbeiro que terá os horários alterados
+    private UUID barberId; // ID do barbeiro que terá os horários alterados
     private LocalDate date; // Data específica para a alteração do horário
     private LocalTime amStartTime; // Hora de início do turno da manhã para a data específica
     private LocalTime amEndTime; // Hora de término do turno da manhã para a data específica
@@ -30,10 +35,13 @@ public class TimeSlotOverride {
     private LocalTime pmEndTime; // Hora de término do turno da tarde para a data específica
     private int interval; // Intervalo entre os horários de agendamento para a data específica
 
-    @ElementCollection
-    private List<String> closedSlots; // Lista de horários específicos que estão bloqueados para agendamentos
+    @ElementCollection(fetch = FetchType.EAGER)
+    @OrderBy
+    private Set<String> closedSlots = new LinkedHashSet<>(); // Horários específicos que estão bloqueados para agendamentos
 
     private boolean isClosed; // Indica se os horários para a data estão fechados para agendamentos
+    @Column(insertable = false, updatable = false)
+    private long syncTxid; // Transação que gravou a linha por último, preenchida pelo banco
 
     /**
      * Construtor padrão necessário para a JPA.
@@ -46,7 +54,7 @@ public class TimeSlotOverride {
      * @param barberId ID do barbeiro que terá o horário alterado.
      * @param editedTimeSlotDTO Objeto DTO contendo os dados da alteração do horário para o dia específico.
      */
-    public TimeSlotOverride(String barberId, EditedTimeSlotDTO editedTimeSlotDTO) {
+    public TimeSlotOverride(UUID barberId, EditedTimeSlotDTO editedTimeSlotDTO) {
         this.barberId = barberId;
         this.date = editedTimeSlotDTO.date();
         this.amStartTime = editedTimeSlotDTO.amStartTime();
@@ -55,7 +63,7 @@ public class TimeSlotOverride {
         this.pmEndTime = editedTimeSlotDTO.pmEndTime();
         this.interval = editedTimeSlotDTO.interval();
         this.isClosed = editedTimeSlotDTO.isClosed();
-        this.closedSlots = editedTimeSlotDTO.closedSlots();
+        if(editedTimeSlotDTO.closedSlots() != null) this.closedSlots.addAll(editedTimeSlotDTO.closedSlots());
     }
 
     /**
@@ -74,7 +82,6 @@ public class TimeSlotOverride {
         this.pmEndTime = timeSlot.pmEndTime();
         this.interval = timeSlot.interval();
         this.isClosed = !isOpen; // Marca como fechado se isOpen for false
-        this.closedSlots = null;
     }
 
     /**
@@ -82,7 +89,7 @@ public class TimeSlotOverride {
      *
      * @return O ID do horário.
      */
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
@@ -91,7 +98,7 @@ public class TimeSlotOverride {
      *
      * @return O ID do barbeiro.
      */
-    public String getBarberId() {
+    public UUID getBarberId() {
         return barberId;
     }
 
@@ -224,19 +231,21 @@ public class TimeSlotOverride {
     /**
      * Obtém a lista de horários fechados para este horário específico.
      *
-     * @return A lista de horários fechados.
+     * @return Uma cópia da lista de horários fechados.
      */
     public List<String> getClosedSlots() {
-        return closedSlots;
+        return new ArrayList<>(closedSlots);
     }
 
     /**
      * Define a lista de horários fechados para este horário específico.
+     * O conjunto gravado é alterado no lugar, para que somente os horários incluídos e removidos sejam gravados.
      *
      * @param closedSlots A nova lista de horários fechados.
      */
     public void setClosedSlots(List<String> closedSlots) {
-        this.closedSlots = closedSlots;
+        this.closedSlots.retainAll(closedSlots == null ? List.of() : closedSlots);
+        if(closedSlots != null) this.closedSlots.addAll(closedSlots);
     }
 
     /**
@@ -274,4 +283,13 @@ public class TimeSlotOverride {
     public void clearClosedSlots() {
         this.closedSlots.clear();
     }
+
+    /**
+     * Obtém o ID da transação que gravou a linha por último, usado como cursor da sincronização incremental.
+     *
+     * @return O ID da transação.
+     */
+    public long getSyncTxid() {
+        return syncTxid;
+    }
 }
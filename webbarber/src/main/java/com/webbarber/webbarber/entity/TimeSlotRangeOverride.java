@@ -0,0 +1,104 @@
+package com.webbarber.webbarber.entity;
+
+import com.webbarber.webbarber.dto.RangeOverrideDTO;
+import com.webbarber.webbarber.infra.persistence.TimeOrderedUuid;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Entidade que representa uma alteração dos horários de atendimento de um barbeiro válida para um intervalo de datas.
+ * Uma única linha cobre todo o intervalo; as alterações de um dia específico ({@link TimeSlotOverride}) têm prioridade sobre ela.
+ * Esta classe é mapeada para a tabela "timeslot_range_override" no banco de dados.
+ */
+@Entity(name = "TimeSlotRangeOverride")
+@Table(name = "timeslot_range_override")
+public class TimeSlotRangeOverride {
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    private UUID barberId; // ID do barbeiro que terá os horários alterados
+    private LocalDate startDate; // Primeira data do intervalo
+    private LocalDate endDate; // Última data do intervalo (inclusiva)
+    private LocalTime amStartTime;
+    private LocalTime amEndTime;
+    private LocalTime pmStartTime;
+    private LocalTime pmEndTime;
+    private int interval;
+    private boolean isClosed; // Indica se as datas do intervalo estão fechadas para agendamentos
+    @Column(insertable = false, updatable = false)
+    private long syncTxid; // Transação que gravou a linha por último, preenchida pelo banco
+
+    /**
+     * Construtor padrão necessário para a JPA.
+     */
+    public TimeSlotRangeOverride() {}
+
+    /**
+     * Construtor que cria a alteração a partir de um objeto {@link RangeOverrideDTO}.
+     * Os horários só são guardados quando o intervalo não está fechado.
+     *
+     * @param barberId ID do barbeiro que terá os horários alterados.
+     * @param rangeOverrideDTO Objeto DTO contendo o intervalo e os horários.
+     */
+    public TimeSlotRangeOverride(UUID barberId, RangeOverrideDTO rangeOverrideDTO) {
+        this.barberId = barberId;
+        this.startDate = rangeOverrideDTO.startDate();
+        this.endDate = rangeOverrideDTO.endDate();
+        this.isClosed = rangeOverrideDTO.isClosed();
+        if(isClosed) return;
+        this.amStartTime = rangeOverrideDTO.amStartTime();
+        this.amEndTime = rangeOverrideDTO.amEndTime();
+        this.pmStartTime = rangeOverrideDTO.pmStartTime();
+        this.pmEndTime = rangeOverrideDTO.pmEndTime();
+        this.interval = rangeOverrideDTO.interval();
+    }
+
+    /**
+     * Obtém o ID da alteração.
+     *
+     * @return O ID da alteração.
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o ID do barbeiro.
+     *
+     * @return O ID do barbeiro.
+     */
+    public UUID getBarberId() {
+        return barberId;
+    }
+
+    /**
+     * Obtém a primeira data do intervalo.
+     *
+     * @return A primeira data.
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Obtém a última data do intervalo.
+     *
+     * @return A última data (inclusiva).
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Obtém o ID da transação que gravou a linha por último.
+     *
+     * @return O ID da transação.
+     */
+    public long getSyncTxid() {
+        return syncTxid;
+    }
+}
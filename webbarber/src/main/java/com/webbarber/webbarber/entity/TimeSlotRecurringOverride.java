@@ -0,0 +1,101 @@
+package com.webbarber.webbarber.entity;
+
+import com.webbarber.webbarber.dto.RecurringOverrideDTO;
+import com.webbarber.webbarber.infra.persistence.TimeOrderedUuid;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Entidade que representa uma regra de alteração dos horários de um barbeiro que se repete em um dia da semana,
+ * em certas semanas do mês ou a cada N semanas. As datas cobertas não são gravadas: a regra é avaliada para a data
+ * consultada. Esta classe é mapeada para a tabela "timeslot_recurring_override" no banco de dados.
+ */
+@Entity(name = "TimeSlotRecurringOverride")
+@Table(name = "timeslot_recurring_override")
+public class TimeSlotRecurringOverride {
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    private UUID barberId; // ID do barbeiro que terá os horários alterados
+    private int dayOfWeek; // Dia da semana da regra (1 = segunda-feira, 7 = domingo)
+    private int weeksOfMonth; // Máscara das ocorrências no mês, ou 0 para repetir a cada weekInterval semanas
+    private int weekInterval; // Repetição em semanas
+    private LocalDate startDate; // Data a partir da qual a regra vale
+    private LocalDate endDate; // Última data em que a regra vale, ou null
+    private LocalTime amStartTime;
+    private LocalTime amEndTime;
+    private LocalTime pmStartTime;
+    private LocalTime pmEndTime;
+    private int interval;
+    private boolean isClosed; // Indica se a regra fecha o dia para agendamentos
+    @Column(insertable = false, updatable = false)
+    private long syncTxid; // Transação que gravou a linha por último, preenchida pelo banco
+
+    /**
+     * Construtor padrão necessário para a JPA.
+     */
+    public TimeSlotRecurringOverride() {}
+
+    /**
+     * Construtor que cria a regra a partir de um objeto {@link RecurringOverrideDTO}.
+     * Os horários só são guardados quando a regra não fecha o dia.
+     *
+     * @param barberId ID do barbeiro que terá os horários alterados.
+     * @param recurringOverrideDTO Objeto DTO contendo a recorrência e os horários.
+     */
+    public TimeSlotRecurringOverride(UUID barberId, RecurringOverrideDTO recurringOverrideDTO) {
+        this.barberId = barberId;
+        this.dayOfWeek = recurringOverrideDTO.dayOfWeek();
+        this.weeksOfMonth = recurringOverrideDTO.weeksOfMonth();
+        this.weekInterval = recurringOverrideDTO.weeksOfMonth() == 0 ? recurringOverrideDTO.weekInterval() : 1;
+        this.startDate = recurringOverrideDTO.startDate();
+        this.endDate = recurringOverrideDTO.endDate();
+        this.isClosed = recurringOverrideDTO.isClosed();
+        if(isClosed) return;
+        this.amStartTime = recurringOverrideDTO.amStartTime();
+        this.amEndTime = recurringOverrideDTO.amEndTime();
+        this.pmStartTime = recurringOverrideDTO.pmStartTime();
+        this.pmEndTime = recurringOverrideDTO.pmEndTime();
+        this.interval = recurringOverrideDTO.interval();
+    }
+
+    /**
+     * Obtém o ID da regra.
+     *
+     * @return O ID da regra.
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o ID do barbeiro.
+     *
+     * @return O ID do barbeiro.
+     */
+    public UUID getBarberId() {
+        return barberId;
+    }
+
+    /**
+     * Obtém o dia da semana da regra.
+     *
+     * @return O dia da semana (1 = segunda-feira, 7 = domingo).
+     */
+    public int getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    /**
+     * Obtém o ID da transação que gravou a linha por último.
+     *
+     * @return O ID da transação.
+     */
+    public long getSyncTxid() {
+        return syncTxid;
+    }
+}
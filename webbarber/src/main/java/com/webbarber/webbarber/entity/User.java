@@ -2,6 +2,7 @@ package com.webbarber.webbarber.entity;
 
 import com.webbarber.webbarber.dto.RegisterDTO;
 import com.webbarber.webbarber.infra.UserRole;
+import com.webbarber.webbarber.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import org.springframework.lang.NonNull;
@@ -11,6 +12,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Entidade que representa um usuário no sistema. Esta classe implementa a interface {@link UserDetails} para ser utilizada
@@ -22,8 +24,8 @@ import java.util.List;
 public class User implements UserDetails, Comparable<User> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @TimeOrderedUuid
+    private UUID id;
 
     private String name; // Nome do usuário
     private String phone; // Número de telefone do usuário (usado como login)
@@ -228,7 +230,7 @@ public class User implements UserDetails, Comparable<User> {
      *
      * @return ID do usuário.
      */
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
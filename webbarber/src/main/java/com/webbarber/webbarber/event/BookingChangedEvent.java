@@ -0,0 +1,28 @@
+package com.webbarber.webbarber.event;
+
+import com.webbarber.webbarber.entity.Booking;
+
+/**
+ * Evento publicado quando um agendamento é criado ou cancelado.
+ * Os ouvintes que reagem ao estado confirmado devem usar {@code @TransactionalEventListener}.
+ *
+ * @param type Tipo da alteração.
+ * @param booking Agendamento alterado.
+ */
+public record BookingChangedEvent(Type type, Booking booking) {
+
+    /**
+     * Tipo da alteração do agendamento.
+     */
+    public enum Type {
+        /**
+         * Agendamento criado.
+         */
+        CREATED,
+
+        /**
+         * Agendamento cancelado.
+         */
+        CANCELLED
+    }
+}
@@ -0,0 +1,36 @@
+package com.webbarber.webbarber.event;
+
+import com.webbarber.webbarber.entity.Service;
+
+import java.util.UUID;
+
+/**
+ * Evento publicado quando o catálogo de serviços de um barbeiro é alterado
+ * (criação, edição, exclusão ou mudança de status de um serviço).
+ *
+ * @param type Tipo da alteração.
+ * @param barberId ID do barbeiro.
+ * @param service Serviço alterado.
+ */
+public record CatalogChangedEvent(Type type, UUID barberId, Service service) {
+
+    /**
+     * Tipo da alteração do serviço.
+     */
+    public enum Type {
+        /**
+         * Serviço criado.
+         */
+        CREATED,
+
+        /**
+         * Serviço editado ou com o status alterado.
+         */
+        UPDATED,
+
+        /**
+         * Serviço excluído.
+         */
+        DELETED
+    }
+}
@@ -0,0 +1,51 @@
+package com.webbarber.webbarber.event;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Evento publicado quando a grade de horários de um barbeiro é alterada.
+ * A alteração afeta uma data específica (exceções de horário), um intervalo de datas (alterações de intervalo)
+ * ou todas as datas de um dia da semana (horário padrão e regras recorrentes).
+ *
+ * @param barberId ID do barbeiro.
+ * @param date Data afetada, ou a primeira data do intervalo, ou null se a alteração for do horário padrão.
+ * @param dayOfWeek Dia da semana afetado (1-7), ou null se a alteração for de uma data ou de um intervalo.
+ * @param endDate Última data do intervalo afetado (inclusiva), ou null se a alteração não for de um intervalo.
+ */
+public record ScheduleChangedEvent(UUID barberId, LocalDate date, Integer dayOfWeek, LocalDate endDate) {
+
+    /**
+     * Cria o evento de alteração de uma data específica.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data afetada.
+     * @return O evento.
+     */
+    public static ScheduleChangedEvent forDate(UUID barberId, LocalDate date) {
+        return new ScheduleChangedEvent(barberId, date, null, null);
+    }
+
+    /**
+     * Cria o evento de alteração do horário padrão ou das regras recorrentes de um dia da semana.
+     *
+     * @param barberId ID do barbeiro.
+     * @param dayOfWeek Dia da semana afetado (1-7).
+     * @return O evento.
+     */
+    public static ScheduleChangedEvent forDayOfWeek(UUID barberId, int dayOfWeek) {
+        return new ScheduleChangedEvent(barberId, null, dayOfWeek, null);
+    }
+
+    /**
+     * Cria o evento de alteração de um intervalo de datas.
+     *
+     * @param barberId ID do barbeiro.
+     * @param startDate Primeira data do intervalo.
+     * @param endDate Última data do intervalo (inclusiva).
+     * @return O evento.
+     */
+    public static ScheduleChangedEvent forRange(UUID barberId, LocalDate startDate, LocalDate endDate) {
+        return new ScheduleChangedEvent(barberId, startDate, null, endDate);
+    }
+}
@@ -0,0 +1,7 @@
+package com.webbarber.webbarber.exception;
+
+public class BookingOverloadedException extends RuntimeException {
+    public BookingOverloadedException(String message) {
+        super(message);
+    }
+}
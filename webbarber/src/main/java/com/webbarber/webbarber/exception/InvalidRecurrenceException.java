@@ -0,0 +1,7 @@
+package com.webbarber.webbarber.exception;
+
+public class InvalidRecurrenceException extends RuntimeException {
+    public InvalidRecurrenceException(String message) {
+        super(message);
+    }
+}
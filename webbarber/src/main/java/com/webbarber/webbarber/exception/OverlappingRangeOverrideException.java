@@ -0,0 +1,7 @@
+package com.webbarber.webbarber.exception;
+
+public class OverlappingRangeOverrideException extends RuntimeException {
+    public OverlappingRangeOverrideException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.webbarber.webbarber.exception;
+
+public class TicketNotFoundException extends RuntimeException {
+    public TicketNotFoundException(String message) {
+        super(message);
+    }
+}
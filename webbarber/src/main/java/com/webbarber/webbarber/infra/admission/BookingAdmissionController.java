@@ -0,0 +1,208 @@
+package com.webbarber.webbarber.infra.admission;
+
+import com.webbarber.webbarber.exception.BookingOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Controle de admissão do fluxo de agendamento.
+ * Limita quantos agendamentos são processados ao mesmo tempo, no total e por barbeiro, para que uma
+ * avalanche de reservas em um barbeiro popular não esgote o pool de conexões e degrade o restante da API.
+ * As requisições excedentes aguardam em uma fila limitada até um prazo; quando a fila está cheia ou o prazo
+ * expira, a requisição é descartada imediatamente com {@link BookingOverloadedException}.
+ * <p>
+ * O semáforo de um barbeiro só existe enquanto há requisições dele em processamento ou na fila, e é descartado
+ * pela última a sair. Assim, o mapa fica limitado pelas requisições em andamento, mesmo recebendo IDs arbitrários.
+ * </p>
+ */
+@Component
+public class BookingAdmissionController {
+
+    // Chave usada quando a requisição não informa o barbeiro; ela é recusada depois pela validação do agendamento
+    private static final UUID NO_BARBER = new UUID(0, 0);
+
+    /**
+     * Semáforo de um barbeiro e a quantidade de requisições que o estão usando.
+     * O contador só é alterado dentro de {@link ConcurrentHashMap#compute}, sob o bloqueio da chave.
+     */
+    private static final class BarberPermits {
+        private final Semaphore permits;
+        private int users;
+
+        private BarberPermits(Semaphore permits) {
+            this.permits = permits;
+        }
+    }
+
+    private final Semaphore globalPermits;
+    private final Map<UUID, BarberPermits> barberPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int perBarberMaxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+
+    /**
+     * Construtor do {@code BookingAdmissionController}.
+     *
+     * @param maxConcurrent Quantidade máxima de agendamentos em processamento em toda a aplicação.
+     * @param perBarberMaxConcurrent Quantidade máxima de agendamentos em processamento por barbeiro.
+     * @param maxQueue Quantidade máxima de requisições aguardando admissão.
+     * @param queueTimeoutMillis Tempo máximo de espera na fila, em milissegundos.
+     */
+    public BookingAdmissionController(@Value("${api.booking.admission.max-concurrent}") int maxConcurrent,
+                                      @Value("${api.booking.admission.per-barber-max-concurrent}") int perBarberMaxConcurrent,
+                                      @Value("${api.booking.admission.max-queue}") int maxQueue,
+                                      @Value("${api.booking.admission.queue-timeout-ms}") long queueTimeoutMillis) {
+        this.globalPermits = new Semaphore(maxConcurrent, true);
+        this.perBarberMaxConcurrent = perBarberMaxConcurrent;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+    }
+
+    /**
+     * Executa a operação de agendamento respeitando os limites de concorrência.
+     *
+     * @param barberId ID do barbeiro do agendamento.
+     * @param operation Operação a ser executada após a admissão.
+     * @param <T> Tipo do resultado da operação.
+     * @return O resultado da operação.
+     */
+    public <T> T execute(UUID barberId, Supplier<T> operation) {
+        UUID key = Objects.requireNonNullElse(barberId, NO_BARBER);
+        Semaphore barber = enter(key);
+        try {
+            return admit(barber, operation);
+        } finally {
+            leave(key);
+        }
+    }
+
+    /**
+     * Obtém as permissões do barbeiro e a global, e executa a operação.
+     *
+     * @param barber Semáforo do barbeiro.
+     * @param operation Operação a ser executada após a admissão.
+     * @param <T> Tipo do resultado da operação.
+     * @return O resultado da operação.
+     */
+    private <T> T admit(Semaphore barber, Supplier<T> operation) {
+        long deadline = System.nanoTime() + queueTimeoutNanos;
+
+        // Caminho rápido: havendo vaga e ninguém na fila, não ocupa a fila
+        boolean admitted = tryAcquireNow(barber);
+        if(admitted && !tryAcquireNow(globalPermits)) {
+            admitted = acquireQueued(globalPermits, deadline);
+            if(!admitted) barber.release();
+        } else if(!admitted) {
+            admitted = acquireQueued(barber, deadline);
+            if(admitted && !acquireQueued(globalPermits, deadline)) {
+                barber.release();
+                admitted = false;
+            }
+        }
+        if(!admitted) throw new BookingOverloadedException("Muitos agendamentos em andamento. Tente novamente em instantes.");
+
+        try {
+            return operation.get();
+        } finally {
+            globalPermits.release();
+            barber.release();
+        }
+    }
+
+    /**
+     * Executa a operação de agendamento respeitando os limites de concorrência.
+     *
+     * @param barberId ID do barbeiro do agendamento.
+     * @param operation Operação a ser executada após a admissão.
+     */
+    public void execute(UUID barberId, Runnable operation) {
+        execute(barberId, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Tempo sugerido para o cliente tentar novamente após ser descartado, em segundos.
+     *
+     * @return O tempo de espera sugerido.
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(queueTimeoutNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Registra uma requisição do barbeiro, criando o semáforo dele se for a única em andamento.
+     *
+     * @param barberId ID do barbeiro.
+     * @return O semáforo do barbeiro.
+     */
+    private Semaphore enter(UUID barberId) {
+        return barberPermits.compute(barberId, (key, entry) -> {
+            if(entry == null) entry = new BarberPermits(new Semaphore(perBarberMaxConcurrent, true));
+            entry.users++;
+            return entry;
+        }).permits;
+    }
+
+    /**
+     * Encerra uma requisição do barbeiro, descartando o semáforo se não restar nenhuma em andamento.
+     *
+     * @param barberId ID do barbeiro.
+     */
+    private void leave(UUID barberId) {
+        barberPermits.computeIfPresent(barberId, (key, entry) -> --entry.users == 0 ? null : entry);
+    }
+
+    /**
+     * Quantidade de barbeiros com semáforo ativo.
+     *
+     * @return A quantidade de barbeiros com requisições em processamento ou na fila.
+     */
+    int trackedBarbers() {
+        return barberPermits.size();
+    }
+
+    /**
+     * Obtém uma permissão sem esperar, respeitando a ordem de quem já está na fila.
+     *
+     * @param permits Semáforo do qual a permissão será obtida.
+     * @return True se a permissão foi obtida, false caso contrário.
+     */
+    private static boolean tryAcquireNow(Semaphore permits) {
+        return !permits.hasQueuedThreads() && permits.tryAcquire();
+    }
+
+    /**
+     * Aguarda na fila por uma permissão até o prazo, recusando de imediato se a fila estiver cheia.
+     *
+     * @param permits Semáforo do qual a permissão será obtida.
+     * @param deadline Prazo máximo, em nanossegundos ({@link System#nanoTime()}).
+     * @return True se a permissão foi obtida, false caso contrário.
+     */
+    private boolean acquireQueued(Semaphore permits, long deadline) {
+        if(waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            return false;
+        }
+        try {
+            long remaining = deadline - System.nanoTime();
+            return remaining > 0 && permits.tryAcquire(remaining, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+}
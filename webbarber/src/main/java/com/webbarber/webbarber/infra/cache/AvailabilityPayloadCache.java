@@ -0,0 +1,153 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webbarber.webbarber.infra.codec.CompactBinaryCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache das respostas de disponibilidade já serializadas em JSON (UTF-8) e no formato binário compacto.
+ * Acima de um tamanho mínimo, o JSON também é mantido já comprimido em gzip.
+ * O payload é produzido quando a disponibilidade é recalculada e servido byte a byte nas requisições seguintes,
+ * sem passar pelo Jackson. Cada entrada guarda a ETag da versão que a gerou; quando a versão muda, a entrada é
+ * recalculada na próxima consulta. As entradas de um barbeiro também são descartadas quando o conteúdo dele muda
+ * ({@link ContentVersions}), e uma entrada calculada enquanto um descarte acontecia não é guardada.
+ * Apenas os dias mais consultados são mantidos (política LRU).
+ */
+@Component
+public class AvailabilityPayloadCache {
+
+    /**
+     * Resposta pronta para ser escrita.
+     *
+     * @param eTag ETag da versão que gerou o payload.
+     * @param json Corpo JSON em UTF-8 (vazio se não houver horários configurados para o dia).
+     * @param gzip Corpo comprimido em gzip, ou null se o corpo for pequeno demais para compensar.
+     * @param compact Corpo no formato binário compacto (vazio se não houver horários configurados para o dia).
+     */
+    public record Payload(String eTag, byte[] json, byte[] gzip, byte[] compact) {}
+
+    private record Key(UUID barberId, LocalDate date, UUID serviceId) {}
+
+    private final ObjectMapper objectMapper;
+    private final Map<Key, Payload> payloads;
+    private long invalidations;
+
+    @Value("${api.availability-cache.gzip-min-bytes}")
+    private int gzipMinBytes;
+
+    /**
+     * Construtor do {@code AvailabilityPayloadCache}.
+     *
+     * @param objectMapper Mapper usado para serializar a disponibilidade.
+     * @param maxEntries Quantidade máxima de respostas mantidas.
+     */
+    public AvailabilityPayloadCache(ObjectMapper objectMapper, @Value("${api.availability-cache.max-entries}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.payloads = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Payload> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Obtém a resposta de disponibilidade guardada, sem verificar a versão.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data consultada.
+     * @param serviceId ID do serviço, ou null para todos os horários.
+     * @return A resposta guardada, ou null se não houver.
+     */
+    public Payload find(UUID barberId, LocalDate date, UUID serviceId) {
+        synchronized (payloads) {
+            return payloads.get(new Key(barberId, date, serviceId));
+        }
+    }
+
+    /**
+     * Obtém a resposta de disponibilidade, recalculando-a se não estiver em cache ou se a versão tiver mudado.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data consultada.
+     * @param serviceId ID do serviço, ou null para todos os horários.
+     * @param eTag ETag da versão atual.
+     * @param loader Cálculo da disponibilidade, executado apenas quando necessário.
+     * @return A resposta pronta para ser escrita.
+     */
+    public Payload get(UUID barberId, LocalDate date, UUID serviceId, String eTag, Supplier<List<LocalTime>> loader) {
+        Key key = new Key(barberId, date, serviceId);
+        Payload payload;
+        long observed;
+        synchronized (payloads) {
+            payload = payloads.get(key);
+            observed = invalidations;
+        }
+        if(payload != null && payload.eTag().equals(eTag)) return payload;
+
+        payload = serialize(eTag, loader.get());
+        synchronized (payloads) {
+            if(invalidations == observed) payloads.put(key, payload);
+        }
+        return payload;
+    }
+
+    /**
+     * Descarta as respostas de um barbeiro.
+     *
+     * @param barberId ID do barbeiro.
+     */
+    public void invalidate(UUID barberId) {
+        synchronized (payloads) {
+            invalidations++;
+            payloads.keySet().removeIf(key -> key.barberId().equals(barberId));
+        }
+    }
+
+    /**
+     * Serializa a disponibilidade e, se compensar, comprime o resultado.
+     *
+     * @param eTag ETag da versão.
+     * @param slots Horários disponíveis, ou null se o dia não tiver horários configurados.
+     * @return A resposta pronta.
+     */
+    private Payload serialize(String eTag, List<LocalTime> slots) {
+        try {
+            if(slots == null) return new Payload(eTag, new byte[0], null, new byte[0]);
+            byte[] json = objectMapper.writeValueAsBytes(slots);
+            return new Payload(eTag, json, json.length >= gzipMinBytes ? gzip(json) : null, CompactBinaryCodec.encodeTimes(slots));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Falha ao serializar a disponibilidade.", exception);
+        }
+    }
+
+    /**
+     * Comprime o conteúdo em gzip.
+     *
+     * @param content Conteúdo a ser comprimido.
+     * @return O conteúdo comprimido.
+     */
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(content);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return output.toByteArray();
+    }
+}
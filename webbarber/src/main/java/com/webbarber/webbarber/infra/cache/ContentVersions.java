@@ -0,0 +1,242 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.webbarber.webbarber.entity.Service;
+import com.webbarber.webbarber.entity.TimeSlot;
+import com.webbarber.webbarber.event.BookingChangedEvent;
+import com.webbarber.webbarber.event.CatalogChangedEvent;
+import com.webbarber.webbarber.event.ScheduleChangedEvent;
+import com.webbarber.webbarber.infra.persistence.CacheRegions;
+import com.webbarber.webbarber.repository.ServiceRepository;
+import com.webbarber.webbarber.repository.TimeSlotRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Versões do conteúdo servido pelas consultas mais frequentes, usadas para gerar ETags fortes, e invalidação dos
+ * caches desse conteúdo.
+ * As versões são lidas do banco (quantidade de linhas e soma das transações que as gravaram por último), então todas
+ * as instâncias geram a mesma ETag para o mesmo conteúdo. A versão só é lida quando o cliente envia
+ * {@code If-None-Match}; nas demais requisições vale a versão guardada junto com o conteúdo em cache.
+ * <p>
+ * Os caches de um barbeiro são descartados quando uma alteração dele é confirmada nesta instância (eventos da
+ * aplicação) ou em outra ({@link RemoteChangePoller}). Como o cache de segundo nível só é invalidado pelas
+ * gravações da própria instância, as alterações de outras instâncias também descartam as regiões de consultas
+ * correspondentes. O mesmo vale quando uma versão lida do banco é diferente da última vista por esta instância
+ * para o barbeiro; a primeira versão vista de um barbeiro não conta como mudança. São lembrados no máximo
+ * {@code api.content-versions.max-barbers} barbeiros (política LRU).
+ * </p>
+ */
+@Component
+public class ContentVersions {
+
+    private final ServiceRepository serviceRepository;
+    private final TimeSlotRepository timeSlotRepository;
+    private final AvailabilityPayloadCache availabilityPayloadCache;
+    private final RangeOverrideIndex rangeOverrideIndex;
+    private final RecurringOverrideCalendar recurringOverrideCalendar;
+    private final Cache cache;
+    private final Map<UUID, String> seenCatalogs;
+    private final Map<UUID, String> seenSchedules;
+
+    /**
+     * Construtor do {@code ContentVersions}.
+     *
+     * @param serviceRepository Repositório dos serviços.
+     * @param timeSlotRepository Repositório dos horários padrão.
+     * @param availabilityPayloadCache Cache das respostas de disponibilidade.
+     * @param rangeOverrideIndex Índice em memória das alterações de horário por intervalo.
+     * @param recurringOverrideCalendar Avaliação memorizada das regras de alteração recorrentes.
+     * @param entityManagerFactory Fábrica de EntityManagers, de onde vem o cache de segundo nível.
+     * @param maxBarbers Quantidade máxima de barbeiros cuja última versão vista é lembrada.
+     */
+    public ContentVersions(ServiceRepository serviceRepository, TimeSlotRepository timeSlotRepository,
+                           AvailabilityPayloadCache availabilityPayloadCache, RangeOverrideIndex rangeOverrideIndex,
+                           RecurringOverrideCalendar recurringOverrideCalendar,
+                           EntityManagerFactory entityManagerFactory, @Value("${api.content-versions.max-barbers}") int maxBarbers) {
+        this.serviceRepository = serviceRepository;
+        this.timeSlotRepository = timeSlotRepository;
+        this.availabilityPayloadCache = availabilityPayloadCache;
+        this.rangeOverrideIndex = rangeOverrideIndex;
+        this.recurringOverrideCalendar = recurringOverrideCalendar;
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.seenCatalogs = boundedMap(maxBarbers);
+        this.seenSchedules = boundedMap(maxBarbers);
+    }
+
+    /**
+     * Gera a ETag do catálogo de serviços de um barbeiro a partir da versão atual do banco.
+     *
+     * @param barberId ID do barbeiro.
+     * @return A ETag, já entre aspas.
+     */
+    public String catalogETag(UUID barberId) {
+        return "\"c-" + catalogVersion(barberId) + "\"";
+    }
+
+    /**
+     * Gera a ETag do catálogo de serviços de um barbeiro a partir da última versão vista por esta instância,
+     * lendo-a do banco apenas se ainda não houver uma.
+     *
+     * @param barberId ID do barbeiro.
+     * @return A ETag, já entre aspas.
+     */
+    public String knownCatalogETag(UUID barberId) {
+        String version;
+        synchronized (seenCatalogs) {
+            version = seenCatalogs.get(barberId);
+        }
+        return version != null ? "\"c-" + version + "\"" : catalogETag(barberId);
+    }
+
+    /**
+     * Gera a ETag da disponibilidade de um barbeiro em uma data a partir da versão atual do banco.
+     * A disponibilidade por serviço depende também da duração dos serviços, então inclui a versão do catálogo.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data consultada.
+     * @param serviceId ID do serviço, ou null para todos os horários.
+     * @return A ETag, já entre aspas.
+     */
+    public String availabilityETag(UUID barberId, LocalDate date, UUID serviceId) {
+        String version = timeSlotRepository.findAvailabilityVersion(barberId, date);
+        // As três primeiras partes (horário padrão, intervalos e regras recorrentes) valem para todas as datas
+        int scheduleEnd = version.indexOf('-', version.indexOf('-', version.indexOf('-') + 1) + 1);
+        String schedule = version.substring(0, scheduleEnd);
+        if(changed(seenSchedules, barberId, schedule)) {
+            invalidateSchedule(barberId, true);
+            synchronized (seenSchedules) {
+                seenSchedules.put(barberId, schedule);
+            }
+        }
+        return "\"a-" + version + (serviceId == null ? "" : "-" + serviceId + "-" + catalogVersion(barberId)) + "\"";
+    }
+
+    /**
+     * Descarta os caches da grade de horários de um barbeiro, inclusive as alterações por intervalo e
+     * recorrentes em memória.
+     *
+     * @param barberId ID do barbeiro.
+     * @param remote true se a alteração pode ter sido feita por outra instância, o que descarta também as regiões
+     *               de horários do cache de segundo nível.
+     */
+    public void invalidateSchedule(UUID barberId, boolean remote) {
+        forget(seenSchedules, barberId);
+        rangeOverrideIndex.invalidate(barberId);
+        recurringOverrideCalendar.invalidate(barberId);
+        availabilityPayloadCache.invalidate(barberId);
+        if(remote) {
+            cache.evictEntityData(TimeSlot.class);
+            cache.evictQueryRegion(CacheRegions.TIMESLOT_QUERIES);
+        }
+    }
+
+    /**
+     * Descarta os caches do catálogo de serviços de um barbeiro, inclusive a disponibilidade por serviço.
+     *
+     * @param barberId ID do barbeiro.
+     * @param remote true se a alteração pode ter sido feita por outra instância, o que descarta também as regiões
+     *               de serviços do cache de segundo nível.
+     */
+    public void invalidateCatalog(UUID barberId, boolean remote) {
+        forget(seenCatalogs, barberId);
+        availabilityPayloadCache.invalidate(barberId);
+        if(remote) {
+            cache.evictEntityData(Service.class);
+            cache.evictQueryRegion(CacheRegions.SERVICE_QUERIES);
+        }
+    }
+
+    /**
+     * Descarta a disponibilidade em cache de um barbeiro depois de um agendamento ou cancelamento.
+     *
+     * @param barberId ID do barbeiro.
+     */
+    public void invalidateBookings(UUID barberId) {
+        availabilityPayloadCache.invalidate(barberId);
+    }
+
+    /**
+     * Descarta os caches da grade depois que uma alteração é confirmada nesta instância.
+     *
+     * @param event Evento de alteração da grade.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        invalidateSchedule(event.barberId(), false);
+    }
+
+    /**
+     * Descarta os caches do catálogo depois que uma alteração é confirmada nesta instância.
+     *
+     * @param event Evento de alteração do catálogo.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        invalidateCatalog(event.barberId(), false);
+    }
+
+    /**
+     * Descarta a disponibilidade em cache depois que um agendamento ou cancelamento é confirmado nesta instância.
+     *
+     * @param event Evento de alteração do agendamento.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        invalidateBookings(event.booking().getBarberId());
+    }
+
+    /**
+     * Lê a versão do catálogo de um barbeiro, descartando os caches do catálogo se ela mudou.
+     *
+     * @param barberId ID do barbeiro.
+     * @return A versão do catálogo.
+     */
+    private String catalogVersion(UUID barberId) {
+        String version = serviceRepository.findVersionByBarberId(barberId);
+        if(changed(seenCatalogs, barberId, version)) {
+            invalidateCatalog(barberId, true);
+            synchronized (seenCatalogs) {
+                seenCatalogs.put(barberId, version);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Registra a versão vista de um barbeiro.
+     *
+     * @param seen Últimas versões vistas.
+     * @param barberId ID do barbeiro.
+     * @param version Versão lida do banco.
+     * @return true se já houver uma versão vista por esta instância e ela for diferente.
+     */
+    private static boolean changed(Map<UUID, String> seen, UUID barberId, String version) {
+        synchronized (seen) {
+            String previous = seen.put(barberId, version);
+            return previous != null && !previous.equals(version);
+        }
+    }
+
+    private static void forget(Map<UUID, String> seen, UUID barberId) {
+        synchronized (seen) {
+            seen.remove(barberId);
+        }
+    }
+
+    private static Map<UUID, String> boundedMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
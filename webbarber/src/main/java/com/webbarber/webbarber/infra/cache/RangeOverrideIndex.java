@@ -0,0 +1,105 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.webbarber.webbarber.dto.SyncedRangeOverrideDTO;
+import com.webbarber.webbarber.repository.TimeSlotRangeOverrideRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Índice em memória das alterações de horário por intervalo de datas de cada barbeiro.
+ * Os intervalos de um barbeiro não se sobrepõem (restrição de exclusão no banco), então ficam em um mapa ordenado
+ * pela data inicial e uma data é resolvida com uma única busca pelo maior início anterior ou igual a ela.
+ * <p>
+ * O índice de um barbeiro é carregado na primeira consulta e reutilizado até ser descartado por
+ * {@link ContentVersions}, quando uma alteração da grade do barbeiro é confirmada nesta instância ou lida do feed de
+ * alterações das demais ({@link RemoteChangePoller}). Um carregamento em andamento durante um descarte não é
+ * guardado, para não reviver os intervalos anteriores. Barbeiros sem alterações de intervalo também ficam no índice,
+ * com um mapa vazio, que guarda no máximo {@code api.override-cache.max-barbers} barbeiros (política LRU).
+ * </p>
+ */
+@Component
+public class RangeOverrideIndex {
+
+    private final TimeSlotRangeOverrideRepository timeSlotRangeOverrideRepository;
+    private final Map<UUID, NavigableMap<LocalDate, SyncedRangeOverrideDTO>> ranges;
+    private long invalidations;
+
+    @Value("${api.zone-id}")
+    private ZoneId zoneId;
+
+    /**
+     * Construtor do {@code RangeOverrideIndex}.
+     *
+     * @param timeSlotRangeOverrideRepository Repositório das alterações por intervalo.
+     * @param maxBarbers Quantidade máxima de barbeiros mantidos no índice.
+     */
+    public RangeOverrideIndex(TimeSlotRangeOverrideRepository timeSlotRangeOverrideRepository,
+                              @Value("${api.override-cache.max-barbers}") int maxBarbers) {
+        this.timeSlotRangeOverrideRepository = timeSlotRangeOverrideRepository;
+        this.ranges = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, NavigableMap<LocalDate, SyncedRangeOverrideDTO>> eldest) {
+                return size() > maxBarbers;
+            }
+        };
+    }
+
+    /**
+     * Busca a alteração por intervalo que cobre uma data.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data consultada.
+     * @return {@link Optional} contendo a alteração, ou vazio se nenhum intervalo cobrir a data.
+     */
+    public Optional<SyncedRangeOverrideDTO> find(UUID barberId, LocalDate date) {
+        Map.Entry<LocalDate, SyncedRangeOverrideDTO> entry = rangesOf(barberId).floorEntry(date);
+        if(entry == null || entry.getValue().endDate().isBefore(date)) return Optional.empty();
+        return Optional.of(entry.getValue());
+    }
+
+    /**
+     * Descarta o índice de um barbeiro, que é recarregado na próxima consulta.
+     *
+     * @param barberId ID do barbeiro.
+     */
+    public void invalidate(UUID barberId) {
+        synchronized (ranges) {
+            invalidations++;
+            ranges.remove(barberId);
+        }
+    }
+
+    /**
+     * Obtém o índice de um barbeiro, carregando-o se necessário.
+     *
+     * @param barberId ID do barbeiro.
+     * @return Os intervalos vigentes, por data inicial.
+     */
+    private NavigableMap<LocalDate, SyncedRangeOverrideDTO> rangesOf(UUID barberId) {
+        long observed;
+        synchronized (ranges) {
+            NavigableMap<LocalDate, SyncedRangeOverrideDTO> cached = ranges.get(barberId);
+            if(cached != null) return cached;
+            observed = invalidations;
+        }
+
+        NavigableMap<LocalDate, SyncedRangeOverrideDTO> loaded = new TreeMap<>();
+        for (SyncedRangeOverrideDTO range :
+                timeSlotRangeOverrideRepository.findCurrentByBarberId(barberId, LocalDate.now(zoneId))) {
+            loaded.put(range.startDate(), range);
+        }
+        synchronized (ranges) {
+            if(invalidations == observed) ranges.put(barberId, loaded);
+        }
+        return loaded;
+    }
+}
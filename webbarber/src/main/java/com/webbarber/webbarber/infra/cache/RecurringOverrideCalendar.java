@@ -0,0 +1,138 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO;
+import com.webbarber.webbarber.repository.TimeSlotRecurringOverrideRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Avalia as regras de alteração de horário recorrentes dos barbeiros.
+ * As regras não geram linhas por data: na primeira consulta de um mês, as regras do barbeiro que valem naquele mês
+ * são lidas em uma única consulta e avaliadas para cada dia do mês, e o resultado fica memorizado por (barbeiro, mês).
+ * Quando mais de uma regra cobre a mesma data, a que fecha o dia prevalece; entre regras do mesmo tipo, a mais antiga.
+ * <p>
+ * Como no {@link RangeOverrideIndex}, os meses de um barbeiro são reutilizados até serem descartados por
+ * {@link ContentVersions} depois de uma alteração da grade, nesta instância ou em outra, e uma avaliação em andamento
+ * durante um descarte não é guardada. Meses sem ocorrências também são memorizados, e no máximo
+ * {@code api.override-cache.max-months} meses são mantidos (política LRU).
+ * </p>
+ */
+@Component
+public class RecurringOverrideCalendar {
+
+    /**
+     * Bit da máscara de ocorrências no mês que representa a última ocorrência do dia da semana.
+     */
+    public static final int LAST_WEEK = 1 << 5;
+
+    private record Month(UUID barberId, YearMonth month) {}
+
+    private final TimeSlotRecurringOverrideRepository timeSlotRecurringOverrideRepository;
+    private final Map<Month, Map<LocalDate, SyncedRecurringOverrideDTO>> months;
+    private long invalidations;
+
+    /**
+     * Construtor do {@code RecurringOverrideCalendar}.
+     *
+     * @param timeSlotRecurringOverrideRepository Repositório das regras recorrentes.
+     * @param maxMonths Quantidade máxima de meses memorizados.
+     */
+    public RecurringOverrideCalendar(TimeSlotRecurringOverrideRepository timeSlotRecurringOverrideRepository,
+                                     @Value("${api.override-cache.max-months}") int maxMonths) {
+        this.timeSlotRecurringOverrideRepository = timeSlotRecurringOverrideRepository;
+        this.months = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Month, Map<LocalDate, SyncedRecurringOverrideDTO>> eldest) {
+                return size() > maxMonths;
+            }
+        };
+    }
+
+    /**
+     * Busca a regra recorrente que vale em uma data.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data consultada.
+     * @return {@link Optional} contendo a regra, ou vazio se nenhuma regra cobrir a data.
+     */
+    public Optional<SyncedRecurringOverrideDTO> find(UUID barberId, LocalDate date) {
+        return Optional.ofNullable(monthOf(barberId, YearMonth.from(date)).get(date));
+    }
+
+    /**
+     * Verifica se uma regra recorrente cobre uma data.
+     *
+     * @param rule Regra a ser avaliada.
+     * @param date Data consultada.
+     * @return True se a data for uma ocorrência da regra.
+     */
+    public static boolean matches(SyncedRecurringOverrideDTO rule, LocalDate date) {
+        if(date.getDayOfWeek().getValue() != rule.dayOfWeek()) return false;
+        if(date.isBefore(rule.startDate()) || (rule.endDate() != null && date.isAfter(rule.endDate()))) return false;
+
+        if(rule.weeksOfMonth() != 0) {
+            int occurrence = (date.getDayOfMonth() - 1) / 7;
+            boolean last = date.plusWeeks(1).getMonthValue() != date.getMonthValue();
+            return (rule.weeksOfMonth() & (1 << occurrence)) != 0 || (last && (rule.weeksOfMonth() & LAST_WEEK) != 0);
+        }
+        LocalDate first = rule.startDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.of(rule.dayOfWeek())));
+        return ChronoUnit.WEEKS.between(first, date) % rule.weekInterval() == 0;
+    }
+
+    /**
+     * Descarta os meses memorizados de um barbeiro, que são reavaliados na próxima consulta.
+     *
+     * @param barberId ID do barbeiro.
+     */
+    public void invalidate(UUID barberId) {
+        synchronized (months) {
+            invalidations++;
+            months.keySet().removeIf(month -> month.barberId().equals(barberId));
+        }
+    }
+
+    /**
+     * Obtém as ocorrências de regras de um barbeiro em um mês, avaliando-as se necessário.
+     *
+     * @param barberId ID do barbeiro.
+     * @param yearMonth Mês consultado.
+     * @return A regra que vale em cada data do mês coberta por alguma regra.
+     */
+    private Map<LocalDate, SyncedRecurringOverrideDTO> monthOf(UUID barberId, YearMonth yearMonth) {
+        Month key = new Month(barberId, yearMonth);
+        long observed;
+        synchronized (months) {
+            Map<LocalDate, SyncedRecurringOverrideDTO> cached = months.get(key);
+            if(cached != null) return cached;
+            observed = invalidations;
+        }
+
+        List<SyncedRecurringOverrideDTO> rules = timeSlotRecurringOverrideRepository
+                .findActiveByBarberId(barberId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        Map<LocalDate, SyncedRecurringOverrideDTO> occurrences = new HashMap<>();
+        for (SyncedRecurringOverrideDTO rule : rules) {
+            LocalDate date = yearMonth.atDay(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.of(rule.dayOfWeek())));
+            for (; !date.isAfter(yearMonth.atEndOfMonth()); date = date.plusWeeks(1)) {
+                if(!matches(rule, date)) continue;
+                SyncedRecurringOverrideDTO previous = occurrences.get(date);
+                if(previous == null || (rule.closed() && !previous.closed())) occurrences.put(date, rule);
+            }
+        }
+        synchronized (months) {
+            if(invalidations == observed) months.put(key, occurrences);
+        }
+        return occurrences;
+    }
+}
@@ -0,0 +1,73 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.webbarber.webbarber.entity.ChangeEvent;
+import com.webbarber.webbarber.repository.ChangeEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Leitura periódica do feed de alterações ({@code change_events}) para descartar os caches afetados por alterações
+ * confirmadas em outras instâncias. Cada alteração de agendamento, serviço ou grade grava um evento na mesma
+ * transação, com o barbeiro, e a leitura nunca passa da transação ativa mais antiga; assim, nenhum evento é perdido e
+ * um cache fica desatualizado por no máximo {@code api.cache.remote-changes.poll-ms}. As alterações desta instância
+ * também aparecem no feed e apenas descartam os mesmos caches uma segunda vez.
+ * <p>
+ * A leitura começa na transação ativa mais antiga no momento da primeira execução: os caches começam vazios, então
+ * as alterações anteriores já estão no banco quando são lidos.
+ * </p>
+ */
+@Component
+public class RemoteChangePoller {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ContentVersions contentVersions;
+
+    private long txid = -1;
+    private long id;
+
+    @Value("${api.cache.remote-changes.page-size}")
+    private int pageSize;
+
+    /**
+     * Construtor do {@code RemoteChangePoller}.
+     *
+     * @param changeEventRepository Repositório do feed de alterações.
+     * @param contentVersions Versões e invalidação dos caches de conteúdo.
+     */
+    public RemoteChangePoller(ChangeEventRepository changeEventRepository, ContentVersions contentVersions) {
+        this.changeEventRepository = changeEventRepository;
+        this.contentVersions = contentVersions;
+    }
+
+    /**
+     * Lê os eventos confirmados desde a última leitura e descarta os caches dos barbeiros afetados.
+     */
+    @Scheduled(fixedDelayString = "${api.cache.remote-changes.poll-ms}")
+    public void poll() {
+        long horizon = changeEventRepository.findSafeHorizon();
+        if(txid < 0) {
+            // Eventos a partir da transação ativa mais antiga, inclusive
+            txid = horizon - 1;
+            id = Long.MAX_VALUE;
+            return;
+        }
+
+        List<ChangeEvent> events;
+        do {
+            events = changeEventRepository.findAfter(txid, id, horizon, PageRequest.of(0, pageSize));
+            for (ChangeEvent event : events) {
+                switch (event.getAggregate()) {
+                    case "SCHEDULE" -> contentVersions.invalidateSchedule(event.getBarberId(), true);
+                    case "SERVICE" -> contentVersions.invalidateCatalog(event.getBarberId(), true);
+                    default -> contentVersions.invalidateBookings(event.getBarberId());
+                }
+                txid = event.getTxid();
+                id = event.getId();
+            }
+        } while (events.size() == pageSize);
+    }
+}
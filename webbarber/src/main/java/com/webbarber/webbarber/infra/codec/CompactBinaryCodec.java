@@ -0,0 +1,325 @@
+package com.webbarber.webbarber.infra.codec;
+
+import com.webbarber.webbarber.dto.BookingDTO;
+import com.webbarber.webbarber.dto.BookingInfoDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Codificação binária compacta das listas de horários e de agendamentos, voltada aos clientes móveis.
+ *
+ * <p>Formato: um byte de versão, um byte com o tipo da lista, a quantidade de itens em varint e os itens.
+ * Todos os inteiros são varints (7 bits por byte); os que podem ser negativos usam codificação zigzag.</p>
+ * <ul>
+ *     <li>Horários são minutos do dia, gravados como diferença em relação ao horário anterior da lista
+ *     (segundos são descartados, já que os horários da agenda têm resolução de minutos).</li>
+ *     <li>Datas são dias desde 1970-01-01, também gravadas como diferença em relação à data anterior.</li>
+ *     <li>O término de um agendamento é gravado como duração em minutos mais um; zero indica término nulo.</li>
+ *     <li>Textos usam uma tabela construída durante a leitura: 0 indica nulo, 1 indica um texto novo
+ *     (tamanho em bytes seguido do UTF-8) e n &gt;= 2 repete o (n - 2)-ésimo texto já visto.</li>
+ *     <li>Identificadores (UUID) seguem a mesma regra, em uma tabela própria, mas o valor novo é gravado
+ *     nos seus 16 bytes, sem a forma textual.</li>
+ * </ul>
+ */
+public final class CompactBinaryCodec {
+
+    public static final byte VERSION = 2;
+    public static final byte TIME_LIST = 1;
+    public static final byte BOOKING_INFO_LIST = 2;
+    public static final byte BOOKING_LIST = 3;
+
+    private CompactBinaryCodec() {
+    }
+
+    /**
+     * Codifica uma lista de horários.
+     *
+     * @param times Horários a serem codificados.
+     * @return O payload binário.
+     */
+    public static byte[] encodeTimes(List<LocalTime> times) {
+        Writer writer = new Writer(TIME_LIST, times.size());
+        for (LocalTime time : times) {
+            writer.writeTime(time);
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Codifica uma lista de agendamentos detalhados.
+     *
+     * @param bookings Agendamentos a serem codificados.
+     * @return O payload binário.
+     */
+    public static byte[] encodeBookingInfos(List<BookingInfoDTO> bookings) {
+        Writer writer = new Writer(BOOKING_INFO_LIST, bookings.size());
+        for (BookingInfoDTO booking : bookings) {
+            writer.writeString(booking.userName());
+            writer.writeString(booking.barberName());
+            writer.writeString(booking.serviceName());
+            writer.writeDate(booking.date());
+            writer.writeInterval(booking.startTime(), booking.endTime());
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Codifica uma lista de agendamentos.
+     *
+     * @param bookings Agendamentos a serem codificados.
+     * @return O payload binário.
+     */
+    public static byte[] encodeBookings(List<BookingDTO> bookings) {
+        Writer writer = new Writer(BOOKING_LIST, bookings.size());
+        for (BookingDTO booking : bookings) {
+            writer.writeUuid(booking.userId());
+            writer.writeUuid(booking.barberId());
+            writer.writeUuid(booking.serviceId());
+            writer.writeDate(booking.date());
+            writer.writeInterval(booking.startTime(), booking.endTime());
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodifica uma lista de horários.
+     *
+     * @param payload Payload binário.
+     * @return Os horários.
+     */
+    public static List<LocalTime> decodeTimes(byte[] payload) {
+        Reader reader = new Reader(payload, TIME_LIST);
+        List<LocalTime> times = new ArrayList<>(reader.count);
+        for (int i = 0; i < reader.count; i++) {
+            times.add(reader.readTime());
+        }
+        return times;
+    }
+
+    /**
+     * Decodifica uma lista de agendamentos detalhados.
+     *
+     * @param payload Payload binário.
+     * @return Os agendamentos.
+     */
+    public static List<BookingInfoDTO> decodeBookingInfos(byte[] payload) {
+        Reader reader = new Reader(payload, BOOKING_INFO_LIST);
+        List<BookingInfoDTO> bookings = new ArrayList<>(reader.count);
+        for (int i = 0; i < reader.count; i++) {
+            String userName = reader.readString();
+            String barberName = reader.readString();
+            String serviceName = reader.readString();
+            LocalDate date = reader.readDate();
+            LocalTime startTime = reader.readTime();
+            bookings.add(new BookingInfoDTO(userName, barberName, serviceName, date, startTime, reader.readEndTime(startTime)));
+        }
+        return bookings;
+    }
+
+    /**
+     * Decodifica uma lista de agendamentos.
+     *
+     * @param payload Payload binário.
+     * @return Os agendamentos.
+     */
+    public static List<BookingDTO> decodeBookings(byte[] payload) {
+        Reader reader = new Reader(payload, BOOKING_LIST);
+        List<BookingDTO> bookings = new ArrayList<>(reader.count);
+        for (int i = 0; i < reader.count; i++) {
+            UUID userId = reader.readUuid();
+            UUID barberId = reader.readUuid();
+            UUID serviceId = reader.readUuid();
+            LocalDate date = reader.readDate();
+            LocalTime startTime = reader.readTime();
+            bookings.add(new BookingDTO(userId, barberId, serviceId, date, startTime, reader.readEndTime(startTime)));
+        }
+        return bookings;
+    }
+
+    /**
+     * Escrita sequencial de um payload, mantendo o estado das diferenças e da tabela de textos.
+     */
+    private static final class Writer {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<UUID, Integer> uuids = new HashMap<>();
+        private int previousMinute;
+        private long previousEpochDay;
+
+        Writer(byte type, int count) {
+            output.write(VERSION);
+            output.write(type);
+            writeVarint(count);
+        }
+
+        void writeTime(LocalTime time) {
+            int minute = time.getHour() * 60 + time.getMinute();
+            writeVarint(zigzag(minute - previousMinute));
+            previousMinute = minute;
+        }
+
+        void writeDate(LocalDate date) {
+            long epochDay = date.toEpochDay();
+            writeVarint(zigzag(epochDay - previousEpochDay));
+            previousEpochDay = epochDay;
+        }
+
+        void writeInterval(LocalTime startTime, LocalTime endTime) {
+            writeTime(startTime);
+            if(endTime == null) {
+                writeVarint(0);
+                return;
+            }
+            int minutes = endTime.getHour() * 60 + endTime.getMinute() - (startTime.getHour() * 60 + startTime.getMinute());
+            writeVarint(zigzag(minutes) + 1);
+        }
+
+        void writeString(String value) {
+            if(value == null) {
+                writeVarint(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if(index != null) {
+                writeVarint(index + 2L);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(1);
+            writeVarint(bytes.length);
+            output.writeBytes(bytes);
+        }
+
+        void writeUuid(UUID value) {
+            if(value == null) {
+                writeVarint(0);
+                return;
+            }
+            Integer index = uuids.get(value);
+            if(index != null) {
+                writeVarint(index + 2L);
+                return;
+            }
+            uuids.put(value, uuids.size());
+            writeVarint(1);
+            writeLong(value.getMostSignificantBits());
+            writeLong(value.getLeastSignificantBits());
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                output.write((int) (value >>> shift));
+            }
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                output.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            output.write((int) value);
+        }
+
+        byte[] toByteArray() {
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * Leitura sequencial de um payload, espelhando o estado mantido pelo {@link Writer}.
+     */
+    private static final class Reader {
+
+        private final byte[] payload;
+        private final List<String> strings = new ArrayList<>();
+        private final List<UUID> uuids = new ArrayList<>();
+        private final int count;
+        private int position;
+        private int previousMinute;
+        private long previousEpochDay;
+
+        Reader(byte[] payload, byte type) {
+            this.payload = payload;
+            if(payload.length < 2 || payload[0] != VERSION || payload[1] != type) {
+                throw new IllegalArgumentException("Payload binário inválido.");
+            }
+            this.position = 2;
+            this.count = (int) readVarint();
+        }
+
+        LocalTime readTime() {
+            previousMinute += (int) unzigzag(readVarint());
+            return LocalTime.of(previousMinute / 60, previousMinute % 60);
+        }
+
+        LocalDate readDate() {
+            previousEpochDay += unzigzag(readVarint());
+            return LocalDate.ofEpochDay(previousEpochDay);
+        }
+
+        LocalTime readEndTime(LocalTime startTime) {
+            long value = readVarint();
+            if(value == 0) return null;
+            return startTime.plusMinutes(unzigzag(value - 1));
+        }
+
+        String readString() {
+            long value = readVarint();
+            if(value == 0) return null;
+            if(value > 1) return strings.get((int) (value - 2));
+            int length = (int) readVarint();
+            if(position + length > payload.length) throw new IllegalArgumentException("Payload binário inválido.");
+            String string = new String(payload, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(string);
+            return string;
+        }
+
+        UUID readUuid() {
+            long value = readVarint();
+            if(value == 0) return null;
+            if(value > 1) return uuids.get((int) (value - 2));
+            UUID uuid = new UUID(readLong(), readLong());
+            uuids.add(uuid);
+            return uuid;
+        }
+
+        long readLong() {
+            if(position + 8 > payload.length) throw new IllegalArgumentException("Payload binário inválido.");
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (payload[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if(position >= payload.length) throw new IllegalArgumentException("Payload binário inválido.");
+                byte current = payload[position++];
+                value |= (long) (current & 0x7F) << shift;
+                if(current >= 0) return value;
+            }
+            throw new IllegalArgumentException("Payload binário inválido.");
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
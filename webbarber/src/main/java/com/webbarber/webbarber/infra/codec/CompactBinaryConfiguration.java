@@ -0,0 +1,25 @@
+package com.webbarber.webbarber.infra.codec;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registra o formato binário compacto na negociação de conteúdo do Spring MVC.
+ * O conversor é adicionado ao final da lista, de modo que o JSON continue sendo o padrão.
+ */
+@Configuration
+public class CompactBinaryConfiguration implements WebMvcConfigurer {
+
+    /**
+     * Adiciona o conversor binário aos conversores padrão.
+     *
+     * @param converters Conversores configurados.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CompactBinaryHttpMessageConverter());
+    }
+}
@@ -0,0 +1,93 @@
+package com.webbarber.webbarber.infra.codec;
+
+import com.webbarber.webbarber.dto.BookingDTO;
+import com.webbarber.webbarber.dto.BookingInfoDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Conversor que escreve as listas suportadas pelo {@link CompactBinaryCodec} quando o cliente pede
+ * {@code application/vnd.webbarber.compact} no cabeçalho {@code Accept}. Sem esse pedido, o JSON continua sendo usado.
+ */
+public class CompactBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<?>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.webbarber.compact";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    /**
+     * Construtor do {@code CompactBinaryHttpMessageConverter}.
+     */
+    public CompactBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, @NonNull Class<?> clazz, MediaType mediaType) {
+        return elementType(type) != null && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull List<?> list, Type type, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        Class<?> elementType = elementType(type);
+        byte[] payload;
+        if(elementType == LocalTime.class) {
+            payload = CompactBinaryCodec.encodeTimes(cast(list));
+        } else if(elementType == BookingInfoDTO.class) {
+            payload = CompactBinaryCodec.encodeBookingInfos(cast(list));
+        } else {
+            payload = CompactBinaryCodec.encodeBookings(cast(list));
+        }
+        outputMessage.getHeaders().setContentLength(payload.length);
+        outputMessage.getBody().write(payload);
+    }
+
+    @Override
+    protected List<?> readInternal(@NonNull Class<? extends List<?>> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato binário aceito apenas em respostas.", inputMessage);
+    }
+
+    @Override
+    public List<?> read(@NonNull Type type, Class<?> contextClass, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato binário aceito apenas em respostas.", inputMessage);
+    }
+
+    /**
+     * Obtém o tipo dos elementos da lista, se for um dos suportados pelo formato binário.
+     *
+     * @param type Tipo genérico do corpo da resposta.
+     * @return O tipo dos elementos, ou null se a lista não for suportada.
+     */
+    private static Class<?> elementType(Type type) {
+        if(!(type instanceof ParameterizedType parameterized) || parameterized.getRawType() != List.class) return null;
+        Type argument = parameterized.getActualTypeArguments()[0];
+        if(argument == LocalTime.class || argument == BookingInfoDTO.class || argument == BookingDTO.class) {
+            return (Class<?>) argument;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(List<?> list) {
+        return (List<T>) list;
+    }
+}
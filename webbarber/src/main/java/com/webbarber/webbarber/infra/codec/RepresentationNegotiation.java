@@ -0,0 +1,115 @@
+package com.webbarber.webbarber.infra.codec;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Negociação das representações das respostas servidas byte a byte (sem passar pelos conversores do Spring MVC).
+ * Cada representação de um mesmo conteúdo tem a sua própria ETag, formada pela ETag do conteúdo com um sufixo.
+ */
+public final class RepresentationNegotiation {
+
+    public static final String GZIP_ETAG_SUFFIX = "-gz";
+    public static final String COMPACT_ETAG_SUFFIX = "-b";
+
+    private RepresentationNegotiation() {}
+
+    /**
+     * Verifica se o cliente prefere o formato binário compacto ao JSON, respeitando os pesos do {@code Accept}.
+     * O peso de cada formato vem da faixa mais específica que o inclui (por exemplo, {@code application/*;q=0.5}
+     * vale para o JSON apenas se não houver {@code application/json}). Em caso de empate, o JSON é mantido.
+     *
+     * @param accept Valor do cabeçalho {@code Accept}, ou null.
+     * @return true se o formato compacto tiver peso maior que zero e maior que o do JSON.
+     */
+    public static boolean prefersCompact(String accept) {
+        if(accept == null || accept.isBlank()) return false;
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException exception) {
+            return false;
+        }
+        double compact = quality(accepted, CompactBinaryHttpMessageConverter.MEDIA_TYPE);
+        return compact > 0 && compact > quality(accepted, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Verifica se o cliente aceita o corpo em gzip, respeitando os pesos do {@code Accept-Encoding}.
+     * Uma menção explícita a {@code gzip} prevalece sobre {@code *}; peso zero ({@code gzip;q=0}) recusa a codificação.
+     *
+     * @param acceptEncoding Valor do cabeçalho {@code Accept-Encoding}, ou null.
+     * @return true se o gzip for aceito.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if(acceptEncoding == null) return false;
+        double gzip = -1;
+        double any = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double quality = quality(parts);
+            if(coding.equals("gzip") || coding.equals("x-gzip")) gzip = Math.max(gzip, quality);
+            else if(coding.equals("*")) any = Math.max(any, quality);
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    /**
+     * Forma a ETag de uma representação acrescentando um sufixo dentro das aspas, preservando o prefixo {@code W/}
+     * das ETags fracas.
+     *
+     * @param eTag ETag do conteúdo, entre aspas (forte ou fraca).
+     * @param suffix Sufixo da representação.
+     * @return A ETag da representação.
+     */
+    public static String variantETag(String eTag, String suffix) {
+        int open = eTag.startsWith("W/") ? 2 : 0;
+        if(eTag.length() < open + 2 || eTag.charAt(open) != '"' || !eTag.endsWith("\"")) {
+            throw new IllegalArgumentException("ETag inválida: " + eTag);
+        }
+        return eTag.substring(0, eTag.length() - 1) + suffix + "\"";
+    }
+
+    /**
+     * Obtém o peso de um formato pela faixa mais específica do {@code Accept} que o inclui.
+     *
+     * @param accepted Faixas aceitas pelo cliente.
+     * @param mediaType Formato avaliado.
+     * @return O peso, ou 0 se nenhuma faixa incluir o formato.
+     */
+    private static double quality(List<MediaType> accepted, MediaType mediaType) {
+        MediaType best = null;
+        for (MediaType range : accepted) {
+            if(range.includes(mediaType) && (best == null || specificity(range) > specificity(best))) best = range;
+        }
+        return best == null ? 0 : best.getQualityValue();
+    }
+
+    private static int specificity(MediaType range) {
+        if(range.isWildcardType()) return 0;
+        return range.isWildcardSubtype() ? 1 : 2;
+    }
+
+    /**
+     * Lê o peso ({@code q}) dos parâmetros de um item de um cabeçalho de negociação.
+     *
+     * @param parts Item dividido em ";", com o valor na primeira posição.
+     * @return O peso, entre 0 e 1 (1 se ausente, 0 se inválido).
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if(!parameter.regionMatches(true, 0, "q=", 0, 2)) continue;
+            try {
+                double quality = Double.parseDouble(parameter.substring(2).trim());
+                return quality >= 0 && quality <= 1 ? quality : 0;
+            } catch (NumberFormatException exception) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+}
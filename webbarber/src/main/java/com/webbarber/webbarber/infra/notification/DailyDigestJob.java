@@ -0,0 +1,38 @@
+package com.webbarber.webbarber.infra.notification;
+
+import com.webbarber.webbarber.service.AgendaDigestService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Tarefa agendada que gera, todas as manhãs, o resumo da agenda do dia de cada barbeiro.
+ */
+@Component
+public class DailyDigestJob {
+
+    private final AgendaDigestService agendaDigestService;
+
+    @Value("${api.zone-id}")
+    private ZoneId zoneId;
+
+    /**
+     * Construtor do {@code DailyDigestJob}.
+     *
+     * @param agendaDigestService Serviço de resumo diário da agenda.
+     */
+    public DailyDigestJob(AgendaDigestService agendaDigestService) {
+        this.agendaDigestService = agendaDigestService;
+    }
+
+    /**
+     * Gera os resumos da agenda do dia corrente.
+     */
+    @Scheduled(cron = "${api.digest.cron}", zone = "${api.zone-id}")
+    public void run() {
+        agendaDigestService.sendDailyDigests(LocalDate.now(zoneId));
+    }
+}
@@ -0,0 +1,120 @@
+package com.webbarber.webbarber.infra.notification;
+
+import com.webbarber.webbarber.entity.Notification;
+import com.webbarber.webbarber.service.NotificationService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Despachante que esvazia a caixa de saída de notificações em segundo plano.
+ * A cada execução reserva lotes de notificações elegíveis, envia cada uma em uma virtual thread
+ * (a latência do provedor não ocupa threads de plataforma nem conexões do banco) e registra o resultado:
+ * os envios bem-sucedidos são confirmados em uma única atualização e as falhas são reagendadas com espera exponencial.
+ * Um lote espera no máximo {@code api.notification.send-timeout-ms} pelos envios; os que não terminarem nesse prazo
+ * são cancelados e contados como falha, para que um provedor travado não segure o despachante nem a reserva do lote.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private final NotificationService notificationService;
+    private final NotificationProvider notificationProvider;
+    private final NotificationMetrics metrics;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${api.notification.batch-size}")
+    private int batchSize;
+
+    @Value("${api.notification.max-batches-per-run}")
+    private int maxBatchesPerRun;
+
+    @Value("${api.notification.send-timeout-ms}")
+    private long sendTimeoutMillis;
+
+    /**
+     * Construtor do {@code NotificationDispatcher}.
+     *
+     * @param notificationService Serviço da caixa de saída.
+     * @param notificationProvider Provedor que entrega as mensagens.
+     * @param metrics Métricas do despachante.
+     */
+    public NotificationDispatcher(NotificationService notificationService, NotificationProvider notificationProvider,
+                                  NotificationMetrics metrics) {
+        this.notificationService = notificationService;
+        this.notificationProvider = notificationProvider;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Processa os lotes disponíveis, até o limite de lotes por execução.
+     */
+    @Scheduled(fixedDelayString = "${api.notification.dispatch-interval-ms}")
+    public void dispatch() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<Notification> batch = notificationService.claimBatch(batchSize);
+            if(batch.isEmpty()) return;
+            sendBatch(batch);
+            if(batch.size() < batchSize) return;
+        }
+    }
+
+    /**
+     * Envia as notificações de um lote em paralelo e registra os resultados.
+     *
+     * @param batch Notificações reservadas.
+     */
+    private void sendBatch(List<Notification> batch) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        List<Future<?>> deliveries = new ArrayList<>(batch.size());
+        for (Notification notification : batch) {
+            deliveries.add(executor.submit(() ->
+                    notificationProvider.send(notification.getRecipientPhone(), notification.getMessage())));
+        }
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        int failed = 0;
+        long maxLagMillis = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Notification notification = batch.get(i);
+            try {
+                deliveries.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sent.add(notification.getId());
+                maxLagMillis = Math.max(maxLagMillis, Duration.between(notification.getCreatedAt(), Instant.now()).toMillis());
+            } catch (ExecutionException exception) {
+                failed++;
+                notificationService.markFailed(notification, String.valueOf(exception.getCause().getMessage()));
+            } catch (TimeoutException exception) {
+                deliveries.get(i).cancel(true);
+                failed++;
+                notificationService.markFailed(notification, "Tempo limite de envio excedido");
+            } catch (InterruptedException exception) {
+                // As reservas expiram e as notificações restantes voltam a ser elegíveis
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        notificationService.markSent(sent);
+        metrics.recordBatch(batch.size(), sent.size(), failed, System.nanoTime() - start, maxLagMillis);
+    }
+
+    /**
+     * Encerra o executor dos envios.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,88 @@
+package com.webbarber.webbarber.infra.notification;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas do despachante de notificações, atualizadas a cada lote processado.
+ */
+@Component
+public class NotificationMetrics {
+
+    private record Batch(int size, long durationNanos, long maxLagMillis) {}
+
+    private volatile Batch lastBatch = new Batch(0, 0, 0);
+    private final AtomicLong totalSent = new AtomicLong();
+    private final AtomicLong totalFailedAttempts = new AtomicLong();
+
+    /**
+     * Registra o resultado de um lote.
+     *
+     * @param size Quantidade de notificações do lote.
+     * @param sent Quantidade de envios bem-sucedidos.
+     * @param failed Quantidade de envios que falharam.
+     * @param durationNanos Duração do lote, em nanossegundos.
+     * @param maxLagMillis Maior atraso entre a criação e o envio, em milissegundos.
+     */
+    public void recordBatch(int size, int sent, int failed, long durationNanos, long maxLagMillis) {
+        totalSent.addAndGet(sent);
+        totalFailedAttempts.addAndGet(failed);
+        lastBatch = new Batch(size, durationNanos, maxLagMillis);
+    }
+
+    /**
+     * Obtém a quantidade de notificações do último lote.
+     *
+     * @return O tamanho do último lote.
+     */
+    public int getLastBatchSize() {
+        return lastBatch.size();
+    }
+
+    /**
+     * Obtém a duração do último lote.
+     *
+     * @return A duração, em milissegundos.
+     */
+    public long getLastBatchDurationMillis() {
+        return lastBatch.durationNanos() / 1_000_000;
+    }
+
+    /**
+     * Obtém a vazão do último lote.
+     *
+     * @return A vazão, em notificações por segundo.
+     */
+    public double getLastBatchThroughput() {
+        Batch batch = lastBatch;
+        return batch.durationNanos() == 0 ? 0 : batch.size() * 1_000_000_000.0 / batch.durationNanos();
+    }
+
+    /**
+     * Obtém o maior atraso entre a criação e o envio no último lote.
+     *
+     * @return O atraso, em milissegundos.
+     */
+    public long getLastBatchMaxLagMillis() {
+        return lastBatch.maxLagMillis();
+    }
+
+    /**
+     * Obtém o total de notificações enviadas.
+     *
+     * @return O total de envios bem-sucedidos.
+     */
+    public long getTotalSent() {
+        return totalSent.get();
+    }
+
+    /**
+     * Obtém o total de tentativas de envio que falharam.
+     *
+     * @return O total de falhas.
+     */
+    public long getTotalFailedAttempts() {
+        return totalFailedAttempts.get();
+    }
+}
@@ -0,0 +1,18 @@
+package com.webbarber.webbarber.infra.notification;
+
+/**
+ * Provedor responsável pela entrega das notificações (WhatsApp, SMS etc.).
+ * As implementações são chamadas pelo despachante fora de qualquer transação e podem bloquear;
+ * cada envio é executado em uma virtual thread.
+ */
+public interface NotificationProvider {
+
+    /**
+     * Entrega uma mensagem ao destinatário.
+     *
+     * @param phone Telefone do destinatário.
+     * @param message Texto a ser enviado.
+     * @throws RuntimeException Se a entrega falhar; a notificação será reenviada conforme a política de tentativas.
+     */
+    void send(String phone, String message);
+}
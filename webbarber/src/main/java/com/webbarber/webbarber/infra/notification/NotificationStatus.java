@@ -0,0 +1,27 @@
+package com.webbarber.webbarber.infra.notification;
+
+/**
+ * Situação de uma notificação na caixa de saída.
+ */
+public enum NotificationStatus {
+
+    /**
+     * Aguardando envio (ou um novo envio, após uma falha).
+     */
+    PENDING,
+
+    /**
+     * Reservada por um despachante e em envio. Se o prazo da reserva expirar, volta a ser elegível.
+     */
+    SENDING,
+
+    /**
+     * Entregue ao provedor com sucesso.
+     */
+    SENT,
+
+    /**
+     * Descartada após esgotar as tentativas.
+     */
+    FAILED
+}
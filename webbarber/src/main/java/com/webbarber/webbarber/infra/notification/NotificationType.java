@@ -0,0 +1,27 @@
+package com.webbarber.webbarber.infra.notification;
+
+/**
+ * Tipos de notificação enviados aos clientes.
+ */
+public enum NotificationType {
+
+    /**
+     * Confirmação de um novo agendamento.
+     */
+    BOOKING_CONFIRMED,
+
+    /**
+     * Aviso de cancelamento de um agendamento.
+     */
+    BOOKING_CANCELLED,
+
+    /**
+     * Lembrete de um agendamento próximo.
+     */
+    APPOINTMENT_REMINDER,
+
+    /**
+     * Resumo diário da agenda de um barbeiro.
+     */
+    DAILY_DIGEST
+}
@@ -0,0 +1,16 @@
+package com.webbarber.webbarber.infra.notification;
+
+import java.util.UUID;
+
+/**
+ * Notificação a ser gravada na caixa de saída, identificada por uma chave que impede duplicações.
+ *
+ * @param recipientId ID do destinatário (usuário ou barbeiro).
+ * @param recipientPhone Telefone do destinatário.
+ * @param type Tipo da notificação.
+ * @param message Texto a ser enviado.
+ * @param dedupKey Chave que identifica a notificação.
+ */
+public record PendingNotification(UUID recipientId, String recipientPhone, NotificationType type,
+                                  String message, String dedupKey) {
+}
@@ -0,0 +1,48 @@
+package com.webbarber.webbarber.infra.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Provedor local para desenvolvimento e testes: apenas registra as mensagens no log.
+ * Permite simular latência e falhas para exercitar o despachante e a política de tentativas.
+ */
+@Component
+@ConditionalOnProperty(name = "api.notification.provider", havingValue = "stub", matchIfMissing = true)
+public class StubNotificationProvider implements NotificationProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StubNotificationProvider.class);
+
+    @Value("${api.notification.stub.latency-ms}")
+    private long latencyMillis;
+
+    @Value("${api.notification.stub.failure-rate}")
+    private double failureRate;
+
+    /**
+     * Simula a entrega de uma mensagem.
+     *
+     * @param phone Telefone do destinatário.
+     * @param message Texto a ser enviado.
+     */
+    @Override
+    public void send(String phone, String message) {
+        if(latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Envio interrompido.", exception);
+            }
+        }
+        if(failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("Falha simulada no envio para " + phone + ".");
+        }
+        LOGGER.info("Notificação para {}: {}", phone, message);
+    }
+}
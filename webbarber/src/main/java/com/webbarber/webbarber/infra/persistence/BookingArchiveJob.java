@@ -0,0 +1,73 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import com.webbarber.webbarber.service.BookingArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Tarefa agendada que move os agendamentos antigos para o arquivo.
+ * Cada lote é arquivado em uma transação curta, com uma pausa entre os lotes, para não manter bloqueios
+ * longos nem disputar o banco com as requisições.
+ */
+@Component
+public class BookingArchiveJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookingArchiveJob.class);
+
+    private final BookingArchiveService bookingArchiveService;
+
+    @Value("${api.booking.archive.batch-size}")
+    private int batchSize;
+
+    @Value("${api.booking.archive.pause-ms}")
+    private long pauseMs;
+
+    /**
+     * Construtor do {@code BookingArchiveJob}.
+     *
+     * @param bookingArchiveService Serviço do arquivo de agendamentos.
+     */
+    public BookingArchiveJob(BookingArchiveService bookingArchiveService) {
+        this.bookingArchiveService = bookingArchiveService;
+    }
+
+    /**
+     * Arquiva, lote a lote, todos os agendamentos anteriores à data de corte.
+     */
+    @Scheduled(cron = "${api.booking.archive.cron}", zone = "${api.zone-id}")
+    public void run() {
+        LocalDate cutoff = bookingArchiveService.getCutoff();
+        long start = System.nanoTime();
+        long archived = 0;
+        int moved;
+        do {
+            moved = bookingArchiveService.archiveBatch(cutoff, batchSize);
+            archived += moved;
+        } while (moved == batchSize && pause());
+
+        if(archived > 0) {
+            LOGGER.info("{} agendamentos anteriores a {} arquivados em {} ms", archived, cutoff,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Aguarda entre dois lotes.
+     *
+     * @return False se a thread for interrompida durante a pausa.
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import com.webbarber.webbarber.repository.BookingRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Manutenção das partições mensais da tabela de agendamentos.
+ * Cria antecipadamente as partições dos próximos meses, para que os novos agendamentos não caiam na
+ * partição padrão, e remove as partições de meses além do período de retenção, arquivando antes os
+ * agendamentos que ainda estiverem nelas.
+ */
+@Component
+public class BookingPartitionMaintenance {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookingPartitionMaintenance.class);
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${api.zone-id}")
+    private ZoneId zoneId;
+
+    @Value("${api.booking.partitions.months-ahead}")
+    private int monthsAhead;
+
+    @Value("${api.booking.partitions.retention-months}")
+    private int retentionMonths;
+
+    /**
+     * Construtor do {@code BookingPartitionMaintenance}.
+     *
+     * @param bookingRepository Repositório de agendamentos.
+     */
+    public BookingPartitionMaintenance(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Garante as partições futuras ao iniciar a aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        maintain();
+    }
+
+    /**
+     * Cria as partições do mês corrente até {@code months-ahead} meses à frente e, se a retenção estiver
+     * configurada, arquiva e remove as partições de meses anteriores a ela.
+     */
+    @Scheduled(cron = "${api.booking.partitions.cron}", zone = "${api.zone-id}")
+    @Transactional
+    public void maintain() {
+        LocalDate currentMonth = LocalDate.now(zoneId).withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            String created = bookingRepository.createPartition(currentMonth.plusMonths(i));
+            if(created != null) LOGGER.info("Partição de agendamentos criada: {}", created);
+        }
+
+        if(retentionMonths <= 0) return;
+        List<String> dropped = bookingRepository.detachPartitionsBefore(currentMonth.minusMonths(retentionMonths));
+        if(!dropped.isEmpty()) LOGGER.info("Partições de agendamentos arquivadas e removidas: {}", dropped);
+    }
+}
@@ -0,0 +1,118 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link DataSource} que limita quantas threads podem retirar conexões do pool ao mesmo tempo.
+ * Com virtual threads, milhares de requisições podem disputar o pool do Hikari simultaneamente; o semáforo
+ * justo mantém essas threads estacionadas em fila (custo quase nulo) e deixa chegar ao Hikari apenas
+ * a quantidade que ele consegue atender, evitando a disputa e os timeouts em massa.
+ * A permissão é devolvida quando a conexão é fechada.
+ */
+public class BoundedCheckoutDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    /**
+     * Construtor do {@code BoundedCheckoutDataSource}.
+     *
+     * @param targetDataSource DataSource real (pool de conexões).
+     * @param maxConcurrentCheckouts Quantidade máxima de conexões retiradas ao mesmo tempo.
+     * @param timeoutMillis Tempo máximo de espera por uma permissão, em milissegundos.
+     */
+    public BoundedCheckoutDataSource(DataSource targetDataSource, int maxConcurrentCheckouts, long timeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrentCheckouts, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Obtém uma conexão respeitando o limite de retiradas simultâneas.
+     *
+     * @return Conexão que devolve a permissão ao ser fechada.
+     * @throws SQLException Se o tempo de espera expirar ou se o pool falhar.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * Obtém uma conexão com credenciais específicas respeitando o limite de retiradas simultâneas.
+     *
+     * @param username Usuário do banco.
+     * @param password Senha do banco.
+     * @return Conexão que devolve a permissão ao ser fechada.
+     * @throws SQLException Se o tempo de espera expirar ou se o pool falhar.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * Aguarda uma permissão para retirar uma conexão.
+     *
+     * @throws SQLException Se o tempo de espera expirar ou a thread for interrompida.
+     */
+    private void acquire() throws SQLException {
+        try {
+            if(!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Tempo esgotado aguardando uma conexão do pool.");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando uma conexão do pool.", exception);
+        }
+    }
+
+    /**
+     * Envolve a conexão para devolver a permissão uma única vez quando ela for fechada.
+     *
+     * @param connection Conexão obtida do pool.
+     * @return Proxy da conexão.
+     */
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException exception) {
+                            throw exception.getTargetException();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getTargetException();
+                    }
+                });
+    }
+}
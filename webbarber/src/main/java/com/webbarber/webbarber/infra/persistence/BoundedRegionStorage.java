@@ -0,0 +1,189 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Armazenamento em memória de uma região do cache de segundo nível do Hibernate, limitado em quantidade de entradas
+ * e em tempo de vida. Ao passar do limite, as entradas usadas há mais tempo são descartadas (LRU); entradas mais
+ * antigas que o tempo de vida são descartadas na leitura seguinte.
+ * <p>
+ * As leituras não usam trava: as entradas ficam em um {@link ConcurrentHashMap} e cada leitura apenas registra o
+ * instante lógico do acesso na entrada. Apenas o descarte por limite usa uma trava, obtida sem espera pela gravação
+ * que passou do limite; se outra gravação já estiver descartando, a região pode passar do limite momentaneamente.
+ * Cada descarte remove de uma vez 1/16 do limite, para que a ordenação por acesso não ocorra a cada gravação.
+ * </p>
+ * <p>
+ * Também conta acertos, falhas, gravações e descartes, usados no cálculo da taxa de acerto de cada região.
+ * Em regiões de leitura e escrita, uma trava gravada durante uma atualização conta como acerto do armazenamento,
+ * embora o Hibernate a trate como falha; isso só ocorre enquanto a transação que altera a linha está aberta.
+ * </p>
+ */
+public class BoundedRegionStorage implements DomainDataStorageAccess {
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+        private volatile long accessedAt;
+
+        private Entry(Object value, long expiresAt, long accessedAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.accessedAt = accessedAt;
+        }
+    }
+
+    private record Candidate(Object key, Entry entry, long accessedAt) {}
+
+    private final String regionName;
+    private final int maxEntries;
+    private final long timeToLiveNanos;
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Cria o armazenamento de uma região.
+     *
+     * @param regionName Nome da região.
+     * @param maxEntries Quantidade máxima de entradas.
+     * @param timeToLiveNanos Tempo de vida das entradas, em nanossegundos, ou 0 para não expirar.
+     */
+    public BoundedRegionStorage(String regionName, int maxEntries, long timeToLiveNanos) {
+        if(maxEntries < 1) throw new IllegalArgumentException("A região deve comportar ao menos uma entrada.");
+        this.regionName = regionName;
+        this.maxEntries = maxEntries;
+        this.timeToLiveNanos = timeToLiveNanos;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = live(key);
+        if(entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.accessedAt = clock.incrementAndGet();
+        return entry.value;
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        long expiresAt = timeToLiveNanos == 0 ? Long.MAX_VALUE : System.nanoTime() + timeToLiveNanos;
+        entries.put(key, new Entry(value, expiresAt, clock.incrementAndGet()));
+        puts.increment();
+        if(entries.size() > maxEntries) evictLeastRecentlyUsed();
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return live(key) != null;
+    }
+
+    @Override
+    public void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void release() {
+        entries.clear();
+    }
+
+    /**
+     * Obtém o nome da região.
+     *
+     * @return O nome da região.
+     */
+    public String getRegionName() {
+        return regionName;
+    }
+
+    /**
+     * Obtém a quantidade máxima de entradas da região.
+     *
+     * @return O limite de entradas.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Obtém um retrato dos contadores da região.
+     *
+     * @return Os contadores e a quantidade atual de entradas.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(entries.size(), hits.sum(), misses.sum(), puts.sum(), evictions.sum());
+    }
+
+    /**
+     * Busca uma entrada ainda válida, descartando-a se tiver expirado.
+     *
+     * @param key Chave da entrada.
+     * @return A entrada, ou null se não existir ou tiver expirado.
+     */
+    private Entry live(Object key) {
+        Entry entry = entries.get(key);
+        if(entry == null) return null;
+        if(entry.expiresAt - System.nanoTime() < 0) {
+            if(entries.remove(key, entry)) evictions.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Descarta as entradas usadas há mais tempo até a região voltar a ter folga abaixo do limite.
+     * Não espera se outra gravação já estiver descartando.
+     */
+    private void evictLeastRecentlyUsed() {
+        if(!evictionLock.tryLock()) return;
+        try {
+            int target = maxEntries - maxEntries / 16;
+            int excess = entries.size() - target;
+            if(excess <= 0) return;
+            // O instante de acesso é copiado antes da ordenação, pois as leituras continuam a alterá-lo
+            List<Candidate> byAccess = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> byAccess.add(new Candidate(key, entry, entry.accessedAt)));
+            byAccess.sort(Comparator.comparingLong(Candidate::accessedAt));
+            for (int i = 0; i < excess && i < byAccess.size(); i++) {
+                Candidate eldest = byAccess.get(i);
+                if(entries.remove(eldest.key(), eldest.entry())) evictions.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Retrato dos contadores de uma região.
+     *
+     * @param size Quantidade atual de entradas.
+     * @param hits Leituras que encontraram uma entrada válida.
+     * @param misses Leituras que não encontraram uma entrada válida.
+     * @param puts Gravações.
+     * @param evictions Entradas descartadas por limite de tamanho ou por expiração.
+     */
+    public record Snapshot(int size, long hits, long misses, long puts, long evictions) {}
+}
@@ -0,0 +1,16 @@
+package com.webbarber.webbarber.infra.persistence;
+
+/**
+ * Nomes das regiões do cache de segundo nível, usados nas entidades, nas consultas e na configuração dos limites.
+ */
+public final class CacheRegions {
+
+    public static final String BARBER = "barber";
+    public static final String SERVICE = "service";
+    public static final String TIMESLOT = "timeslot";
+    public static final String BARBER_QUERIES = "barber-queries";
+    public static final String SERVICE_QUERIES = "service-queries";
+    public static final String TIMESLOT_QUERIES = "timeslot-queries";
+
+    private CacheRegions() {}
+}
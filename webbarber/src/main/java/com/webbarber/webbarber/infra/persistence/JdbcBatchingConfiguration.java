@@ -0,0 +1,40 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do envio em lote das gravações do Hibernate.
+ * As inserções, atualizações e exclusões de uma mesma transação são agrupadas em lotes JDBC de até
+ * {@code api.persistence.batch-size} comandos, e ordenadas por entidade para que comandos iguais fiquem no mesmo lote.
+ * Com {@code reWriteBatchedInserts=true} na URL do banco, o driver do PostgreSQL ainda reescreve cada lote de
+ * inserções como um único {@code INSERT} de várias linhas.
+ * <p>
+ * Só entram em lote as entidades cujo ID é gerado antes da inserção ({@link TimeOrderedUuid}); as de ID
+ * {@code IDENTITY} continuam sendo inseridas uma a uma, pois o Hibernate precisa do ID gerado pelo banco.
+ * </p>
+ */
+@Configuration
+public class JdbcBatchingConfiguration {
+
+    @Value("${api.persistence.batch-size}")
+    private int batchSize;
+
+    /**
+     * Ativa os lotes JDBC e a ordenação das inserções e atualizações.
+     *
+     * @return O customizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            properties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+}
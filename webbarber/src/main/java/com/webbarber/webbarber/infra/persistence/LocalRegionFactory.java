@@ -0,0 +1,102 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fábrica das regiões do cache de segundo nível do Hibernate, mantidas na memória da aplicação.
+ * Cada região de entidades ou de consultas é um {@link BoundedRegionStorage} com o limite de entradas configurado
+ * para ela (ou o limite padrão) e o tempo de vida comum. A região de timestamps, que registra a última alteração
+ * de cada tabela e decide se um resultado de consulta ainda vale, nunca descarta entradas: perder um timestamp
+ * faria uma consulta desatualizada parecer válida.
+ */
+public class LocalRegionFactory extends RegionFactoryTemplate {
+
+    private final Map<String, Integer> maxEntriesByRegion;
+    private final int defaultMaxEntries;
+    private final Duration timeToLive;
+    private final Map<String, BoundedRegionStorage> storages = new ConcurrentHashMap<>();
+
+    /**
+     * Cria a fábrica de regiões.
+     *
+     * @param maxEntriesByRegion Limite de entradas de cada região nomeada.
+     * @param defaultMaxEntries Limite de entradas das demais regiões.
+     * @param timeToLive Tempo de vida das entradas, ou zero para não expirar.
+     */
+    public LocalRegionFactory(Map<String, Integer> maxEntriesByRegion, int defaultMaxEntries, Duration timeToLive) {
+        this.maxEntriesByRegion = Map.copyOf(maxEntriesByRegion);
+        this.defaultMaxEntries = defaultMaxEntries;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Obtém os armazenamentos das regiões criadas.
+     *
+     * @return Os armazenamentos, um por região.
+     */
+    public Collection<BoundedRegionStorage> getStorages() {
+        return storages.values();
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        // As regiões são criadas sob demanda, com os limites recebidos no construtor
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        storages.values().forEach(BoundedRegionStorage::release);
+        storages.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                   DomainDataRegionBuildingContext buildingContext) {
+        return bounded(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return bounded(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return register(new BoundedRegionStorage(regionName, Integer.MAX_VALUE, 0));
+    }
+
+    /**
+     * Cria o armazenamento limitado de uma região de entidades ou de consultas.
+     *
+     * @param regionName Nome da região.
+     * @return O armazenamento.
+     */
+    private BoundedRegionStorage bounded(String regionName) {
+        int maxEntries = maxEntriesByRegion.getOrDefault(regionName, defaultMaxEntries);
+        return register(new BoundedRegionStorage(regionName, maxEntries, timeToLive.toNanos()));
+    }
+
+    /**
+     * Registra o armazenamento de uma região para a consulta das estatísticas.
+     *
+     * @param storage Armazenamento da região.
+     * @return O mesmo armazenamento.
+     */
+    private BoundedRegionStorage register(BoundedRegionStorage storage) {
+        storages.put(storage.getRegionName(), storage);
+        return storage;
+    }
+}
@@ -0,0 +1,82 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import com.webbarber.webbarber.dto.PurgedOverridesDTO;
+import com.webbarber.webbarber.service.TimeSlotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Tarefa agendada que exclui as alterações de horário de datas passadas e os seus horários bloqueados.
+ * Cada lote é excluído em uma transação curta, com uma pausa entre os lotes, para não manter bloqueios
+ * longos nas tabelas lidas a cada consulta de disponibilidade.
+ */
+@Component
+public class OverrideHousekeepingJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OverrideHousekeepingJob.class);
+
+    private final TimeSlotService timeSlotService;
+
+    @Value("${api.zone-id}")
+    private ZoneId zoneId;
+
+    @Value("${api.housekeeping.overrides.retention-days}")
+    private int retentionDays;
+
+    @Value("${api.housekeeping.overrides.batch-size}")
+    private int batchSize;
+
+    @Value("${api.housekeeping.overrides.pause-ms}")
+    private long pauseMs;
+
+    /**
+     * Construtor do {@code OverrideHousekeepingJob}.
+     *
+     * @param timeSlotService Serviço de horários.
+     */
+    public OverrideHousekeepingJob(TimeSlotService timeSlotService) {
+        this.timeSlotService = timeSlotService;
+    }
+
+    /**
+     * Exclui, lote a lote, as alterações de horário anteriores ao período de retenção
+     * e registra a quantidade de linhas excluídas e a duração.
+     */
+    @Scheduled(cron = "${api.housekeeping.overrides.cron}", zone = "${api.zone-id}")
+    public void run() {
+        LocalDate cutoff = LocalDate.now(zoneId).minusDays(retentionDays);
+        long start = System.nanoTime();
+        long overrides = 0;
+        long closedSlots = 0;
+        PurgedOverridesDTO purged;
+        do {
+            purged = timeSlotService.purgeOverridesBefore(cutoff, batchSize);
+            overrides += purged.overrides();
+            closedSlots += purged.closedSlots();
+        } while (purged.overrides() == batchSize && pause());
+
+        LOGGER.info("Limpeza de horários anteriores a {}: {} alterações e {} horários bloqueados excluídos em {} ms",
+                cutoff, overrides, closedSlots, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Aguarda entre dois lotes.
+     *
+     * @return False se a thread for interrompida durante a pausa.
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate para as entidades de referência ({@code Barber},
+ * {@code Service} e {@code TimeSlot}) e as consultas mais frequentes sobre elas.
+ * Somente as entidades e consultas marcadas explicitamente são guardadas. As gravações feitas pelo Hibernate
+ * atualizam as regiões de entidades e invalidam as regiões de consultas das tabelas alteradas na confirmação da
+ * transação; o tempo de vida limita a defasagem em relação a alterações feitas fora da aplicação.
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    @Value("${api.cache.ttl-seconds}")
+    private long ttlSeconds;
+
+    @Value("${api.cache.default-max-entries}")
+    private int defaultMaxEntries;
+
+    @Value("${api.cache.barber.max-entries}")
+    private int barberMaxEntries;
+
+    @Value("${api.cache.service.max-entries}")
+    private int serviceMaxEntries;
+
+    @Value("${api.cache.timeslot.max-entries}")
+    private int timeSlotMaxEntries;
+
+    @Value("${api.cache.query.max-entries}")
+    private int queryMaxEntries;
+
+    /**
+     * Cria a fábrica de regiões com os limites configurados.
+     *
+     * @return A fábrica de regiões.
+     */
+    @Bean
+    public LocalRegionFactory localRegionFactory() {
+        return new LocalRegionFactory(Map.of(
+                CacheRegions.BARBER, barberMaxEntries,
+                CacheRegions.SERVICE, serviceMaxEntries,
+                CacheRegions.TIMESLOT, timeSlotMaxEntries,
+                CacheRegions.BARBER_QUERIES, queryMaxEntries,
+                CacheRegions.SERVICE_QUERIES, queryMaxEntries,
+                CacheRegions.TIMESLOT_QUERIES, queryMaxEntries), defaultMaxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Ativa o cache de segundo nível e o cache de consultas com a fábrica de regiões local.
+     *
+     * @param localRegionFactory Fábrica de regiões.
+     * @return O customizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(LocalRegionFactory localRegionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, localRegionFactory);
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+        };
+    }
+}
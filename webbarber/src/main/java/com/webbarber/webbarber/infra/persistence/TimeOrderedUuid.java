@@ -0,0 +1,18 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca o identificador de uma entidade para ser gerado como UUID versão 7, ordenado pelo instante de criação.
+ * Substitui {@code @GeneratedValue(strategy = GenerationType.UUID)}, que gera UUIDs aleatórios.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
@@ -0,0 +1,41 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * Gerador de identificadores do Hibernate que atribui um {@link UuidV7} a cada entidade nova.
+ * Usado por meio da anotação {@link TimeOrderedUuid}.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    private static final UuidV7 UUID_V7 = new UuidV7();
+
+    /**
+     * Gera o identificador de uma entidade antes da inserção.
+     *
+     * @param session Sessão atual.
+     * @param owner Entidade sendo inserida.
+     * @param currentValue Valor atual do identificador.
+     * @param eventType Evento que disparou a geração.
+     * @return Um UUID versão 7.
+     */
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return UUID_V7.next();
+    }
+
+    /**
+     * Indica que o identificador é gerado apenas na inserção.
+     *
+     * @return O conjunto contendo somente o evento de inserção.
+     */
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
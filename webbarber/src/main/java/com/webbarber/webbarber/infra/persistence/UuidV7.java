@@ -0,0 +1,60 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Gerador de UUIDs versão 7 (RFC 9562): os 48 bits mais significativos são o instante em milissegundos,
+ * seguidos de um contador de 12 bits e de 62 bits aleatórios.
+ * Como os valores crescem com o tempo, novas linhas são inseridas sempre na borda direita do índice da
+ * chave primária, em vez de espalhadas por todo o B-tree como acontece com UUIDs aleatórios (versão 4).
+ * Os valores gerados por uma mesma instância são estritamente crescentes, mesmo dentro do mesmo
+ * milissegundo ou se o relógio retroceder.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+
+    private final LongSupplier clock;
+    private final Random random;
+    // Instante (48 bits) seguido do contador (12 bits) do último valor gerado
+    private final AtomicLong lastState = new AtomicLong();
+
+    /**
+     * Cria um gerador baseado no relógio do sistema.
+     */
+    public UuidV7() {
+        this(System::currentTimeMillis, new SecureRandom());
+    }
+
+    /**
+     * Cria um gerador com o relógio e a fonte aleatória informados.
+     *
+     * @param clock Fonte do instante atual, em milissegundos.
+     * @param random Fonte dos bits aleatórios.
+     */
+    UuidV7(LongSupplier clock, Random random) {
+        this.clock = clock;
+        this.random = random;
+    }
+
+    /**
+     * Gera o próximo identificador.
+     *
+     * @return Um UUID versão 7 maior que todos os anteriores desta instância.
+     */
+    public UUID next() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        // No mesmo milissegundo (ou com o relógio atrasado) o contador avança; ao estourar, avança o instante
+        long state = lastState.updateAndGet(previous -> Math.max(now, previous + 1));
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+
+        long mostSignificant = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
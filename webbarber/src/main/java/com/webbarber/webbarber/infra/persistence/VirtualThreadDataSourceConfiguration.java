@@ -0,0 +1,40 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuração ativada junto com as virtual threads ({@code spring.threads.virtual.enabled=true}).
+ * Envolve o {@link DataSource} da aplicação em um {@link BoundedCheckoutDataSource}, para que o aumento
+ * de concorrência das requisições não se transforme em disputa pelo pool de conexões.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadDataSourceConfiguration {
+
+    /**
+     * Registra o pós-processador que aplica o limite de retiradas ao DataSource.
+     * O método é estático para que o pós-processador seja criado antes dos demais beans.
+     *
+     * @param environment Ambiente com as propriedades da aplicação.
+     * @return O pós-processador de beans.
+     */
+    @Bean
+    public static BeanPostProcessor boundedCheckoutDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(!(bean instanceof DataSource dataSource) || bean instanceof BoundedCheckoutDataSource) return bean;
+                int maxConcurrent = environment.getProperty("api.datasource.checkout.max-concurrent", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long timeoutMillis = environment.getProperty("api.datasource.checkout.timeout-ms", Long.class, 30000L);
+                return new BoundedCheckoutDataSource(dataSource, maxConcurrent, timeoutMillis);
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.webbarber.webbarber.infra.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Requisição cujo corpo foi lido antecipadamente e pode ser lido novamente pelos próximos filtros e controllers.
+ * Usada apenas em rotas com corpo pequeno (login e registro), e por isso com um limite de tamanho: um corpo
+ * declarado ({@code Content-Length}) ou lido acima do limite é recusado sem ser armazenado.
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    /**
+     * Indica que o corpo da requisição passa do limite.
+     */
+    static class BodyTooLargeException extends IOException {
+
+        BodyTooLargeException(long maxBytes) {
+            super("O corpo da requisição passa de " + maxBytes + " bytes.");
+        }
+    }
+
+    private final byte[] body;
+
+    /**
+     * Construtor que lê e armazena o corpo da requisição.
+     *
+     * @param request Requisição original.
+     * @param maxBytes Tamanho máximo do corpo, em bytes.
+     * @throws BodyTooLargeException Se o corpo declarado ou lido passar do limite.
+     * @throws IOException Se ocorrer um erro na leitura do corpo.
+     */
+    CachedBodyHttpServletRequest(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        if(request.getContentLengthLong() > maxBytes) throw new BodyTooLargeException(maxBytes);
+        // Sem Content-Length (chunked), lê no máximo um byte além do limite para detectar o excesso
+        byte[] read = request.getInputStream().readNBytes(maxBytes + 1);
+        if(read.length > maxBytes) throw new BodyTooLargeException(maxBytes);
+        this.body = read;
+    }
+
+    /**
+     * Obtém o corpo armazenado.
+     *
+     * @return Os bytes do corpo da requisição.
+     */
+    byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return input.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+    }
+}
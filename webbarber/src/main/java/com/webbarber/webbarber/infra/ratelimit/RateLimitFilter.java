@@ -0,0 +1,183 @@
+package com.webbarber.webbarber.infra.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webbarber.webbarber.infra.security.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que limita a taxa de requisições por rota, executado antes do {@code SecurityFilter}
+ * para que clientes abusivos sejam barrados antes de qualquer validação de token ou acesso ao banco.
+ * Cada combinação de regra e cliente (IP, telefone ou subject do token) tem seu próprio {@link TokenBucket},
+ * mantido em um mapa concorrente e descartado após ficar ocioso.
+ * Requisições acima do limite recebem {@code 429 Too Many Requests} com o cabeçalho {@code Retry-After}.
+ * Quando mais de uma regra corresponde, um token é consumido de cada balde e, se algum recusar, os tokens já
+ * consumidos dos demais são devolvidos: uma requisição recusada não gasta a cota de nenhuma regra.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private record CompiledRoute(RateLimitProperties.Route route, PathPattern pattern) {}
+
+    private final RateLimitProperties properties;
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+    private final List<CompiledRoute> routes;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor do {@code RateLimitFilter}.
+     *
+     * @param properties Regras de limite configuradas.
+     * @param tokenService Serviço de tokens, usado para identificar o subject das requisições autenticadas.
+     * @param objectMapper Mapper utilizado para ler o telefone do corpo das requisições.
+     */
+    public RateLimitFilter(RateLimitProperties properties, TokenService tokenService, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+        PathPatternParser parser = new PathPatternParser();
+        this.routes = properties.routes() == null ? List.of() : properties.routes().stream()
+                .map(route -> new CompiledRoute(route, parser.parse(route.pattern())))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        List<CompiledRoute> matching = findMatchingRoutes(request);
+        if(matching.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest effectiveRequest = request;
+        long now = System.nanoTime();
+        long waitNanos = 0;
+        List<TokenBucket> consumed = new ArrayList<>(matching.size());
+        for (CompiledRoute compiled : matching) {
+            RateLimitProperties.Route route = compiled.route();
+            if(route.key() == RateLimitProperties.KeyType.PHONE && !(effectiveRequest instanceof CachedBodyHttpServletRequest)) {
+                try {
+                    effectiveRequest = new CachedBodyHttpServletRequest(request,
+                            (int) properties.maxBodySize().toBytes());
+                } catch (CachedBodyHttpServletRequest.BodyTooLargeException exception) {
+                    response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                    response.setContentType("text/plain;charset=UTF-8");
+                    response.getWriter().write("Corpo da requisição muito grande.");
+                    return;
+                }
+            }
+            String bucketKey = route.name() + ':' + resolveClientKey(route.key(), effectiveRequest);
+            TokenBucket bucket = buckets.computeIfAbsent(bucketKey, key -> new TokenBucket(route.capacity(),
+                    route.refillTokens(), route.refillPeriod().toNanos(), now));
+            long wait = bucket.tryConsume(now);
+            if(wait == 0) consumed.add(bucket);
+            waitNanos = Math.max(waitNanos, wait);
+        }
+
+        if(waitNanos > 0) {
+            consumed.forEach(TokenBucket::refund);
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Muitas requisições. Tente novamente em " + retryAfter + " segundos.");
+            return;
+        }
+
+        filterChain.doFilter(effectiveRequest, response);
+    }
+
+    /**
+     * Descarta os baldes que não são utilizados há mais tempo que o limite de ociosidade.
+     */
+    @Scheduled(fixedDelayString = "${api.rate-limit.eviction-interval-ms}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = properties.idleTimeout().toNanos();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    /**
+     * Seleciona as regras que se aplicam à requisição.
+     *
+     * @param request Requisição HTTP.
+     * @return Lista de regras correspondentes, possivelmente vazia.
+     */
+    private List<CompiledRoute> findMatchingRoutes(HttpServletRequest request) {
+        if(!properties.enabled() || routes.isEmpty()) return List.of();
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return routes.stream()
+                .filter(compiled -> compiled.route().method() == null
+                        || compiled.route().method().equalsIgnoreCase(request.getMethod()))
+                .filter(compiled -> compiled.pattern().matches(path))
+                .toList();
+    }
+
+    /**
+     * Identifica o cliente da requisição conforme o critério da regra.
+     *
+     * @param keyType Critério de identificação.
+     * @param request Requisição HTTP.
+     * @return A chave do cliente.
+     */
+    private String resolveClientKey(RateLimitProperties.KeyType keyType, HttpServletRequest request) {
+        String key = switch (keyType) {
+            case IP -> null;
+            case PHONE -> extractPhone(request);
+            case SUBJECT -> extractSubject(request);
+        };
+        return key == null ? "ip:" + request.getRemoteAddr() : key;
+    }
+
+    /**
+     * Extrai o telefone do corpo JSON da requisição, normalizado sem o DDI.
+     *
+     * @param request Requisição com o corpo já armazenado.
+     * @return O telefone, ou null se não estiver presente.
+     */
+    private String extractPhone(HttpServletRequest request) {
+        if(!(request instanceof CachedBodyHttpServletRequest cached) || cached.getBody().length == 0) return null;
+        try {
+            JsonNode phone = objectMapper.readTree(new String(cached.getBody(), StandardCharsets.UTF_8)).get("phone");
+            if(phone == null || !phone.isTextual()) return null;
+            String value = phone.asText();
+            return "phone:" + (value.startsWith("+55") ? value.substring(3) : value);
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Extrai o subject do token JWT da requisição.
+     *
+     * @param request Requisição HTTP.
+     * @return O subject, ou null se não houver token válido.
+     */
+    private String extractSubject(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if(authHeader == null) return null;
+        var decodedToken = tokenService.decodeToken(authHeader.replace("Bearer ", ""));
+        return decodedToken == null ? null : "sub:" + decodedToken.getSubject();
+    }
+}
@@ -0,0 +1,54 @@
+package com.webbarber.webbarber.infra.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Propriedades do limitador de requisições ({@code api.rate-limit.*}).
+ * Cada rota define seu próprio balde; quando mais de uma rota corresponde à requisição, todas precisam permitir.
+ *
+ * @param enabled     Indica se o limitador está ativo.
+ * @param idleTimeout Tempo sem uso após o qual um balde é descartado da memória.
+ * @param maxBodySize Tamanho máximo do corpo lido pelas regras por telefone; corpos maiores recebem 413.
+ * @param routes      Regras de limite por rota.
+ */
+@ConfigurationProperties(prefix = "api.rate-limit")
+public record RateLimitProperties(boolean enabled, Duration idleTimeout, DataSize maxBodySize, List<Route> routes) {
+
+    /**
+     * Regra de limite para uma rota.
+     *
+     * @param name         Nome da regra, usado para separar os baldes de regras diferentes.
+     * @param method       Método HTTP da rota, ou nulo para qualquer método.
+     * @param pattern      Padrão do caminho (ex: {@code /{barberId}/all/{serviceId}}).
+     * @param key          Critério que identifica o cliente.
+     * @param capacity     Rajada máxima permitida.
+     * @param refillTokens Tokens devolvidos a cada período.
+     * @param refillPeriod Período de reabastecimento.
+     */
+    public record Route(String name, String method, String pattern, KeyType key,
+                        long capacity, long refillTokens, Duration refillPeriod) {}
+
+    /**
+     * Critério utilizado para identificar o cliente de uma requisição.
+     */
+    public enum KeyType {
+        /**
+         * Endereço IP de origem.
+         */
+        IP,
+
+        /**
+         * Telefone informado no corpo JSON da requisição (login e registro). Usa o IP se ausente.
+         */
+        PHONE,
+
+        /**
+         * Subject do token JWT. Usa o IP em requisições não autenticadas.
+         */
+        SUBJECT
+    }
+}
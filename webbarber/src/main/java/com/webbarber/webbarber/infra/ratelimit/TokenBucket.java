@@ -0,0 +1,76 @@
+package com.webbarber.webbarber.infra.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Balde de tokens sem bloqueios: começa cheio, é reabastecido continuamente a uma taxa fixa
+ * e cada requisição consome um token. O estado é atualizado por compare-and-set, então
+ * threads concorrentes nunca consomem o mesmo token.
+ */
+public final class TokenBucket {
+
+    private record State(double tokens, long refilledAt) {}
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    private volatile long lastAccess;
+
+    /**
+     * Construtor do {@code TokenBucket}.
+     *
+     * @param capacity Quantidade máxima de tokens acumulados (rajada permitida).
+     * @param refillTokens Quantidade de tokens devolvidos a cada período.
+     * @param refillPeriodNanos Duração do período de reabastecimento, em nanossegundos.
+     * @param now Instante atual, em nanossegundos ({@link System#nanoTime()}).
+     */
+    public TokenBucket(long capacity, long refillTokens, long refillPeriodNanos, long now) {
+        if(capacity < 1 || refillTokens < 1 || refillPeriodNanos < 1) {
+            throw new IllegalArgumentException("Capacidade e reabastecimento devem ser positivos.");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / refillPeriodNanos;
+        this.state = new AtomicReference<>(new State(capacity, now));
+        this.lastAccess = now;
+    }
+
+    /**
+     * Tenta consumir um token.
+     *
+     * @param now Instante atual, em nanossegundos ({@link System#nanoTime()}).
+     * @return Zero se o token foi consumido; caso contrário, o tempo em nanossegundos até haver um token disponível.
+     */
+    public long tryConsume(long now) {
+        lastAccess = now;
+        while (true) {
+            State current = state.get();
+            long elapsed = Math.max(0, now - current.refilledAt());
+            double tokens = Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+            if(tokens < 1) return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            State next = new State(tokens - 1, Math.max(now, current.refilledAt()));
+            if(state.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    /**
+     * Devolve um token consumido por uma requisição que acabou recusada por outra regra, sem passar da capacidade.
+     */
+    public void refund() {
+        while (true) {
+            State current = state.get();
+            State next = new State(Math.min(capacity, current.tokens() + 1), current.refilledAt());
+            if(state.compareAndSet(current, next)) return;
+        }
+    }
+
+    /**
+     * Verifica se o balde não é utilizado há pelo menos o tempo informado.
+     *
+     * @param now Instante atual, em nanossegundos.
+     * @param idleNanos Tempo de inatividade, em nanossegundos.
+     * @return True se o balde estiver ocioso, false caso contrário.
+     */
+    public boolean isIdle(long now, long idleNanos) {
+        return now - lastAccess >= idleNanos;
+    }
+}
@@ -0,0 +1,239 @@
+package com.webbarber.webbarber.infra.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda de tempo hierárquica (no estilo dos temporizadores do kernel Linux).
+ * Cada nível tem {@code 2^wheelBits} posições; uma posição do nível {@code i} cobre {@code 2^(wheelBits * i)} ticks.
+ * Inserção e cancelamento são O(1): cada posição é uma lista duplamente encadeada. Os prazos distantes ficam
+ * nos níveis superiores e descem ("cascata") à medida que o tempo avança, até disparar no nível 0.
+ * <p>
+ * Não é segura para uso concorrente; o chamador deve sincronizar o acesso.
+ * </p>
+ *
+ * @param <T> Tipo da tarefa associada a cada prazo.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    /**
+     * Prazo agendado na roda, usado para cancelá-lo.
+     *
+     * @param <T> Tipo da tarefa associada.
+     */
+    public static final class Timeout<T> {
+        private final T task;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Obtém a tarefa associada ao prazo.
+         *
+         * @return A tarefa.
+         */
+        public T getTask() {
+            return task;
+        }
+
+        /**
+         * Verifica se o prazo ainda está agendado (não disparou nem foi cancelado).
+         *
+         * @return True se o prazo estiver agendado, false caso contrário.
+         */
+        public boolean isPending() {
+            return next != null;
+        }
+    }
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int levels;
+    private final long mask;
+    private final Timeout<T>[][] buckets;
+    private final Timeout<T> expired;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Construtor da {@code HierarchicalTimingWheel}.
+     *
+     * @param tickMillis Duração de um tick, em milissegundos.
+     * @param wheelBits Quantidade de bits de cada nível (cada nível tem {@code 2^wheelBits} posições).
+     * @param levels Quantidade de níveis.
+     * @param startMillis Instante inicial, em milissegundos desde a época.
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelBits, int levels, long startMillis) {
+        if(tickMillis < 1 || wheelBits < 1 || levels < 1 || (long) wheelBits * levels >= 62) {
+            throw new IllegalArgumentException("Configuração inválida da roda de tempo.");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelBits = wheelBits;
+        this.levels = levels;
+        this.mask = (1L << wheelBits) - 1;
+        this.buckets = new Timeout[levels][1 << wheelBits];
+        for (Timeout<T>[] level : buckets) {
+            for (int i = 0; i < level.length; i++) level[i] = sentinel();
+        }
+        this.expired = sentinel();
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Obtém o maior intervalo, a partir do instante atual da roda, que pode ser agendado.
+     *
+     * @return O horizonte, em milissegundos.
+     */
+    public long getHorizonMillis() {
+        return ((1L << (wheelBits * levels)) - 1) * tickMillis;
+    }
+
+    /**
+     * Obtém a quantidade de prazos agendados.
+     *
+     * @return A quantidade de prazos.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Agenda uma tarefa. Prazos já vencidos disparam no próximo avanço.
+     *
+     * @param task Tarefa a ser agendada.
+     * @param deadlineMillis Prazo, em milissegundos desde a época.
+     * @return O prazo agendado, que pode ser usado para cancelá-lo.
+     * @throws IllegalArgumentException Se o prazo estiver além do horizonte da roda.
+     */
+    public Timeout<T> schedule(T task, long deadlineMillis) {
+        // Arredonda para cima para nunca disparar antes do prazo
+        Timeout<T> timeout = new Timeout<>(task, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancela um prazo agendado.
+     *
+     * @param timeout Prazo a ser cancelado.
+     * @return True se o prazo estava agendado, false se já havia disparado ou sido cancelado.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if(!timeout.isPending()) return false;
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Avança a roda até o instante informado, disparando os prazos vencidos em ordem de tick.
+     *
+     * @param nowMillis Instante atual, em milissegundos desde a época.
+     * @param action Ação executada para cada tarefa vencida.
+     */
+    public void advance(long nowMillis, Consumer<T> action) {
+        drain(expired, action);
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels - 1; level > 0; level--) {
+                if((currentTick & ((1L << (wheelBits * level)) - 1)) == 0) {
+                    cascade(buckets[level][(int) ((currentTick >>> (wheelBits * level)) & mask)]);
+                }
+            }
+            drain(buckets[0][(int) (currentTick & mask)], action);
+            drain(expired, action);
+        }
+    }
+
+    /**
+     * Insere o prazo na posição adequada conforme a distância até o tick atual.
+     *
+     * @param timeout Prazo a ser inserido.
+     */
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if(delta <= 0) {
+            link(expired, timeout);
+            return;
+        }
+        int level = 0;
+        while (level < levels && delta >= 1L << (wheelBits * (level + 1))) level++;
+        if(level == levels) throw new IllegalArgumentException("Prazo além do horizonte da roda de tempo.");
+        link(buckets[level][(int) ((timeout.deadlineTick >>> (wheelBits * level)) & mask)], timeout);
+    }
+
+    /**
+     * Redistribui os prazos de uma posição de nível superior nos níveis inferiores.
+     *
+     * @param head Sentinela da posição.
+     */
+    private void cascade(Timeout<T> head) {
+        Timeout<T> timeout = head.next;
+        head.next = head;
+        head.prev = head;
+        while (timeout != head) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Dispara e remove todos os prazos de uma posição.
+     *
+     * @param head Sentinela da posição.
+     * @param action Ação executada para cada tarefa.
+     */
+    private void drain(Timeout<T> head, Consumer<T> action) {
+        while (head.next != head) {
+            Timeout<T> timeout = head.next;
+            unlink(timeout);
+            size--;
+            action.accept(timeout.task);
+        }
+    }
+
+    /**
+     * Cria a sentinela de uma lista circular vazia.
+     *
+     * @return A sentinela.
+     */
+    private Timeout<T> sentinel() {
+        Timeout<T> head = new Timeout<>(null, 0);
+        head.prev = head;
+        head.next = head;
+        return head;
+    }
+
+    /**
+     * Adiciona o prazo ao fim da lista.
+     *
+     * @param head Sentinela da lista.
+     * @param timeout Prazo a ser adicionado.
+     */
+    private static <T> void link(Timeout<T> head, Timeout<T> timeout) {
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    /**
+     * Remove o prazo da lista em que está.
+     *
+     * @param timeout Prazo a ser removido.
+     */
+    private static <T> void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
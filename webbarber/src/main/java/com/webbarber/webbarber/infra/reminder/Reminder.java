@@ -0,0 +1,27 @@
+package com.webbarber.webbarber.infra.reminder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Lembrete de um agendamento, disparado com uma antecedência fixa em relação ao horário de início.
+ *
+ * @param bookingId ID do agendamento.
+ * @param userId ID do usuário que fez o agendamento.
+ * @param date Data do agendamento.
+ * @param startTime Horário de início do agendamento.
+ * @param leadTime Antecedência do lembrete.
+ */
+public record Reminder(UUID bookingId, UUID userId, LocalDate date, LocalTime startTime, Duration leadTime) {
+
+    /**
+     * Obtém a chave que identifica o lembrete, usada para evitar envios duplicados.
+     *
+     * @return A chave do lembrete.
+     */
+    public String dedupKey() {
+        return "reminder:" + bookingId + ":" + leadTime.toMinutes();
+    }
+}
@@ -0,0 +1,227 @@
+package com.webbarber.webbarber.infra.reminder;
+
+import com.webbarber.webbarber.entity.Booking;
+import com.webbarber.webbarber.event.BookingChangedEvent;
+import com.webbarber.webbarber.service.BookingService;
+import com.webbarber.webbarber.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Agendador dos lembretes de agendamentos (por padrão, 24 horas e 1 hora antes do horário).
+ * Em vez de varrer a tabela de agendamentos a cada minuto, carrega os lembretes de uma janela deslizante
+ * em uma {@link HierarchicalTimingWheel}, em que inserir e cancelar custam O(1). Os agendamentos criados
+ * ou cancelados depois da carga entram e saem da roda pelos eventos de agendamento. Os lembretes vencidos
+ * seguem para a caixa de saída de notificações.
+ * <p>
+ * A roda vive apenas em memória e é reconstruída a partir do banco ao iniciar a aplicação; lembretes que
+ * venceram pouco antes do reinício são disparados na reconstrução, e a chave de deduplicação da caixa de
+ * saída impede envios repetidos.
+ * </p>
+ */
+@Component
+public class ReminderScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final BookingService bookingService;
+    private final NotificationService notificationService;
+    private final List<Duration> leadTimes;
+    private final Object lock = new Object();
+
+    // Protegidos por lock
+    private HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<UUID, List<HierarchicalTimingWheel.Timeout<Reminder>>> timeoutsByBooking = new HashMap<>();
+    private Instant loadedUntil;
+
+    @Value("${api.zone-id}")
+    private ZoneId zoneId;
+
+    @Value("${api.reminder.tick-ms}")
+    private long tickMillis;
+
+    @Value("${api.reminder.horizon-hours}")
+    private long horizonHours;
+
+    @Value("${api.reminder.grace-minutes}")
+    private long graceMinutes;
+
+    /**
+     * Construtor do {@code ReminderScheduler}.
+     *
+     * @param bookingService Serviço de agendamentos.
+     * @param notificationService Serviço da caixa de saída de notificações.
+     * @param leadTimesMinutes Antecedências dos lembretes, em minutos.
+     */
+    public ReminderScheduler(BookingService bookingService, NotificationService notificationService,
+                             @Value("${api.reminder.lead-times-minutes}") long[] leadTimesMinutes) {
+        this.bookingService = bookingService;
+        this.notificationService = notificationService;
+        this.leadTimes = Arrays.stream(leadTimesMinutes).mapToObj(Duration::ofMinutes).toList();
+    }
+
+    /**
+     * Reconstrói a roda a partir do banco ao iniciar a aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Instant now = Instant.now();
+        synchronized (lock) {
+            wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_BITS, WHEEL_LEVELS, now.toEpochMilli());
+            timeoutsByBooking.clear();
+            loadedUntil = now.minus(Duration.ofMinutes(graceMinutes));
+        }
+        extendHorizon();
+    }
+
+    /**
+     * Desliza a janela: carrega os lembretes que passaram a caber no horizonte desde a última carga.
+     */
+    @Scheduled(fixedDelayString = "${api.reminder.refresh-interval-ms}", initialDelayString = "${api.reminder.refresh-interval-ms}")
+    public void extendHorizon() {
+        Instant from;
+        Instant until = Instant.now().plus(Duration.ofHours(horizonHours));
+        HierarchicalTimingWheel<Reminder> loadingInto;
+        synchronized (lock) {
+            if(wheel == null || !until.isAfter(loadedUntil)) return;
+            from = loadedUntil;
+            // Avança a janela antes da consulta: um agendamento confirmado depois da leitura chega pelo evento,
+            // que já agenda os lembretes até o novo limite
+            loadedUntil = until;
+            loadingInto = wheel;
+        }
+        Duration shortest = leadTimes.stream().min(Duration::compareTo).orElse(Duration.ZERO);
+        Duration longest = leadTimes.stream().max(Duration::compareTo).orElse(Duration.ZERO);
+        List<Booking> bookings = bookingService.getBookingsBetween(
+                LocalDate.ofInstant(from.plus(shortest), zoneId), LocalDate.ofInstant(until.plus(longest), zoneId));
+
+        synchronized (lock) {
+            // A roda foi reconstruída durante a consulta; a reconstrução carrega a própria janela
+            if(wheel != loadingInto) return;
+            for (Booking booking : bookings) {
+                schedule(booking, from, until);
+            }
+        }
+    }
+
+    /**
+     * Mantém a roda em dia com os agendamentos criados ou cancelados após a carga.
+     *
+     * @param event Evento de alteração do agendamento.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        synchronized (lock) {
+            if(wheel == null) return;
+            switch (event.type()) {
+                // Lembretes além da janela carregada serão incluídos pela próxima carga
+                case CREATED -> schedule(event.booking(), Instant.now(), loadedUntil);
+                case CANCELLED -> cancel(event.booking().getId());
+            }
+        }
+    }
+
+    /**
+     * Avança a roda e encaminha os lembretes vencidos para a caixa de saída.
+     */
+    @Scheduled(fixedRateString = "${api.reminder.tick-ms}")
+    public void tick() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (lock) {
+            if(wheel == null) return;
+            wheel.advance(Instant.now().toEpochMilli(), due::add);
+            due.forEach(reminder -> forget(reminder.bookingId()));
+        }
+        if(due.isEmpty()) return;
+
+        // Descarta lembretes de agendamentos cancelados em outra instância
+        Set<UUID> existing = bookingService.findExistingIds(due.stream().map(Reminder::bookingId).distinct().toList());
+        for (Reminder reminder : due) {
+            if(!existing.contains(reminder.bookingId())) continue;
+            try {
+                notificationService.notifyReminder(reminder);
+            } catch (RuntimeException exception) {
+                LOGGER.warn("Falha ao registrar o lembrete {}", reminder.dedupKey(), exception);
+            }
+        }
+    }
+
+    /**
+     * Agenda os lembretes de um agendamento cujo disparo cai no intervalo {@code (from, until]}.
+     * Lembretes já agendados (pela carga e pelo evento do mesmo agendamento) não são duplicados.
+     *
+     * @param booking Agendamento.
+     * @param from Início do intervalo (exclusivo).
+     * @param until Fim do intervalo (inclusivo).
+     */
+    private void schedule(Booking booking, Instant from, Instant until) {
+        Instant start = LocalDateTime.of(booking.getDate(), booking.getStartTime()).atZone(zoneId).toInstant();
+        for (Duration leadTime : leadTimes) {
+            Instant fireAt = start.minus(leadTime);
+            if(!fireAt.isAfter(from) || fireAt.isAfter(until) || isScheduled(booking.getId(), leadTime)) continue;
+            Reminder reminder = new Reminder(booking.getId(), booking.getUserId(), booking.getDate(),
+                    booking.getStartTime(), leadTime);
+            timeoutsByBooking.computeIfAbsent(booking.getId(), key -> new ArrayList<>(leadTimes.size()))
+                    .add(wheel.schedule(reminder, fireAt.toEpochMilli()));
+        }
+    }
+
+    /**
+     * Verifica se um lembrete de um agendamento já está na roda.
+     *
+     * @param bookingId ID do agendamento.
+     * @param leadTime Antecedência do lembrete.
+     * @return true se o lembrete já estiver agendado.
+     */
+    private boolean isScheduled(UUID bookingId, Duration leadTime) {
+        List<HierarchicalTimingWheel.Timeout<Reminder>> timeouts = timeoutsByBooking.get(bookingId);
+        if(timeouts == null) return false;
+        for (HierarchicalTimingWheel.Timeout<Reminder> timeout : timeouts) {
+            if(timeout.isPending() && timeout.getTask().leadTime().equals(leadTime)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Cancela todos os lembretes pendentes de um agendamento.
+     *
+     * @param bookingId ID do agendamento.
+     */
+    private void cancel(UUID bookingId) {
+        List<HierarchicalTimingWheel.Timeout<Reminder>> timeouts = timeoutsByBooking.remove(bookingId);
+        if(timeouts != null) timeouts.forEach(wheel::cancel);
+    }
+
+    /**
+     * Descarta as referências aos lembretes de um agendamento que já dispararam.
+     *
+     * @param bookingId ID do agendamento.
+     */
+    private void forget(UUID bookingId) {
+        List<HierarchicalTimingWheel.Timeout<Reminder>> timeouts = timeoutsByBooking.get(bookingId);
+        if(timeouts == null) return;
+        timeouts.removeIf(timeout -> !timeout.isPending());
+        if(timeouts.isEmpty()) timeoutsByBooking.remove(bookingId);
+    }
+}
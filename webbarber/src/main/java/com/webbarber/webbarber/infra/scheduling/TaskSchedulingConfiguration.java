@@ -0,0 +1,46 @@
+package com.webbarber.webbarber.infra.scheduling;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Agendador das tarefas {@link Scheduled @Scheduled}.
+ * O broker STOMP registra o próprio {@code TaskScheduler}, e com ele o agendador padrão do Spring Boot deixa de ser
+ * criado: as tarefas passariam a rodar nas threads do broker, ignorando {@code spring.task.scheduling.*} e as
+ * virtual threads. O bean {@code taskScheduler}, nome procurado pelo {@code @Scheduled} quando há mais de um
+ * agendador no contexto, é por isso declarado aqui com os construtores configurados pelo Spring Boot.
+ */
+@Configuration
+public class TaskSchedulingConfiguration {
+
+    /**
+     * Agendador com pool de threads ({@code spring.task.scheduling.pool.size}).
+     *
+     * @param builder Construtor configurado com {@code spring.task.scheduling.*}.
+     * @return O agendador das tarefas.
+     */
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Agendador que executa cada tarefa em uma virtual thread ({@code spring.threads.virtual.enabled=true}).
+     *
+     * @param builder Construtor configurado com {@code spring.task.scheduling.*} e virtual threads.
+     * @return O agendador das tarefas.
+     */
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskScheduler taskSchedulerVirtualThreads(SimpleAsyncTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.webbarber.webbarber.infra.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings, seguro para uso concorrente sem bloqueios.
+ * Responde "talvez contenha" ou "certamente não contém": não há falsos negativos,
+ * e a taxa de falsos positivos é limitada pelo dimensionamento informado na criação.
+ * Não suporta remoção; para descartar elementos é necessário construir um novo filtro.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Cria um filtro dimensionado para a quantidade esperada de elementos e a taxa de falsos positivos desejada.
+     *
+     * @param expectedInsertions Quantidade esperada de elementos.
+     * @param falsePositiveRate Taxa de falsos positivos desejada (entre 0 e 1, exclusivo).
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if(expectedInsertions < 1) expectedInsertions = 1;
+        if(falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("A taxa de falsos positivos deve estar entre 0 e 1.");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adiciona um elemento ao filtro.
+     *
+     * @param value Elemento a ser adicionado.
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Verifica se o elemento pode ter sido adicionado ao filtro.
+     *
+     * @param value Elemento a ser verificado.
+     * @return False se o elemento certamente não foi adicionado; true se talvez tenha sido.
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            if((bits.get((int) (index >>> 6)) & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Calcula o hash FNV-1a de 64 bits dos caracteres do valor.
+     *
+     * @param value Valor a ser processado.
+     * @return O hash de 64 bits.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Função de finalização do MurmurHash3, usada para espalhar os bits e derivar o segundo hash.
+     *
+     * @param value Valor a ser misturado.
+     * @return O valor misturado, sempre ímpar para percorrer todas as posições.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value | 1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.webbarber.webbarber.infra.security;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Filtro que autentica os consumidores do feed de alterações ({@code /internal/changes}).
+ * O feed expõe os agendamentos de todos os barbeiros, então não basta o token JWT de um barbeiro: o consumidor
+ * envia no cabeçalho {@value #HEADER} o token de serviço configurado em {@code api.change-feed.consumer-token}
+ * e recebe apenas o papel {@value #ROLE}. Sem token configurado, nenhuma requisição recebe esse papel.
+ */
+@Component
+public class ChangeFeedTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Change-Feed-Token";
+    public static final String ROLE = "CHANGE_FEED";
+
+    private static final String FEED_PATH = "/internal/changes";
+
+    private final byte[] consumerToken;
+
+    /**
+     * Construtor do {@code ChangeFeedTokenFilter}.
+     *
+     * @param consumerToken Token de serviço dos consumidores do feed, ou vazio para desativar o acesso.
+     */
+    public ChangeFeedTokenFilter(@Value("${api.change-feed.consumer-token}") String consumerToken) {
+        this.consumerToken = consumerToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Substitui a autenticação da requisição pelo papel de consumidor do feed quando o token confere.
+     *
+     * @param request a requisição HTTP
+     * @param response a resposta HTTP
+     * @param filterChain a cadeia de filtros da requisição
+     * @throws ServletException se ocorrer um erro durante o processamento do filtro
+     * @throws IOException se ocorrer um erro de entrada/saída durante o processamento do filtro
+     */
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain) throws ServletException, IOException {
+        String token = request.getHeader(HEADER);
+        if(token != null && consumerToken.length > 0
+                && MessageDigest.isEqual(consumerToken, token.getBytes(StandardCharsets.UTF_8))) {
+            var authentication = new UsernamePasswordAuthenticationToken(ROLE, null,
+                    List.of(new SimpleGrantedAuthority("ROLE_" + ROLE)));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Aplica o filtro apenas às rotas do feed.
+     *
+     * @param request a requisição HTTP
+     * @return true se a requisição não for para {@code /internal/changes}.
+     */
+    @Override
+    protected boolean shouldNotFilter(@Nonnull HttpServletRequest request) {
+        return !request.getRequestURI().equals(request.getContextPath() + FEED_PATH);
+    }
+}
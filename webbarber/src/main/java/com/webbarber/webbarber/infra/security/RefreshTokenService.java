@@ -0,0 +1,130 @@
+package com.webbarber.webbarber.infra.security;
+
+import com.webbarber.webbarber.entity.RefreshToken;
+import com.webbarber.webbarber.exception.InvalidRefreshTokenException;
+import com.webbarber.webbarber.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Serviço responsável pela emissão, validação e rotação de refresh tokens.
+ * Os tokens são valores opacos e aleatórios; no banco é armazenado apenas o hash SHA-256,
+ * o que dispensa o custo do BCrypt na renovação sem expor o valor original em caso de vazamento da tabela.
+ * Cada uso consome o token e gera outro na mesma cadeia; a reutilização de um token já consumido
+ * revoga a cadeia inteira.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${api.security.refresh-token.expiration-days}")
+    private long expirationDays;
+
+    /**
+     * Construtor que inicializa o serviço com as dependências necessárias.
+     *
+     * @param refreshTokenRepository Repositório de refresh tokens.
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    /**
+     * Emite um refresh token iniciando uma nova cadeia de rotação.
+     *
+     * @param phone Telefone do titular do token.
+     * @param role Papel do titular do token.
+     * @return O valor opaco do token, que deve ser entregue ao cliente.
+     */
+    public String issue(String phone, String role) {
+        return issue(phone, role, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consome um refresh token, marcando-o como utilizado.
+     *
+     * @param rawToken Valor opaco do token enviado pelo cliente.
+     * @return O token consumido, com os dados do titular.
+     * @throws InvalidRefreshTokenException Se o token não existir, estiver expirado ou já tiver sido utilizado.
+     */
+    public RefreshToken consume(String rawToken) {
+        Optional<RefreshToken> optionalToken = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if(optionalToken.isEmpty()) throw new InvalidRefreshTokenException("Refresh token inválido.");
+        RefreshToken refreshToken = optionalToken.get();
+
+        if(refreshToken.isRevoked() || refreshTokenRepository.revokeIfActive(refreshToken.getId()) == 0) {
+            // Token reutilizado: a cadeia pode ter sido comprometida
+            refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token inválido.");
+        }
+        if(refreshToken.isExpired(Instant.now())) throw new InvalidRefreshTokenException("Refresh token expirado.");
+        return refreshToken;
+    }
+
+    /**
+     * Emite o sucessor de um token consumido, mantendo a mesma cadeia de rotação.
+     *
+     * @param previous Token consumido.
+     * @return O valor opaco do novo token.
+     */
+    public String rotate(RefreshToken previous) {
+        return issue(previous.getPhone(), previous.getRole(), previous.getFamilyId());
+    }
+
+    /**
+     * Revoga todos os refresh tokens de um titular.
+     *
+     * @param phone Telefone do titular.
+     */
+    public void revokeAll(String phone) {
+        refreshTokenRepository.revokeAllByPhone(phone);
+    }
+
+    /**
+     * Gera e persiste um novo token para a cadeia informada.
+     *
+     * @param phone Telefone do titular do token.
+     * @param role Papel do titular do token.
+     * @param familyId Identificador da cadeia de rotação.
+     * @return O valor opaco do token.
+     */
+    private String issue(String phone, String role, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant expiresAt = Instant.now().plus(expirationDays, ChronoUnit.DAYS);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, phone, role, expiresAt));
+        return rawToken;
+    }
+
+    /**
+     * Calcula o hash SHA-256 de um token, em hexadecimal.
+     *
+     * @param rawToken Valor opaco do token.
+     * @return O hash do token.
+     */
+    private String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 indisponível.", exception);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.webbarber.webbarber.infra.security;
 
+import com.webbarber.webbarber.infra.ratelimit.RateLimitFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,14 +25,21 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfigurations {
 
     private final SecurityFilter securityFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ChangeFeedTokenFilter changeFeedTokenFilter;
 
     /**
      * Construtor da classe SecurityConfigurations.
      *
      * @param securityFilter o filtro de segurança personalizado para interceptar requisições HTTP
+     * @param rateLimitFilter o filtro que limita a taxa de requisições por rota
+     * @param changeFeedTokenFilter o filtro que autentica os consumidores do feed de alterações
      */
-    public SecurityConfigurations(SecurityFilter securityFilter) {
+    public SecurityConfigurations(SecurityFilter securityFilter, RateLimitFilter rateLimitFilter,
+                                  ChangeFeedTokenFilter changeFeedTokenFilter) {
         this.securityFilter = securityFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.changeFeedTokenFilter = changeFeedTokenFilter;
     }
 
     /**
@@ -50,9 +58,15 @@ public class SecurityConfigurations {
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll() // Permite acesso público ao endpoint de login
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll() // Permite acesso público ao endpoint de registro
+                        .requestMatchers(HttpMethod.POST, "/auth/refresh").permitAll() // Permite renovar o token sem estar autenticado
+                        .requestMatchers("/ws/**").permitAll() // O WebSocket autentica o frame CONNECT do STOMP
                         .requestMatchers("/barber/**").hasRole("ADMIN") // Requer a role "ADMIN" para acessar rotas relacionadas a barbeiros
+                        .requestMatchers("/internal/changes").hasRole(ChangeFeedTokenFilter.ROLE) // Feed de alterações, apenas com o token de serviço dos consumidores
+                        .requestMatchers("/internal/**").hasRole("ADMIN") // Demais rotas internas, como as estatísticas do cache
                         .anyRequest().authenticated()) // Requer autenticação para todas as outras requisições
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class) // Adiciona o filtro de segurança antes do filtro de autenticação padrão
+                .addFilterAfter(changeFeedTokenFilter, SecurityFilter.class) // Autentica os consumidores do feed de alterações
+                .addFilterBefore(rateLimitFilter, SecurityFilter.class) // Limita a taxa de requisições antes de validar o token
                 .build();
     }
 
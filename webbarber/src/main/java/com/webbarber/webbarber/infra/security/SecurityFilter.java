@@ -35,9 +35,12 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private BarberRepository barberRepository;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Método principal do filtro que intercepta as requisições HTTP. Verifica se a requisição
-     * contém um token JWT válido, valida esse token e autentica o usuário com base nas informações extraídas.
+     * contém um token JWT válido e não revogado, valida esse token e autentica o usuário com base nas informações extraídas.
      *
      * @param request a requisição HTTP
      * @param response a resposta HTTP
@@ -49,10 +52,12 @@ public class SecurityFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         var token = this.recoverToken(request);
-        if (token != null) {
+        var decodedToken = token == null ? null : tokenService.decodeToken(token);
+        // Tokens inválidos ou revogados seguem sem autenticação
+        if (decodedToken != null && !tokenRevocationService.isRevoked(decodedToken.getId())) {
 
-            var login = tokenService.validateToken(token);
-            var role = tokenService.extractRole(token);
+            var login = decodedToken.getSubject();
+            var role = decodedToken.getClaim("role").asString();
             UserDetails user;
 
 
@@ -0,0 +1,153 @@
+package com.webbarber.webbarber.infra.security;
+
+import com.webbarber.webbarber.entity.RevokedToken;
+import com.webbarber.webbarber.repository.RevokedTokenRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço responsável pela revogação de JWTs antes da sua expiração.
+ * As revogações são persistidas no Postgres e espelhadas em memória em um filtro de Bloom e em um conjunto exato.
+ * A verificação feita a cada requisição consulta apenas a memória; o banco só é acessado quando o filtro
+ * de Bloom indica uma possível revogação que ainda não consta no conjunto exato (falso positivo ou
+ * revogação feita por outra instância e ainda não sincronizada).
+ * <p>
+ * As revogações são carregadas durante a inicialização do contexto, antes de o servidor web começar a aceitar
+ * requisições; sem isso, cada requisição recebida até o fim da carga consultaria o banco.
+ * </p>
+ */
+@Service
+public class TokenRevocationService implements SmartInitializingSingleton {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // Tokens revogados e ainda não expirados, com a respectiva expiração
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    @Value("${api.security.revocation.expected-tokens}")
+    private long expectedTokens;
+
+    @Value("${api.security.revocation.false-positive-rate}")
+    private double falsePositiveRate;
+
+    @Value("${api.security.revocation.sync-overlap-seconds}")
+    private long syncOverlapSeconds;
+
+    /**
+     * Construtor que inicializa o serviço com as dependências necessárias.
+     *
+     * @param revokedTokenRepository Repositório de tokens revogados.
+     */
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    /**
+     * Carrega todas as revogações ainda válidas depois que todos os beans foram criados, antes de o servidor web
+     * ser iniciado. O filtro de Bloom é construído depois da carga, já dimensionado para as revogações lidas.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        synchronize();
+        rebuildBloomFilter();
+    }
+
+    /**
+     * Verifica se um token foi revogado.
+     *
+     * @param tokenId Identificador (jti) do token.
+     * @return True se o token estiver revogado, false caso contrário.
+     */
+    public boolean isRevoked(String tokenId) {
+        if(tokenId == null) return false;
+        BloomFilter filter = bloomFilter;
+        if(filter != null && !filter.mightContain(tokenId)) return false;
+        if(revokedTokens.containsKey(tokenId)) return true;
+
+        // Possível falso positivo: confirma no banco
+        return revokedTokenRepository.findById(tokenId)
+                .map(revokedToken -> {
+                    remember(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Revoga um token até a sua expiração.
+     *
+     * @param tokenId Identificador (jti) do token.
+     * @param expiresAt Instante de expiração do token.
+     */
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        if(tokenId == null || revokedTokenRepository.existsById(tokenId)) return;
+        revokedTokenRepository.save(new RevokedToken(tokenId, Instant.now(), expiresAt));
+        remember(tokenId, expiresAt);
+    }
+
+    /**
+     * Sincroniza incrementalmente as revogações feitas por outras instâncias.
+     * A janela de sobreposição cobre transações que gravaram antes da última sincronização, mas confirmaram depois.
+     */
+    @Scheduled(fixedDelayString = "${api.security.revocation.sync-interval-ms}",
+            initialDelayString = "${api.security.revocation.sync-interval-ms}")
+    public void synchronize() {
+        Instant since = lastSync.minusSeconds(syncOverlapSeconds);
+        List<RevokedToken> revoked = revokedTokenRepository.findRevokedSince(since, Instant.now());
+        Instant newest = lastSync;
+        for (RevokedToken revokedToken : revoked) {
+            remember(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+            if(revokedToken.getRevokedAt().isAfter(newest)) newest = revokedToken.getRevokedAt();
+        }
+        lastSync = newest;
+    }
+
+    /**
+     * Descarta as revogações de tokens já expirados, no banco e em memória.
+     * Como o filtro de Bloom não suporta remoção, ele é reconstruído a partir do conjunto exato.
+     */
+    @Scheduled(fixedDelayString = "${api.security.revocation.purge-interval-ms}",
+            initialDelayString = "${api.security.revocation.purge-interval-ms}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpiredBefore(now);
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        rebuildBloomFilter();
+    }
+
+    /**
+     * Registra uma revogação em memória.
+     *
+     * @param tokenId Identificador (jti) do token.
+     * @param expiresAt Instante de expiração do token.
+     */
+    private void remember(String tokenId, Instant expiresAt) {
+        // Publica no conjunto exato antes do filtro para que um acerto no filtro sempre encontre o registro
+        revokedTokens.put(tokenId, expiresAt);
+        BloomFilter filter = bloomFilter;
+        if(filter != null) filter.put(tokenId);
+    }
+
+    /**
+     * Reconstrói o filtro de Bloom a partir do conjunto exato, dimensionando-o para comportar o crescimento.
+     */
+    private void rebuildBloomFilter() {
+        BloomFilter filter = new BloomFilter(Math.max(expectedTokens, revokedTokens.size() * 2L), falsePositiveRate);
+        revokedTokens.keySet().forEach(filter::put);
+        bloomFilter = filter;
+        // Revogações registradas durante a reconstrução
+        revokedTokens.keySet().forEach(filter::put);
+    }
+}
@@ -4,6 +4,7 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.webbarber.webbarber.entity.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.UUID;
 
 @Service
 public class TokenService {
@@ -23,6 +25,7 @@ public class TokenService {
             Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
                     .withIssuer("auth-api")
+                    .withJWTId(UUID.randomUUID().toString())
                     .withSubject(phone)
                     .withClaim("role", role)
                     .withExpiresAt(generationExpirationDate())
@@ -34,12 +37,7 @@ public class TokenService {
 
     public String extractRole(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api")
-                    .build()
-                    .verify(token)
-                    .getClaim("role").asString();
+            return verify(token).getClaim("role").asString();
         } catch (JWTVerificationException exception) {
             throw new RuntimeException("Token inválido.", exception);
         }
@@ -51,14 +49,31 @@ public class TokenService {
 
     public String validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            return verify(token).getSubject();
         } catch (JWTVerificationException exception) {
             return "";
         }
     }
+
+    /**
+     * Valida o token uma única vez e devolve todos os seus claims (subject, role, jti e expiração).
+     *
+     * @param token o token JWT
+     * @return o token decodificado, ou null se o token for inválido ou estiver expirado
+     */
+    public DecodedJWT decodeToken(String token) {
+        try {
+            return verify(token);
+        } catch (JWTVerificationException exception) {
+            return null;
+        }
+    }
+
+    private DecodedJWT verify(String token) {
+        Algorithm algorithm = Algorithm.HMAC256(secret);
+        return JWT.require(algorithm)
+                .withIssuer("auth-api")
+                .build()
+                .verify(token);
+    }
 }
@@ -0,0 +1,261 @@
+package com.webbarber.webbarber.infra.waitingroom;
+
+import com.webbarber.webbarber.dto.QueueTicketDTO;
+import com.webbarber.webbarber.dto.RequestBookingDTO;
+import com.webbarber.webbarber.exception.BookingOverloadedException;
+import com.webbarber.webbarber.exception.TicketNotFoundException;
+import com.webbarber.webbarber.infra.admission.BookingAdmissionController;
+import com.webbarber.webbarber.service.BookingService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sala de espera virtual para as aberturas de agenda.
+ * Em vez de disputar o {@code POST /book}, o cliente entra na fila e recebe um ticket; a posição é consultada
+ * em memória, sem acesso ao banco. Um despachante admite os tickets em ordem de chegada a uma taxa fixa e
+ * executa o agendamento em nome do cliente, de modo que o banco recebe um fluxo constante em vez de uma avalanche.
+ * Tickets que deixam de ser consultados dentro do prazo expiram e são pulados.
+ * <p>
+ * A cada admissão, os tickets da fila que expiraram liberam a vaga e deixam de contar na posição dos seguintes:
+ * a posição é a distância até o último ticket admitido, descontados os tickets expirados que ainda estão na fila
+ * entre os dois. Toda mudança de um ticket que aguarda é feita com o ticket travado, para que a admissão, a
+ * consulta e a expiração nunca liberem a mesma vaga duas vezes.
+ * </p>
+ */
+@Component
+public class BookingWaitingRoom {
+
+    private static final class Ticket {
+        private final String id;
+        private final long sequence;
+        private final String phone;
+        private final UUID userId;
+        private final RequestBookingDTO booking;
+        private volatile TicketStatus status = TicketStatus.WAITING;
+        private volatile String message;
+        private volatile long lastSeenAt;
+
+        private Ticket(String id, long sequence, String phone, UUID userId, RequestBookingDTO booking, long now) {
+            this.id = id;
+            this.sequence = sequence;
+            this.phone = phone;
+            this.userId = userId;
+            this.booking = booking;
+            this.lastSeenAt = now;
+        }
+    }
+
+    private final BookingService bookingService;
+    private final BookingAdmissionController admissionController;
+    private final Queue<Ticket> queue = new ConcurrentLinkedQueue<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> ticketsByPhone = new ConcurrentHashMap<>();
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final NavigableSet<Long> abandoned = new ConcurrentSkipListSet<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${api.booking.waiting-room.max-size}")
+    private int maxSize;
+
+    @Value("${api.booking.waiting-room.admissions-per-interval}")
+    private int admissionsPerInterval;
+
+    @Value("${api.booking.waiting-room.ticket-ttl-ms}")
+    private long ticketTtlMillis;
+
+    /**
+     * Construtor do {@code BookingWaitingRoom}.
+     *
+     * @param bookingService Serviço de agendamento.
+     * @param admissionController Controle de admissão aplicado também aos agendamentos da fila.
+     */
+    public BookingWaitingRoom(BookingService bookingService, BookingAdmissionController admissionController) {
+        this.bookingService = bookingService;
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * Coloca uma solicitação de agendamento na fila. Se o usuário já tiver um ticket aguardando, ele é retornado.
+     *
+     * @param phone Telefone do usuário autenticado, usado para identificar o dono do ticket.
+     * @param userId ID do usuário.
+     * @param booking Dados do agendamento.
+     * @return A situação do ticket.
+     */
+    public QueueTicketDTO enqueue(String phone, UUID userId, RequestBookingDTO booking) {
+        long now = System.nanoTime();
+        Ticket ticket = ticketsByPhone.compute(phone, (key, current) -> {
+            if(current != null && (current.status == TicketStatus.PROCESSING
+                    || (current.status == TicketStatus.WAITING && !expireIfStale(current, now)))) return current;
+            if(waiting.incrementAndGet() > maxSize) {
+                waiting.decrementAndGet();
+                throw new BookingOverloadedException("A fila de agendamentos está cheia. Tente novamente em instantes.");
+            }
+            Ticket created = new Ticket(UUID.randomUUID().toString(), issued.incrementAndGet(), phone, userId, booking, now);
+            tickets.put(created.id, created);
+            queue.add(created);
+            return created;
+        });
+        ticket.lastSeenAt = now;
+        return toDTO(ticket);
+    }
+
+    /**
+     * Consulta a situação de um ticket, renovando o seu prazo de expiração.
+     *
+     * @param phone Telefone do usuário autenticado.
+     * @param ticketId ID do ticket.
+     * @return A situação do ticket.
+     */
+    public QueueTicketDTO poll(String phone, String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if(ticket == null || !ticket.phone.equals(phone)) throw new TicketNotFoundException("Ticket não encontrado.");
+        long now = System.nanoTime();
+        synchronized (ticket) {
+            if(ticket.status == TicketStatus.WAITING && !expireIfStale(ticket, now)) ticket.lastSeenAt = now;
+        }
+        return toDTO(ticket);
+    }
+
+    /**
+     * Admite os próximos tickets da fila, em ordem de chegada, pulando os expirados, e expira os tickets restantes
+     * que deixaram de ser consultados.
+     */
+    @Scheduled(fixedRateString = "${api.booking.waiting-room.admission-interval-ms}")
+    public void admit() {
+        long now = System.nanoTime();
+        int admissions = 0;
+        while (admissions < admissionsPerInterval) {
+            Ticket ticket = queue.poll();
+            if(ticket == null) break;
+            synchronized (ticket) {
+                admitted.set(ticket.sequence);
+                abandoned.remove(ticket.sequence);
+                if(ticket.status != TicketStatus.WAITING || expireIfStale(ticket, now)) continue;
+                waiting.decrementAndGet();
+                ticket.status = TicketStatus.PROCESSING;
+            }
+            executor.execute(() -> process(ticket));
+            admissions++;
+        }
+        for (Ticket ticket : queue) {
+            synchronized (ticket) {
+                if(ticket.status == TicketStatus.WAITING) expireIfStale(ticket, now);
+            }
+        }
+    }
+
+    /**
+     * Remove da memória os tickets concluídos ou expirados há mais tempo que o prazo.
+     */
+    @Scheduled(fixedDelayString = "${api.booking.waiting-room.ticket-ttl-ms}")
+    public void purge() {
+        long now = System.nanoTime();
+        tickets.values().removeIf(ticket -> {
+            boolean stale = (isFinished(ticket) || ticket.status == TicketStatus.EXPIRED) && isExpired(ticket, now);
+            if(stale) ticketsByPhone.remove(ticket.phone, ticket);
+            return stale;
+        });
+    }
+
+    /**
+     * Encerra o executor dos agendamentos admitidos.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Executa o agendamento de um ticket admitido e registra o resultado.
+     *
+     * @param ticket Ticket admitido.
+     */
+    private void process(Ticket ticket) {
+        try {
+            admissionController.execute(ticket.booking.barberId(),
+                    () -> bookingService.bookAppointment(ticket.userId, ticket.booking));
+            ticket.message = "Horário reservado com sucesso.";
+            ticket.status = TicketStatus.CONFIRMED;
+        } catch (RuntimeException exception) {
+            ticket.message = exception.getMessage();
+            ticket.status = TicketStatus.REJECTED;
+        } finally {
+            // O resultado fica disponível por mais um prazo completo
+            ticket.lastSeenAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Expira um ticket que aguarda e não é consultado há mais tempo que o prazo, liberando a sua vaga.
+     * Enquanto continuar na fila, o ticket deixa de contar na posição dos tickets seguintes.
+     *
+     * @param ticket Ticket que aguarda admissão.
+     * @param now Instante atual, em nanossegundos.
+     * @return True se o ticket expirou, false caso contrário.
+     */
+    private boolean expireIfStale(Ticket ticket, long now) {
+        synchronized (ticket) {
+            if(ticket.status != TicketStatus.WAITING || !isExpired(ticket, now)) return false;
+            ticket.status = TicketStatus.EXPIRED;
+            waiting.decrementAndGet();
+            if(ticket.sequence > admitted.get()) abandoned.add(ticket.sequence);
+            return true;
+        }
+    }
+
+    /**
+     * Verifica se o ticket já teve o agendamento processado.
+     *
+     * @param ticket Ticket a ser verificado.
+     * @return True se o agendamento foi concluído, false caso contrário.
+     */
+    private static boolean isFinished(Ticket ticket) {
+        return ticket.status == TicketStatus.CONFIRMED || ticket.status == TicketStatus.REJECTED;
+    }
+
+    /**
+     * Verifica se o ticket não é consultado há mais tempo que o prazo.
+     *
+     * @param ticket Ticket a ser verificado.
+     * @param now Instante atual, em nanossegundos.
+     * @return True se o prazo expirou, false caso contrário.
+     */
+    private boolean isExpired(Ticket ticket, long now) {
+        return now - ticket.lastSeenAt > TimeUnit.MILLISECONDS.toNanos(ticketTtlMillis);
+    }
+
+    /**
+     * Converte um ticket para o DTO de resposta.
+     *
+     * @param ticket Ticket a ser convertido.
+     * @return O DTO com a situação do ticket.
+     */
+    private QueueTicketDTO toDTO(Ticket ticket) {
+        TicketStatus status = ticket.status;
+        long position = 0;
+        if(status == TicketStatus.WAITING) {
+            long last = admitted.get();
+            long skipped = ticket.sequence > last + 1 ? abandoned.subSet(last, false, ticket.sequence, false).size() : 0;
+            position = Math.max(0, ticket.sequence - last - 1 - skipped);
+        }
+        return new QueueTicketDTO(ticket.id, status, position, ticket.message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.webbarber.webbarber.infra.waitingroom;
+
+/**
+ * Situação de um ticket da sala de espera de agendamentos.
+ */
+public enum TicketStatus {
+
+    /**
+     * Aguardando a vez na fila.
+     */
+    WAITING,
+
+    /**
+     * Admitido; o agendamento está sendo processado.
+     */
+    PROCESSING,
+
+    /**
+     * Agendamento realizado com sucesso.
+     */
+    CONFIRMED,
+
+    /**
+     * Agendamento recusado (horário indisponível, serviço inexistente etc.).
+     */
+    REJECTED,
+
+    /**
+     * Ticket descartado por falta de consulta dentro do prazo.
+     */
+    EXPIRED
+}
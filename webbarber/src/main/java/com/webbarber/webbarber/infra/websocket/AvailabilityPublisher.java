@@ -0,0 +1,167 @@
+package com.webbarber.webbarber.infra.websocket;
+
+import com.webbarber.webbarber.dto.AvailabilityDeltaDTO;
+import com.webbarber.webbarber.dto.BookingFeedDTO;
+import com.webbarber.webbarber.dto.BookingFeedEntryDTO;
+import com.webbarber.webbarber.dto.SlotChangeDTO;
+import com.webbarber.webbarber.entity.Booking;
+import com.webbarber.webbarber.event.BookingChangedEvent;
+import com.webbarber.webbarber.event.ScheduleChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publica as mudanças de disponibilidade e o feed de agendamentos nos tópicos STOMP.
+ * As alterações confirmadas são acumuladas por (barbeiro, data) e enviadas em um único frame a cada janela
+ * de agrupamento; alterações que se anulam dentro da janela (reserva seguida do cancelamento do mesmo horário)
+ * não chegam a ser enviadas.
+ */
+@Component
+public class AvailabilityPublisher {
+
+    private record Channel(UUID barberId, LocalDate date) {}
+
+    private static final class PendingAvailability {
+        private boolean resync;
+        private final List<SlotChangeDTO> changes = new ArrayList<>();
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<Channel, PendingAvailability> pendingAvailability = new ConcurrentHashMap<>();
+    private final Map<Channel, List<BookingFeedEntryDTO>> pendingFeed = new ConcurrentHashMap<>();
+
+    @Value("${api.zone-id}")
+    private ZoneId zoneId;
+
+    @Value("${api.websocket.max-changes-per-frame}")
+    private int maxChangesPerFrame;
+
+    @Value("${api.websocket.resync-weeks}")
+    private int resyncWeeks;
+
+    /**
+     * Construtor do {@code AvailabilityPublisher}.
+     *
+     * @param messagingTemplate Template para envio das mensagens aos tópicos.
+     */
+    public AvailabilityPublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Registra a ocupação ou liberação dos horários de um agendamento confirmado.
+     *
+     * @param event Evento de alteração do agendamento.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.booking();
+        if(booking.getDate().isBefore(LocalDate.now(zoneId))) return;
+        Channel channel = new Channel(booking.getBarberId(), booking.getDate());
+        SlotChangeDTO change = new SlotChangeDTO(booking.getStartTime(), booking.getEndTime(),
+                event.type() == BookingChangedEvent.Type.CANCELLED);
+
+        pendingAvailability.compute(channel, (key, pending) -> {
+            if(pending == null) pending = new PendingAvailability();
+            if(pending.resync) return pending;
+            int last = pending.changes.size() - 1;
+            if(last >= 0 && cancelsOut(pending.changes.get(last), change)) pending.changes.remove(last);
+            else pending.changes.add(change);
+            if(pending.changes.size() > maxChangesPerFrame) {
+                pending.resync = true;
+                pending.changes.clear();
+            }
+            return pending;
+        });
+        pendingFeed.compute(channel, (key, entries) -> {
+            if(entries == null) entries = new ArrayList<>();
+            entries.add(new BookingFeedEntryDTO(event.type(), booking.getId(), booking.getUserId(),
+                    booking.getServiceId(), booking.getStartTime(), booking.getEndTime()));
+            return entries;
+        });
+    }
+
+    /**
+     * Solicita que os clientes recarreguem a disponibilidade das datas afetadas por uma mudança na grade.
+     *
+     * @param event Evento de alteração da grade de horários.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        LocalDate today = LocalDate.now(zoneId);
+        if(event.endDate() != null) {
+            LocalDate horizon = today.plusWeeks(resyncWeeks);
+            LocalDate date = event.date().isBefore(today) ? today : event.date();
+            for (; !date.isAfter(event.endDate()) && date.isBefore(horizon); date = date.plusDays(1)) {
+                requestResync(new Channel(event.barberId(), date));
+            }
+            return;
+        }
+        if(event.date() != null) {
+            if(!event.date().isBefore(today)) requestResync(new Channel(event.barberId(), event.date()));
+            return;
+        }
+        LocalDate date = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.of(event.dayOfWeek())));
+        for (int week = 0; week < resyncWeeks; week++, date = date.plusWeeks(1)) {
+            requestResync(new Channel(event.barberId(), date));
+        }
+    }
+
+    /**
+     * Envia os frames acumulados na janela de agrupamento.
+     */
+    @Scheduled(fixedDelayString = "${api.websocket.coalesce-window-ms}")
+    public void flush() {
+        for (Channel channel : pendingAvailability.keySet()) {
+            PendingAvailability pending = pendingAvailability.remove(channel);
+            if(pending == null || (!pending.resync && pending.changes.isEmpty())) continue;
+            messagingTemplate.convertAndSend("/topic/availability/" + channel.barberId() + "/" + channel.date(),
+                    new AvailabilityDeltaDTO(channel.date(), pending.resync, pending.changes));
+        }
+        for (Channel channel : pendingFeed.keySet()) {
+            List<BookingFeedEntryDTO> entries = pendingFeed.remove(channel);
+            if(entries == null || entries.isEmpty()) continue;
+            messagingTemplate.convertAndSend("/topic/barber/" + channel.barberId() + "/" + channel.date(),
+                    new BookingFeedDTO(channel.date(), entries));
+        }
+    }
+
+    /**
+     * Marca um canal para recarga completa, descartando os deltas pendentes.
+     *
+     * @param channel Canal afetado.
+     */
+    private void requestResync(Channel channel) {
+        pendingAvailability.compute(channel, (key, pending) -> {
+            if(pending == null) pending = new PendingAvailability();
+            pending.resync = true;
+            pending.changes.clear();
+            return pending;
+        });
+    }
+
+    /**
+     * Verifica se duas mudanças se anulam (mesmo intervalo, disponibilidade oposta).
+     *
+     * @param previous Mudança anterior.
+     * @param next Mudança seguinte.
+     * @return True se as mudanças se anulam, false caso contrário.
+     */
+    private static boolean cancelsOut(SlotChangeDTO previous, SlotChangeDTO next) {
+        return previous.available() != next.available()
+                && previous.start().equals(next.start()) && previous.end().equals(next.end());
+    }
+}
@@ -0,0 +1,110 @@
+package com.webbarber.webbarber.infra.websocket;
+
+import com.webbarber.webbarber.infra.security.TokenRevocationService;
+import com.webbarber.webbarber.infra.security.TokenService;
+import com.webbarber.webbarber.service.BarberService;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Interceptador do canal STOMP de entrada.
+ * Como navegadores não enviam cabeçalhos no handshake do WebSocket, o JWT é lido do cabeçalho
+ * {@code Authorization} do frame CONNECT. Nas inscrições, o tópico de disponibilidade é liberado a qualquer
+ * usuário autenticado e o feed de agendamentos apenas ao próprio barbeiro. O envio de mensagens pelos clientes
+ * não é permitido.
+ */
+@Component
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private static final String BARBER_ID_ATTRIBUTE = "barberId";
+    private static final String AVAILABILITY_PREFIX = "/topic/availability/";
+    private static final String BARBER_FEED_PREFIX = "/topic/barber/";
+
+    private final TokenService tokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final BarberService barberService;
+
+    /**
+     * Construtor do {@code StompAuthenticationInterceptor}.
+     *
+     * @param tokenService Serviço de tokens JWT.
+     * @param tokenRevocationService Serviço de revogação de tokens.
+     * @param barberService Serviço de barbeiros, usado para identificar o dono do feed.
+     */
+    public StompAuthenticationInterceptor(TokenService tokenService, TokenRevocationService tokenRevocationService,
+                                          BarberService barberService) {
+        this.tokenService = tokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.barberService = barberService;
+    }
+
+    /**
+     * Autentica o frame CONNECT e autoriza os frames SUBSCRIBE e SEND.
+     *
+     * @param message Mensagem recebida do cliente.
+     * @param channel Canal de entrada.
+     * @return A mensagem, se autorizada.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if(accessor == null || accessor.getCommand() == null) return message;
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> authenticate(accessor);
+            case SUBSCRIBE -> authorizeSubscription(accessor);
+            case SEND -> throw new MessagingException("Envio de mensagens não permitido.");
+            default -> { }
+        }
+        return message;
+    }
+
+    /**
+     * Valida o token do frame CONNECT e associa o usuário à sessão.
+     *
+     * @param accessor Cabeçalhos do frame.
+     */
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        var decodedToken = authHeader == null ? null : tokenService.decodeToken(authHeader.replace("Bearer ", ""));
+        if(decodedToken == null || tokenRevocationService.isRevoked(decodedToken.getId())) {
+            throw new MessagingException("Token inválido.");
+        }
+        String role = decodedToken.getClaim("role").asString();
+        accessor.setUser(new UsernamePasswordAuthenticationToken(decodedToken.getSubject(), null,
+                List.of(new SimpleGrantedAuthority(role))));
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if("ROLE_ADMIN".equals(role) && attributes != null) {
+            UUID barberId = barberService.findIdByPhone(decodedToken.getSubject());
+            if(barberId != null) attributes.put(BARBER_ID_ATTRIBUTE, barberId);
+        }
+    }
+
+    /**
+     * Verifica se a sessão pode se inscrever no tópico solicitado.
+     *
+     * @param accessor Cabeçalhos do frame.
+     */
+    private void authorizeSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if(accessor.getUser() == null || destination == null) throw new MessagingException("Não autenticado.");
+        if(destination.startsWith(AVAILABILITY_PREFIX)) return;
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        Object barberId = attributes == null ? null : attributes.get(BARBER_ID_ATTRIBUTE);
+        if(barberId != null && destination.startsWith(BARBER_FEED_PREFIX + barberId + "/")) return;
+        throw new MessagingException("Inscrição não permitida.");
+    }
+}
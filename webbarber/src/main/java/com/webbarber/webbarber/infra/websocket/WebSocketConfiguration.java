@@ -0,0 +1,84 @@
+package com.webbarber.webbarber.infra.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * Configuração do canal STOMP sobre WebSocket usado para enviar a disponibilidade em tempo real.
+ * <ul>
+ *     <li>{@code /topic/availability/{barberId}/{date}} - deltas de disponibilidade, para qualquer usuário autenticado.</li>
+ *     <li>{@code /topic/barber/{barberId}/{date}} - feed de agendamentos, apenas para o próprio barbeiro.</li>
+ * </ul>
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+
+    @Value("${api.websocket.heartbeat-ms}")
+    private long heartbeatMs;
+
+    /**
+     * Construtor da {@code WebSocketConfiguration}.
+     *
+     * @param stompAuthenticationInterceptor Interceptador que autentica as conexões e autoriza as inscrições.
+     */
+    public WebSocketConfiguration(StompAuthenticationInterceptor stompAuthenticationInterceptor) {
+        this.stompAuthenticationInterceptor = stompAuthenticationInterceptor;
+    }
+
+    /**
+     * Registra o endpoint de conexão.
+     *
+     * @param registry Registro de endpoints STOMP.
+     */
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+    }
+
+    /**
+     * Agendador exclusivo dos heartbeats do broker, separado do agendador das tarefas {@code @Scheduled}
+     * (ver {@code TaskSchedulingConfiguration}), para que uma tarefa longa não atrase os heartbeats.
+     *
+     * @return O agendador do broker.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler brokerHeartbeatScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("broker-heartbeat-");
+        return scheduler;
+    }
+
+    /**
+     * Configura o broker em memória para os tópicos, com heartbeats nos dois sentidos.
+     *
+     * @param registry Registro do broker.
+     */
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic")
+                .setTaskScheduler(brokerHeartbeatScheduler())
+                .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs});
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    /**
+     * Adiciona a autenticação ao canal de entrada.
+     *
+     * @param registration Registro do canal de entrada.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthenticationInterceptor);
+    }
+}
@@ -1,17 +1,23 @@
 package com.webbarber.webbarber.repository;
 
 import com.webbarber.webbarber.entity.Barber;
+import com.webbarber.webbarber.infra.persistence.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.UUID;
+
 /**
  * Repositório que gerencia as operações de persistência para a entidade {@link Barber}.
  * Extende {@link JpaRepository} para fornecer acesso a funcionalidades de CRUD (Create, Read, Update, Delete)
  * sem a necessidade de implementação adicional. A interface também define consultas personalizadas usando JPQL (Java Persistence Query Language).
  */
-public interface BarberRepository extends JpaRepository<Barber, Long> {
+public interface BarberRepository extends JpaRepository<Barber, UUID> {
 
     /**
      * Consulta para encontrar um barbeiro com base no número de telefone (utilizado como login).
@@ -19,6 +25,8 @@ public interface BarberRepository extends JpaRepository<Barber, Long> {
      * @param login Número de telefone do barbeiro (login).
      * @return {@link UserDetails} que contém as informações do barbeiro, como telefone e senha.
      */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.BARBER_QUERIES)})
     @Query("SELECT b FROM Barber b WHERE b.phone = :login")
     UserDetails findByLogin(@Param("login") String login);
 
@@ -36,6 +44,8 @@ public interface BarberRepository extends JpaRepository<Barber, Long> {
      * @param phone Número de telefone do barbeiro.
      * @return O ID do barbeiro correspondente ao número de telefone.
      */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.BARBER_QUERIES)})
     @Query("SELECT b.id FROM Barber b WHERE b.phone = :phone")
-    String findIdByPhone(@Param("phone") String phone);
+    UUID findIdByPhone(@Param("phone") String phone);
 }
@@ -0,0 +1,86 @@
+package com.webbarber.webbarber.repository;
+
+import com.webbarber.webbarber.entity.ArchivedBooking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório que gerencia as operações de persistência para a entidade {@link ArchivedBooking}
+ * e o arquivamento dos agendamentos antigos.
+ * Extende {@link JpaRepository} para fornecer acesso a funcionalidades de CRUD (Create, Read, Update, Delete)
+ * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL e SQL nativo.
+ */
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<ArchivedBooking, UUID> {
+
+    /**
+     * Busca os agendamentos arquivados de um cliente em um intervalo de datas.
+     *
+     * @param userId ID do cliente.
+     * @param from Data inicial (inclusiva).
+     * @param to Data final (inclusiva).
+     * @return Lista de agendamentos arquivados, em ordem de data.
+     */
+    @Query("SELECT a FROM ArchivedBooking a WHERE a.userId = :userId AND a.date BETWEEN :from AND :to " +
+            "ORDER BY a.date, a.startMinute")
+    List<ArchivedBooking> findAllByUserIdAndDateBetween(@Param("userId") UUID userId, @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+
+    /**
+     * Busca os agendamentos arquivados de um cliente com um barbeiro em um intervalo de datas.
+     *
+     * @param barberId ID do barbeiro.
+     * @param userId ID do cliente.
+     * @param from Data inicial (inclusiva).
+     * @param to Data final (inclusiva).
+     * @return Lista de agendamentos arquivados, em ordem de data.
+     */
+    @Query("SELECT a FROM ArchivedBooking a WHERE a.userId = :userId AND a.barberId = :barberId " +
+            "AND a.date BETWEEN :from AND :to ORDER BY a.date, a.startMinute")
+    List<ArchivedBooking> findAllByBarberIdAndUserIdAndDateBetween(@Param("barberId") UUID barberId,
+                                                                   @Param("userId") UUID userId,
+                                                                   @Param("from") LocalDate from,
+                                                                   @Param("to") LocalDate to);
+
+    /**
+     * Move um lote de agendamentos anteriores à data de corte para o arquivo em um único comando:
+     * as linhas removidas de {@code bookings} são somadas aos totais diários por barbeiro e serviço
+     * e gravadas em {@code bookings_archive}. Arquivar não é cancelar: a transação deve chamar antes
+     * {@link SyncTombstoneRepository#skipTombstonesInTransaction()}, para que a exclusão não gere exclusões da
+     * sincronização e os clientes mantenham os agendamentos que já têm.
+     *
+     * @param cutoff Data de corte (exclusiva).
+     * @param batchSize Quantidade máxima de agendamentos do lote.
+     * @return Quantidade de agendamentos arquivados.
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_daily_rollups"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings_archive")})
+    @Query(value = "WITH moved AS (" +
+            "DELETE FROM bookings WHERE (id, \"date\") IN (" +
+            "SELECT id, \"date\" FROM bookings WHERE \"date\" < :cutoff ORDER BY \"date\" LIMIT :batchSize) " +
+            "RETURNING id, barber_id, user_id, service_id, \"date\", start_time, end_time), " +
+            "rolled_up AS (" +
+            "INSERT INTO booking_daily_rollups (barber_id, service_id, \"date\", bookings, booked_minutes) " +
+            "SELECT barber_id, service_id, \"date\", count(*), sum(extract(epoch FROM end_time - start_time))::int / 60 " +
+            "FROM moved GROUP BY barber_id, service_id, \"date\" " +
+            "ON CONFLICT (barber_id, service_id, \"date\") DO UPDATE SET " +
+            "bookings = booking_daily_rollups.bookings + EXCLUDED.bookings, " +
+            "booked_minutes = booking_daily_rollups.booked_minutes + EXCLUDED.booked_minutes) " +
+            "INSERT INTO bookings_archive (id, barber_id, user_id, service_id, \"date\", start_minute, end_minute) " +
+            "SELECT id, barber_id, user_id, service_id, \"date\", " +
+            "(extract(epoch FROM start_time) / 60)::smallint, (extract(epoch FROM end_time) / 60)::smallint FROM moved",
+            nativeQuery = true)
+    int archiveBefore(@Param("cutoff") LocalDate cutoff, @Param("batchSize") int batchSize);
+}
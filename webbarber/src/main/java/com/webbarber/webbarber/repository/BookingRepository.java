@@ -1,18 +1,26 @@
 package com.webbarber.webbarber.repository;
 
+import com.webbarber.webbarber.dto.AgendaEntryDTO;
 import com.webbarber.webbarber.dto.BookingDTO;
 import com.webbarber.webbarber.dto.BookingInfoDTO;
+import com.webbarber.webbarber.dto.SyncedBookingDTO;
 import com.webbarber.webbarber.entity.Booking;
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repositório que gerencia as operações de persistência para a entidade {@link Booking}.
@@ -20,16 +28,20 @@ import java.util.Optional;
  * sem a necessidade de implementação adicional. A interface também define consultas personalizadas utilizando JPQL (Java Persistence Query Language).
  */
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     /**
      * Busca um agendamento pelo ID.
+     * Desde a partição por mês (V16), a chave primária no banco é (id, "date"): a busca só pelo ID não descarta
+     * partições e consulta o índice de cada uma, e a unicidade do ID isoladamente depende de ele ser um UUID
+     * gerado pela aplicação. Quando a data do agendamento for conhecida, prefira consultas que também filtrem
+     * por ela.
      *
      * @param id ID do agendamento.
      * @return {@link Optional} contendo o agendamento se encontrado, caso contrário, retorna {@link Optional#empty()}.
      */
     @Nonnull
-    Optional<Booking> findById(@Nonnull String id);
+    Optional<Booking> findById(@Nonnull UUID id);
 
     /**
      * Verifica se já existe um agendamento para o barbeiro em uma data e horário específicos.
@@ -40,7 +52,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @return {@link Optional} contendo o agendamento se encontrado, caso contrário, retorna {@link Optional#empty()}.
      */
     @Query("SELECT new com.webbarber.webbarber.entity.Booking(b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) FROM Booking b WHERE b.barberId = :barberId AND b.date = :date AND b.startTime = :startTime")
-    Optional<Booking> findByBarberIdAndDateAndStartTime(@Param("barberId") String barberId, @Param("date") LocalDate date, @Param("startTime") LocalTime startTime);
+    Optional<Booking> findByBarberIdAndDateAndStartTime(@Param("barberId") UUID barberId, @Param("date") LocalDate date, @Param("startTime") LocalTime startTime);
 
     /**
      * Busca todos os horários de início de agendamento para um barbeiro em uma data específica.
@@ -50,7 +62,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @return Lista de horários de início dos agendamentos.
      */
     @Query("SELECT b.startTime FROM Booking b WHERE b.barberId = :barberId AND b.date = :date")
-    List<LocalTime> findStartTimesByBarberIdAndDate(@Param("barberId") String barberId, @Param("date") LocalDate date);
+    List<LocalTime> findStartTimesByBarberIdAndDate(@Param("barberId") UUID barberId, @Param("date") LocalDate date);
 
     /**
      * Verifica se existe algum agendamento conflitante para o barbeiro em uma data e horário específicos.
@@ -61,7 +73,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @return {@link Optional} contendo o agendamento conflitante, caso exista, caso contrário, retorna {@link Optional#empty()}.
      */
     @Query("SELECT b FROM Booking b WHERE b.barberId = :barberId AND b.date = :date AND :startTime >= b.startTime AND :startTime < b.endTime")
-    Optional<Booking> findConflictingBooking(@Param("barberId") String barberId, @Param("date") LocalDate date,
+    Optional<Booking> findConflictingBooking(@Param("barberId") UUID barberId, @Param("date") LocalDate date,
                                              @Param("startTime") LocalTime startTime);
 
     /**
@@ -79,15 +91,144 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "JOIN Barber br ON b.barberId = br.id " +
             "WHERE b.date = :date AND br.id = :barberId " +
             "ORDER BY b.date, b.startTime")
-    List<BookingInfoDTO> findAllByBarberIdAndDate(@Param("barberId") String barberId, @Param("date") LocalDate date);
+    List<BookingInfoDTO> findAllByBarberIdAndDate(@Param("barberId") UUID barberId, @Param("date") LocalDate date);
 
     /**
      * Busca todos os agendamentos de um usuário específico para um barbeiro.
      *
      * @param barberId ID do barbeiro.
      * @param userId ID do usuário.
-     * @return Lista de {@link BookingDTO} contendo as informações dos agendamentos realizados.
+     * @return Lista de {@link BookingDTO} contendo as informações dos agendamentos realizados, em ordem de data e horário.
      */
-    @Query("SELECT new com.webbarber.webbarber.dto.BookingDTO(b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) FROM Booking b WHERE b.barberId = :barberId AND b.userId = :userId")
-    List<BookingDTO> findAllByBarberIdAndUserId(@Param("barberId") String barberId, @Param("userId") String userId);
+    @Query("SELECT new com.webbarber.webbarber.dto.BookingDTO(b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.barberId = :barberId AND b.userId = :userId ORDER BY b.date, b.startTime")
+    List<BookingDTO> findAllByBarberIdAndUserId(@Param("barberId") UUID barberId, @Param("userId") UUID userId);
+
+    /**
+     * Busca todos os agendamentos de um usuário.
+     *
+     * @param userId ID do usuário.
+     * @return Lista de {@link BookingDTO}, em ordem de data e horário.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.BookingDTO(b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.userId = :userId ORDER BY b.date, b.startTime")
+    List<BookingDTO> findAllByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Busca os agendamentos de um usuário a partir de uma data.
+     *
+     * @param userId ID do usuário.
+     * @param from Data inicial (inclusiva).
+     * @return Lista de {@link BookingDTO}, em ordem de data e horário.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.BookingDTO(b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.userId = :userId AND b.date >= :from ORDER BY b.date, b.startTime")
+    List<BookingDTO> findAllByUserIdFrom(@Param("userId") UUID userId, @Param("from") LocalDate from);
+
+    /**
+     * Busca os agendamentos de um usuário até uma data.
+     *
+     * @param userId ID do usuário.
+     * @param to Data final (inclusiva).
+     * @return Lista de {@link BookingDTO}, em ordem de data e horário.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.BookingDTO(b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.userId = :userId AND b.date <= :to ORDER BY b.date, b.startTime")
+    List<BookingDTO> findAllByUserIdUntil(@Param("userId") UUID userId, @Param("to") LocalDate to);
+
+    /**
+     * Busca os agendamentos de um usuário em um intervalo de datas.
+     * Com as duas datas na consulta, o planejador lê apenas as partições mensais do intervalo.
+     *
+     * @param userId ID do usuário.
+     * @param from Data inicial (inclusiva).
+     * @param to Data final (inclusiva).
+     * @return Lista de {@link BookingDTO}, em ordem de data e horário.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.BookingDTO(b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.userId = :userId AND b.date BETWEEN :from AND :to ORDER BY b.date, b.startTime")
+    List<BookingDTO> findAllByUserIdAndDateBetween(@Param("userId") UUID userId, @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to);
+
+    /**
+     * Busca todos os agendamentos em um intervalo de datas.
+     *
+     * @param from Data inicial (inclusiva).
+     * @param to Data final (inclusiva).
+     * @return Lista de agendamentos no intervalo.
+     */
+    @Query("SELECT b FROM Booking b WHERE b.date BETWEEN :from AND :to")
+    List<Booking> findAllByDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Filtra os IDs de agendamentos que ainda existem.
+     *
+     * @param ids IDs a serem verificados.
+     * @return Lista dos IDs existentes.
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Percorre a agenda de todos os barbeiros em uma data, em uma única consulta ordenada por barbeiro e horário.
+     * O resultado é lido do banco aos poucos (cursor), sem carregar todas as linhas em memória; o {@link Stream}
+     * deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param date Data da agenda.
+     * @return Stream de {@link AgendaEntryDTO} agrupado por barbeiro.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.AgendaEntryDTO(br.id, br.phone, u.name, s.name, b.startTime, b.endTime) " +
+            "FROM Booking b " +
+            "JOIN User u ON b.userId = u.id " +
+            "JOIN Service s ON b.serviceId = s.id " +
+            "JOIN Barber br ON b.barberId = br.id " +
+            "WHERE b.date = :date " +
+            "ORDER BY br.id, b.startTime")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AgendaEntryDTO> streamAgendaByDate(@Param("date") LocalDate date);
+
+    /**
+     * Busca os agendamentos de um barbeiro gravados em um intervalo de cursores de sincronização.
+     *
+     * @param barberId ID do barbeiro.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de agendamentos alterados.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedBookingDTO(b.id, b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.barberId = :barberId AND b.syncTxid >= :since AND b.syncTxid < :horizon")
+    List<SyncedBookingDTO> findSyncByBarberId(@Param("barberId") UUID barberId, @Param("since") long since,
+                                              @Param("horizon") long horizon);
+
+    /**
+     * Busca os agendamentos de um cliente gravados em um intervalo de cursores de sincronização.
+     *
+     * @param userId ID do cliente.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de agendamentos alterados.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedBookingDTO(b.id, b.userId, b.barberId, b.serviceId, b.date, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.userId = :userId AND b.syncTxid >= :since AND b.syncTxid < :horizon")
+    List<SyncedBookingDTO> findSyncByUserId(@Param("userId") UUID userId, @Param("since") long since,
+                                            @Param("horizon") long horizon);
+
+    /**
+     * Cria, se ainda não existir, a partição mensal de agendamentos que contém a data informada.
+     *
+     * @param month Qualquer data do mês desejado.
+     * @return O nome da partição criada, ou null se ela já existia.
+     */
+    @Query(value = "SELECT create_bookings_partition(:month)", nativeQuery = true)
+    String createPartition(@Param("month") LocalDate month);
+
+    /**
+     * Desanexa e remove as partições mensais de agendamentos que terminam até a data informada.
+     * Os agendamentos que ainda estiverem nelas são levados antes para o arquivo e para os totais diários.
+     *
+     * @param cutoff Data de corte (exclusiva).
+     * @return Os nomes das partições removidas.
+     */
+    @Query(value = "SELECT detach_bookings_partitions_before(:cutoff)", nativeQuery = true)
+    List<String> detachPartitionsBefore(@Param("cutoff") LocalDate cutoff);
 }
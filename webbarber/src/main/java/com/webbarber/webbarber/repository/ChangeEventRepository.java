@@ -0,0 +1,73 @@
+package com.webbarber.webbarber.repository;
+
+import com.webbarber.webbarber.entity.ChangeEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repositório que gerencia as operações de persistência para a entidade {@link ChangeEvent}.
+ * Extende {@link JpaRepository} para fornecer acesso a funcionalidades de CRUD (Create, Read, Update, Delete)
+ * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL e SQL nativo.
+ */
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    /**
+     * Obtém o limite seguro de leitura: toda transação com ID menor já terminou, então nenhum evento
+     * abaixo desse valor ainda pode aparecer.
+     *
+     * @return O ID da transação ativa mais antiga.
+     */
+    @Query(value = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", nativeQuery = true)
+    long findSafeHorizon();
+
+    /**
+     * Busca os eventos posteriores a um cursor, na ordem do feed.
+     *
+     * @param txid Transação do último evento lido.
+     * @param id ID do último evento lido.
+     * @param horizon Limite seguro de leitura (exclusivo).
+     * @param pageable Quantidade máxima de eventos.
+     * @return Lista de eventos.
+     */
+    @Query("SELECT e FROM ChangeEvent e WHERE (e.txid > :txid OR (e.txid = :txid AND e.id > :id)) AND e.txid < :horizon " +
+            "ORDER BY e.txid, e.id")
+    List<ChangeEvent> findAfter(@Param("txid") long txid, @Param("id") long id, @Param("horizon") long horizon,
+                                Pageable pageable);
+
+    /**
+     * Verifica se algum evento posterior a um cursor já foi descartado pela retenção.
+     *
+     * @param txid Transação do último evento lido.
+     * @param id ID do último evento lido.
+     * @return True se o consumidor perdeu eventos descartados.
+     */
+    @Query(value = "SELECT (CAST(:txid AS bigint), CAST(:id AS bigint)) < (purged_txid, purged_id) " +
+            "FROM change_feed_state WHERE id = 1", nativeQuery = true)
+    boolean existsPurgedAfter(@Param("txid") long txid, @Param("id") long id);
+
+    /**
+     * Remove os eventos anteriores a um instante e avança o cursor dos eventos descartados.
+     *
+     * @param instant Instante de corte.
+     * @return Quantidade de linhas de estado atualizadas (0 se nenhum evento foi descartado).
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "change_events"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "change_feed_state")})
+    @Query(value = "WITH purged AS (DELETE FROM change_events WHERE created_at < :instant RETURNING txid, id), " +
+            "newest AS (SELECT txid, id FROM purged ORDER BY txid DESC, id DESC LIMIT 1) " +
+            "UPDATE change_feed_state s SET purged_txid = newest.txid, purged_id = newest.id FROM newest " +
+            "WHERE s.id = 1 AND (newest.txid, newest.id) > (s.purged_txid, s.purged_id)", nativeQuery = true)
+    int purgeCreatedBefore(@Param("instant") Instant instant);
+}
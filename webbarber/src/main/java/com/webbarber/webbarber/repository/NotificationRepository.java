@@ -1,8 +1,122 @@
 package com.webbarber.webbarber.repository;
 
+import com.webbarber.webbarber.entity.Notification;
+import com.webbarber.webbarber.infra.notification.NotificationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório que gerencia as operações de persistência para a entidade {@link Notification}, a caixa de saída de notificações.
+ */
 @Repository
-public interface NotificationRepository {
-    //TODO: implementar
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /**
+     * Busca e bloqueia as próximas notificações elegíveis para envio, pulando as já bloqueadas por outra instância.
+     * Uma notificação é elegível se estiver pendente, ou em envio com a reserva expirada, e com o horário de tentativa vencido.
+     *
+     * @param now Instante atual.
+     * @param limit Quantidade máxima de notificações.
+     * @return Lista de notificações bloqueadas até o fim da transação.
+     */
+    @Query(value = "SELECT * FROM notifications WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Notification> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Marca as notificações de um lote como enviadas, desde que ainda estejam reservadas para envio.
+     *
+     * @param ids IDs das notificações.
+     * @param sentAt Instante do envio.
+     * @return Quantidade de registros atualizados.
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.webbarber.webbarber.infra.notification.NotificationStatus.SENT, " +
+            "n.sentAt = :sentAt, n.lastError = null WHERE n.id IN :ids AND n.status = com.webbarber.webbarber.infra.notification.NotificationStatus.SENDING")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") Instant sentAt);
+
+    /**
+     * Registra uma falha de envio, agendando uma nova tentativa ou descartando a notificação.
+     *
+     * @param id ID da notificação.
+     * @param status Nova situação ({@code PENDING} para nova tentativa, {@code FAILED} para descarte).
+     * @param nextAttemptAt Instante da próxima tentativa.
+     * @param error Descrição da falha.
+     * @return Quantidade de registros atualizados.
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :status, n.nextAttemptAt = :nextAttemptAt, n.lastError = :error " +
+            "WHERE n.id = :id AND n.status = com.webbarber.webbarber.infra.notification.NotificationStatus.SENDING")
+    int markFailed(@Param("id") Long id, @Param("status") NotificationStatus status,
+                   @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    /**
+     * Grava uma notificação pendente, ignorando-a se já existir outra com a mesma chave.
+     *
+     * @param recipientId ID do usuário destinatário.
+     * @param recipientPhone Telefone do destinatário.
+     * @param type Tipo da notificação.
+     * @param message Texto a ser enviado.
+     * @param now Instante de criação.
+     * @param dedupKey Chave que identifica a notificação.
+     * @return 1 se a notificação foi gravada, 0 se já existia.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notifications"))
+    @Query(value = "INSERT INTO notifications (recipient_id, recipient_phone, type, message, status, attempts, created_at, next_attempt_at, dedup_key) " +
+            "VALUES (:recipientId, :recipientPhone, :type, :message, 'PENDING', 0, :now, :now, :dedupKey) " +
+            "ON CONFLICT (dedup_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("recipientId") UUID recipientId, @Param("recipientPhone") String recipientPhone,
+                       @Param("type") String type, @Param("message") String message,
+                       @Param("now") Instant now, @Param("dedupKey") String dedupKey);
+
+    /**
+     * Grava um lote de notificações pendentes em um único comando, ignorando as que já existirem com a mesma chave.
+     * Os vetores são paralelos: a posição i de cada um descreve a mesma notificação.
+     *
+     * @param recipientIds IDs dos usuários destinatários.
+     * @param recipientPhones Telefones dos destinatários.
+     * @param types Tipos das notificações.
+     * @param messages Textos a serem enviados.
+     * @param now Instante de criação.
+     * @param dedupKeys Chaves que identificam as notificações.
+     * @return Quantidade de notificações gravadas.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notifications"))
+    @Query(value = "INSERT INTO notifications (recipient_id, recipient_phone, type, message, status, attempts, created_at, next_attempt_at, dedup_key) " +
+            "SELECT n.recipient_id, n.recipient_phone, n.type, n.message, 'PENDING', 0, :now, :now, n.dedup_key " +
+            "FROM unnest(CAST(:recipientIds AS uuid[]), CAST(:recipientPhones AS text[]), CAST(:types AS text[]), " +
+            "CAST(:messages AS text[]), CAST(:dedupKeys AS text[])) AS n(recipient_id, recipient_phone, type, message, dedup_key) " +
+            "ON CONFLICT (dedup_key) DO NOTHING", nativeQuery = true)
+    int insertAllIfAbsent(@Param("recipientIds") String[] recipientIds, @Param("recipientPhones") String[] recipientPhones,
+                          @Param("types") String[] types, @Param("messages") String[] messages,
+                          @Param("now") Instant now, @Param("dedupKeys") String[] dedupKeys);
+
+    /**
+     * Busca o instante de criação da notificação não entregue mais antiga.
+     *
+     * @return O instante de criação, ou null se não houver notificações pendentes.
+     */
+    @Query("SELECT MIN(n.createdAt) FROM Notification n WHERE n.status IN (com.webbarber.webbarber.infra.notification.NotificationStatus.PENDING, " +
+            "com.webbarber.webbarber.infra.notification.NotificationStatus.SENDING)")
+    Instant findOldestUndeliveredCreatedAt();
+
+    /**
+     * Conta as notificações em uma determinada situação.
+     *
+     * @param status Situação das notificações.
+     * @return A quantidade de notificações.
+     */
+    long countByStatus(NotificationStatus status);
 }
@@ -0,0 +1,58 @@
+package com.webbarber.webbarber.repository;
+
+import com.webbarber.webbarber.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositório que gerencia as operações de persistência para a entidade {@link RefreshToken}.
+ * Extende {@link JpaRepository} para fornecer acesso a funcionalidades de CRUD (Create, Read, Update, Delete)
+ * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Busca um refresh token pelo hash do seu valor.
+     *
+     * @param tokenHash Hash SHA-256 do token.
+     * @return Um {@link Optional} contendo o token, caso encontrado.
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revoga um token apenas se ele ainda não tiver sido revogado. Garante que, entre requisições
+     * concorrentes com o mesmo token, somente uma consiga realizar a rotação.
+     *
+     * @param id ID do token.
+     * @return Quantidade de registros alterados (0 ou 1).
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.id = :id AND r.revoked = false")
+    int revokeIfActive(@Param("id") String id);
+
+    /**
+     * Revoga todos os tokens de uma cadeia de rotação.
+     *
+     * @param familyId Identificador da cadeia de rotação.
+     * @return Quantidade de registros alterados.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Revoga todos os tokens de um titular.
+     *
+     * @param phone Telefone do titular.
+     * @return Quantidade de registros alterados.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.phone = :phone")
+    int revokeAllByPhone(@Param("phone") String phone);
+}
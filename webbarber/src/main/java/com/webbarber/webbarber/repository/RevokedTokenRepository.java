@@ -0,0 +1,40 @@
+package com.webbarber.webbarber.repository;
+
+import com.webbarber.webbarber.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repositório que gerencia as operações de persistência para a entidade {@link RevokedToken}.
+ * Extende {@link JpaRepository} para fornecer acesso a funcionalidades de CRUD (Create, Read, Update, Delete)
+ * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Busca as revogações registradas a partir de um instante, ainda não expiradas.
+     *
+     * @param since Instante inicial (exclusivo) da busca.
+     * @param now Instante atual, usado para descartar tokens já expirados.
+     * @return Lista de tokens revogados no período.
+     */
+    @Query("SELECT r FROM RevokedToken r WHERE r.revokedAt > :since AND r.expiresAt > :now")
+    List<RevokedToken> findRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    /**
+     * Remove as revogações de tokens que já expiraram.
+     *
+     * @param instant Instante de corte.
+     * @return Quantidade de registros removidos.
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :instant")
+    int deleteExpiredBefore(@Param("instant") Instant instant);
+}
@@ -1,15 +1,21 @@
 package com.webbarber.webbarber.repository;
 
 import com.webbarber.webbarber.dto.ServiceDTO;
+import com.webbarber.webbarber.dto.SyncedServiceDTO;
 import com.webbarber.webbarber.entity.Service;
+import com.webbarber.webbarber.infra.persistence.CacheRegions;
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repositório que gerencia as operações de persistência para a entidade {@link Service}.
@@ -17,7 +23,7 @@ import java.util.Optional;
  * sem a necessidade de implementação adicional. A interface também define consultas personalizadas utilizando JPQL (Java Persistence Query Language).
  */
 @Repository
-public interface ServiceRepository extends JpaRepository<Service, Long> {
+public interface ServiceRepository extends JpaRepository<Service, UUID> {
 
     /**
      * Busca um serviço específico de um barbeiro pelo ID do barbeiro e ID do serviço.
@@ -26,7 +32,9 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
      * @param id ID do serviço.
      * @return {@link Optional} contendo o serviço se encontrado, caso contrário, retorna {@link Optional#empty()}.
      */
-    Optional<Service> findByBarberIdAndId(String barberId, String id);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SERVICE_QUERIES)})
+    Optional<Service> findByBarberIdAndId(UUID barberId, UUID id);
 
     /**
      * Deleta um serviço do banco de dados.
@@ -41,10 +49,12 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
      * @param barberId ID do barbeiro.
      * @return Lista de {@link ServiceDTO} com as informações dos serviços ativos do barbeiro.
      */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SERVICE_QUERIES)})
     @Query("SELECT new com.webbarber.webbarber.dto.ServiceDTO" +
             "(s.name, s.description, s.duration, s.priceInCents, s.active)" +
             " FROM Service s WHERE s.barberId = :barberId AND s.active = true")
-    List<ServiceDTO> findAllByBarberIdAndActiveTrue(String barberId);
+    List<ServiceDTO> findAllByBarberIdAndActiveTrue(UUID barberId);
 
     /**
      * Verifica se existe um serviço com o ID especificado para o barbeiro fornecido.
@@ -53,7 +63,9 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
      * @param id ID do serviço.
      * @return true se o serviço existir para o barbeiro, caso contrário, retorna false.
      */
-    boolean existsByBarberIdAndId(String barberId, String id);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SERVICE_QUERIES)})
+    boolean existsByBarberIdAndId(UUID barberId, UUID id);
 
     /**
      * Busca a duração de um serviço específico de um barbeiro pelo ID do barbeiro e ID do serviço.
@@ -62,6 +74,33 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
      * @param id ID do serviço.
      * @return Duração do serviço em minutos.
      */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SERVICE_QUERIES)})
     @Query("SELECT s.duration FROM Service s WHERE s.barberId = :barberId AND s.id = :id")
-    int getDurationByBarberIdAndId(@Param("barberId") String barberId, @Param("id") String id);
+    int getDurationByBarberIdAndId(@Param("barberId") UUID barberId, @Param("id") UUID id);
+
+    /**
+     * Busca os serviços de um barbeiro gravados em um intervalo de cursores de sincronização.
+     *
+     * @param barberId ID do barbeiro.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de serviços alterados.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedServiceDTO(s.id, s.name, s.description, s.duration, s.priceInCents, s.active) " +
+            "FROM Service s WHERE s.barberId = :barberId AND s.syncTxid >= :since AND s.syncTxid < :horizon")
+    List<SyncedServiceDTO> findSyncByBarberId(@Param("barberId") UUID barberId, @Param("since") long since,
+                                              @Param("horizon") long horizon);
+
+    /**
+     * Busca a versão persistida do catálogo de serviços de um barbeiro: a quantidade de linhas e a soma das
+     * transações que as gravaram por último. Qualquer inclusão, alteração ou exclusão confirmada, em qualquer
+     * instância, muda o valor. Lida apenas no índice (barber_id, sync_txid).
+     *
+     * @param barberId ID do barbeiro.
+     * @return A versão, no formato "quantidade:soma" ("0:0" se o barbeiro não tiver serviços).
+     */
+    @Query(value = "SELECT count(*) || ':' || coalesce(sum(sync_txid), 0) " +
+            "FROM services WHERE barber_id = :barberId", nativeQuery = true)
+    String findVersionByBarberId(@Param("barberId") UUID barberId);
 }
@@ -0,0 +1,93 @@
+package com.webbarber.webbarber.repository;
+
+import com.webbarber.webbarber.dto.TombstoneDTO;
+import com.webbarber.webbarber.entity.SyncTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório que gerencia as operações de persistência para a entidade {@link SyncTombstone}
+ * e o estado da sincronização incremental.
+ * Extende {@link JpaRepository} para fornecer acesso a funcionalidades de CRUD (Create, Read, Update, Delete)
+ * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL e SQL nativo.
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    /**
+     * Obtém o maior cursor seguro: toda transação com ID menor já terminou, então nenhuma linha abaixo
+     * desse valor ainda pode aparecer.
+     *
+     * @return O ID da transação ativa mais antiga.
+     */
+    @Query(value = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", nativeQuery = true)
+    long findSafeHorizon();
+
+    /**
+     * Obtém o maior cursor cujas exclusões já foram descartadas.
+     *
+     * @return O cursor das exclusões descartadas.
+     */
+    @Query(value = "SELECT purged_txid FROM sync_state WHERE id = 1", nativeQuery = true)
+    long findPurgedTxid();
+
+    /**
+     * Deixa de registrar as exclusões até o fim da transação atual, para exclusões de manutenção que os clientes
+     * da sincronização não devem replicar (ativa {@code webbarber.sync_housekeeping}, lida pelo gatilho das exclusões).
+     * Os horários bloqueados alterados na mesma transação também deixam de atualizar a alteração de horário.
+     *
+     * @return O novo valor da configuração.
+     */
+    @Query(value = "SELECT set_config('webbarber.sync_housekeeping', 'on', true)", nativeQuery = true)
+    String skipTombstonesInTransaction();
+
+    /**
+     * Busca as exclusões de linhas de um barbeiro em um intervalo de cursores.
+     *
+     * @param barberId ID do barbeiro.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de exclusões.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.TombstoneDTO(t.entity, t.entityId) FROM SyncTombstone t " +
+            "WHERE t.barberId = :barberId AND t.syncTxid >= :since AND t.syncTxid < :horizon ORDER BY t.syncTxid")
+    List<TombstoneDTO> findByBarberIdBetween(@Param("barberId") UUID barberId, @Param("since") long since,
+                                             @Param("horizon") long horizon);
+
+    /**
+     * Busca as exclusões de agendamentos de um cliente em um intervalo de cursores.
+     *
+     * @param userId ID do cliente.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de exclusões.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.TombstoneDTO(t.entity, t.entityId) FROM SyncTombstone t " +
+            "WHERE t.userId = :userId AND t.syncTxid >= :since AND t.syncTxid < :horizon ORDER BY t.syncTxid")
+    List<TombstoneDTO> findByUserIdBetween(@Param("userId") UUID userId, @Param("since") long since,
+                                           @Param("horizon") long horizon);
+
+    /**
+     * Descarta as exclusões anteriores a um instante e avança o cursor das exclusões descartadas.
+     *
+     * @param instant Instante de corte.
+     * @return Quantidade de linhas afetadas.
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sync_tombstones"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sync_state")})
+    @Query(value = "WITH purged AS (DELETE FROM sync_tombstones WHERE deleted_at < :instant RETURNING sync_txid) " +
+            "UPDATE sync_state SET purged_txid = GREATEST(purged_txid, (SELECT max(sync_txid) + 1 FROM purged)) WHERE id = 1",
+            nativeQuery = true)
+    int purgeDeletedBefore(@Param("instant") Instant instant);
+}
@@ -1,13 +1,19 @@
 package com.webbarber.webbarber.repository;
 
 import com.webbarber.webbarber.entity.TimeSlotOverride;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repositório que gerencia as operações de persistência para a entidade {@link TimeSlotOverride}.
@@ -15,7 +21,7 @@ import java.util.Optional;
  * sem a necessidade de implementação adicional. A interface também define consultas personalizadas utilizando JPQL e SQL nativo.
  */
 @Repository
-public interface TimeSlotOverrideRepository extends JpaRepository<TimeSlotOverride, String> {
+public interface TimeSlotOverrideRepository extends JpaRepository<TimeSlotOverride, UUID> {
 
     /**
      * Busca uma sobrecarga de horário para um barbeiro em uma data específica.
@@ -24,7 +30,7 @@ public interface TimeSlotOverrideRepository extends JpaRepository<TimeSlotOverri
      * @param date Data do dia que se deseja verificar a sobrecarga de horários.
      * @return {@link Optional} contendo a sobrecarga de horário, caso encontrada, ou {@link Optional#empty()} caso não exista.
      */
-    Optional<TimeSlotOverride> findByBarberIdAndDate(String barberId, LocalDate date);
+    Optional<TimeSlotOverride> findByBarberIdAndDate(UUID barberId, LocalDate date);
 
     /**
      * Busca uma sobrecarga de horário para um barbeiro em uma data específica e retorna como um DTO.
@@ -33,7 +39,7 @@ public interface TimeSlotOverrideRepository extends JpaRepository<TimeSlotOverri
      * @param date Data do dia que se deseja verificar a sobrecarga de horários.
      * @return A sobrecarga de horário, representada por um DTO.
      */
-    TimeSlotOverride findDTOByBarberIdAndDate(String barberId, LocalDate date);
+    TimeSlotOverride findDTOByBarberIdAndDate(UUID barberId, LocalDate date);
 
     /**
      * Busca os horários fechados para um barbeiro em um dia específico, verificando se o horário específico está
@@ -49,5 +55,53 @@ public interface TimeSlotOverrideRepository extends JpaRepository<TimeSlotOverri
             "ON t.id = ts.timeslot_override_id " +
             "WHERE t.barberId = :barberId AND :time = ANY(SELECT ts.closed_slots FROM timeslot_override_closed_slots ts )",
             nativeQuery = true)
-    List<String> findClosedSlotsContainingTime(@Param("barberId") String barberId, @Param("time") String time);
+    List<String> findClosedSlotsContainingTime(@Param("barberId") UUID barberId, @Param("time") String time);
+
+    /**
+     * Busca as alterações de horário de um barbeiro gravadas em um intervalo de cursores de sincronização,
+     * já com os horários bloqueados carregados.
+     *
+     * @param barberId ID do barbeiro.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de alterações de horário modificadas.
+     */
+    @Query("SELECT DISTINCT t FROM TimeslotOverride t LEFT JOIN FETCH t.closedSlots " +
+            "WHERE t.barberId = :barberId AND t.syncTxid >= :since AND t.syncTxid < :horizon")
+    List<TimeSlotOverride> findSyncByBarberId(@Param("barberId") UUID barberId, @Param("since") long since,
+                                              @Param("horizon") long horizon);
+
+    /**
+     * Bloqueia um lote de alterações de horário de datas anteriores à data de corte.
+     * Linhas já bloqueadas por uma edição em andamento são ignoradas, em vez de aguardadas.
+     *
+     * @param cutoff Data de corte (exclusiva).
+     * @param batchSize Quantidade máxima de alterações do lote.
+     * @return Os IDs das alterações bloqueadas até o fim da transação.
+     */
+    @Query(value = "SELECT id FROM timeslot_override WHERE \"date\" < :cutoff ORDER BY \"date\" LIMIT :batchSize " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockExpiredIds(@Param("cutoff") LocalDate cutoff, @Param("batchSize") int batchSize);
+
+    /**
+     * Exclui os horários bloqueados das alterações de horário informadas.
+     *
+     * @param ids IDs das alterações de horário.
+     * @return Quantidade de horários bloqueados excluídos.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeslot_override_closed_slots"))
+    @Query(value = "DELETE FROM timeslot_override_closed_slots WHERE timeslot_override_id IN :ids", nativeQuery = true)
+    int deleteClosedSlotsByOverrideIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Exclui as alterações de horário informadas, que já não podem ter horários bloqueados.
+     *
+     * @param ids IDs das alterações de horário.
+     * @return Quantidade de alterações de horário excluídas.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeslot_override"))
+    @Query(value = "DELETE FROM timeslot_override WHERE id IN :ids", nativeQuery = true)
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
 }
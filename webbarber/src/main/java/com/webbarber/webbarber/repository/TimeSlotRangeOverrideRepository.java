@@ -0,0 +1,70 @@
+package com.webbarber.webbarber.repository;
+
+import com.webbarber.webbarber.dto.SyncedRangeOverrideDTO;
+import com.webbarber.webbarber.entity.TimeSlotRangeOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositório que gerencia as operações de persistência para a entidade {@link TimeSlotRangeOverride}.
+ * Extende {@link JpaRepository} para fornecer acesso a funcionalidades de CRUD (Create, Read, Update, Delete)
+ * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL.
+ */
+@Repository
+public interface TimeSlotRangeOverrideRepository extends JpaRepository<TimeSlotRangeOverride, UUID> {
+
+    /**
+     * Busca uma alteração de intervalo de um barbeiro pelo ID.
+     *
+     * @param id ID da alteração.
+     * @param barberId ID do barbeiro.
+     * @return {@link Optional} contendo a alteração, caso pertença ao barbeiro.
+     */
+    Optional<TimeSlotRangeOverride> findByIdAndBarberId(UUID id, UUID barberId);
+
+    /**
+     * Busca as alterações de intervalo de um barbeiro que ainda não terminaram na data informada.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data de referência.
+     * @return Lista de alterações, em ordem de início.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedRangeOverrideDTO(t.id, t.startDate, t.endDate, t.amStartTime, " +
+            "t.amEndTime, t.pmStartTime, t.pmEndTime, t.interval, t.isClosed) FROM TimeSlotRangeOverride t " +
+            "WHERE t.barberId = :barberId AND t.endDate >= :date ORDER BY t.startDate")
+    List<SyncedRangeOverrideDTO> findCurrentByBarberId(@Param("barberId") UUID barberId, @Param("date") LocalDate date);
+
+    /**
+     * Verifica se um barbeiro já tem alguma alteração de intervalo que se sobreponha ao intervalo informado.
+     *
+     * @param barberId ID do barbeiro.
+     * @param startDate Primeira data do intervalo.
+     * @param endDate Última data do intervalo (inclusiva).
+     * @return True se houver sobreposição.
+     */
+    @Query("SELECT COUNT(t) > 0 FROM TimeSlotRangeOverride t WHERE t.barberId = :barberId " +
+            "AND t.startDate <= :endDate AND t.endDate >= :startDate")
+    boolean existsOverlapping(@Param("barberId") UUID barberId, @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate);
+
+    /**
+     * Busca as alterações de intervalo de um barbeiro gravadas em um intervalo de cursores de sincronização.
+     *
+     * @param barberId ID do barbeiro.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de alterações de intervalo modificadas.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedRangeOverrideDTO(t.id, t.startDate, t.endDate, t.amStartTime, " +
+            "t.amEndTime, t.pmStartTime, t.pmEndTime, t.interval, t.isClosed) FROM TimeSlotRangeOverride t " +
+            "WHERE t.barberId = :barberId AND t.syncTxid >= :since AND t.syncTxid < :horizon")
+    List<SyncedRangeOverrideDTO> findSyncByBarberId(@Param("barberId") UUID barberId, @Param("since") long since,
+                                                    @Param("horizon") long horizon);
+}
@@ -0,0 +1,74 @@
+package com.webbarber.webbarber.repository;
+
+import com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO;
+import com.webbarber.webbarber.entity.TimeSlotRecurringOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositório que gerencia as operações de persistência para a entidade {@link TimeSlotRecurringOverride}.
+ * Extende {@link JpaRepository} para fornecer acesso a funcionalidades de CRUD (Create, Read, Update, Delete)
+ * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL.
+ */
+@Repository
+public interface TimeSlotRecurringOverrideRepository extends JpaRepository<TimeSlotRecurringOverride, UUID> {
+
+    /**
+     * Busca uma regra recorrente de um barbeiro pelo ID.
+     *
+     * @param id ID da regra.
+     * @param barberId ID do barbeiro.
+     * @return {@link Optional} contendo a regra, caso pertença ao barbeiro.
+     */
+    Optional<TimeSlotRecurringOverride> findByIdAndBarberId(UUID id, UUID barberId);
+
+    /**
+     * Busca as regras recorrentes de um barbeiro que valem em algum dia de um período.
+     *
+     * @param barberId ID do barbeiro.
+     * @param from Primeira data do período.
+     * @param to Última data do período (inclusiva).
+     * @return Lista de regras, das mais antigas para as mais novas.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO(t.id, t.dayOfWeek, t.weeksOfMonth, " +
+            "t.weekInterval, t.startDate, t.endDate, t.amStartTime, t.amEndTime, t.pmStartTime, t.pmEndTime, " +
+            "t.interval, t.isClosed) FROM TimeSlotRecurringOverride t WHERE t.barberId = :barberId " +
+            "AND t.startDate <= :to AND (t.endDate IS NULL OR t.endDate >= :from) ORDER BY t.id")
+    List<SyncedRecurringOverrideDTO> findActiveByBarberId(@Param("barberId") UUID barberId, @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to);
+
+    /**
+     * Busca as regras recorrentes de um barbeiro que ainda não terminaram na data informada.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data de referência.
+     * @return Lista de regras, em ordem de início.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO(t.id, t.dayOfWeek, t.weeksOfMonth, " +
+            "t.weekInterval, t.startDate, t.endDate, t.amStartTime, t.amEndTime, t.pmStartTime, t.pmEndTime, " +
+            "t.interval, t.isClosed) FROM TimeSlotRecurringOverride t WHERE t.barberId = :barberId " +
+            "AND (t.endDate IS NULL OR t.endDate >= :date) ORDER BY t.startDate")
+    List<SyncedRecurringOverrideDTO> findCurrentByBarberId(@Param("barberId") UUID barberId, @Param("date") LocalDate date);
+
+    /**
+     * Busca as regras recorrentes de um barbeiro gravadas em um intervalo de cursores de sincronização.
+     *
+     * @param barberId ID do barbeiro.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de regras modificadas.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO(t.id, t.dayOfWeek, t.weeksOfMonth, " +
+            "t.weekInterval, t.startDate, t.endDate, t.amStartTime, t.amEndTime, t.pmStartTime, t.pmEndTime, " +
+            "t.interval, t.isClosed) FROM TimeSlotRecurringOverride t " +
+            "WHERE t.barberId = :barberId AND t.syncTxid >= :since AND t.syncTxid < :horizon")
+    List<SyncedRecurringOverrideDTO> findSyncByBarberId(@Param("barberId") UUID barberId, @Param("since") long since,
+                                                        @Param("horizon") long horizon);
+}
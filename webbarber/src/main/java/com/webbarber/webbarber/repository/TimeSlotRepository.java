@@ -1,14 +1,22 @@
 package com.webbarber.webbarber.repository;
 
 import com.webbarber.webbarber.dto.StandardTimeSlotDTO;
+import com.webbarber.webbarber.dto.SyncedTimeSlotDTO;
 import com.webbarber.webbarber.entity.TimeSlot;
+import com.webbarber.webbarber.infra.persistence.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repositório que gerencia as operações de persistência para a entidade {@link TimeSlot}.
@@ -16,7 +24,7 @@ import java.util.Optional;
  * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL.
  */
 @Repository
-public interface TimeSlotRepository extends JpaRepository<TimeSlot, String> {
+public interface TimeSlotRepository extends JpaRepository<TimeSlot, UUID> {
 
     /**
      * Busca os detalhes do horário padrão de um barbeiro para um dia específico da semana.
@@ -25,10 +33,12 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, String> {
      * @param dayOfWeek O número do dia da semana, onde 1 é segunda-feira, 7 é domingo.
      * @return Um DTO contendo as informações sobre o horário do barbeiro para o dia da semana específico.
      */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.TIMESLOT_QUERIES)})
     @Query("SELECT new com.webbarber.webbarber.dto.StandardTimeSlotDTO(" +
             "t.dayOfWeek, t.amStartTime, t.amEndTime, t.pmStartTime, t.pmEndTime, t.interval) " +
             "FROM Timeslot t WHERE t.barberId = :barberId AND t.dayOfWeek = :day")
-    StandardTimeSlotDTO findByBarberIdAndDayOfWeek(@Param("barberId") String barberId,
+    StandardTimeSlotDTO findByBarberIdAndDayOfWeek(@Param("barberId") UUID barberId,
                                                    @Param("day") int dayOfWeek);
 
     /**
@@ -40,7 +50,43 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, String> {
      * @return Um {@link Optional} contendo o slot de horário, caso encontrado.
      */
     @Query("SELECT t FROM Timeslot t WHERE t.barberId = :barberId AND t.dayOfWeek = :dayOfWeek")
-    Optional<TimeSlot> optionalFindByBarberIdAndDayOfWeek(@Param("barberId") String barberId,
+    Optional<TimeSlot> optionalFindByBarberIdAndDayOfWeek(@Param("barberId") UUID barberId,
                                                           @Param("dayOfWeek") int dayOfWeek);
 
+    /**
+     * Busca os horários padrão de um barbeiro gravados em um intervalo de cursores de sincronização.
+     *
+     * @param barberId ID do barbeiro.
+     * @param since Cursor inicial (inclusivo).
+     * @param horizon Cursor final (exclusivo).
+     * @return Lista de horários padrão alterados.
+     */
+    @Query("SELECT new com.webbarber.webbarber.dto.SyncedTimeSlotDTO(t.id, t.dayOfWeek, t.amStartTime, t.amEndTime, " +
+            "t.pmStartTime, t.pmEndTime, t.interval) " +
+            "FROM Timeslot t WHERE t.barberId = :barberId AND t.syncTxid >= :since AND t.syncTxid < :horizon")
+    List<SyncedTimeSlotDTO> findSyncByBarberId(@Param("barberId") UUID barberId, @Param("since") long since,
+                                               @Param("horizon") long horizon);
+
+    /**
+     * Busca a versão persistida de tudo que compõe a disponibilidade de um barbeiro em uma data: horário padrão,
+     * alterações por intervalo e recorrentes, alteração da data (os horários fechados atualizam a alteração) e
+     * agendamentos da data. Cada parte é a quantidade de linhas e a soma das transações que as gravaram por último,
+     * então qualquer inclusão, alteração ou exclusão confirmada, em qualquer instância, muda o valor.
+     *
+     * @param barberId ID do barbeiro.
+     * @param date Data consultada.
+     * @return A versão, no formato "horário-intervalos-recorrentes-data-agendamentos", começando pela parte do
+     * horário padrão.
+     */
+    @Query(value = "SELECT (SELECT count(*) || ':' || coalesce(sum(sync_txid), 0) " +
+            "FROM timeslot WHERE barber_id = :barberId) " +
+            "|| '-' || (SELECT count(*) || ':' || coalesce(sum(sync_txid), 0) " +
+            "FROM timeslot_range_override WHERE barber_id = :barberId) " +
+            "|| '-' || (SELECT count(*) || ':' || coalesce(sum(sync_txid), 0) " +
+            "FROM timeslot_recurring_override WHERE barber_id = :barberId) " +
+            "|| '-' || (SELECT count(*) || ':' || coalesce(sum(sync_txid), 0) " +
+            "FROM timeslot_override WHERE barber_id = :barberId AND \"date\" = :date) " +
+            "|| '-' || (SELECT count(*) || ':' || coalesce(sum(sync_txid), 0) " +
+            "FROM bookings WHERE barber_id = :barberId AND \"date\" = :date)", nativeQuery = true)
+    String findAvailabilityVersion(@Param("barberId") UUID barberId, @Param("date") LocalDate date);
 }
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repositório que gerencia as operações de persistência para a entidade {@link User}.
@@ -18,7 +19,7 @@ import java.util.Optional;
  * sem a necessidade de implementação adicional. Define consultas personalizadas utilizando JPQL.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, UUID> {
 
     /**
      * Busca um usuário pelo seu ID.
@@ -27,7 +28,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Um {@link Optional} contendo o usuário, caso encontrado.
      */
     @Nonnull
-    Optional<User> findById(@Nonnull String id);
+    Optional<User> findById(@Nonnull UUID id);
 
     /**
      * Busca um usuário pelo número de telefone.
@@ -69,7 +70,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param id ID do usuário.
      * @return Um valor booleano indicando se o usuário existe ou não.
      */
-    boolean existsById(String id);
+    boolean existsById(@Nonnull UUID id);
 
     /**
      * Busca o ID de um usuário pelo número de telefone.
@@ -78,5 +79,5 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return O ID do usuário.
      */
     @Query("SELECT u.id FROM User u WHERE u.phone = :phone")
-    String findIdByPhone(@Param("phone") String phone);
+    UUID findIdByPhone(@Param("phone") String phone);
 }
@@ -0,0 +1,112 @@
+package com.webbarber.webbarber.service;
+
+import com.webbarber.webbarber.dto.AgendaEntryDTO;
+import com.webbarber.webbarber.infra.notification.NotificationType;
+import com.webbarber.webbarber.infra.notification.PendingNotification;
+import com.webbarber.webbarber.repository.BookingRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serviço responsável pelo resumo diário da agenda enviado a cada barbeiro.
+ * A agenda de todos os barbeiros é lida em uma única consulta ordenada por barbeiro e horário; as linhas são
+ * consumidas em fluxo e agrupadas à medida que chegam, e os resumos prontos seguem em lotes para a caixa de saída.
+ */
+@Service
+public class AgendaDigestService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final BookingRepository bookingRepository;
+    private final NotificationService notificationService;
+
+    @Value("${api.digest.batch-size}")
+    private int batchSize;
+
+    /**
+     * Construtor que inicializa o serviço com as dependências necessárias.
+     *
+     * @param bookingRepository Repositório de agendamentos.
+     * @param notificationService Serviço da caixa de saída de notificações.
+     */
+    public AgendaDigestService(BookingRepository bookingRepository, NotificationService notificationService) {
+        this.bookingRepository = bookingRepository;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * Gera e registra o resumo da agenda de cada barbeiro com agendamentos na data.
+     * Os resumos já registrados para a data são ignorados, então a geração pode ser repetida com segurança.
+     *
+     * @param date Data da agenda.
+     * @return Quantidade de resumos gerados.
+     */
+    @Transactional
+    public int sendDailyDigests(LocalDate date) {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        int digests = 0;
+        try (Stream<AgendaEntryDTO> rows = bookingRepository.streamAgendaByDate(date)) {
+            Iterator<AgendaEntryDTO> iterator = rows.iterator();
+            AgendaEntryDTO first = null;
+            StringBuilder agenda = new StringBuilder();
+            int entries = 0;
+            while (iterator.hasNext()) {
+                AgendaEntryDTO row = iterator.next();
+                if(first != null && !first.barberId().equals(row.barberId())) {
+                    batch.add(toNotification(first, date, entries, agenda));
+                    digests++;
+                    if(batch.size() >= batchSize) flush(batch);
+                    agenda.setLength(0);
+                    entries = 0;
+                }
+                if(entries == 0) first = row;
+                agenda.append('\n').append(row.startTime().format(TIME_FORMATTER)).append('-')
+                        .append(row.endTime().format(TIME_FORMATTER)).append(' ')
+                        .append(row.userName()).append(" - ").append(row.serviceName());
+                entries++;
+            }
+            if(first != null) {
+                batch.add(toNotification(first, date, entries, agenda));
+                digests++;
+            }
+        }
+        flush(batch);
+        return digests;
+    }
+
+    /**
+     * Monta a notificação com o resumo da agenda de um barbeiro.
+     *
+     * @param barber Primeira linha da agenda do barbeiro, com os dados de contato.
+     * @param date Data da agenda.
+     * @param entries Quantidade de horários agendados.
+     * @param agenda Linhas da agenda já formatadas.
+     * @return A notificação a ser gravada.
+     */
+    private PendingNotification toNotification(AgendaEntryDTO barber, LocalDate date, int entries, CharSequence agenda) {
+        String message = "Agenda de " + date.format(DATE_FORMATTER) + " (" + entries
+                + (entries == 1 ? " horário):" : " horários):") + agenda;
+        return new PendingNotification(barber.barberId(), barber.barberPhone(), NotificationType.DAILY_DIGEST,
+                message, "digest:" + barber.barberId() + ":" + date);
+    }
+
+    /**
+     * Entrega o lote de resumos à caixa de saída e o esvazia.
+     *
+     * @param batch Lote de resumos.
+     */
+    private void flush(List<PendingNotification> batch) {
+        if(batch.isEmpty()) return;
+        notificationService.enqueueAll(batch);
+        batch.clear();
+    }
+}
@@ -2,10 +2,14 @@ package com.webbarber.webbarber.service;
 
 import com.webbarber.webbarber.dto.RegisterDTO;
 import com.webbarber.webbarber.entity.Barber;
+import com.webbarber.webbarber.entity.RefreshToken;
+import com.webbarber.webbarber.exception.InvalidRefreshTokenException;
 import com.webbarber.webbarber.exception.InvalidRoleException;
 import com.webbarber.webbarber.exception.UserAlreadyExistsException;
 import org.springframework.stereotype.Service;
 import com.webbarber.webbarber.entity.User;
+import com.webbarber.webbarber.infra.security.RefreshTokenService;
+import com.webbarber.webbarber.infra.security.TokenRevocationService;
 import com.webbarber.webbarber.infra.security.TokenService;
 import org.springframework.security.authentication.AuthenticationManager;
 import com.webbarber.webbarber.dto.AuthenticationDTO;
@@ -23,6 +27,8 @@ public class AuthenticationService {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final BarberService barberService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Construtor que inicializa o serviço com as dependências necessárias.
@@ -31,20 +37,25 @@ public class AuthenticationService {
      * @param userService Serviço que gerencia operações relacionadas ao usuário.
      * @param authenticationManager Gerenciador de autenticação do Spring Security.
      * @param barberService Serviço que gerencia operações relacionadas ao barbeiro.
+     * @param refreshTokenService Serviço responsável pela emissão e rotação de refresh tokens.
+     * @param tokenRevocationService Serviço responsável pela revogação de tokens JWT.
      */
     public AuthenticationService(TokenService tokenService, UserService userService,
-                                 AuthenticationManager authenticationManager, BarberService barberService) {
+                                 AuthenticationManager authenticationManager, BarberService barberService,
+                                 RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService) {
         this.tokenService = tokenService;
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.barberService = barberService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     /**
      * Método responsável por autenticar o usuário ou barbeiro com base nas credenciais fornecidas.
      *
      * @param data DTO contendo as credenciais (telefone e senha) para autenticação.
-     * @return Um objeto {@link LoginResponseDTO} contendo o token JWT gerado após a autenticação.
+     * @return Um objeto {@link LoginResponseDTO} contendo o token JWT e o refresh token gerados após a autenticação.
      * @throws InvalidRoleException Se o papel do usuário não for válido.
      */
     public LoginResponseDTO authenticate(AuthenticationDTO data) {
@@ -72,9 +83,44 @@ public class AuthenticationService {
             throw new InvalidRoleException("Invalid role");  // Lança exceção se o papel for inválido
         }
 
-        // Gera o token JWT
+        // Gera o token JWT e o refresh token
         var token = tokenService.generateToken(phone, role);
-        return new LoginResponseDTO(token);  // Retorna o token em um DTO
+        var refreshToken = refreshTokenService.issue(phone, role);
+        return new LoginResponseDTO(token, refreshToken);  // Retorna os tokens em um DTO
+    }
+
+    /**
+     * Método responsável por trocar um refresh token válido por um novo JWT, sem verificar a senha.
+     * O refresh token utilizado é consumido e substituído por outro da mesma cadeia de rotação.
+     *
+     * @param rawRefreshToken Refresh token recebido no login ou na última renovação.
+     * @return Um objeto {@link LoginResponseDTO} contendo o novo JWT e o novo refresh token.
+     * @throws InvalidRefreshTokenException Se o token for inválido ou se o titular não existir mais.
+     */
+    public LoginResponseDTO refresh(String rawRefreshToken) {
+        RefreshToken current = refreshTokenService.consume(rawRefreshToken);
+
+        // Garante que o titular não foi removido desde a emissão do token
+        if(!userService.userExists(current.getPhone()) && !barberService.existsByPhone(current.getPhone())) {
+            throw new InvalidRefreshTokenException("Refresh token inválido.");
+        }
+
+        var token = tokenService.generateToken(current.getPhone(), current.getRole());
+        var refreshToken = refreshTokenService.rotate(current);
+        return new LoginResponseDTO(token, refreshToken);
+    }
+
+    /**
+     * Método responsável por encerrar a sessão: revoga o JWT informado até a sua expiração
+     * e todos os refresh tokens do titular.
+     *
+     * @param token Token JWT em uso pelo cliente.
+     */
+    public void logout(String token) {
+        var decodedToken = tokenService.decodeToken(token);
+        if(decodedToken == null) return;  // Token inválido ou expirado não precisa ser revogado
+        tokenRevocationService.revoke(decodedToken.getId(), decodedToken.getExpiresAtAsInstant());
+        refreshTokenService.revokeAll(decodedToken.getSubject());
     }
 
     /**
@@ -3,6 +3,8 @@ package com.webbarber.webbarber.service;
 import com.webbarber.webbarber.repository.BarberRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 /**
  * Serviço responsável pela manipulação de dados relacionados aos barbeiros.
  * Ele utiliza o repositório BarberRepository para verificar a existência de barbeiros
@@ -34,11 +36,13 @@ public class BarberService {
 
     /**
      * Recupera o ID do barbeiro com base no número de telefone fornecido.
+     * A consulta fica no cache de segundo nível (região {@code barber-queries}), que é limitado, expira e é
+     * invalidado quando um barbeiro é alterado ou excluído.
      *
      * @param phone O número de telefone do barbeiro.
      * @return O ID do barbeiro associado ao número de telefone fornecido.
      */
-    public String findIdByPhone(String phone) {
+    public UUID findIdByPhone(String phone) {
         return barberRepository.findIdByPhone(phone);
     }
 }
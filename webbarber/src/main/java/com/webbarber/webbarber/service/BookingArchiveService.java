@@ -0,0 +1,100 @@
+package com.webbarber.webbarber.service;
+
+import com.webbarber.webbarber.dto.BookingDTO;
+import com.webbarber.webbarber.entity.ArchivedBooking;
+import com.webbarber.webbarber.repository.BookingArchiveRepository;
+import com.webbarber.webbarber.repository.SyncTombstoneRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serviço responsável pelo arquivo de agendamentos antigos.
+ * Agendamentos de meses anteriores a {@code api.booking.archive.after-months} são movidos, em lotes, da tabela
+ * de agendamentos para o arquivo, depois de somados aos totais diários por barbeiro e serviço.
+ */
+@Service
+public class BookingArchiveService {
+
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+
+    @Value("${api.zone-id}")
+    private ZoneId zoneId;
+
+    @Value("${api.booking.archive.after-months}")
+    private int afterMonths;
+
+    /**
+     * Construtor que inicializa o serviço com as dependências necessárias.
+     *
+     * @param bookingArchiveRepository Repositório do arquivo de agendamentos.
+     * @param syncTombstoneRepository Repositório das exclusões da sincronização.
+     */
+    public BookingArchiveService(BookingArchiveRepository bookingArchiveRepository,
+                                 SyncTombstoneRepository syncTombstoneRepository) {
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+    }
+
+    /**
+     * Obtém a data de corte do arquivamento: o primeiro dia do mês mais antigo mantido na tabela de agendamentos.
+     * Como o corte coincide com o início de um mês, as partições anteriores a ele ficam vazias após o arquivamento.
+     *
+     * @return A data de corte.
+     */
+    public LocalDate getCutoff() {
+        return LocalDate.now(zoneId).withDayOfMonth(1).minusMonths(afterMonths);
+    }
+
+    /**
+     * Arquiva um lote de agendamentos anteriores à data de corte, em uma transação própria.
+     * Mover um agendamento para o arquivo não é um cancelamento, então não gera exclusão para a sincronização.
+     *
+     * @param cutoff Data de corte (exclusiva).
+     * @param batchSize Quantidade máxima de agendamentos do lote.
+     * @return Quantidade de agendamentos arquivados.
+     */
+    @Transactional
+    public int archiveBatch(LocalDate cutoff, int batchSize) {
+        syncTombstoneRepository.skipTombstonesInTransaction();
+        return bookingArchiveRepository.archiveBefore(cutoff, batchSize);
+    }
+
+    /**
+     * Busca os agendamentos arquivados de um cliente em um intervalo de datas.
+     *
+     * @param userId ID do cliente.
+     * @param from Data inicial (inclusiva).
+     * @param to Data final (inclusiva), ou null para não limitar.
+     * @return Lista de agendamentos arquivados.
+     */
+    public List<BookingDTO> getArchivedByUser(UUID userId, LocalDate from, LocalDate to) {
+        // O arquivo só contém datas passadas
+        LocalDate until = to != null ? to : LocalDate.now(zoneId);
+        return bookingArchiveRepository.findAllByUserIdAndDateBetween(userId, from, until).stream()
+                .map(ArchivedBooking::toDTO)
+                .toList();
+    }
+
+    /**
+     * Busca os agendamentos arquivados de um cliente com um barbeiro em um intervalo de datas.
+     *
+     * @param barberId ID do barbeiro.
+     * @param userId ID do cliente.
+     * @param from Data inicial (inclusiva).
+     * @param to Data final (inclusiva), ou null para não limitar.
+     * @return Lista de agendamentos arquivados.
+     */
+    public List<BookingDTO> getArchivedByBarberAndUser(UUID barberId, UUID userId, LocalDate from, LocalDate to) {
+        LocalDate until = to != null ? to : LocalDate.now(zoneId);
+        return bookingArchiveRepository.findAllByBarberIdAndUserIdAndDateBetween(barberId, userId, from, until).stream()
+                .map(ArchivedBooking::toDTO)
+                .toList();
+    }
+}
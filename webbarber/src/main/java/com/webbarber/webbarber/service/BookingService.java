@@ -1,19 +1,29 @@
 package com.webbarber.webbarber.service;
 
 import com.webbarber.webbarber.dto.BookingDTO;
-import com.webbarber.webbarber.dto.BookingInfoDTO;
 import com.webbarber.webbarber.dto.RequestBookingDTO;
 import com.webbarber.webbarber.entity.Booking;
+import com.webbarber.webbarber.event.BookingChangedEvent;
 import com.webbarber.webbarber.exception.BookingNotFoundException;
 import com.webbarber.webbarber.exception.ServiceNotFoundException;
 import com.webbarber.webbarber.exception.TimeSlotNotAvailableException;
 import com.webbarber.webbarber.exception.UserNotFoundException;
 import com.webbarber.webbarber.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Serviço responsável por gerenciar agendamentos de serviços de barbeiro.
@@ -26,6 +36,10 @@ public class BookingService {
     private final UserService userService;
     private final ServiceService serviceService;
     private final TimeSlotAvailabilityService timeSlotAvailabilityService;
+    private final NotificationService notificationService;
+    private final BookingArchiveService bookingArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     /**
      * Construtor para inicializar o serviço com as dependências necessárias.
@@ -34,38 +48,50 @@ public class BookingService {
      * @param userService Serviço relacionado aos usuários.
      * @param serviceService Serviço relacionado aos serviços.
      * @param timeSlotAvailabilityService Serviço para verificar a disponibilidade de horários.
+     * @param notificationService Serviço da caixa de saída de notificações.
+     * @param bookingArchiveService Serviço do arquivo de agendamentos antigos.
+     * @param eventPublisher Publicador dos eventos de alteração de agendamentos.
+     * @param entityManager EntityManager da transação, usado para ignorar o cache de segundo nível no agendamento.
      */
     public BookingService(BookingRepository bookingRepository,
                           UserService userService, ServiceService serviceService,
-                          TimeSlotAvailabilityService timeSlotAvailabilityService) {
+                          TimeSlotAvailabilityService timeSlotAvailabilityService,
+                          NotificationService notificationService,
+                          BookingArchiveService bookingArchiveService,
+                          ApplicationEventPublisher eventPublisher,
+                          EntityManager entityManager) {
         this.bookingRepository = bookingRepository;
         this.userService = userService;
         this.serviceService = serviceService;
         this.timeSlotAvailabilityService = timeSlotAvailabilityService;
+        this.notificationService = notificationService;
+        this.bookingArchiveService = bookingArchiveService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
     }
 
     /**
      * Realiza o agendamento de um serviço para um usuário.
+     * A confirmação é gravada na caixa de saída na mesma transação do agendamento.
+     * <p>
+     * A grade e a duração do serviço são lidas do banco, e não do cache de segundo nível: o cache é local a cada
+     * instância e só descarta as alterações das demais na leitura seguinte do feed de alterações. As linhas lidas
+     * atualizam o cache.
+     * </p>
      *
      * @param userId ID do usuário que está realizando o agendamento.
      * @param data Dados do agendamento solicitados pelo usuário.
      */
-    public void bookAppointment(String userId, RequestBookingDTO data) {
+    @Transactional
+    public void bookAppointment(UUID userId, RequestBookingDTO data) {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.REFRESH);
         validateUser(userId);
         validateService(data.barberId(), data.serviceId());
         validateAvailability(data.barberId(), data.date(), data.startTime(), data.serviceId());
         Booking booking = createBooking(userId, data.barberId(), data);
         bookingRepository.save(booking);
-    }
-
-    /**
-     * Recupera todos os agendamentos para um dia específico.
-     *
-     * @param date Data dos agendamentos a serem recuperados.
-     * @return Lista de agendamentos do dia.
-     */
-    public List<BookingInfoDTO> getAllSchedules(LocalDate date) {
-        return bookingRepository.findAllByBarberIdAndDate(null, date);
+        notificationService.notifyBookingConfirmed(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(BookingChangedEvent.Type.CREATED, booking));
     }
 
     /**
@@ -76,9 +102,10 @@ public class BookingService {
      * @param data Dados do agendamento.
      * @return Objeto de agendamento.
      */
-    public Booking createBooking(String userId, String barberId, RequestBookingDTO data) {
+    public Booking createBooking(UUID userId, UUID barberId, RequestBookingDTO data) {
         int serviceDuration = serviceService.getDurationById(null, data.serviceId());
-        int interval = timeSlotAvailabilityService.getInterval(barberId, data.date());
+        int interval = timeSlotAvailabilityService.getInterval(barberId, data.date())
+                .orElseThrow(() -> new TimeSlotNotAvailableException("Horário não disponível."));
         LocalTime endTime = data.startTime().plusMinutes(interval * serviceDuration);
 
         return new Booking(userId, data, endTime);
@@ -89,7 +116,7 @@ public class BookingService {
      *
      * @param userId ID do usuário a ser validado.
      */
-    private void validateUser(String userId) {
+    private void validateUser(UUID userId) {
         if (!userService.existsUserById(userId)) {
             throw new UserNotFoundException("Usuário não encontrado.");
         }
@@ -101,7 +128,7 @@ public class BookingService {
      * @param barberId ID do barbeiro.
      * @param serviceId ID do serviço.
      */
-    private void validateService(String barberId, String serviceId) {
+    private void validateService(UUID barberId, UUID serviceId) {
         if (!serviceService.existsByBarberIdAndId(barberId, serviceId)) {
             throw new ServiceNotFoundException("Serviço não encontrado.");
         }
@@ -115,7 +142,7 @@ public class BookingService {
      * @param startTime Hora de início do agendamento.
      * @param serviceId ID do serviço.
      */
-    private void validateAvailability(String barberId, LocalDate date, LocalTime startTime, String serviceId) {
+    private void validateAvailability(UUID barberId, LocalDate date, LocalTime startTime, UUID serviceId) {
         if (!timeSlotAvailabilityService.isBkAvailable(barberId, date, startTime, serviceId)) {
             throw new TimeSlotNotAvailableException("Horário não disponível.");
         }
@@ -123,23 +150,63 @@ public class BookingService {
 
     /**
      * Cancela um agendamento com base no ID do agendamento.
+     * O aviso de cancelamento é gravado na caixa de saída na mesma transação.
      *
      * @param bookingId ID do agendamento a ser cancelado.
      */
-    public void cancelAppointment(String bookingId) {
+    @Transactional
+    public void cancelAppointment(UUID bookingId) {
         Optional<Booking> optionalBooking = bookingRepository.findById(bookingId);
         if(optionalBooking.isEmpty()) throw new BookingNotFoundException("Agendamento não encontrado.");
         bookingRepository.delete(optionalBooking.get());
+        notificationService.notifyBookingCancelled(optionalBooking.get());
+        eventPublisher.publishEvent(new BookingChangedEvent(BookingChangedEvent.Type.CANCELLED, optionalBooking.get()));
     }
 
     /**
-     * Recupera todos os agendamentos de um usuário específico.
+     * Recupera os agendamentos de um usuário específico, opcionalmente limitados a um intervalo de datas.
+     * O arquivo de agendamentos antigos só é consultado quando o intervalo começa antes da data de corte do arquivamento.
      *
      * @param userId ID do usuário.
-     * @return Lista de agendamentos do usuário.
+     * @param from Data inicial (inclusiva), ou null para consultar apenas os agendamentos não arquivados.
+     * @param to Data final (inclusiva), ou null para não limitar.
+     * @return Lista de agendamentos do usuário, em ordem de data.
      */
-    public List<BookingDTO> getAllSchedulesByUser(String userId) {
-        return bookingRepository.findAllByBarberIdAndUserId(null, userId);
+    public List<BookingDTO> getAllSchedulesByUser(UUID userId, LocalDate from, LocalDate to) {
+        // Uma consulta por combinação de limites, para que cada uma tenha um plano próprio sem filtros opcionais
+        List<BookingDTO> schedules;
+        if(from == null && to == null) schedules = bookingRepository.findAllByUserId(userId);
+        else if(to == null) schedules = bookingRepository.findAllByUserIdFrom(userId, from);
+        else if(from == null) schedules = bookingRepository.findAllByUserIdUntil(userId, to);
+        else schedules = bookingRepository.findAllByUserIdAndDateBetween(userId, from, to);
+        if(from == null || !from.isBefore(bookingArchiveService.getCutoff())) return schedules;
+
+        List<BookingDTO> archived = new ArrayList<>(bookingArchiveService.getArchivedByUser(userId, from, to));
+        archived.addAll(schedules);
+        return archived;
+    }
+
+    /**
+     * Recupera os agendamentos de um cliente com um barbeiro, opcionalmente limitados a um intervalo de datas.
+     * O arquivo só é consultado quando o intervalo começa antes da data de corte do arquivamento.
+     *
+     * @param barberId ID do barbeiro.
+     * @param userId ID do cliente.
+     * @param from Data inicial (inclusiva), ou null para consultar apenas os agendamentos não arquivados.
+     * @param to Data final (inclusiva), ou null para não limitar.
+     * @return Lista de agendamentos do cliente com o barbeiro, em ordem de data.
+     */
+    public List<BookingDTO> getAllSchedulesByBarberAndUser(UUID barberId, UUID userId, LocalDate from, LocalDate to) {
+        // Os agendamentos de um cliente com um barbeiro são poucos: o índice (user_id, barber_id) os encontra
+        // e o intervalo é aplicado sobre o resultado
+        List<BookingDTO> schedules = bookingRepository.findAllByBarberIdAndUserId(barberId, userId).stream()
+                .filter(booking -> (from == null || !booking.date().isBefore(from)) && (to == null || !booking.date().isAfter(to)))
+                .toList();
+        if(from == null || !from.isBefore(bookingArchiveService.getCutoff())) return schedules;
+
+        List<BookingDTO> archived = new ArrayList<>(bookingArchiveService.getArchivedByBarberAndUser(barberId, userId, from, to));
+        archived.addAll(schedules);
+        return archived;
     }
 
     /**
@@ -148,7 +215,29 @@ public class BookingService {
      * @param phone Número de telefone do usuário.
      * @return ID do usuário.
      */
-    public String getUserIdByPhone(String phone) {
+    public UUID getUserIdByPhone(String phone) {
         return userService.findIdByPhone(phone);
     }
+
+    /**
+     * Recupera todos os agendamentos em um intervalo de datas.
+     *
+     * @param from Data inicial (inclusiva).
+     * @param to Data final (inclusiva).
+     * @return Lista de agendamentos no intervalo.
+     */
+    public List<Booking> getBookingsBetween(LocalDate from, LocalDate to) {
+        return bookingRepository.findAllByDateBetween(from, to);
+    }
+
+    /**
+     * Filtra os IDs de agendamentos que ainda existem.
+     *
+     * @param bookingIds IDs a serem verificados.
+     * @return Conjunto dos IDs existentes.
+     */
+    public Set<UUID> findExistingIds(Collection<UUID> bookingIds) {
+        if(bookingIds.isEmpty()) return Set.of();
+        return new HashSet<>(bookingRepository.findExistingIds(bookingIds));
+    }
 }
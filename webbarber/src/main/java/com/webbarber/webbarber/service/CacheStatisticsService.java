@@ -0,0 +1,53 @@
+package com.webbarber.webbarber.service;
+
+import com.webbarber.webbarber.dto.CacheRegionStatsDTO;
+import com.webbarber.webbarber.infra.persistence.BoundedRegionStorage;
+import com.webbarber.webbarber.infra.persistence.LocalRegionFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Serviço que expõe as estatísticas das regiões do cache de segundo nível.
+ */
+@Service
+public class CacheStatisticsService {
+
+    private final LocalRegionFactory localRegionFactory;
+
+    /**
+     * Construtor do {@code CacheStatisticsService}.
+     *
+     * @param localRegionFactory Fábrica das regiões do cache de segundo nível.
+     */
+    public CacheStatisticsService(LocalRegionFactory localRegionFactory) {
+        this.localRegionFactory = localRegionFactory;
+    }
+
+    /**
+     * Obtém as estatísticas de cada região do cache, em ordem de nome.
+     *
+     * @return Lista com as estatísticas das regiões.
+     */
+    public List<CacheRegionStatsDTO> getRegionStatistics() {
+        return localRegionFactory.getStorages().stream()
+                .sorted(Comparator.comparing(BoundedRegionStorage::getRegionName))
+                .map(CacheStatisticsService::toDTO)
+                .toList();
+    }
+
+    /**
+     * Converte os contadores de uma região para o DTO de estatísticas.
+     *
+     * @param storage Armazenamento da região.
+     * @return O DTO com as estatísticas.
+     */
+    private static CacheRegionStatsDTO toDTO(BoundedRegionStorage storage) {
+        BoundedRegionStorage.Snapshot snapshot = storage.snapshot();
+        long reads = snapshot.hits() + snapshot.misses();
+        return new CacheRegionStatsDTO(storage.getRegionName(), storage.getMaxEntries(), snapshot.size(),
+                snapshot.hits(), snapshot.misses(), snapshot.puts(), snapshot.evictions(),
+                reads == 0 ? 0 : (double) snapshot.hits() / reads);
+    }
+}
@@ -0,0 +1,247 @@
+package com.webbarber.webbarber.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webbarber.webbarber.dto.ChangeEventDTO;
+import com.webbarber.webbarber.dto.SyncedBookingDTO;
+import com.webbarber.webbarber.dto.SyncedServiceDTO;
+import com.webbarber.webbarber.entity.Booking;
+import com.webbarber.webbarber.entity.ChangeEvent;
+import com.webbarber.webbarber.entity.Service;
+import com.webbarber.webbarber.event.BookingChangedEvent;
+import com.webbarber.webbarber.event.CatalogChangedEvent;
+import com.webbarber.webbarber.event.ScheduleChangedEvent;
+import com.webbarber.webbarber.exception.CursorExpiredException;
+import com.webbarber.webbarber.exception.InvalidCursorException;
+import com.webbarber.webbarber.repository.ChangeEventRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serviço responsável pelo feed de alterações consumido por sistemas externos.
+ *
+ * <p>Os eventos são gravados antes da confirmação da transação que publicou a alteração (agendamento,
+ * cancelamento, serviço ou horário), portanto são confirmados ou desfeitos junto com ela. A leitura segue a
+ * ordem (transação, ID) e nunca passa da transação ativa mais antiga, de modo que um consumidor que avança
+ * o cursor não perde eventos confirmados depois.</p>
+ *
+ * <p>Na leitura com espera (long-poll), a consulta é repetida quando uma alteração é confirmada nesta instância
+ * ou, no máximo, a cada {@code api.change-feed.poll-interval-ms}, para observar alterações feitas por outras instâncias.
+ * Nenhuma conexão com o banco é mantida durante a espera ({@code spring.jpa.open-in-view=false}).</p>
+ *
+ * <p>Os eventos mais antigos que {@code api.change-feed.retention-days} são descartados. Um consumidor cujo cursor
+ * seja anterior a algum evento descartado recebe {@link CursorExpiredException} em vez de continuar sem ele.</p>
+ */
+@org.springframework.stereotype.Service
+public class ChangeFeedService {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ObjectMapper objectMapper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committed = lock.newCondition();
+    private long commitCount;
+
+    @Value("${api.change-feed.max-page-size}")
+    private int maxPageSize;
+
+    @Value("${api.change-feed.max-wait-ms}")
+    private long maxWaitMs;
+
+    @Value("${api.change-feed.poll-interval-ms}")
+    private long pollIntervalMs;
+
+    @Value("${api.change-feed.retention-days}")
+    private long retentionDays;
+
+    /**
+     * Construtor do {@code ChangeFeedService}.
+     *
+     * @param changeEventRepository Repositório dos eventos.
+     * @param objectMapper Mapper usado para serializar os dados das alterações.
+     */
+    public ChangeFeedService(ChangeEventRepository changeEventRepository, ObjectMapper objectMapper) {
+        this.changeEventRepository = changeEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registra a criação ou o cancelamento de um agendamento.
+     *
+     * @param event Evento de alteração do agendamento.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.booking();
+        record("BOOKING", booking.getId(), booking.getBarberId(), "BOOKING_" + event.type().name(),
+                new SyncedBookingDTO(booking.getId(), booking.getUserId(), booking.getBarberId(), booking.getServiceId(),
+                        booking.getDate(), booking.getStartTime(), booking.getEndTime()));
+    }
+
+    /**
+     * Registra a criação, edição ou exclusão de um serviço.
+     *
+     * @param event Evento de alteração do catálogo.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        Service service = event.service();
+        record("SERVICE", service.getId(), event.barberId(), "SERVICE_" + event.type().name(),
+                new SyncedServiceDTO(service.getId(), service.getName(), service.getDescription(), service.getDuration(),
+                        service.getPriceInCents(), service.isActive()));
+    }
+
+    /**
+     * Registra a alteração da grade de horários de uma data, de um intervalo de datas ou de um dia da semana.
+     *
+     * @param event Evento de alteração da grade.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        record("SCHEDULE", null, event.barberId(), "SCHEDULE_CHANGED", event);
+    }
+
+    /**
+     * Acorda as leituras em espera depois que uma alteração é confirmada.
+     */
+    @TransactionalEventListener(classes = {BookingChangedEvent.class, CatalogChangedEvent.class, ScheduleChangedEvent.class},
+            fallbackExecution = true)
+    public void onCommitted() {
+        lock.lock();
+        try {
+            commitCount++;
+            committed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lê os eventos posteriores ao cursor informado.
+     *
+     * @param cursor Cursor do último evento lido, ou null para ler desde o início.
+     * @param limit Quantidade máxima de eventos.
+     * @param waitMs Tempo máximo de espera, em milissegundos, caso não haja eventos novos (0 para não esperar).
+     * @return Lista de eventos, vazia se nenhum evento novo surgir dentro da espera.
+     * @throws CursorExpiredException Se eventos posteriores ao cursor já tiverem sido descartados.
+     */
+    public List<ChangeEventDTO> read(String cursor, int limit, long waitMs) {
+        long[] position = parseCursor(cursor);
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, maxPageSize)));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.min(Math.max(waitMs, 0), maxWaitMs));
+
+        while (true) {
+            long observed = currentCommitCount();
+            long horizon = changeEventRepository.findSafeHorizon();
+            List<ChangeEvent> events = changeEventRepository.findAfter(position[0], position[1], horizon, page);
+            // Verificado depois da leitura: um descarte anterior a ela sempre é percebido
+            if(cursor != null && !cursor.isBlank() && changeEventRepository.existsPurgedAfter(position[0], position[1])) {
+                throw new CursorExpiredException("Cursor expirado: eventos posteriores a ele já foram descartados.");
+            }
+            long remaining = deadline - System.nanoTime();
+            if(!events.isEmpty() || remaining <= 0) return events.stream().map(ChangeFeedService::toDTO).toList();
+            awaitCommit(observed, Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(pollIntervalMs)));
+        }
+    }
+
+    /**
+     * Remove os eventos mais antigos que o período de retenção.
+     */
+    @Scheduled(cron = "${api.change-feed.purge-cron}", zone = "${api.zone-id}")
+    @Transactional
+    public void purgeExpired() {
+        changeEventRepository.purgeCreatedBefore(Instant.now().minus(Duration.ofDays(retentionDays)));
+    }
+
+    /**
+     * Grava um evento na transação corrente.
+     *
+     * @param aggregate Tipo do registro alterado.
+     * @param aggregateId ID do registro alterado.
+     * @param barberId ID do barbeiro.
+     * @param type Tipo da alteração.
+     * @param payload Dados da alteração, serializados em JSON.
+     */
+    private void record(String aggregate, UUID aggregateId, UUID barberId, String type, Object payload) {
+        try {
+            changeEventRepository.save(new ChangeEvent(aggregate, aggregateId, barberId, type,
+                    objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Falha ao serializar o evento " + type + ".", exception);
+        }
+    }
+
+    /**
+     * Obtém a quantidade de alterações confirmadas nesta instância.
+     *
+     * @return A quantidade de alterações confirmadas.
+     */
+    private long currentCommitCount() {
+        lock.lock();
+        try {
+            return commitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Aguarda a confirmação de uma nova alteração ou o fim do tempo informado.
+     *
+     * @param observed Quantidade de confirmações observada antes da última consulta.
+     * @param timeoutNanos Tempo máximo de espera, em nanossegundos.
+     */
+    private void awaitCommit(long observed, long timeoutNanos) {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (commitCount == observed && remaining > 0) {
+                remaining = committed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Interpreta o cursor no formato {@code <transação>-<id>}.
+     *
+     * @param cursor Cursor enviado pelo consumidor.
+     * @return A transação e o ID do último evento lido.
+     */
+    private static long[] parseCursor(String cursor) {
+        if(cursor == null || cursor.isBlank()) return new long[]{0, 0};
+        int separator = cursor.indexOf('-');
+        try {
+            if(separator < 0) throw new NumberFormatException();
+            return new long[]{Long.parseLong(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1))};
+        } catch (NumberFormatException exception) {
+            throw new InvalidCursorException("Cursor inválido.");
+        }
+    }
+
+    /**
+     * Converte um evento no DTO do feed.
+     *
+     * @param event Evento gravado.
+     * @return O DTO correspondente.
+     */
+    private static ChangeEventDTO toDTO(ChangeEvent event) {
+        return new ChangeEventDTO(event.getTxid() + "-" + event.getId(), event.getType(), event.getAggregate(),
+                event.getAggregateId(), event.getBarberId(), event.getCreatedAt(), event.getPayload());
+    }
+}
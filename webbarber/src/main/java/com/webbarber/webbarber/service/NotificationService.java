@@ -1,5 +1,210 @@
 package com.webbarber.webbarber.service;
 
+import com.webbarber.webbarber.dto.NotificationMetricsDTO;
+import com.webbarber.webbarber.entity.Booking;
+import com.webbarber.webbarber.entity.Notification;
+import com.webbarber.webbarber.entity.User;
+import com.webbarber.webbarber.exception.UserNotFoundException;
+import com.webbarber.webbarber.infra.reminder.Reminder;
+import com.webbarber.webbarber.infra.notification.NotificationMetrics;
+import com.webbarber.webbarber.infra.notification.NotificationStatus;
+import com.webbarber.webbarber.infra.notification.NotificationType;
+import com.webbarber.webbarber.infra.notification.PendingNotification;
+import com.webbarber.webbarber.repository.NotificationRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serviço responsável pela caixa de saída de notificações.
+ * As notificações são gravadas na transação da operação que as originou e, depois, reservadas em lotes
+ * pelo despachante, que registra aqui o resultado de cada envio.
+ */
+@Service
 public class NotificationService {
-    //TODO: implementar
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final NotificationRepository notificationRepository;
+    private final UserService userService;
+    private final NotificationMetrics metrics;
+
+    @Value("${api.notification.lease-ms}")
+    private long leaseMillis;
+
+    @Value("${api.notification.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${api.notification.retry-base-delay-ms}")
+    private long retryBaseDelayMillis;
+
+    @Value("${api.notification.retry-max-delay-ms}")
+    private long retryMaxDelayMillis;
+
+    /**
+     * Construtor que inicializa o serviço com as dependências necessárias.
+     *
+     * @param notificationRepository Repositório da caixa de saída.
+     * @param userService Serviço de usuários, usado para obter o telefone do destinatário.
+     * @param metrics Métricas do despachante.
+     */
+    public NotificationService(NotificationRepository notificationRepository, UserService userService,
+                               NotificationMetrics metrics) {
+        this.notificationRepository = notificationRepository;
+        this.userService = userService;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registra a confirmação de um agendamento na caixa de saída.
+     *
+     * @param booking Agendamento confirmado.
+     */
+    public void notifyBookingConfirmed(Booking booking) {
+        enqueue(booking.getUserId(), NotificationType.BOOKING_CONFIRMED,
+                "Seu agendamento para " + booking.getDate().format(DATE_FORMATTER) + " às "
+                        + booking.getStartTime().format(TIME_FORMATTER) + " está confirmado.");
+    }
+
+    /**
+     * Registra o aviso de cancelamento de um agendamento na caixa de saída.
+     *
+     * @param booking Agendamento cancelado.
+     */
+    public void notifyBookingCancelled(Booking booking) {
+        enqueue(booking.getUserId(), NotificationType.BOOKING_CANCELLED,
+                "Seu agendamento para " + booking.getDate().format(DATE_FORMATTER) + " às "
+                        + booking.getStartTime().format(TIME_FORMATTER) + " foi cancelado.");
+    }
+
+    /**
+     * Registra o lembrete de um agendamento na caixa de saída.
+     * Lembretes já registrados (por outra instância ou antes de um reinício) são ignorados.
+     *
+     * @param reminder Lembrete vencido.
+     */
+    @Transactional
+    public void notifyReminder(Reminder reminder) {
+        User user = userService.getUserById(reminder.userId())
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
+        String message = "Lembrete: você tem um horário marcado para " + reminder.date().format(DATE_FORMATTER)
+                + " às " + reminder.startTime().format(TIME_FORMATTER) + ".";
+        notificationRepository.insertIfAbsent(reminder.userId(), user.getPhone(), NotificationType.APPOINTMENT_REMINDER.name(),
+                message, Instant.now(), reminder.dedupKey());
+    }
+
+    /**
+     * Grava um lote de notificações na caixa de saída, na transação corrente, com um único comando.
+     * Notificações cuja chave já existe são ignoradas.
+     *
+     * @param notifications Notificações a serem gravadas.
+     * @return Quantidade de notificações efetivamente gravadas.
+     */
+    @Transactional
+    public int enqueueAll(List<PendingNotification> notifications) {
+        if(notifications.isEmpty()) return 0;
+        int size = notifications.size();
+        String[] recipientIds = new String[size];
+        String[] recipientPhones = new String[size];
+        String[] types = new String[size];
+        String[] messages = new String[size];
+        String[] dedupKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            PendingNotification notification = notifications.get(i);
+            recipientIds[i] = notification.recipientId().toString();
+            recipientPhones[i] = notification.recipientPhone();
+            types[i] = notification.type().name();
+            messages[i] = notification.message();
+            dedupKeys[i] = notification.dedupKey();
+        }
+        return notificationRepository.insertAllIfAbsent(recipientIds, recipientPhones, types, messages, Instant.now(),
+                dedupKeys);
+    }
+
+    /**
+     * Grava uma notificação na caixa de saída, na transação corrente.
+     *
+     * @param userId ID do usuário destinatário.
+     * @param type Tipo da notificação.
+     * @param message Texto a ser enviado.
+     */
+    public void enqueue(UUID userId, NotificationType type, String message) {
+        User user = userService.getUserById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
+        notificationRepository.save(new Notification(userId, user.getPhone(), type, message, Instant.now()));
+    }
+
+    /**
+     * Reserva o próximo lote de notificações elegíveis para envio.
+     * As notificações ficam reservadas até o fim do prazo da reserva; se o envio não for confirmado até lá,
+     * voltam a ser elegíveis.
+     *
+     * @param batchSize Quantidade máxima de notificações.
+     * @return Lista de notificações reservadas.
+     */
+    @Transactional
+    public List<Notification> claimBatch(int batchSize) {
+        Instant now = Instant.now();
+        List<Notification> batch = notificationRepository.lockDue(now, batchSize);
+        Instant leaseUntil = now.plusMillis(leaseMillis);
+        batch.forEach(notification -> notification.claim(leaseUntil));
+        return batch;
+    }
+
+    /**
+     * Marca as notificações como enviadas.
+     *
+     * @param ids IDs das notificações enviadas.
+     */
+    @Transactional
+    public void markSent(List<Long> ids) {
+        if(ids.isEmpty()) return;
+        notificationRepository.markSent(ids, Instant.now());
+    }
+
+    /**
+     * Registra a falha de envio de uma notificação, agendando uma nova tentativa com espera exponencial
+     * ou descartando-a quando as tentativas se esgotam.
+     *
+     * @param notification Notificação cujo envio falhou.
+     * @param error Descrição da falha.
+     */
+    @Transactional
+    public void markFailed(Notification notification, String error) {
+        if(notification.getAttempts() >= maxAttempts) {
+            notificationRepository.markFailed(notification.getId(), NotificationStatus.FAILED, Instant.now(), error);
+            return;
+        }
+        int exponent = Math.min(notification.getAttempts() - 1, 30);
+        long delay = Math.min(retryMaxDelayMillis, retryBaseDelayMillis << Math.max(0, exponent));
+        notificationRepository.markFailed(notification.getId(), NotificationStatus.PENDING,
+                Instant.now().plusMillis(delay), error);
+    }
+
+    /**
+     * Obtém as métricas do despachante e da caixa de saída.
+     *
+     * @return As métricas de vazão e atraso.
+     */
+    public NotificationMetricsDTO getMetrics() {
+        Instant oldest = notificationRepository.findOldestUndeliveredCreatedAt();
+        long currentLag = oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis());
+        return new NotificationMetricsDTO(
+                metrics.getLastBatchSize(),
+                metrics.getLastBatchDurationMillis(),
+                metrics.getLastBatchThroughput(),
+                metrics.getLastBatchMaxLagMillis(),
+                metrics.getTotalSent(),
+                metrics.getTotalFailedAttempts(),
+                notificationRepository.countByStatus(NotificationStatus.PENDING)
+                        + notificationRepository.countByStatus(NotificationStatus.SENDING),
+                currentLag);
+    }
 }
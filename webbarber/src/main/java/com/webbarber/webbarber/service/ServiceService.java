@@ -2,12 +2,16 @@ package com.webbarber.webbarber.service;
 
 import com.webbarber.webbarber.dto.ServiceDTO;
 import com.webbarber.webbarber.entity.Service;
+import com.webbarber.webbarber.event.CatalogChangedEvent;
 import com.webbarber.webbarber.exception.ServiceNotFoundException;
 import com.webbarber.webbarber.repository.ServiceRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Serviço responsável por gerenciar os serviços oferecidos pelos barbeiros.
@@ -16,14 +20,17 @@ import java.util.Optional;
 @org.springframework.stereotype.Service
 public class ServiceService {
     private final ServiceRepository serviceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Construtor para inicializar o serviço com o repositório de serviços.
      *
      * @param serviceRepository Repositório para manipulação dos serviços.
+     * @param eventPublisher Publicador dos eventos de alteração do catálogo.
      */
-    public ServiceService(ServiceRepository serviceRepository) {
+    public ServiceService(ServiceRepository serviceRepository, ApplicationEventPublisher eventPublisher) {
         this.serviceRepository = serviceRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,9 +39,11 @@ public class ServiceService {
      * @param barberId ID do barbeiro.
      * @param service DTO contendo os dados do serviço.
      */
-    public void createService(String barberId, ServiceDTO service) {
+    @Transactional
+    public void createService(UUID barberId, ServiceDTO service) {
         Service newService = new Service(barberId, service);
         serviceRepository.save(newService);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.CREATED, barberId, newService));
     }
 
     /**
@@ -44,12 +53,14 @@ public class ServiceService {
      * @param id ID do serviço a ser atualizado.
      * @param updatedService DTO contendo os dados atualizados do serviço.
      */
-    public void updateService(String barberId, String id, ServiceDTO updatedService) {
+    @Transactional
+    public void updateService(UUID barberId, UUID id, ServiceDTO updatedService) {
         Optional<Service> optionalService = findByBarberIdAndId(barberId, id);
         if(optionalService.isEmpty()) throw new ServiceNotFoundException("Serviço não encontrado");
         Service service = optionalService.get();
         updateServiceAttributes(service, updatedService);
         serviceRepository.save(service);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.UPDATED, barberId, service));
     }
 
     /**
@@ -71,11 +82,13 @@ public class ServiceService {
      * @param barberId ID do barbeiro.
      * @param id ID do serviço a ser excluído.
      */
-    public void deleteService(String barberId, String id) {
+    @Transactional
+    public void deleteService(UUID barberId, UUID id) {
         Optional<Service> optionalService = findByBarberIdAndId(barberId, id);
         if(optionalService.isEmpty()) throw new ServiceNotFoundException("Serviço não encontrado");
         Service service = optionalService.get();
         serviceRepository.delete(service);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.DELETED, barberId, service));
     }
 
     /**
@@ -85,7 +98,7 @@ public class ServiceService {
      * @param id ID do serviço.
      * @return Serviço encontrado ou vazio se não existir.
      */
-    public Optional<Service> findByBarberIdAndId(String barberId, String id) {
+    public Optional<Service> findByBarberIdAndId(UUID barberId, UUID id) {
         return serviceRepository.findByBarberIdAndId(barberId, id);
     }
 
@@ -95,7 +108,7 @@ public class ServiceService {
      * @param barberId ID do barbeiro.
      * @return Lista de serviços ativos do barbeiro.
      */
-    public List<ServiceDTO> getActives(String barberId) {
+    public List<ServiceDTO> getActives(UUID barberId) {
         return new ArrayList<>(serviceRepository.findAllByBarberIdAndActiveTrue(barberId));
     }
 
@@ -105,11 +118,13 @@ public class ServiceService {
      * @param barberId ID do barbeiro.
      * @param id ID do serviço a ser atualizado.
      */
-    public void updateServiceStatus(String barberId, String id) {
+    @Transactional
+    public void updateServiceStatus(UUID barberId, UUID id) {
         Optional<Service> optionalService = findByBarberIdAndId(barberId, id);
         if(optionalService.isEmpty()) throw new ServiceNotFoundException("Serviço não encontrado");
         Service service = optionalService.get();
         service.setActive(!service.isActive());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.UPDATED, barberId, service));
     }
 
     /**
@@ -119,7 +134,7 @@ public class ServiceService {
      * @param id ID do serviço.
      * @return Verdadeiro se o serviço existir, falso caso contrário.
      */
-    public boolean existsByBarberIdAndId(String barberId, String id) {
+    public boolean existsByBarberIdAndId(UUID barberId, UUID id) {
         return serviceRepository.existsByBarberIdAndId(barberId, id);
     }
 
@@ -130,7 +145,7 @@ public class ServiceService {
      * @param serviceId ID do serviço.
      * @return Duração do serviço em minutos.
      */
-    public int getDurationById(String barberId, String serviceId) {
+    public int getDurationById(UUID barberId, UUID serviceId) {
         return serviceRepository.getDurationByBarberIdAndId(barberId, serviceId);
     }
 }
@@ -0,0 +1,150 @@
+package com.webbarber.webbarber.service;
+
+import com.webbarber.webbarber.dto.SyncDTO;
+import com.webbarber.webbarber.dto.SyncedTimeSlotOverrideDTO;
+import com.webbarber.webbarber.dto.TombstoneDTO;
+import com.webbarber.webbarber.entity.TimeSlotOverride;
+import com.webbarber.webbarber.repository.BookingRepository;
+import com.webbarber.webbarber.repository.ServiceRepository;
+import com.webbarber.webbarber.repository.SyncTombstoneRepository;
+import com.webbarber.webbarber.repository.TimeSlotOverrideRepository;
+import com.webbarber.webbarber.repository.TimeSlotRangeOverrideRepository;
+import com.webbarber.webbarber.repository.TimeSlotRecurringOverrideRepository;
+import com.webbarber.webbarber.repository.TimeSlotRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serviço responsável pela sincronização incremental dos caches dos clientes.
+ *
+ * <p>Cada linha de agendamentos, horários padrão, alterações de horário (por data, por intervalo ou recorrentes) e serviços guarda o ID da transação que a
+ * gravou por último, e as exclusões ficam registradas em {@code sync_tombstones}; ambos são mantidos por gatilhos
+ * do banco, na mesma transação da escrita. O cursor devolvido ao cliente é o ID da transação ativa mais antiga:
+ * toda transação abaixo dele já terminou, então nenhuma alteração anterior ao cursor pode surgir depois.
+ * Uma transação longa apenas atrasa a entrega das alterações seguintes, sem que nenhuma seja perdida.</p>
+ */
+@Service
+public class SyncService {
+
+    private final BookingRepository bookingRepository;
+    private final TimeSlotRepository timeSlotRepository;
+    private final TimeSlotOverrideRepository timeSlotOverrideRepository;
+    private final TimeSlotRangeOverrideRepository timeSlotRangeOverrideRepository;
+    private final TimeSlotRecurringOverrideRepository timeSlotRecurringOverrideRepository;
+    private final ServiceRepository serviceRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+
+    @Value("${api.sync.tombstone-retention-days}")
+    private long tombstoneRetentionDays;
+
+    /**
+     * Construtor do {@code SyncService}.
+     *
+     * @param bookingRepository Repositório de agendamentos.
+     * @param timeSlotRepository Repositório de horários padrão.
+     * @param timeSlotOverrideRepository Repositório de alterações de horário.
+     * @param timeSlotRangeOverrideRepository Repositório de alterações de horário por intervalo de datas.
+     * @param timeSlotRecurringOverrideRepository Repositório de regras de alteração de horário recorrentes.
+     * @param serviceRepository Repositório de serviços.
+     * @param syncTombstoneRepository Repositório das exclusões e do estado da sincronização.
+     */
+    public SyncService(BookingRepository bookingRepository, TimeSlotRepository timeSlotRepository,
+                       TimeSlotOverrideRepository timeSlotOverrideRepository,
+                       TimeSlotRangeOverrideRepository timeSlotRangeOverrideRepository,
+                       TimeSlotRecurringOverrideRepository timeSlotRecurringOverrideRepository, ServiceRepository serviceRepository,
+                       SyncTombstoneRepository syncTombstoneRepository) {
+        this.bookingRepository = bookingRepository;
+        this.timeSlotRepository = timeSlotRepository;
+        this.timeSlotOverrideRepository = timeSlotOverrideRepository;
+        this.timeSlotRangeOverrideRepository = timeSlotRangeOverrideRepository;
+        this.timeSlotRecurringOverrideRepository = timeSlotRecurringOverrideRepository;
+        this.serviceRepository = serviceRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+    }
+
+    /**
+     * Obtém as alterações na agenda, nos horários e nos serviços de um barbeiro desde o cursor informado.
+     *
+     * @param barberId ID do barbeiro.
+     * @param since Cursor da última sincronização, ou 0 para carregar tudo.
+     * @return As alterações e o novo cursor.
+     */
+    @Transactional
+    public SyncDTO getBarberChanges(UUID barberId, long since) {
+        long horizon = syncTombstoneRepository.findSafeHorizon();
+        boolean resync = requiresResync(since);
+        if(resync) since = 0;
+
+        List<SyncedTimeSlotOverrideDTO> overrides = timeSlotOverrideRepository.findSyncByBarberId(barberId, since, horizon)
+                .stream()
+                .map(SyncService::toDTO)
+                .toList();
+        return new SyncDTO(horizon, resync,
+                bookingRepository.findSyncByBarberId(barberId, since, horizon),
+                timeSlotRepository.findSyncByBarberId(barberId, since, horizon),
+                overrides,
+                timeSlotRangeOverrideRepository.findSyncByBarberId(barberId, since, horizon),
+                timeSlotRecurringOverrideRepository.findSyncByBarberId(barberId, since, horizon),
+                serviceRepository.findSyncByBarberId(barberId, since, horizon),
+                since == 0 ? List.of() : syncTombstoneRepository.findByBarberIdBetween(barberId, since, horizon));
+    }
+
+    /**
+     * Obtém as alterações nos agendamentos de um cliente desde o cursor informado.
+     *
+     * @param userId ID do cliente.
+     * @param since Cursor da última sincronização, ou 0 para carregar tudo.
+     * @return As alterações e o novo cursor.
+     */
+    @Transactional
+    public SyncDTO getUserChanges(UUID userId, long since) {
+        long horizon = syncTombstoneRepository.findSafeHorizon();
+        boolean resync = requiresResync(since);
+        if(resync) since = 0;
+
+        List<TombstoneDTO> deleted = since == 0 ? List.of() : syncTombstoneRepository.findByUserIdBetween(userId, since, horizon);
+        return new SyncDTO(horizon, resync, bookingRepository.findSyncByUserId(userId, since, horizon),
+                List.of(), List.of(), List.of(), List.of(), List.of(), deleted);
+    }
+
+    /**
+     * Descarta as exclusões mais antigas que o período de retenção.
+     * Clientes com cursor anterior às exclusões descartadas recebem o cache completo na próxima sincronização.
+     */
+    @Scheduled(cron = "${api.sync.purge-cron}", zone = "${api.zone-id}")
+    @Transactional
+    public void purgeTombstones() {
+        syncTombstoneRepository.purgeDeletedBefore(Instant.now().minus(Duration.ofDays(tombstoneRetentionDays)));
+    }
+
+    /**
+     * Verifica se o cursor é anterior às exclusões já descartadas.
+     *
+     * @param since Cursor enviado pelo cliente.
+     * @return True se o cliente precisar recarregar o cache por inteiro.
+     */
+    private boolean requiresResync(long since) {
+        return since > 0 && since < syncTombstoneRepository.findPurgedTxid();
+    }
+
+    /**
+     * Converte uma alteração de horário no DTO da sincronização.
+     *
+     * @param timeSlotOverride Alteração de horário.
+     * @return O DTO correspondente.
+     */
+    private static SyncedTimeSlotOverrideDTO toDTO(TimeSlotOverride timeSlotOverride) {
+        return new SyncedTimeSlotOverrideDTO(timeSlotOverride.getId(), timeSlotOverride.getDate(),
+                timeSlotOverride.getAmStartTime(), timeSlotOverride.getAmEndTime(),
+                timeSlotOverride.getPmStartTime(), timeSlotOverride.getPmEndTime(),
+                timeSlotOverride.getInterval(), timeSlotOverride.isClosed(),
+                timeSlotOverride.getClosedSlots() == null ? List.of() : List.copyOf(timeSlotOverride.getClosedSlots()));
+    }
+}
@@ -2,8 +2,12 @@ package com.webbarber.webbarber.service;
 
 import com.webbarber.webbarber.dto.EditedTimeSlotDTO;
 import com.webbarber.webbarber.dto.StandardTimeSlotDTO;
+import com.webbarber.webbarber.dto.SyncedRangeOverrideDTO;
+import com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO;
 import com.webbarber.webbarber.entity.TimeSlotOverride;
 import com.webbarber.webbarber.exception.InvalidDateException;
+import com.webbarber.webbarber.infra.cache.RangeOverrideIndex;
+import com.webbarber.webbarber.infra.cache.RecurringOverrideCalendar;
 import com.webbarber.webbarber.repository.BookingRepository;
 import com.webbarber.webbarber.repository.TimeSlotOverrideRepository;
 import com.webbarber.webbarber.repository.TimeSlotRepository;
@@ -13,6 +17,8 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +31,8 @@ public class TimeSlotAvailabilityService {
     private final TimeSlotRepository timeSlotRepository;
     private final TimeSlotOverrideRepository timeSlotOverrideRepository;
     private final ServiceService serviceService;
+    private final RangeOverrideIndex rangeOverrideIndex;
+    private final RecurringOverrideCalendar recurringOverrideCalendar;
 
     /**
      * Construtor para o serviço de disponibilidade de horários.
@@ -33,12 +41,16 @@ public class TimeSlotAvailabilityService {
      * @param timeSlotRepository        Repositório de horários padrão
      * @param timeSlotOverrideRepository Repositório de horários sobrecarregados (overrides)
      * @param serviceService            Serviço responsável pelos serviços e suas durações
+     * @param rangeOverrideIndex        Índice em memória das alterações de horário por intervalo de datas
+     * @param recurringOverrideCalendar Avaliação memorizada das regras de alteração recorrentes
      */
-    public TimeSlotAvailabilityService(BookingRepository bookingRepository, TimeSlotRepository timeSlotRepository, TimeSlotOverrideRepository timeSlotOverrideRepository, ServiceService serviceService) {
+    public TimeSlotAvailabilityService(BookingRepository bookingRepository, TimeSlotRepository timeSlotRepository, TimeSlotOverrideRepository timeSlotOverrideRepository, ServiceService serviceService, RangeOverrideIndex rangeOverrideIndex, RecurringOverrideCalendar recurringOverrideCalendar) {
         this.bookingRepository = bookingRepository;
         this.timeSlotRepository = timeSlotRepository;
         this.timeSlotOverrideRepository = timeSlotOverrideRepository;
         this.serviceService = serviceService;
+        this.rangeOverrideIndex = rangeOverrideIndex;
+        this.recurringOverrideCalendar = recurringOverrideCalendar;
     }
 
     /**
@@ -49,7 +61,7 @@ public class TimeSlotAvailabilityService {
      * @param startTime  Hora de início do agendamento
      * @return `true` se o horário estiver disponível, `false` caso contrário
      */
-    public boolean isBookingAvailable(String barberId, LocalDate date, LocalTime startTime) {
+    public boolean isBookingAvailable(UUID barberId, LocalDate date, LocalTime startTime) {
         if(!getAvailableTimeSlots(barberId, date).contains(startTime)) return false;
         Optional<TimeSlotOverride> optionalTimeSlotOverride = timeSlotOverrideRepository.findByBarberIdAndDate(barberId, date);
         if(bookingRepository.findByBarberIdAndDateAndStartTime(null, date, startTime).isPresent()) return false;
@@ -69,7 +81,7 @@ public class TimeSlotAvailabilityService {
      * @param serviceId  ID do serviço
      * @return `true` se o horário e o serviço estiverem disponíveis, `false` caso contrário
      */
-    public boolean isBkAvailable(String barberId, LocalDate date, LocalTime startTime, String serviceId) {
+    public boolean isBkAvailable(UUID barberId, LocalDate date, LocalTime startTime, UUID serviceId) {
         List<LocalTime> availableTimeSlots = getAvailableTimeSlotsByService(barberId, date, serviceId);
         return isBookingAvailable(barberId, date, startTime) && availableTimeSlots.contains(startTime);
     }
@@ -90,7 +102,7 @@ public class TimeSlotAvailabilityService {
      * @param serviceId ID do serviço
      * @return Duração do serviço em minutos
      */
-    public int getServiceDurationById(String serviceId) {
+    public int getServiceDurationById(UUID serviceId) {
         return serviceService.getDurationById(null, serviceId);
     }
 
@@ -169,7 +181,7 @@ public class TimeSlotAvailabilityService {
      * @param date     Data para verificar os horários disponíveis
      * @return Lista de horários disponíveis
      */
-    public List<LocalTime> getAvailableTimeSlots(String barberId, LocalDate date) {
+    public List<LocalTime> getAvailableTimeSlots(UUID barberId, LocalDate date) {
         validateDate(date);
 
         StandardTimeSlotDTO timeSlot;
@@ -182,7 +194,7 @@ public class TimeSlotAvailabilityService {
             allTimeSlots = getTimeSlots(timeSlot, editedTimeSlotDTO.closedSlots());
         }
         else {
-            timeSlot = timeSlotRepository.findByBarberIdAndDayOfWeek(barberId, date.getDayOfWeek().getValue());
+            timeSlot = findTimeSlotWithoutOverride(barberId, date);
             if(timeSlot == null) return null;
             allTimeSlots = getTimeSlots(timeSlot, null);
         }
@@ -202,6 +214,52 @@ public class TimeSlotAvailabilityService {
                 timeSlotDTO.amEndTime(), timeSlotDTO.pmStartTime(), timeSlotDTO.pmEndTime(), timeSlotDTO.interval());
     }
 
+    /**
+     * Obtém o horário de uma data que não tem alteração própria. Uma alteração por intervalo que cubra a data
+     * prevalece sobre as regras recorrentes, que prevalecem sobre o horário padrão do dia da semana.
+     *
+     * @param barberId ID do barbeiro
+     * @param date     Data consultada
+     * @return DTO padrão de horário, ou null se a data estiver fechada ou não tiver horário configurado
+     */
+    private StandardTimeSlotDTO findTimeSlotWithoutOverride(UUID barberId, LocalDate date) {
+        Optional<SyncedRangeOverrideDTO> rangeOverride = rangeOverrideIndex.find(barberId, date);
+        if(rangeOverride.isPresent()) {
+            return rangeOverride.get().closed() ? null : toStandardTimeSlotDTO(rangeOverride.get(), date);
+        }
+        Optional<SyncedRecurringOverrideDTO> recurringOverride = recurringOverrideCalendar.find(barberId, date);
+        if(recurringOverride.isPresent()) {
+            return recurringOverride.get().closed() ? null : toStandardTimeSlotDTO(recurringOverride.get(), date);
+        }
+        return timeSlotRepository.findByBarberIdAndDayOfWeek(barberId, date.getDayOfWeek().getValue());
+    }
+
+    /**
+     * Converte uma regra de alteração recorrente para o DTO padrão de horário de uma das suas ocorrências.
+     *
+     * @param recurringOverrideDTO Regra que cobre a data
+     * @param date                 Data consultada
+     * @return DTO padrão de horário
+     */
+    private StandardTimeSlotDTO toStandardTimeSlotDTO(SyncedRecurringOverrideDTO recurringOverrideDTO, LocalDate date) {
+        return new StandardTimeSlotDTO(date.getDayOfWeek().getValue(), recurringOverrideDTO.amStartTime(),
+                recurringOverrideDTO.amEndTime(), recurringOverrideDTO.pmStartTime(), recurringOverrideDTO.pmEndTime(),
+                recurringOverrideDTO.interval());
+    }
+
+    /**
+     * Converte uma alteração por intervalo de datas para o DTO padrão de horário de uma das datas do intervalo.
+     *
+     * @param rangeOverrideDTO Alteração por intervalo que cobre a data
+     * @param date             Data consultada
+     * @return DTO padrão de horário
+     */
+    private StandardTimeSlotDTO toStandardTimeSlotDTO(SyncedRangeOverrideDTO rangeOverrideDTO, LocalDate date) {
+        return new StandardTimeSlotDTO(date.getDayOfWeek().getValue(), rangeOverrideDTO.amStartTime(),
+                rangeOverrideDTO.amEndTime(), rangeOverrideDTO.pmStartTime(), rangeOverrideDTO.pmEndTime(),
+                rangeOverrideDTO.interval());
+    }
+
     /**
      * Converte um objeto TimeSlotOverride para um DTO de horário editado.
      *
@@ -222,7 +280,7 @@ public class TimeSlotAvailabilityService {
      * @param serviceId  ID do serviço
      * @return Lista de horários disponíveis para o serviço
      */
-    public List<LocalTime> getAvailableTimeSlotsByService(String barberId, LocalDate date, String serviceId) {
+    public List<LocalTime> getAvailableTimeSlotsByService(UUID barberId, LocalDate date, UUID serviceId) {
         validateDate(date);
         List<LocalTime> closedSlots = null;
         List<LocalTime> amTimeSlots;
@@ -241,14 +299,14 @@ public class TimeSlotAvailabilityService {
             closedSlots = toLocalTimeList(optionalTimeSlotOverride.get().getClosedSlots());
         }
         else {
-            timeSlot = timeSlotRepository.findByBarberIdAndDayOfWeek(barberId, date.getDayOfWeek().getValue());
+            timeSlot = findTimeSlotWithoutOverride(barberId, date);
             if(timeSlot == null) return null;
         }
 
         amTimeSlots = getAmTimeSlots(timeSlot);
         pmTimeSlots = getPmTimeSlots(timeSlot);
-        availableSlots = getAvailableSequence(barberId, amTimeSlots, date, serviceId);
-        availableSlots.addAll(getAvailableSequence(barberId, pmTimeSlots, date, serviceId));
+        availableSlots = getAvailableSequence(amTimeSlots, timeSlot.interval(), serviceId);
+        availableSlots.addAll(getAvailableSequence(pmTimeSlots, timeSlot.interval(), serviceId));
         if(closedSlots != null) availableSlots.removeAll(closedSlots);
         return availableSlots;
     }
@@ -256,13 +314,12 @@ public class TimeSlotAvailabilityService {
     /**
      * Verifica se existe uma sequência de horários disponível para um serviço específico.
      *
-     * @param barberId   ID do barbeiro
      * @param slots      Lista de slots de horário
-     * @param date       Data do agendamento
+     * @param interval   Intervalo entre os slots, em minutos
      * @param serviceId  ID do serviço
      * @return Lista de horários disponíveis para o serviço
      */
-    private List<LocalTime> getAvailableSequence(String barberId, List<LocalTime> slots, LocalDate date, String serviceId) {
+    private List<LocalTime> getAvailableSequence(List<LocalTime> slots, int interval, UUID serviceId) {
         List<LocalTime> availableSequence = new ArrayList<>();
         int duration;
         if(serviceId == null) duration = 1;
@@ -270,7 +327,6 @@ public class TimeSlotAvailabilityService {
         boolean isSequenceAvailable;
         LocalTime slot;
         LocalTime nextSlot;
-        int interval = getInterval(barberId, date);
 
         for (int i = 0; i < slots.size() - (duration - 1); i++) {
             isSequenceAvailable = true;
@@ -288,15 +344,30 @@ public class TimeSlotAvailabilityService {
     }
 
     /**
-     * Calcula o intervalo entre os horários de trabalho.
+     * Calcula o intervalo entre os horários de trabalho, com a mesma precedência usada para os horários:
+     * alteração da data, alteração por intervalo, regra recorrente e, por fim, horário padrão do dia da semana.
      *
      * @param barberId ID do barbeiro
      * @param date     Data para verificar o intervalo
-     * @return Intervalo em minutos entre os horários de trabalho
+     * @return Intervalo em minutos entre os horários de trabalho, ou vazio se a data estiver fechada ou sem horário
+     */
+    public OptionalInt getInterval(UUID barberId, LocalDate date) {
+        StandardTimeSlotDTO timeSlotDTO = findTimeSlot(barberId, date);
+        return timeSlotDTO == null ? OptionalInt.empty() : OptionalInt.of(timeSlotDTO.interval());
+    }
+
+    /**
+     * Obtém o horário que vale em uma data, considerando primeiro a alteração própria da data.
+     *
+     * @param barberId ID do barbeiro
+     * @param date     Data consultada
+     * @return DTO padrão de horário, ou null se a data estiver fechada ou não tiver horário configurado
      */
-    public int getInterval(String barberId, LocalDate date) {
-        StandardTimeSlotDTO timeSlotDTO = timeSlotRepository.findByBarberIdAndDayOfWeek(barberId, date.getDayOfWeek().getValue());
-        return timeSlotDTO.interval();
+    private StandardTimeSlotDTO findTimeSlot(UUID barberId, LocalDate date) {
+        Optional<TimeSlotOverride> timeSlotOverride = timeSlotOverrideRepository.findByBarberIdAndDate(barberId, date);
+        if(timeSlotOverride.isEmpty()) return findTimeSlotWithoutOverride(barberId, date);
+        if(timeSlotOverride.get().isClosed()) return null;
+        return toStandardTimeSlotDTO(toEditedTimeSlotDTO(timeSlotOverride.get()));
     }
 
     /**
@@ -1,19 +1,33 @@
 package com.webbarber.webbarber.service;
 
 import com.webbarber.webbarber.dto.EditedTimeSlotDTO;
+import com.webbarber.webbarber.dto.PurgedOverridesDTO;
+import com.webbarber.webbarber.dto.RangeOverrideDTO;
+import com.webbarber.webbarber.dto.RecurringOverrideDTO;
 import com.webbarber.webbarber.dto.StandardTimeSlotDTO;
+import com.webbarber.webbarber.dto.SyncedRangeOverrideDTO;
+import com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO;
 import com.webbarber.webbarber.entity.TimeSlot;
 import com.webbarber.webbarber.entity.TimeSlotOverride;
+import com.webbarber.webbarber.entity.TimeSlotRangeOverride;
+import com.webbarber.webbarber.entity.TimeSlotRecurringOverride;
+import com.webbarber.webbarber.event.ScheduleChangedEvent;
 import com.webbarber.webbarber.exception.*;
+import com.webbarber.webbarber.repository.SyncTombstoneRepository;
 import com.webbarber.webbarber.repository.TimeSlotOverrideRepository;
+import com.webbarber.webbarber.repository.TimeSlotRangeOverrideRepository;
+import com.webbarber.webbarber.repository.TimeSlotRecurringOverrideRepository;
 import com.webbarber.webbarber.repository.TimeSlotRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.cglib.core.Local;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -24,17 +38,33 @@ public class TimeSlotService {
 
     private final TimeSlotRepository timeSlotRepository;
     private final TimeSlotOverrideRepository timeSlotOverrideRepository;
+    private final TimeSlotRangeOverrideRepository timeSlotRangeOverrideRepository;
+    private final TimeSlotRecurringOverrideRepository timeSlotRecurringOverrideRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Construtor do serviço de slots de tempo.
      *
      * @param timeSlotRepository Repositório para persistência de slots de tempo
      * @param timeSlotOverrideRepository Repositório para persistência de sobrecarga de slots de tempo
+     * @param timeSlotRangeOverrideRepository Repositório para persistência das alterações por intervalo de datas
+     * @param timeSlotRecurringOverrideRepository Repositório para persistência das regras de alteração recorrentes
+     * @param syncTombstoneRepository Repositório das exclusões da sincronização
+     * @param eventPublisher Publicador dos eventos de alteração da grade de horários
      */
     public TimeSlotService(TimeSlotRepository timeSlotRepository,
-                           TimeSlotOverrideRepository timeSlotOverrideRepository) {
+                           TimeSlotOverrideRepository timeSlotOverrideRepository,
+                           TimeSlotRangeOverrideRepository timeSlotRangeOverrideRepository,
+                           TimeSlotRecurringOverrideRepository timeSlotRecurringOverrideRepository,
+                           SyncTombstoneRepository syncTombstoneRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.timeSlotRepository = timeSlotRepository;
         this.timeSlotOverrideRepository = timeSlotOverrideRepository;
+        this.timeSlotRangeOverrideRepository = timeSlotRangeOverrideRepository;
+        this.timeSlotRecurringOverrideRepository = timeSlotRecurringOverrideRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -43,7 +73,8 @@ public class TimeSlotService {
      * @param barberId ID do barbeiro
      * @param standardTimeSlotDTO DTO contendo os detalhes dos slots de tempo
      */
-    public void setTimeSlot(String barberId, StandardTimeSlotDTO standardTimeSlotDTO) {
+    @Transactional
+    public void setTimeSlot(UUID barberId, StandardTimeSlotDTO standardTimeSlotDTO) {
         validateTimeSlot(standardTimeSlotDTO);
 
         Optional<TimeSlot> optionalTimeSlot = timeSlotRepository.
@@ -56,6 +87,7 @@ public class TimeSlotService {
         else newTimeSlot = new TimeSlot(barberId, standardTimeSlotDTO);
 
         timeSlotRepository.save(newTimeSlot);
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDayOfWeek(barberId, standardTimeSlotDTO.dayOfWeek()));
     }
 
     /**
@@ -89,6 +121,55 @@ public class TimeSlotService {
         validateInterval(editedTimeSlotDTO.interval());
     }
 
+    /**
+     * Valida os dados de uma alteração por intervalo de datas. Os horários só são validados se o intervalo estiver aberto.
+     *
+     * @param rangeOverrideDTO DTO com os dados da alteração
+     * @throws InvalidDateException Se o intervalo começar no passado ou terminar antes de começar
+     * @throws InvalidStartTimeException Se o horário de início for depois do horário de fim
+     * @throws InvalidTimeIntervalException Se o intervalo entre os horários for inválido
+     */
+    private void validateRangeOverride(RangeOverrideDTO rangeOverrideDTO) {
+        validateDate(rangeOverrideDTO.startDate());
+        if(rangeOverrideDTO.endDate().isBefore(rangeOverrideDTO.startDate())) {
+            throw new InvalidDateException("A data final não pode ser anterior à data inicial.");
+        }
+        if(rangeOverrideDTO.isClosed()) return;
+        validateTimeStarts(rangeOverrideDTO.amStartTime(), rangeOverrideDTO.amEndTime());
+        validateTimeStarts(rangeOverrideDTO.pmStartTime(), rangeOverrideDTO.pmEndTime());
+        validateInterval(rangeOverrideDTO.interval());
+    }
+
+    /**
+     * Valida os dados de uma regra de alteração recorrente. Os horários só são validados se a regra não fechar o dia.
+     *
+     * @param recurringOverrideDTO DTO com os dados da regra
+     * @throws InvalidDayOfWeekException Se o dia da semana for inválido
+     * @throws InvalidRecurrenceException Se a máscara de ocorrências ou a repetição em semanas forem inválidas
+     * @throws InvalidDateException Se a regra começar no passado ou terminar antes de começar
+     * @throws InvalidStartTimeException Se o horário de início for depois do horário de fim
+     * @throws InvalidTimeIntervalException Se o intervalo entre os horários for inválido
+     */
+    private void validateRecurringOverride(RecurringOverrideDTO recurringOverrideDTO) {
+        validateDayOfWeek(recurringOverrideDTO.dayOfWeek());
+        if(recurringOverrideDTO.weeksOfMonth() < 0 || recurringOverrideDTO.weeksOfMonth() > 63) {
+            throw new InvalidRecurrenceException("Selecione semanas do mês válidas.");
+        }
+        if(recurringOverrideDTO.weeksOfMonth() == 0 &&
+                (recurringOverrideDTO.weekInterval() < 1 || recurringOverrideDTO.weekInterval() > 52)) {
+            throw new InvalidRecurrenceException("A repetição deve ser de 1 a 52 semanas.");
+        }
+        validateDate(recurringOverrideDTO.startDate());
+        if(recurringOverrideDTO.endDate() != null &&
+                recurringOverrideDTO.endDate().isBefore(recurringOverrideDTO.startDate())) {
+            throw new InvalidDateException("A data final não pode ser anterior à data inicial.");
+        }
+        if(recurringOverrideDTO.isClosed()) return;
+        validateTimeStarts(recurringOverrideDTO.amStartTime(), recurringOverrideDTO.amEndTime());
+        validateTimeStarts(recurringOverrideDTO.pmStartTime(), recurringOverrideDTO.pmEndTime());
+        validateInterval(recurringOverrideDTO.interval());
+    }
+
     /**
      * Valida se a data fornecida é válida (não pode ser uma data no passado).
      *
@@ -168,9 +249,11 @@ public class TimeSlotService {
      * @param barberId ID do barbeiro
      * @param date Data do slot de tempo a ser removido
      */
-    public void removeTimeSlotOverride(String barberId, LocalDate date) {
+    @Transactional
+    public void removeTimeSlotOverride(UUID barberId, LocalDate date) {
         TimeSlotOverride timeSlotOverride = timeSlotOverrideRepository.findDTOByBarberIdAndDate(barberId, date);
         timeSlotOverrideRepository.delete(timeSlotOverride);
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDate(barberId, date));
     }
 
     /**
@@ -179,7 +262,8 @@ public class TimeSlotService {
      * @param barberId ID do barbeiro
      * @param editedTimeSlotDTO DTO com os novos dados para edição
      */
-    public void editTimeSlot(String barberId, EditedTimeSlotDTO editedTimeSlotDTO) {
+    @Transactional
+    public void editTimeSlot(UUID barberId, EditedTimeSlotDTO editedTimeSlotDTO) {
         validateEditedTimeSlot(editedTimeSlotDTO);
 
         TimeSlotOverride timeSlotOverride;
@@ -191,6 +275,7 @@ public class TimeSlotService {
         }
         else timeSlotOverride = new TimeSlotOverride(barberId, editedTimeSlotDTO);
         timeSlotOverrideRepository.save(timeSlotOverride);
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDate(barberId, editedTimeSlotDTO.date()));
     }
 
     /**
@@ -200,7 +285,8 @@ public class TimeSlotService {
      * @param date Data para definir a disponibilidade
      * @param isOpen Estado de abertura (true para aberto, false para fechado)
      */
-    public void setDataAvailability(String barberId, LocalDate date, boolean isOpen) {
+    @Transactional
+    public void setDataAvailability(UUID barberId, LocalDate date, boolean isOpen) {
         validateDate(date);
 
         TimeSlotOverride timeSlotOverride;
@@ -210,12 +296,14 @@ public class TimeSlotService {
         if(optionalTimeSlotOverride.isPresent()) {
             timeSlotOverride = optionalTimeSlotOverride.get();
             timeSlotOverride.setClosed(!isOpen);
+            eventPublisher.publishEvent(ScheduleChangedEvent.forDate(barberId, date));
             return;
         }
 
         timeSlotOverride = new TimeSlotOverride(date, timeSlotRepository.
                 findByBarberIdAndDayOfWeek(barberId, date.getDayOfWeek().getValue()), isOpen);
         timeSlotOverrideRepository.save(timeSlotOverride);
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDate(barberId, date));
     }
 
     /**
@@ -225,7 +313,8 @@ public class TimeSlotService {
      * @param date Data do slot de tempo
      * @param slots Lista de slots a serem fechados
      */
-    public void addClosedSlots(String barberId, LocalDate date, List<String> slots) {
+    @Transactional
+    public void addClosedSlots(UUID barberId, LocalDate date, List<String> slots) {
         validateDate(date);
 
         Optional<TimeSlotOverride> optionalTimeSlotOverride =
@@ -233,6 +322,7 @@ public class TimeSlotService {
 
         if(optionalTimeSlotOverride.isEmpty()) throw new TimeSlotNotFoundException("Data inválida");
         optionalTimeSlotOverride.get().addClosedSlots(slots);
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDate(barberId, date));
     }
 
     /**
@@ -242,7 +332,8 @@ public class TimeSlotService {
      * @param date Data do slot de tempo
      * @param slots Lista de slots a serem removidos
      */
-    public void removeClosedSlots(String barberId, LocalDate date, List<String> slots) {
+    @Transactional
+    public void removeClosedSlots(UUID barberId, LocalDate date, List<String> slots) {
         validateDate(date);
 
         Optional<TimeSlotOverride> optionalTimeSlotOverride =
@@ -250,6 +341,7 @@ public class TimeSlotService {
 
         if(optionalTimeSlotOverride.isEmpty()) throw new TimeSlotNotFoundException("Data inválida");
         optionalTimeSlotOverride.get().removeClosedSlots(slots);
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDate(barberId, date));
     }
 
     /**
@@ -258,7 +350,8 @@ public class TimeSlotService {
      * @param barberId ID do barbeiro
      * @param date Data do slot de tempo
      */
-    public void clearClosedSlots(String barberId, LocalDate date) {
+    @Transactional
+    public void clearClosedSlots(UUID barberId, LocalDate date) {
         validateDate(date);
 
         Optional<TimeSlotOverride> optionalTimeSlotOverride =
@@ -266,5 +359,118 @@ public class TimeSlotService {
 
         if(optionalTimeSlotOverride.isEmpty()) throw new TimeSlotNotFoundException("Data inválida");
         optionalTimeSlotOverride.get().clearClosedSlots();
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDate(barberId, date));
+    }
+
+    /**
+     * Cria uma alteração de horários válida para todas as datas de um intervalo, em uma única linha.
+     * As alterações de uma data específica continuam tendo prioridade sobre o intervalo.
+     *
+     * @param barberId ID do barbeiro
+     * @param rangeOverrideDTO DTO com o intervalo e os horários
+     * @return ID da alteração criada
+     * @throws OverlappingRangeOverrideException Se o intervalo se sobrepuser a outra alteração por intervalo do barbeiro
+     */
+    @Transactional
+    public UUID addRangeOverride(UUID barberId, RangeOverrideDTO rangeOverrideDTO) {
+        validateRangeOverride(rangeOverrideDTO);
+        if(timeSlotRangeOverrideRepository.existsOverlapping(barberId, rangeOverrideDTO.startDate(),
+                rangeOverrideDTO.endDate())) {
+            throw new OverlappingRangeOverrideException("Já existe uma alteração de horários neste período.");
+        }
+
+        TimeSlotRangeOverride rangeOverride =
+                timeSlotRangeOverrideRepository.save(new TimeSlotRangeOverride(barberId, rangeOverrideDTO));
+        eventPublisher.publishEvent(ScheduleChangedEvent.forRange(barberId, rangeOverride.getStartDate(),
+                rangeOverride.getEndDate()));
+        return rangeOverride.getId();
+    }
+
+    /**
+     * Remove uma alteração por intervalo de um barbeiro, voltando as datas ao horário padrão.
+     *
+     * @param barberId ID do barbeiro
+     * @param id ID da alteração
+     * @throws TimeSlotNotFoundException Se a alteração não existir ou não pertencer ao barbeiro
+     */
+    @Transactional
+    public void removeRangeOverride(UUID barberId, UUID id) {
+        TimeSlotRangeOverride rangeOverride = timeSlotRangeOverrideRepository.findByIdAndBarberId(id, barberId)
+                .orElseThrow(() -> new TimeSlotNotFoundException("Alteração de horários não encontrada."));
+        timeSlotRangeOverrideRepository.delete(rangeOverride);
+        eventPublisher.publishEvent(ScheduleChangedEvent.forRange(barberId, rangeOverride.getStartDate(),
+                rangeOverride.getEndDate()));
+    }
+
+    /**
+     * Lista as alterações por intervalo de um barbeiro que ainda não terminaram.
+     *
+     * @param barberId ID do barbeiro
+     * @return Lista de alterações, em ordem de início
+     */
+    public List<SyncedRangeOverrideDTO> getRangeOverrides(UUID barberId) {
+        return timeSlotRangeOverrideRepository.findCurrentByBarberId(barberId, LocalDate.now());
+    }
+
+    /**
+     * Cria uma regra de alteração de horários que se repete em um dia da semana, sem gravar uma linha por data.
+     * As alterações de uma data específica e as alterações por intervalo têm prioridade sobre a regra.
+     *
+     * @param barberId ID do barbeiro
+     * @param recurringOverrideDTO DTO com a recorrência e os horários
+     * @return ID da regra criada
+     */
+    @Transactional
+    public UUID addRecurringOverride(UUID barberId, RecurringOverrideDTO recurringOverrideDTO) {
+        validateRecurringOverride(recurringOverrideDTO);
+
+        TimeSlotRecurringOverride recurringOverride =
+                timeSlotRecurringOverrideRepository.save(new TimeSlotRecurringOverride(barberId, recurringOverrideDTO));
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDayOfWeek(barberId, recurringOverride.getDayOfWeek()));
+        return recurringOverride.getId();
+    }
+
+    /**
+     * Remove uma regra de alteração recorrente de um barbeiro.
+     *
+     * @param barberId ID do barbeiro
+     * @param id ID da regra
+     * @throws TimeSlotNotFoundException Se a regra não existir ou não pertencer ao barbeiro
+     */
+    @Transactional
+    public void removeRecurringOverride(UUID barberId, UUID id) {
+        TimeSlotRecurringOverride recurringOverride = timeSlotRecurringOverrideRepository.findByIdAndBarberId(id, barberId)
+                .orElseThrow(() -> new TimeSlotNotFoundException("Regra de horários não encontrada."));
+        timeSlotRecurringOverrideRepository.delete(recurringOverride);
+        eventPublisher.publishEvent(ScheduleChangedEvent.forDayOfWeek(barberId, recurringOverride.getDayOfWeek()));
+    }
+
+    /**
+     * Lista as regras de alteração recorrentes de um barbeiro que ainda não terminaram.
+     *
+     * @param barberId ID do barbeiro
+     * @return Lista de regras, em ordem de início
+     */
+    public List<SyncedRecurringOverrideDTO> getRecurringOverrides(UUID barberId) {
+        return timeSlotRecurringOverrideRepository.findCurrentByBarberId(barberId, LocalDate.now());
+    }
+
+    /**
+     * Exclui, em uma transação própria, um lote de alterações de horário de datas anteriores à data de corte,
+     * junto com os seus horários bloqueados. Datas passadas não influenciam mais a disponibilidade.
+     * É uma exclusão de manutenção: não atualiza as alterações antes de excluí-las nem gera exclusões para a sincronização.
+     *
+     * @param cutoff Data de corte (exclusiva).
+     * @param batchSize Quantidade máxima de alterações do lote.
+     * @return Quantidade de linhas excluídas de cada tabela.
+     */
+    @Transactional
+    public PurgedOverridesDTO purgeOverridesBefore(LocalDate cutoff, int batchSize) {
+        List<UUID> ids = timeSlotOverrideRepository.lockExpiredIds(cutoff, batchSize);
+        if(ids.isEmpty()) return new PurgedOverridesDTO(0, 0);
+        syncTombstoneRepository.skipTombstonesInTransaction();
+        int closedSlots = timeSlotOverrideRepository.deleteClosedSlotsByOverrideIds(ids);
+        int overrides = timeSlotOverrideRepository.deleteAllByIds(ids);
+        return new PurgedOverridesDTO(overrides, closedSlots);
     }
 }
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Classe de serviço responsável pelas tarefas de gerenciamento de usuários, como registro, recuperação e exclusão.
@@ -74,7 +75,7 @@ public class UserService {
      * @param id o ID do usuário
      * @return um Optional contendo o usuário encontrado ou vazio se não encontrado
      */
-    public Optional<User> getUserById(String id) {
+    public Optional<User> getUserById(UUID id) {
         return userRepository.findById(id);
     }
 
@@ -95,7 +96,7 @@ public class UserService {
      * @param id o ID do usuário a ser excluído
      * @throws UserNotFoundException se o usuário com o ID fornecido não for encontrado
      */
-    public void deleteUser(String id) {
+    public void deleteUser(UUID id) {
         Optional<User> userOptional = getUserById(id);
         if(userOptional.isEmpty()) throw new UserNotFoundException("Usuário não encontrado");
         User user = userOptional.get();
@@ -117,7 +118,7 @@ public class UserService {
      * @param id o ID do usuário
      * @return true se o usuário existir, caso contrário, false
      */
-    public boolean existsUserById(String id) {
+    public boolean existsUserById(UUID id) {
         return userRepository.existsById(id);
     }
 
@@ -127,7 +128,7 @@ public class UserService {
      * @param phone o número de telefone do usuário
      * @return o ID do usuário correspondente
      */
-    public String findIdByPhone(String phone) {
+    public UUID findIdByPhone(String phone) {
         return userRepository.findIdByPhone(phone);
     }
 }
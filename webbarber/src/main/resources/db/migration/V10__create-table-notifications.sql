@@ -0,0 +1,16 @@
+CREATE TABLE notifications (
+    id BIGSERIAL PRIMARY KEY,
+    recipient_id TEXT NOT NULL,
+    recipient_phone VARCHAR(20) NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    message TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    sent_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Apenas as notificações ainda não entregues são varridas pelo despachante
+CREATE INDEX idx_notifications_due ON notifications (next_attempt_at) WHERE status IN ('PENDING', 'SENDING');
@@ -0,0 +1,2 @@
+-- Chave que impede a duplicação de notificações geradas por mais de uma instância ou após um reinício
+ALTER TABLE notifications ADD COLUMN dedup_key TEXT UNIQUE;
@@ -0,0 +1,74 @@
+-- Cada linha sincronizável guarda o ID da transação (xid8) que a gravou por último.
+-- O cursor de sincronização é esse ID: diferente de uma sequência, ele permite saber quando
+-- todas as transações abaixo de um valor já terminaram (pg_snapshot_xmin), sem lacunas para o cliente.
+ALTER TABLE bookings ADD COLUMN sync_txid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE timeslot ADD COLUMN sync_txid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE timeslot_override ADD COLUMN sync_txid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE services ADD COLUMN sync_txid BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_bookings_barber_sync ON bookings (barber_id, sync_txid);
+CREATE INDEX idx_bookings_user_sync ON bookings (user_id, sync_txid);
+CREATE INDEX idx_timeslot_barber_sync ON timeslot (barber_id, sync_txid);
+CREATE INDEX idx_timeslot_override_barber_sync ON timeslot_override (barber_id, sync_txid);
+CREATE INDEX idx_services_barber_sync ON services (barber_id, sync_txid);
+
+-- Registros das exclusões, para que os clientes removam as linhas dos seus caches
+CREATE TABLE sync_tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    entity VARCHAR(20) NOT NULL,
+    entity_id TEXT NOT NULL,
+    barber_id TEXT NOT NULL,
+    user_id TEXT,
+    sync_txid BIGINT NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_sync_tombstones_barber ON sync_tombstones (barber_id, sync_txid);
+CREATE INDEX idx_sync_tombstones_user ON sync_tombstones (user_id, sync_txid) WHERE user_id IS NOT NULL;
+CREATE INDEX idx_sync_tombstones_deleted_at ON sync_tombstones (deleted_at);
+
+-- Maior cursor cujas exclusões já foram descartadas; clientes com cursor anterior precisam recarregar tudo
+CREATE TABLE sync_state (
+    id SMALLINT PRIMARY KEY,
+    purged_txid BIGINT NOT NULL
+);
+INSERT INTO sync_state (id, purged_txid) VALUES (1, 0);
+
+CREATE FUNCTION sync_stamp() RETURNS trigger AS $$
+BEGIN
+    NEW.sync_txid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION sync_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sync_tombstones (entity, entity_id, barber_id, user_id, sync_txid)
+    VALUES (TG_ARGV[0], OLD.id, OLD.barber_id,
+            to_jsonb(OLD) ->> 'user_id',
+            pg_current_xact_id()::text::bigint);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Os horários bloqueados ficam em outra tabela; alterá-los conta como alteração da sobrecarga
+CREATE FUNCTION sync_touch_override() RETURNS trigger AS $$
+BEGIN
+    UPDATE timeslot_override SET sync_txid = pg_current_xact_id()::text::bigint
+    WHERE id = COALESCE(NEW.timeslot_override_id, OLD.timeslot_override_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER bookings_sync_stamp BEFORE INSERT OR UPDATE ON bookings FOR EACH ROW EXECUTE FUNCTION sync_stamp();
+CREATE TRIGGER timeslot_sync_stamp BEFORE INSERT OR UPDATE ON timeslot FOR EACH ROW EXECUTE FUNCTION sync_stamp();
+CREATE TRIGGER timeslot_override_sync_stamp BEFORE INSERT OR UPDATE ON timeslot_override FOR EACH ROW EXECUTE FUNCTION sync_stamp();
+CREATE TRIGGER services_sync_stamp BEFORE INSERT OR UPDATE ON services FOR EACH ROW EXECUTE FUNCTION sync_stamp();
+
+CREATE TRIGGER bookings_sync_tombstone AFTER DELETE ON bookings FOR EACH ROW EXECUTE FUNCTION sync_tombstone('BOOKING');
+CREATE TRIGGER timeslot_sync_tombstone AFTER DELETE ON timeslot FOR EACH ROW EXECUTE FUNCTION sync_tombstone('TIMESLOT');
+CREATE TRIGGER timeslot_override_sync_tombstone AFTER DELETE ON timeslot_override FOR EACH ROW EXECUTE FUNCTION sync_tombstone('OVERRIDE');
+CREATE TRIGGER services_sync_tombstone AFTER DELETE ON services FOR EACH ROW EXECUTE FUNCTION sync_tombstone('SERVICE');
+
+CREATE TRIGGER timeslot_override_closed_slots_sync AFTER INSERT OR UPDATE OR DELETE ON timeslot_override_closed_slots
+    FOR EACH ROW EXECUTE FUNCTION sync_touch_override();
@@ -0,0 +1,16 @@
+-- Registro somente de inserção das alterações de agendamentos, serviços e horários, gravado na mesma
+-- transação da alteração. A ordem de leitura é (txid, id); o cursor só avança até a transação ativa
+-- mais antiga, para que uma transação confirmada com atraso nunca fique para trás do cursor de um consumidor.
+CREATE TABLE change_events (
+    id BIGSERIAL PRIMARY KEY,
+    txid BIGINT NOT NULL DEFAULT pg_current_xact_id()::text::bigint,
+    aggregate VARCHAR(20) NOT NULL,
+    aggregate_id TEXT,
+    barber_id TEXT NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_change_events_cursor ON change_events (txid, id);
+CREATE INDEX idx_change_events_created_at ON change_events (created_at);
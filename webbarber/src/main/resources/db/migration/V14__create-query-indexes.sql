@@ -0,0 +1,25 @@
+-- Índices para as consultas dos repositórios de agendamentos, horários, exceções de horário e serviços.
+-- Cada índice indica as consultas que atende; os testes de QueryPlanTest falham se alguma delas voltar a
+-- depender de uma varredura sequencial.
+
+-- BookingRepository: findByBarberIdAndDateAndStartTime, findStartTimesByBarberIdAndDate (somente índice),
+-- findConflictingBooking e findAllByBarberIdAndDate, usadas em toda leitura de disponibilidade e reserva
+CREATE INDEX idx_bookings_barber_date_start ON bookings (barber_id, "date", start_time)
+    INCLUDE (end_time, user_id, service_id);
+
+-- BookingRepository: findAllByDateBetween e streamAgendaByDate (já na ordem barbeiro/horário do resumo diário)
+CREATE INDEX idx_bookings_date_barber_start ON bookings ("date", barber_id, start_time);
+
+-- BookingRepository: findAllByBarberIdAndUserId
+CREATE INDEX idx_bookings_user_barber ON bookings (user_id, barber_id);
+
+-- TimeSlotRepository: findByBarberIdAndDayOfWeek (somente índice) e optionalFindByBarberIdAndDayOfWeek
+CREATE INDEX idx_timeslot_barber_day ON timeslot (barber_id, day_of_week)
+    INCLUDE (am_start_time, am_end_time, pm_start_time, pm_end_time, interval);
+
+-- TimeSlotOverrideRepository: findByBarberIdAndDate e findDTOByBarberIdAndDate
+CREATE INDEX idx_timeslot_override_barber_date ON timeslot_override (barber_id, "date");
+
+-- ServiceRepository: findAllByBarberIdAndActiveTrue (somente índice, apenas serviços ativos)
+CREATE INDEX idx_services_barber_active ON services (barber_id)
+    INCLUDE (name, description, duration, price_in_cents, active) WHERE active;
@@ -0,0 +1,61 @@
+-- Converte as chaves de TEXT (36 bytes + cabeçalho, comparadas por collation) para o tipo nativo uuid
+-- (16 bytes, comparado byte a byte). As chaves estrangeiras são removidas e recriadas porque os dois
+-- lados precisam mudar de tipo juntos; as restrições UNIQUE redundantes com a chave primária são descartadas.
+ALTER TABLE bookings DROP CONSTRAINT bookings_barber_id_fkey;
+ALTER TABLE services DROP CONSTRAINT services_barber_id_fkey;
+ALTER TABLE timeslot DROP CONSTRAINT timeslot_barber_id_fkey;
+ALTER TABLE timeslot_override DROP CONSTRAINT timeslot_override_barber_id_fkey;
+ALTER TABLE timeslot_override_closed_slots DROP CONSTRAINT timeslot_override_closed_slots_timeslot_override_id_fkey;
+
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_id_key;
+ALTER TABLE barbers DROP CONSTRAINT IF EXISTS barbers_id_key;
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_id_key;
+ALTER TABLE services DROP CONSTRAINT IF EXISTS services_id_key;
+ALTER TABLE timeslot DROP CONSTRAINT IF EXISTS timeslot_id_key;
+ALTER TABLE timeslot_override DROP CONSTRAINT IF EXISTS timeslot_override_id_key;
+
+ALTER TABLE users ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE barbers ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE bookings
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN barber_id TYPE uuid USING barber_id::uuid,
+    ALTER COLUMN user_id TYPE uuid USING user_id::uuid,
+    ALTER COLUMN service_id TYPE uuid USING service_id::uuid;
+ALTER TABLE services
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN barber_id TYPE uuid USING barber_id::uuid;
+ALTER TABLE timeslot
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN barber_id TYPE uuid USING barber_id::uuid;
+ALTER TABLE timeslot_override
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN barber_id TYPE uuid USING barber_id::uuid;
+ALTER TABLE timeslot_override_closed_slots
+    ALTER COLUMN timeslot_override_id TYPE uuid USING timeslot_override_id::uuid;
+
+-- Tabelas que referenciam essas chaves sem restrição de integridade
+ALTER TABLE notifications ALTER COLUMN recipient_id TYPE uuid USING recipient_id::uuid;
+ALTER TABLE sync_tombstones
+    ALTER COLUMN entity_id TYPE uuid USING entity_id::uuid,
+    ALTER COLUMN barber_id TYPE uuid USING barber_id::uuid,
+    ALTER COLUMN user_id TYPE uuid USING user_id::uuid;
+ALTER TABLE change_events
+    ALTER COLUMN aggregate_id TYPE uuid USING aggregate_id::uuid,
+    ALTER COLUMN barber_id TYPE uuid USING barber_id::uuid;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_barber_id_fkey FOREIGN KEY (barber_id) REFERENCES barbers(id);
+ALTER TABLE services ADD CONSTRAINT services_barber_id_fkey FOREIGN KEY (barber_id) REFERENCES barbers(id);
+ALTER TABLE timeslot ADD CONSTRAINT timeslot_barber_id_fkey FOREIGN KEY (barber_id) REFERENCES barbers(id);
+ALTER TABLE timeslot_override ADD CONSTRAINT timeslot_override_barber_id_fkey FOREIGN KEY (barber_id) REFERENCES barbers(id);
+ALTER TABLE timeslot_override_closed_slots ADD CONSTRAINT timeslot_override_closed_slots_timeslot_override_id_fkey
+    FOREIGN KEY (timeslot_override_id) REFERENCES timeslot_override(id);
+
+CREATE OR REPLACE FUNCTION sync_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sync_tombstones (entity, entity_id, barber_id, user_id, sync_txid)
+    VALUES (TG_ARGV[0], OLD.id, OLD.barber_id,
+            (to_jsonb(OLD) ->> 'user_id')::uuid,
+            pg_current_xact_id()::text::bigint);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,99 @@
+-- Particiona os agendamentos por mês da data do atendimento. As consultas de disponibilidade e de reserva
+-- filtram sempre por uma data, então o planejador descarta as demais partições e os índices de cada
+-- partição ficam do tamanho de um mês. Como toda restrição única de uma tabela particionada precisa
+-- conter a chave de partição, a chave primária passa a ser (id, "date").
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+ALTER INDEX bookings_pkey RENAME TO bookings_unpartitioned_pkey;
+
+CREATE TABLE bookings (
+    id uuid NOT NULL,
+    barber_id uuid NOT NULL REFERENCES barbers(id),
+    user_id uuid NOT NULL,
+    service_id uuid NOT NULL,
+    "date" DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    sync_txid BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, "date")
+) PARTITION BY RANGE ("date");
+
+-- Recebe apenas datas para as quais ainda não existe partição mensal
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+-- Cria (se ainda não existir) a partição do mês que contém a data informada.
+-- Agendamentos desse mês que tenham caído na partição padrão são movidos para a nova partição,
+-- com os gatilhos de sincronização desligados para que a mudança não gere exclusões para os clientes.
+CREATE FUNCTION create_bookings_partition(month DATE) RETURNS TEXT AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month)::date;
+    range_end DATE := (date_trunc('month', month) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'bookings_p' || to_char(range_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM bookings_default WHERE "date" >= range_start AND "date" < range_end) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+        EXECUTE format('INSERT INTO %I SELECT * FROM bookings_default WHERE "date" >= $1 AND "date" < $2', partition_name)
+            USING range_start, range_end;
+        ALTER TABLE bookings_default DISABLE TRIGGER USER;
+        DELETE FROM bookings_default WHERE "date" >= range_start AND "date" < range_end;
+        ALTER TABLE bookings_default ENABLE TRIGGER USER;
+        EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, range_end);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, range_end);
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Desanexa as partições mensais que terminam até a data informada. As tabelas desanexadas
+-- continuam no banco para consulta e relatórios, mas deixam de ser lidas pela aplicação.
+CREATE FUNCTION detach_bookings_partitions_before(cutoff DATE) RETURNS SETOF TEXT AS $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'bookings'::regclass
+          AND c.relname ~ '^bookings_p[0-9]{4}_[0-9]{2}$'
+          AND (to_date(substring(c.relname FROM 11), 'YYYY_MM') + INTERVAL '1 month')::date <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', partition_name);
+        RETURN NEXT partition_name;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partições para os meses já existentes e para os próximos doze meses
+DO $$
+DECLARE
+    month DATE := date_trunc('month', LEAST(current_date, COALESCE((SELECT min("date") FROM bookings_unpartitioned), current_date)))::date;
+BEGIN
+    WHILE month <= (current_date + INTERVAL '12 months')::date LOOP
+        PERFORM create_bookings_partition(month);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO bookings (id, barber_id, user_id, service_id, "date", start_time, end_time, sync_txid)
+SELECT id, barber_id, user_id, service_id, "date", start_time, end_time, sync_txid FROM bookings_unpartitioned;
+
+DROP TABLE bookings_unpartitioned;
+
+-- Gatilhos e índices de V12 e V14, agora declarados na tabela particionada e replicados em cada partição
+CREATE TRIGGER bookings_sync_stamp BEFORE INSERT OR UPDATE ON bookings FOR EACH ROW EXECUTE FUNCTION sync_stamp();
+CREATE TRIGGER bookings_sync_tombstone AFTER DELETE ON bookings FOR EACH ROW EXECUTE FUNCTION sync_tombstone('BOOKING');
+
+CREATE INDEX idx_bookings_barber_sync ON bookings (barber_id, sync_txid);
+CREATE INDEX idx_bookings_user_sync ON bookings (user_id, sync_txid);
+CREATE INDEX idx_bookings_barber_date_start ON bookings (barber_id, "date", start_time)
+    INCLUDE (end_time, user_id, service_id);
+CREATE INDEX idx_bookings_date_barber_start ON bookings ("date", barber_id, start_time);
+CREATE INDEX idx_bookings_user_barber ON bookings (user_id, barber_id);
@@ -0,0 +1,25 @@
+-- Agendamentos antigos, retirados da tabela particionada pelo arquivamento. A tabela guarda apenas o necessário
+-- para o histórico: sem cursor de sincronização, com os horários em minutos do dia (smallint) e sem espaço livre
+-- nas páginas, já que as linhas não são mais alteradas.
+CREATE TABLE bookings_archive (
+    id uuid PRIMARY KEY,
+    barber_id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    service_id uuid NOT NULL,
+    "date" DATE NOT NULL,
+    start_minute SMALLINT NOT NULL,
+    end_minute SMALLINT NOT NULL
+) WITH (fillfactor = 100);
+
+-- BookingArchiveRepository: findAllByUserIdAndDateBetween, usada pelo histórico do cliente
+CREATE INDEX idx_bookings_archive_user_date ON bookings_archive (user_id, "date") WITH (fillfactor = 100);
+
+-- Totais diários por barbeiro e serviço, acumulados antes de cada lote ser arquivado, para os relatórios
+CREATE TABLE booking_daily_rollups (
+    barber_id uuid NOT NULL,
+    service_id uuid NOT NULL,
+    "date" DATE NOT NULL,
+    bookings INT NOT NULL,
+    booked_minutes INT NOT NULL,
+    PRIMARY KEY (barber_id, service_id, "date")
+);
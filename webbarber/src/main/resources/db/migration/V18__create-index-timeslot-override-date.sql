@@ -0,0 +1,2 @@
+-- TimeSlotOverrideRepository: lockExpiredIds, usada pela limpeza das alterações de horário de datas passadas
+CREATE INDEX idx_timeslot_override_date ON timeslot_override ("date");
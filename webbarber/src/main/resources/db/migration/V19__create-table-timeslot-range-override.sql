@@ -0,0 +1,32 @@
+-- Alterações de horário que valem para um intervalo de datas (férias, feriados prolongados), gravadas em uma única
+-- linha em vez de uma linha por dia em timeslot_override. Os intervalos de um mesmo barbeiro não se sobrepõem,
+-- o que permite resolver uma data com uma única busca no índice em memória de cada barbeiro.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE timeslot_range_override (
+    id uuid PRIMARY KEY,
+    barber_id uuid NOT NULL REFERENCES barbers(id),
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    am_start_time TIME,
+    am_end_time TIME,
+    pm_start_time TIME,
+    pm_end_time TIME,
+    interval INT NOT NULL DEFAULT 0,
+    is_closed BOOLEAN NOT NULL,
+    sync_txid BIGINT NOT NULL DEFAULT 0,
+    CHECK (start_date <= end_date),
+    CONSTRAINT timeslot_range_override_no_overlap
+        EXCLUDE USING gist (barber_id WITH =, daterange(start_date, end_date, '[]') WITH &&)
+);
+
+-- TimeSlotRangeOverrideRepository: findCurrentByBarberId, usada para carregar o índice em memória de um barbeiro,
+-- e existsOverlapping
+CREATE INDEX idx_timeslot_range_override_barber_end ON timeslot_range_override (barber_id, end_date);
+-- TimeSlotRangeOverrideRepository: findSyncByBarberId
+CREATE INDEX idx_timeslot_range_override_barber_sync ON timeslot_range_override (barber_id, sync_txid);
+
+CREATE TRIGGER timeslot_range_override_sync_stamp BEFORE INSERT OR UPDATE ON timeslot_range_override
+    FOR EACH ROW EXECUTE FUNCTION sync_stamp();
+CREATE TRIGGER timeslot_range_override_sync_tombstone AFTER DELETE ON timeslot_range_override
+    FOR EACH ROW EXECUTE FUNCTION sync_tombstone('RANGE_OVERRIDE');
@@ -0,0 +1,35 @@
+-- Regras de alteração de horário que se repetem ("fechado toda primeira segunda-feira", "horário reduzido em sábados
+-- alternados"), avaliadas sob demanda para a data consultada em vez de pré-criar linhas em timeslot_override.
+-- A recorrência ocupa três colunas:
+--   day_of_week     dia da semana da regra (1 = segunda-feira ... 7 = domingo, como em java.time.DayOfWeek);
+--   weeks_of_month  máscara das ocorrências no mês (bit 0 = primeira ... bit 4 = quinta, bit 5 = última),
+--                   ou 0 para repetir a cada week_interval semanas;
+--   week_interval   repetição em semanas, contada a partir da primeira ocorrência em start_date ou depois.
+CREATE TABLE timeslot_recurring_override (
+    id uuid PRIMARY KEY,
+    barber_id uuid NOT NULL REFERENCES barbers(id),
+    day_of_week SMALLINT NOT NULL CHECK (day_of_week BETWEEN 1 AND 7),
+    weeks_of_month SMALLINT NOT NULL DEFAULT 0 CHECK (weeks_of_month BETWEEN 0 AND 63),
+    week_interval SMALLINT NOT NULL DEFAULT 1 CHECK (week_interval >= 1),
+    start_date DATE NOT NULL,
+    end_date DATE,
+    am_start_time TIME,
+    am_end_time TIME,
+    pm_start_time TIME,
+    pm_end_time TIME,
+    interval INT NOT NULL DEFAULT 0,
+    is_closed BOOLEAN NOT NULL,
+    sync_txid BIGINT NOT NULL DEFAULT 0,
+    CHECK (end_date IS NULL OR start_date <= end_date)
+);
+
+-- TimeSlotRecurringOverrideRepository: findActiveByBarberId (regras de um mês, memorizadas por barbeiro e mês)
+-- e findCurrentByBarberId
+CREATE INDEX idx_timeslot_recurring_override_barber_start ON timeslot_recurring_override (barber_id, start_date);
+-- TimeSlotRecurringOverrideRepository: findSyncByBarberId
+CREATE INDEX idx_timeslot_recurring_override_barber_sync ON timeslot_recurring_override (barber_id, sync_txid);
+
+CREATE TRIGGER timeslot_recurring_override_sync_stamp BEFORE INSERT OR UPDATE ON timeslot_recurring_override
+    FOR EACH ROW EXECUTE FUNCTION sync_stamp();
+CREATE TRIGGER timeslot_recurring_override_sync_tombstone AFTER DELETE ON timeslot_recurring_override
+    FOR EACH ROW EXECUTE FUNCTION sync_tombstone('RECURRING_OVERRIDE');
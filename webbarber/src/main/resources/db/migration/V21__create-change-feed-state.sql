@@ -0,0 +1,9 @@
+-- Maior cursor (txid, id) entre os eventos do feed de alterações já descartados pela retenção.
+-- ChangeEventRepository: purgeCreatedBefore avança o cursor na mesma instrução que descarta os eventos, e
+-- existsPurgedAfter indica a ChangeFeedService.read que um consumidor com cursor anterior perdeu eventos.
+CREATE TABLE change_feed_state (
+    id SMALLINT PRIMARY KEY,
+    purged_txid BIGINT NOT NULL,
+    purged_id BIGINT NOT NULL
+);
+INSERT INTO change_feed_state (id, purged_txid, purged_id) VALUES (1, 0, 0);
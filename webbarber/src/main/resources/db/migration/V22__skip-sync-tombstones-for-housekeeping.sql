@@ -0,0 +1,16 @@
+-- Exclusões de manutenção, como o arquivamento de agendamentos antigos, não são exclusões feitas pelo barbeiro ou
+-- pelo cliente: os clientes da sincronização incremental devem manter essas linhas. Essas transações ativam
+-- webbarber.sync_housekeeping com set_config(..., true) (SyncTombstoneRepository.skipTombstonesInTransaction),
+-- que volta ao valor anterior ao fim da transação, e o gatilho deixa de registrar as exclusões.
+CREATE OR REPLACE FUNCTION sync_tombstone() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('webbarber.sync_housekeeping', true) = 'on' THEN
+        RETURN OLD;
+    END IF;
+    INSERT INTO sync_tombstones (entity, entity_id, barber_id, user_id, sync_txid)
+    VALUES (TG_ARGV[0], OLD.id, OLD.barber_id,
+            (to_jsonb(OLD) ->> 'user_id')::uuid,
+            pg_current_xact_id()::text::bigint);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
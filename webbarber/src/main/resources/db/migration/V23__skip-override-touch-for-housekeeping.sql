@@ -0,0 +1,13 @@
+-- A limpeza de alterações de horário passadas exclui os horários bloqueados e logo em seguida a própria alteração.
+-- Com webbarber.sync_housekeeping ativo (ver V22), os horários bloqueados excluídos não atualizam mais a alteração,
+-- que seria apagada na mesma transação, e a exclusão dela não gera exclusão para a sincronização.
+CREATE OR REPLACE FUNCTION sync_touch_override() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('webbarber.sync_housekeeping', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    UPDATE timeslot_override SET sync_txid = pg_current_xact_id()::text::bigint
+    WHERE id = COALESCE(NEW.timeslot_override_id, OLD.timeslot_override_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
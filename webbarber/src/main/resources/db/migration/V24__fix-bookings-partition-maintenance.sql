@@ -0,0 +1,76 @@
+-- Corrige as funções de manutenção das partições de agendamentos criadas em V16.
+
+-- Ao mover os agendamentos da partição padrão, V16 desligava todos os gatilhos da partição padrão e só os
+-- religava se o DELETE terminasse sem erro. Agora os gatilhos continuam ligados e apenas as exclusões deixam de
+-- ser registradas para a sincronização, com webbarber.sync_housekeeping (V22) ativado só durante o DELETE;
+-- o valor anterior é restaurado também quando o DELETE falha.
+CREATE OR REPLACE FUNCTION create_bookings_partition(month DATE) RETURNS TEXT AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month)::date;
+    range_end DATE := (date_trunc('month', month) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'bookings_p' || to_char(range_start, 'YYYY_MM');
+    housekeeping TEXT;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM bookings_default WHERE "date" >= range_start AND "date" < range_end) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+        EXECUTE format('INSERT INTO %I SELECT * FROM bookings_default WHERE "date" >= $1 AND "date" < $2', partition_name)
+            USING range_start, range_end;
+        housekeeping := coalesce(current_setting('webbarber.sync_housekeeping', true), '');
+        PERFORM set_config('webbarber.sync_housekeeping', 'on', true);
+        BEGIN
+            DELETE FROM bookings_default WHERE "date" >= range_start AND "date" < range_end;
+        EXCEPTION WHEN OTHERS THEN
+            PERFORM set_config('webbarber.sync_housekeeping', housekeeping, true);
+            RAISE;
+        END;
+        PERFORM set_config('webbarber.sync_housekeeping', housekeeping, true);
+        EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, range_end);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, range_end);
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Em V16 as partições desanexadas ficavam no banco indefinidamente. Agora cada partição que termina até a data
+-- informada é desanexada, os agendamentos que o arquivamento (BookingArchiveRepository.archiveBefore) ainda não
+-- moveu vão para bookings_archive e booking_daily_rollups, e a tabela é removida. Como a tabela já está
+-- desanexada, a remoção não dispara os gatilhos de bookings e não gera exclusões para a sincronização.
+CREATE OR REPLACE FUNCTION detach_bookings_partitions_before(cutoff DATE) RETURNS SETOF TEXT AS $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'bookings'::regclass
+          AND c.relname ~ '^bookings_p[0-9]{4}_[0-9]{2}$'
+          AND (to_date(substring(c.relname FROM 11), 'YYYY_MM') + INTERVAL '1 month')::date <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', partition_name);
+        EXECUTE format(
+            'WITH moved AS (' ||
+            'INSERT INTO bookings_archive (id, barber_id, user_id, service_id, "date", start_minute, end_minute) ' ||
+            'SELECT id, barber_id, user_id, service_id, "date", ' ||
+            '(extract(epoch FROM start_time) / 60)::smallint, (extract(epoch FROM end_time) / 60)::smallint FROM %I ' ||
+            'ON CONFLICT (id) DO NOTHING ' ||
+            'RETURNING barber_id, service_id, "date", start_minute, end_minute) ' ||
+            'INSERT INTO booking_daily_rollups (barber_id, service_id, "date", bookings, booked_minutes) ' ||
+            'SELECT barber_id, service_id, "date", count(*), sum(end_minute - start_minute) ' ||
+            'FROM moved GROUP BY barber_id, service_id, "date" ' ||
+            'ON CONFLICT (barber_id, service_id, "date") DO UPDATE SET ' ||
+            'bookings = booking_daily_rollups.bookings + EXCLUDED.bookings, ' ||
+            'booked_minutes = booking_daily_rollups.booked_minutes + EXCLUDED.booked_minutes',
+            partition_name);
+        EXECUTE format('DROP TABLE %I', partition_name);
+        RETURN NEXT partition_name;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,12 @@
+CREATE TABLE refresh_tokens (
+    id TEXT UNIQUE PRIMARY KEY,
+    token_hash VARCHAR(64) UNIQUE NOT NULL,
+    family_id TEXT NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    role TEXT NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_phone ON refresh_tokens (phone);
@@ -0,0 +1,70 @@
+package com.webbarber.webbarber.controller;
+
+import com.webbarber.webbarber.entity.Barber;
+import com.webbarber.webbarber.infra.ratelimit.RateLimitProperties;
+import com.webbarber.webbarber.infra.security.ChangeFeedTokenFilter;
+import com.webbarber.webbarber.infra.security.SecurityConfigurations;
+import com.webbarber.webbarber.infra.security.TokenRevocationService;
+import com.webbarber.webbarber.infra.security.TokenService;
+import com.webbarber.webbarber.repository.BarberRepository;
+import com.webbarber.webbarber.repository.UserRepository;
+import com.webbarber.webbarber.service.ChangeFeedService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ChangeFeedController.class)
+@Import({SecurityConfigurations.class, TokenService.class})
+@EnableConfigurationProperties(RateLimitProperties.class)
+@TestPropertySource(properties = "api.change-feed.consumer-token=feed-secret")
+class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @MockBean
+    private ChangeFeedService changeFeedService;
+
+    @MockBean
+    private BarberRepository barberRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void shouldRejectBarberTokens() throws Exception {
+        when(barberRepository.findByLogin("11999999999")).thenReturn(new Barber("Barbeiro", "11999999999", "hash"));
+        String barberToken = tokenService.generateToken("11999999999", "ROLE_ADMIN");
+
+        mockMvc.perform(get("/internal/changes").header("Authorization", "Bearer " + barberToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/internal/changes").header(ChangeFeedTokenFilter.HEADER, "wrong"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldServeConsumersWithTheServiceToken() throws Exception {
+        when(changeFeedService.read(any(), anyInt(), anyLong())).thenReturn(List.of());
+
+        mockMvc.perform(get("/internal/changes").header(ChangeFeedTokenFilter.HEADER, "feed-secret"))
+                .andExpect(status().isOk());
+    }
+}
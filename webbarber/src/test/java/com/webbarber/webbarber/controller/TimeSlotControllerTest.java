@@ -0,0 +1,111 @@
+package com.webbarber.webbarber.controller;
+
+import com.webbarber.webbarber.infra.cache.AvailabilityPayloadCache;
+import com.webbarber.webbarber.infra.cache.ContentVersions;
+import com.webbarber.webbarber.infra.codec.CompactBinaryHttpMessageConverter;
+import com.webbarber.webbarber.infra.codec.RepresentationNegotiation;
+import com.webbarber.webbarber.infra.ratelimit.RateLimitProperties;
+import com.webbarber.webbarber.infra.security.SecurityConfigurations;
+import com.webbarber.webbarber.infra.security.TokenRevocationService;
+import com.webbarber.webbarber.infra.security.TokenService;
+import com.webbarber.webbarber.repository.BarberRepository;
+import com.webbarber.webbarber.repository.UserRepository;
+import com.webbarber.webbarber.service.BarberService;
+import com.webbarber.webbarber.service.TimeSlotAvailabilityService;
+import com.webbarber.webbarber.service.TimeSlotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TimeSlotController.class)
+@Import({SecurityConfigurations.class, TokenService.class})
+@EnableConfigurationProperties(RateLimitProperties.class)
+@TestPropertySource(properties = "api.change-feed.consumer-token=")
+@WithMockUser
+class TimeSlotControllerTest {
+
+    private static final UUID BARBER = UUID.randomUUID();
+    private static final UUID SERVICE = UUID.randomUUID();
+    private static final LocalDate DATE = LocalDate.of(2030, 4, 1);
+    private static final String ETAG = "\"a-7:70\"";
+    private static final String PATH = "/" + BARBER + "/all/" + SERVICE;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TimeSlotService timeSlotService;
+
+    @MockBean
+    private TimeSlotAvailabilityService timeSlotAvailabilityService;
+
+    @MockBean
+    private BarberService barberService;
+
+    @MockBean
+    private AvailabilityPayloadCache availabilityPayloadCache;
+
+    @MockBean
+    private ContentVersions contentVersions;
+
+    @MockBean
+    private BarberRepository barberRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        when(contentVersions.availabilityETag(BARBER, DATE, SERVICE)).thenReturn(ETAG);
+        when(availabilityPayloadCache.get(eq(BARBER), eq(DATE), eq(SERVICE), eq(ETAG), any()))
+                .thenReturn(new AvailabilityPayloadCache.Payload(ETAG, "[]".getBytes(StandardCharsets.UTF_8), null,
+                        new byte[0]));
+    }
+
+    @Test
+    void shouldSendVaryWithNotModifiedResponses() throws Exception {
+        mockMvc.perform(get(PATH).param("date", DATE.toString())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"));
+
+        String compactETag = RepresentationNegotiation.variantETag(ETAG, RepresentationNegotiation.COMPACT_ETAG_SUFFIX);
+        mockMvc.perform(get(PATH).param("date", DATE.toString())
+                        .accept(CompactBinaryHttpMessageConverter.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_NONE_MATCH, compactETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept"));
+    }
+
+    @Test
+    void shouldSendVaryOnceWithFullResponses() throws Exception {
+        mockMvc.perform(get(PATH).param("date", DATE.toString()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+}
@@ -0,0 +1,101 @@
+package com.webbarber.webbarber.infra.admission;
+
+import com.webbarber.webbarber.exception.BookingOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingAdmissionControllerTest {
+
+    private static final UUID BARBER = UUID.randomUUID();
+    private static final UUID OTHER_BARBER = UUID.randomUUID();
+
+    @Test
+    void shouldRejectWhenBarberLimitIsReachedAndDeadlineExpires() throws Exception {
+        BookingAdmissionController controller = new BookingAdmissionController(10, 1, 10, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> holder = executor.submit(() -> controller.execute(BARBER, () -> {
+                started.countDown();
+                await(release);
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            assertThrows(BookingOverloadedException.class, () -> controller.execute(BARBER, () -> {}));
+            assertEquals("ok", controller.execute(OTHER_BARBER, () -> "ok"), "Outros barbeiros não devem ser afetados");
+
+            release.countDown();
+            holder.get(1, TimeUnit.SECONDS);
+        }
+
+        assertEquals("ok", controller.execute(BARBER, () -> "ok"));
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        BookingAdmissionController controller = new BookingAdmissionController(1, 1, 0, 5_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> holder = executor.submit(() -> controller.execute(BARBER, () -> {
+                started.countDown();
+                await(release);
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            assertThrows(BookingOverloadedException.class, () -> controller.execute(OTHER_BARBER, () -> {}));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "A recusa deve ser imediata");
+
+            release.countDown();
+            holder.get(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void shouldDropBarberPermitsOnceNoRequestIsInFlight() throws Exception {
+        BookingAdmissionController controller = new BookingAdmissionController(10, 1, 10, 50);
+        for (int i = 0; i < 1_000; i++) {
+            controller.execute(UUID.randomUUID(), () -> {});
+        }
+        assertThrows(IllegalStateException.class, () -> controller.execute(UUID.randomUUID(), () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(0, controller.trackedBarbers(), "IDs arbitrários não devem acumular semáforos");
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> holder = executor.submit(() -> controller.execute(BARBER, () -> {
+                started.countDown();
+                await(release);
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            assertEquals(1, controller.trackedBarbers());
+            assertThrows(BookingOverloadedException.class, () -> controller.execute(BARBER, () -> {}),
+                    "O semáforo em uso deve ser compartilhado");
+
+            release.countDown();
+            holder.get(1, TimeUnit.SECONDS);
+        }
+        assertEquals(0, controller.trackedBarbers());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
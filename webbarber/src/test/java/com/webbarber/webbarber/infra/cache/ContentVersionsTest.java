@@ -0,0 +1,93 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.webbarber.webbarber.infra.persistence.CacheRegions;
+import com.webbarber.webbarber.repository.ServiceRepository;
+import com.webbarber.webbarber.repository.TimeSlotRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ContentVersionsTest {
+
+    private static final UUID BARBER = UUID.randomUUID();
+    private static final UUID SERVICE = UUID.randomUUID();
+    private static final LocalDate DATE = LocalDate.of(2024, 2, 10);
+
+    private ServiceRepository serviceRepository;
+    private TimeSlotRepository timeSlotRepository;
+    private Cache cache;
+    private AvailabilityPayloadCache availabilityPayloadCache;
+    private RangeOverrideIndex rangeOverrideIndex;
+    private RecurringOverrideCalendar recurringOverrideCalendar;
+    private ContentVersions contentVersions;
+
+    @BeforeEach
+    void setUp() {
+        serviceRepository = mock(ServiceRepository.class);
+        timeSlotRepository = mock(TimeSlotRepository.class);
+        cache = mock(Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(Cache.class)).thenReturn(cache);
+        availabilityPayloadCache = mock(AvailabilityPayloadCache.class);
+        rangeOverrideIndex = mock(RangeOverrideIndex.class);
+        recurringOverrideCalendar = mock(RecurringOverrideCalendar.class);
+        contentVersions = new ContentVersions(serviceRepository, timeSlotRepository, availabilityPayloadCache,
+                rangeOverrideIndex, recurringOverrideCalendar, entityManagerFactory, 10);
+    }
+
+    @Test
+    void shouldDeriveETagsFromStoredVersions() {
+        when(serviceRepository.findVersionByBarberId(BARBER)).thenReturn("3:900");
+        when(timeSlotRepository.findAvailabilityVersion(BARBER, DATE)).thenReturn("7:70-0:0-0:0-1:10-2:20");
+
+        assertEquals("\"c-3:900\"", contentVersions.catalogETag(BARBER));
+        assertEquals("\"a-7:70-0:0-0:0-1:10-2:20\"", contentVersions.availabilityETag(BARBER, DATE, null));
+        assertEquals("\"a-7:70-0:0-0:0-1:10-2:20-" + SERVICE + "-3:900\"",
+                contentVersions.availabilityETag(BARBER, DATE, SERVICE));
+    }
+
+    @Test
+    void shouldEvictCachedQueriesOnlyWhenASeenVersionChanges() {
+        when(serviceRepository.findVersionByBarberId(BARBER)).thenReturn("3:900", "3:900", "4:1000");
+        when(timeSlotRepository.findAvailabilityVersion(BARBER, DATE))
+                .thenReturn("7:70-0:0-0:0-0:0-0:0", "7:70-0:0-0:0-0:0-1:15", "7:70-1:20-0:0-0:0-1:15");
+
+        contentVersions.catalogETag(BARBER);
+        contentVersions.catalogETag(BARBER);
+        verify(cache, never()).evictQueryRegion(CacheRegions.SERVICE_QUERIES);
+        contentVersions.catalogETag(BARBER);
+        verify(cache, times(1)).evictQueryRegion(CacheRegions.SERVICE_QUERIES);
+
+        // Um agendamento muda apenas a parte da data
+        contentVersions.availabilityETag(BARBER, DATE, null);
+        contentVersions.availabilityETag(BARBER, DATE, null);
+        verify(cache, never()).evictQueryRegion(CacheRegions.TIMESLOT_QUERIES);
+        contentVersions.availabilityETag(BARBER, DATE, null);
+        verify(cache, times(1)).evictQueryRegion(CacheRegions.TIMESLOT_QUERIES);
+        verify(availabilityPayloadCache, times(2)).invalidate(BARBER);
+        verify(rangeOverrideIndex, times(1)).invalidate(BARBER);
+        verify(recurringOverrideCalendar, times(1)).invalidate(BARBER);
+    }
+
+    @Test
+    void shouldReuseTheSeenCatalogVersionUntilItIsInvalidated() {
+        when(serviceRepository.findVersionByBarberId(BARBER)).thenReturn("3:900", "4:1000");
+
+        assertEquals("\"c-3:900\"", contentVersions.knownCatalogETag(BARBER));
+        assertEquals("\"c-3:900\"", contentVersions.knownCatalogETag(BARBER));
+        verify(serviceRepository, times(1)).findVersionByBarberId(BARBER);
+
+        contentVersions.invalidateCatalog(BARBER, false);
+        assertEquals("\"c-4:1000\"", contentVersions.knownCatalogETag(BARBER));
+        verify(availabilityPayloadCache).invalidate(BARBER);
+        verify(cache, never()).evictQueryRegion(CacheRegions.SERVICE_QUERIES);
+    }
+}
@@ -0,0 +1,96 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.webbarber.webbarber.dto.SyncedRangeOverrideDTO;
+import com.webbarber.webbarber.repository.TimeSlotRangeOverrideRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RangeOverrideIndexTest {
+
+    private static final UUID BARBER = UUID.randomUUID();
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("UTC"));
+
+    private TimeSlotRangeOverrideRepository repository;
+    private RangeOverrideIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TimeSlotRangeOverrideRepository.class);
+        index = new RangeOverrideIndex(repository, 10);
+        ReflectionTestUtils.setField(index, "zoneId", ZoneId.of("UTC"));
+    }
+
+    @Test
+    void shouldResolveDatesInsideRangesAndSkipGaps() {
+        SyncedRangeOverrideDTO vacation = range(TODAY.plusDays(2), TODAY.plusDays(8), true);
+        SyncedRangeOverrideDTO holiday = range(TODAY.plusDays(12), TODAY.plusDays(12), false);
+        when(repository.findCurrentByBarberId(eq(BARBER), any())).thenReturn(List.of(vacation, holiday));
+
+        assertTrue(index.find(BARBER, TODAY.plusDays(1)).isEmpty());
+        assertEquals(vacation, index.find(BARBER, TODAY.plusDays(2)).orElseThrow());
+        assertEquals(vacation, index.find(BARBER, TODAY.plusDays(8)).orElseThrow(), "A data final é inclusiva");
+        assertTrue(index.find(BARBER, TODAY.plusDays(9)).isEmpty());
+        assertEquals(holiday, index.find(BARBER, TODAY.plusDays(12)).orElseThrow());
+        assertTrue(index.find(BARBER, TODAY.plusDays(13)).isEmpty());
+
+        verify(repository, times(1)).findCurrentByBarberId(eq(BARBER), any());
+    }
+
+    @Test
+    void shouldReloadOnlyAfterInvalidation() {
+        SyncedRangeOverrideDTO past = range(TODAY.minusDays(8), TODAY.minusDays(2), true);
+        SyncedRangeOverrideDTO vacation = range(TODAY.plusDays(2), TODAY.plusDays(8), true);
+        when(repository.findCurrentByBarberId(eq(BARBER), any()))
+                .thenReturn(List.of(past))
+                .thenReturn(List.of(past, vacation));
+
+        assertTrue(index.find(BARBER, TODAY.plusDays(3)).isEmpty());
+        assertTrue(index.find(BARBER, TODAY.plusDays(3)).isEmpty(), "O índice é reutilizado até ser descartado");
+        verify(repository, times(1)).findCurrentByBarberId(eq(BARBER), any());
+
+        index.invalidate(BARBER);
+        assertEquals(vacation, index.find(BARBER, TODAY.plusDays(3)).orElseThrow());
+        verify(repository, times(2)).findCurrentByBarberId(eq(BARBER), any());
+    }
+
+    @Test
+    void shouldKeepBarbersWithoutRangesWithoutQueryingAgain() {
+        when(repository.findCurrentByBarberId(eq(BARBER), any())).thenReturn(List.of());
+
+        assertTrue(index.find(BARBER, TODAY.plusDays(3)).isEmpty());
+        assertTrue(index.find(BARBER, TODAY.plusDays(4)).isEmpty());
+        verify(repository, times(1)).findCurrentByBarberId(eq(BARBER), any());
+    }
+
+    @Test
+    void shouldNotStoreALoadThatRacedWithAnInvalidation() {
+        SyncedRangeOverrideDTO vacation = range(TODAY.plusDays(2), TODAY.plusDays(8), true);
+        when(repository.findCurrentByBarberId(eq(BARBER), any()))
+                .thenAnswer(invocation -> {
+                    // Alteração confirmada enquanto as linhas anteriores eram lidas
+                    index.invalidate(BARBER);
+                    return List.of();
+                })
+                .thenReturn(List.of(vacation));
+
+        assertTrue(index.find(BARBER, TODAY.plusDays(3)).isEmpty());
+        assertEquals(vacation, index.find(BARBER, TODAY.plusDays(3)).orElseThrow());
+    }
+
+    private static SyncedRangeOverrideDTO range(LocalDate startDate, LocalDate endDate, boolean closed) {
+        return new SyncedRangeOverrideDTO(UUID.randomUUID(), startDate, endDate, LocalTime.of(9, 0),
+                LocalTime.of(12, 0), LocalTime.of(13, 0), LocalTime.of(18, 0), 30, closed);
+    }
+}
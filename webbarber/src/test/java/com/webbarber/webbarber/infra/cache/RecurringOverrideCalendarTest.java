@@ -0,0 +1,100 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.webbarber.webbarber.dto.SyncedRecurringOverrideDTO;
+import com.webbarber.webbarber.repository.TimeSlotRecurringOverrideRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RecurringOverrideCalendarTest {
+
+    private static final UUID BARBER = UUID.randomUUID();
+
+    @Test
+    void shouldMatchOccurrencesOfTheMonth() {
+        // Toda primeira segunda-feira
+        SyncedRecurringOverrideDTO firstMonday = rule(1, 1, 1, LocalDate.of(2030, 1, 1), null, true);
+        assertTrue(RecurringOverrideCalendar.matches(firstMonday, LocalDate.of(2030, 4, 1)));
+        assertFalse(RecurringOverrideCalendar.matches(firstMonday, LocalDate.of(2030, 4, 8)));
+        assertFalse(RecurringOverrideCalendar.matches(firstMonday, LocalDate.of(2030, 4, 2)), "Outro dia da semana");
+
+        // Toda última sexta-feira
+        SyncedRecurringOverrideDTO lastFriday = rule(5, RecurringOverrideCalendar.LAST_WEEK, 1,
+                LocalDate.of(2030, 1, 1), null, true);
+        assertTrue(RecurringOverrideCalendar.matches(lastFriday, LocalDate.of(2030, 5, 31)));
+        assertFalse(RecurringOverrideCalendar.matches(lastFriday, LocalDate.of(2030, 5, 24)));
+        assertTrue(RecurringOverrideCalendar.matches(lastFriday, LocalDate.of(2030, 6, 28)));
+    }
+
+    @Test
+    void shouldMatchEveryOtherWeekFromTheFirstOccurrenceWithinBounds() {
+        // Sábados alternados a partir de 2030-01-05, até 2030-03-31
+        SyncedRecurringOverrideDTO everyOtherSaturday = rule(6, 0, 2, LocalDate.of(2030, 1, 1),
+                LocalDate.of(2030, 3, 31), false);
+        assertTrue(RecurringOverrideCalendar.matches(everyOtherSaturday, LocalDate.of(2030, 1, 5)));
+        assertFalse(RecurringOverrideCalendar.matches(everyOtherSaturday, LocalDate.of(2030, 1, 12)));
+        assertTrue(RecurringOverrideCalendar.matches(everyOtherSaturday, LocalDate.of(2030, 1, 19)));
+        assertTrue(RecurringOverrideCalendar.matches(everyOtherSaturday, LocalDate.of(2030, 3, 30)));
+        assertFalse(RecurringOverrideCalendar.matches(everyOtherSaturday, LocalDate.of(2030, 4, 13)), "Depois do fim");
+    }
+
+    @Test
+    void shouldMemoizePerMonthPreferClosedRulesAndReloadAfterChanges() {
+        TimeSlotRecurringOverrideRepository repository = mock(TimeSlotRecurringOverrideRepository.class);
+        RecurringOverrideCalendar calendar = new RecurringOverrideCalendar(repository, 10);
+        SyncedRecurringOverrideDTO shortMondays = rule(1, 0, 1, LocalDate.of(2030, 1, 1), null, false);
+        SyncedRecurringOverrideDTO firstMonday = rule(1, 1, 1, LocalDate.of(2030, 1, 1), null, true);
+        when(repository.findActiveByBarberId(eq(BARBER), any(), any())).thenReturn(List.of(shortMondays, firstMonday));
+
+        assertEquals(firstMonday, calendar.find(BARBER, LocalDate.of(2030, 4, 1)).orElseThrow());
+        assertEquals(shortMondays, calendar.find(BARBER, LocalDate.of(2030, 4, 8)).orElseThrow());
+        assertTrue(calendar.find(BARBER, LocalDate.of(2030, 4, 9)).isEmpty());
+        verify(repository, times(1)).findActiveByBarberId(BARBER, LocalDate.of(2030, 4, 1), LocalDate.of(2030, 4, 30));
+
+        calendar.find(BARBER, LocalDate.of(2030, 5, 6));
+        verify(repository, times(2)).findActiveByBarberId(eq(BARBER), any(), any());
+
+        calendar.find(BARBER, LocalDate.of(2030, 4, 15));
+        verify(repository, times(2)).findActiveByBarberId(eq(BARBER), any(), any());
+
+        // Regra alterada: os meses do barbeiro são descartados e reavaliados
+        calendar.invalidate(BARBER);
+        calendar.find(BARBER, LocalDate.of(2030, 4, 8));
+        verify(repository, times(3)).findActiveByBarberId(eq(BARBER), any(), any());
+    }
+
+    @Test
+    void shouldMemoizeMonthsOfBarbersWithoutRulesAndKeepTheBound() {
+        TimeSlotRecurringOverrideRepository repository = mock(TimeSlotRecurringOverrideRepository.class);
+        RecurringOverrideCalendar calendar = new RecurringOverrideCalendar(repository, 2);
+        UUID withoutRules = UUID.randomUUID();
+        when(repository.findActiveByBarberId(eq(BARBER), any(), any()))
+                .thenReturn(List.of(rule(1, 0, 1, LocalDate.of(2030, 1, 1), null, true)));
+
+        assertTrue(calendar.find(withoutRules, LocalDate.of(2030, 4, 1)).isEmpty());
+        assertTrue(calendar.find(withoutRules, LocalDate.of(2030, 4, 8)).isEmpty());
+        verify(repository, times(1)).findActiveByBarberId(eq(withoutRules), any(), any());
+
+        calendar.find(BARBER, LocalDate.of(2030, 4, 1));
+        calendar.find(BARBER, LocalDate.of(2030, 5, 6));
+        calendar.find(BARBER, LocalDate.of(2030, 6, 3));
+        // Abril foi o mês usado há mais tempo e saiu da memória ao entrar junho
+        calendar.find(BARBER, LocalDate.of(2030, 4, 1));
+        verify(repository, times(2)).findActiveByBarberId(BARBER, LocalDate.of(2030, 4, 1), LocalDate.of(2030, 4, 30));
+    }
+
+    private static SyncedRecurringOverrideDTO rule(int dayOfWeek, int weeksOfMonth, int weekInterval,
+                                                   LocalDate startDate, LocalDate endDate, boolean closed) {
+        return new SyncedRecurringOverrideDTO(UUID.randomUUID(), dayOfWeek, weeksOfMonth, weekInterval, startDate,
+                endDate, LocalTime.of(9, 0), LocalTime.of(12, 0), LocalTime.of(13, 0), LocalTime.of(16, 0), 30,
+                closed);
+    }
+}
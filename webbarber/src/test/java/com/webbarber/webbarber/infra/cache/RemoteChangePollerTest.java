@@ -0,0 +1,55 @@
+package com.webbarber.webbarber.infra.cache;
+
+import com.webbarber.webbarber.entity.ChangeEvent;
+import com.webbarber.webbarber.repository.ChangeEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RemoteChangePollerTest {
+
+    private static final UUID BARBER = UUID.randomUUID();
+
+    private ChangeEventRepository changeEventRepository;
+    private ContentVersions contentVersions;
+    private RemoteChangePoller poller;
+
+    @BeforeEach
+    void setUp() {
+        changeEventRepository = mock(ChangeEventRepository.class);
+        contentVersions = mock(ContentVersions.class);
+        poller = new RemoteChangePoller(changeEventRepository, contentVersions);
+        ReflectionTestUtils.setField(poller, "pageSize", 2);
+    }
+
+    @Test
+    void shouldStartAtTheOldestActiveTransactionAndFollowTheCursor() {
+        when(changeEventRepository.findSafeHorizon()).thenReturn(100L, 105L);
+        when(changeEventRepository.findAfter(eq(99L), eq(Long.MAX_VALUE), eq(105L), any(Pageable.class)))
+                .thenReturn(List.of(event(1, 100, "SCHEDULE"), event(2, 101, "SERVICE")));
+        when(changeEventRepository.findAfter(eq(101L), eq(2L), eq(105L), any(Pageable.class)))
+                .thenReturn(List.of(event(3, 104, "BOOKING")));
+
+        poller.poll();
+        verifyNoInteractions(contentVersions);
+        poller.poll();
+
+        verify(contentVersions).invalidateSchedule(BARBER, true);
+        verify(contentVersions).invalidateCatalog(BARBER, true);
+        verify(contentVersions).invalidateBookings(BARBER);
+    }
+
+    private static ChangeEvent event(long id, long txid, String aggregate) {
+        ChangeEvent event = new ChangeEvent(aggregate, null, BARBER, aggregate + "_CHANGED", "{}");
+        ReflectionTestUtils.setField(event, "id", id);
+        ReflectionTestUtils.setField(event, "txid", txid);
+        return event;
+    }
+}
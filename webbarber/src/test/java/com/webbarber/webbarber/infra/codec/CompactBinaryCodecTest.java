@@ -0,0 +1,79 @@
+package com.webbarber.webbarber.infra.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.webbarber.webbarber.dto.BookingDTO;
+import com.webbarber.webbarber.dto.BookingInfoDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactBinaryCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void shouldRoundTripTimes() {
+        List<LocalTime> times = List.of(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(8, 15), LocalTime.of(23, 59));
+
+        assertEquals(times, CompactBinaryCodec.decodeTimes(CompactBinaryCodec.encodeTimes(times)));
+    }
+
+    @Test
+    void shouldRoundTripBookingsWithRepeatedAndNullFields() {
+        UUID user = UUID.randomUUID();
+        UUID barber = UUID.randomUUID();
+        UUID service = UUID.randomUUID();
+        List<BookingDTO> bookings = List.of(
+                new BookingDTO(user, barber, service, LocalDate.of(2024, 5, 10), LocalTime.of(9, 0), LocalTime.of(9, 45)),
+                new BookingDTO(user, barber, UUID.randomUUID(), LocalDate.of(2024, 5, 3), LocalTime.of(14, 0)),
+                new BookingDTO(user, null, service, LocalDate.of(2024, 6, 1), LocalTime.of(10, 0), LocalTime.of(10, 30)));
+
+        assertEquals(bookings, CompactBinaryCodec.decodeBookings(CompactBinaryCodec.encodeBookings(bookings)));
+    }
+
+    @Test
+    void shouldRejectPayloadOfAnotherType() {
+        byte[] payload = CompactBinaryCodec.encodeTimes(List.of(LocalTime.NOON));
+
+        assertThrows(IllegalArgumentException.class, () -> CompactBinaryCodec.decodeBookings(payload));
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() throws Exception {
+        List<LocalTime> times = new ArrayList<>();
+        for (LocalTime time = LocalTime.of(8, 0); time.isBefore(LocalTime.of(20, 0)); time = time.plusMinutes(15)) {
+            times.add(time);
+        }
+        List<BookingInfoDTO> bookings = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * (i % 20));
+            bookings.add(new BookingInfoDTO("Cliente " + (i % 7), "Barbeiro " + (i % 2), "Corte " + (i % 3),
+                    LocalDate.of(2024, 5, 10).plusDays(i / 20), start, start.plusMinutes(30)));
+        }
+        List<BookingDTO> userBookings = new ArrayList<>();
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            userBookings.add(new BookingDTO(userId, UUID.randomUUID(), UUID.randomUUID(),
+                    LocalDate.of(2024, 1, 1).plusWeeks(i), LocalTime.of(10, 0), LocalTime.of(10, 30)));
+        }
+
+        assertCompact(objectMapper.writeValueAsBytes(times), CompactBinaryCodec.encodeTimes(times), 0.1);
+        assertCompact(objectMapper.writeValueAsBytes(bookings), CompactBinaryCodec.encodeBookingInfos(bookings), 0.2);
+        assertCompact(objectMapper.writeValueAsBytes(userBookings), CompactBinaryCodec.encodeBookings(userBookings), 0.4);
+    }
+
+    private static void assertCompact(byte[] json, byte[] compact, double maxRatio) {
+        assertTrue(compact.length <= json.length * maxRatio,
+                "Binário com " + compact.length + " bytes contra " + json.length + " bytes em JSON");
+    }
+}
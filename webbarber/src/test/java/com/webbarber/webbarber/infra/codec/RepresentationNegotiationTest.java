@@ -0,0 +1,45 @@
+package com.webbarber.webbarber.infra.codec;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepresentationNegotiationTest {
+
+    @Test
+    void shouldPreferCompactOnlyWhenItOutweighsJson() {
+        String compact = CompactBinaryHttpMessageConverter.MEDIA_TYPE_VALUE;
+        assertTrue(RepresentationNegotiation.prefersCompact(compact));
+        assertTrue(RepresentationNegotiation.prefersCompact("application/json;q=0.5, " + compact));
+        assertTrue(RepresentationNegotiation.prefersCompact(compact + ", */*;q=0.1"));
+        assertFalse(RepresentationNegotiation.prefersCompact(null));
+        assertFalse(RepresentationNegotiation.prefersCompact("*/*"), "Em caso de empate o JSON é mantido");
+        assertFalse(RepresentationNegotiation.prefersCompact(compact + ";q=0, */*"));
+        assertFalse(RepresentationNegotiation.prefersCompact(compact + ";q=0.5, application/json"));
+        assertTrue(RepresentationNegotiation.prefersCompact(compact + ";q=0.5, */*;q=0.9, application/json;q=0.1"),
+                "A faixa mais específica define o peso");
+        assertFalse(RepresentationNegotiation.prefersCompact("not a media type"));
+    }
+
+    @Test
+    void shouldHonourGzipQualityValues() {
+        assertTrue(RepresentationNegotiation.acceptsGzip("gzip, deflate, br"));
+        assertTrue(RepresentationNegotiation.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(RepresentationNegotiation.acceptsGzip("*"));
+        assertFalse(RepresentationNegotiation.acceptsGzip(null));
+        assertFalse(RepresentationNegotiation.acceptsGzip("identity"));
+        assertFalse(RepresentationNegotiation.acceptsGzip("gzip;q=0"));
+        assertFalse(RepresentationNegotiation.acceptsGzip("gzip; q=0.000, *"), "A menção explícita prevalece sobre *");
+        assertFalse(RepresentationNegotiation.acceptsGzip("*;q=0"));
+        assertFalse(RepresentationNegotiation.acceptsGzip("gzip;q=abc"));
+    }
+
+    @Test
+    void shouldSuffixStrongAndWeakETags() {
+        assertEquals("\"a-1:2-gz\"", RepresentationNegotiation.variantETag("\"a-1:2\"", "-gz"));
+        assertEquals("W/\"a-1:2-gz\"", RepresentationNegotiation.variantETag("W/\"a-1:2\"", "-gz"));
+        assertEquals("W/\"a-1:2-b\"", RepresentationNegotiation.variantETag("W/\"a-1:2\"",
+                RepresentationNegotiation.COMPACT_ETAG_SUFFIX));
+        assertThrows(IllegalArgumentException.class, () -> RepresentationNegotiation.variantETag("a-1:2", "-gz"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedRegionStorageTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        BoundedRegionStorage storage = new BoundedRegionStorage("service", 2, 0);
+        storage.putIntoCache("a", 1, null);
+        storage.putIntoCache("b", 2, null);
+        assertEquals(1, storage.getFromCache("a", null), "A leitura torna a entrada a mais recente");
+
+        storage.putIntoCache("c", 3, null);
+
+        assertNull(storage.getFromCache("b", null));
+        assertEquals(1, storage.getFromCache("a", null));
+        assertEquals(3, storage.getFromCache("c", null));
+        BoundedRegionStorage.Snapshot snapshot = storage.snapshot();
+        assertEquals(new BoundedRegionStorage.Snapshot(2, 3, 1, 3, 1), snapshot);
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTimeToLive() throws InterruptedException {
+        BoundedRegionStorage storage = new BoundedRegionStorage("timeslot", 10, TimeUnit.MILLISECONDS.toNanos(20));
+        storage.putIntoCache("a", 1, null);
+        assertTrue(storage.contains("a"));
+
+        Thread.sleep(40);
+
+        assertFalse(storage.contains("a"));
+        assertNull(storage.getFromCache("a", null));
+        assertEquals(0, storage.snapshot().size());
+        assertEquals(1, storage.snapshot().evictions());
+    }
+
+    @Test
+    void shouldNeverDropTimestampsInTheUnboundedRegion() {
+        BoundedRegionStorage storage = new BoundedRegionStorage("timestamps", Integer.MAX_VALUE, 0);
+        for (int i = 0; i < 10_000; i++) storage.putIntoCache(i, (long) i, null);
+
+        assertEquals(10_000, storage.snapshot().size());
+        assertEquals(0L, storage.getFromCache(0, null));
+
+        storage.evictData(0);
+        assertFalse(storage.contains(0));
+        storage.evictData();
+        assertEquals(0, storage.snapshot().size());
+    }
+
+    @Test
+    void shouldKeepCountersAndTheBoundUnderConcurrentAccess() throws Exception {
+        BoundedRegionStorage storage = new BoundedRegionStorage("query", 64, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 1_000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        storage.putIntoCache(offset + i, i, null);
+                        storage.getFromCache(offset + i / 2, null);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        storage.putIntoCache("last", 0, null);
+
+        BoundedRegionStorage.Snapshot snapshot = storage.snapshot();
+        assertTrue(snapshot.size() <= 64, String.valueOf(snapshot.size()));
+        assertEquals(8_001, snapshot.puts());
+        assertEquals(8_000, snapshot.hits() + snapshot.misses());
+        assertEquals(0, storage.getFromCache("last", null), "A entrada mais recente nunca é descartada");
+    }
+}
@@ -0,0 +1,51 @@
+package com.webbarber.webbarber.infra.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void shouldEncodeVersionVariantAndTimestamp() {
+        long now = 1_700_000_000_000L;
+        UUID uuid = new UuidV7(() -> now, new Random(1)).next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(now, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void shouldIncreaseWithinSameMillisecondAndWhenClockGoesBack() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7 generator = new UuidV7(clock::get, new Random(1));
+
+        UUID previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            if(i == 5_000) clock.addAndGet(-1_000);
+            if(i % 100 == 0) clock.incrementAndGet();
+            UUID current = generator.next();
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    "Os identificadores devem ser estritamente crescentes");
+            previous = current;
+        }
+    }
+
+    @Test
+    void shouldSortByCreationTime() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7 generator = new UuidV7(clock::get, new Random(1));
+
+        UUID first = generator.next();
+        clock.addAndGet(1);
+        UUID second = generator.next();
+
+        // O Postgres compara uuid byte a byte, como o texto hexadecimal
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+}
@@ -0,0 +1,72 @@
+package com.webbarber.webbarber.infra.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webbarber.webbarber.infra.security.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RateLimitFilterTest {
+
+    private static final RateLimitProperties.Route LOGIN_IP = new RateLimitProperties.Route("login-ip", "POST",
+            "/auth/login", RateLimitProperties.KeyType.IP, 3, 1, Duration.ofHours(1));
+    private static final RateLimitProperties.Route LOGIN_PHONE = new RateLimitProperties.Route("login-phone", "POST",
+            "/auth/login", RateLimitProperties.KeyType.PHONE, 1, 1, Duration.ofHours(1));
+
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new RateLimitProperties(true, Duration.ofMinutes(10), DataSize.ofBytes(64), List.of(LOGIN_IP, LOGIN_PHONE)),
+            mock(TokenService.class), new ObjectMapper());
+
+    @Test
+    void shouldNotSpendOtherRulesWhenOneRejects() throws Exception {
+        assertEquals(200, login("11999990000").getStatus());
+        // O telefone já esgotou a cota: a recusa não pode gastar a cota do IP
+        assertEquals(429, login("11999990000").getStatus());
+        assertEquals(429, login("11999990000").getStatus());
+
+        assertEquals(200, login("11999990001").getStatus());
+        assertEquals(200, login("11999990002").getStatus());
+        assertEquals(429, login("11999990003").getStatus(), "A cota do IP é de três requisições aceitas");
+    }
+
+    @Test
+    void shouldRejectBodiesAboveTheLimit() throws Exception {
+        MockHttpServletRequest declared = request("{\"phone\":\"" + "9".repeat(100) + "\"}");
+        assertEquals(413, filter(declared).getStatus());
+
+        // Corpo enviado sem Content-Length: o limite vale para os bytes lidos
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/auth/login") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setContent(("{\"phone\":\"" + "9".repeat(100) + "\"}").getBytes(StandardCharsets.UTF_8));
+        assertEquals(413, filter(chunked).getStatus());
+    }
+
+    private MockHttpServletResponse login(String phone) throws Exception {
+        return filter(request("{\"phone\":\"" + phone + "\"}"));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
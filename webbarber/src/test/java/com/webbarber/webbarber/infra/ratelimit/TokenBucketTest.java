@@ -0,0 +1,65 @@
+package com.webbarber.webbarber.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, SECOND, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0) > 0, "A quarta requisição deve ser recusada");
+    }
+
+    @Test
+    void shouldReportWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 1, SECOND, 0);
+        bucket.tryConsume(0);
+
+        long wait = bucket.tryConsume(SECOND / 4);
+
+        assertTrue(wait > 0 && wait <= SECOND * 3 / 4, "Espera inesperada: " + wait);
+        assertEquals(0, bucket.tryConsume(SECOND));
+    }
+
+    @Test
+    void shouldNotAccumulateBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, SECOND, 0);
+
+        long later = SECOND * 100;
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertTrue(bucket.tryConsume(later) > 0);
+    }
+
+    @Test
+    void shouldBecomeIdleAfterTimeout() {
+        TokenBucket bucket = new TokenBucket(1, 1, SECOND, 0);
+        bucket.tryConsume(SECOND);
+
+        assertFalse(bucket.isIdle(SECOND * 5, SECOND * 10));
+        assertTrue(bucket.isIdle(SECOND * 11, SECOND * 10));
+    }
+
+    @Test
+    void shouldRefundWithoutExceedingCapacity() {
+        TokenBucket bucket = new TokenBucket(1, 1, SECOND, 0);
+        assertEquals(0, bucket.tryConsume(0));
+        bucket.refund();
+        assertEquals(0, bucket.tryConsume(0), "O token devolvido pode ser consumido de novo");
+
+        bucket.refund();
+        bucket.refund();
+        assertEquals(0, bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0) > 0, "As devoluções não passam da capacidade");
+    }
+}
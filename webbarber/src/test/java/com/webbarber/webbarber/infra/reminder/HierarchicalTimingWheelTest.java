@@ -0,0 +1,70 @@
+package com.webbarber.webbarber.infra.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void shouldFireEachTaskAtItsDeadlineAcrossLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 3, 4, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = 1 + random.nextInt(4_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 1; now <= 4_000; now++) {
+            long current = now;
+            wheel.advance(now, deadline -> {
+                assertEquals(current, deadline, "O prazo deve disparar exatamente no seu tick");
+                fired.add(deadline);
+            });
+        }
+
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldNotFireCancelledTasks() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 6, 3, 0);
+        HierarchicalTimingWheel.Timeout<String> kept = wheel.schedule("mantido", 90_000);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelado", 5_000_000);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(10_000_000, fired::add);
+
+        assertEquals(List.of("mantido"), fired);
+        assertFalse(kept.isPending());
+    }
+
+    @Test
+    void shouldFireOverdueTasksOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 6, 3, 60_000);
+        wheel.schedule("atrasado", 30_000);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(60_000, fired::add);
+
+        assertEquals(List.of("atrasado"), fired);
+    }
+
+    @Test
+    void shouldRejectDeadlinesBeyondHorizon() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 2, 2, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule("distante", 1_000));
+    }
+}
@@ -0,0 +1,80 @@
+package com.webbarber.webbarber.infra.reminder;
+
+import com.webbarber.webbarber.entity.Booking;
+import com.webbarber.webbarber.event.BookingChangedEvent;
+import com.webbarber.webbarber.service.BookingService;
+import com.webbarber.webbarber.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReminderSchedulerTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+
+    private BookingService bookingService;
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = mock(BookingService.class);
+        scheduler = new ReminderScheduler(bookingService, mock(NotificationService.class), new long[]{1440, 60});
+        ReflectionTestUtils.setField(scheduler, "zoneId", ZONE);
+        ReflectionTestUtils.setField(scheduler, "tickMillis", 1000L);
+        ReflectionTestUtils.setField(scheduler, "horizonHours", 48L);
+        ReflectionTestUtils.setField(scheduler, "graceMinutes", 15L);
+    }
+
+    @Test
+    void shouldKeepBookingsCommittedWhileTheWindowIsLoading() {
+        Booking booking = bookingIn(47);
+        when(bookingService.getBookingsBetween(any(), any())).thenAnswer(invocation -> {
+            // Confirmado depois da leitura: não está no resultado, só chega pelo evento
+            scheduler.onBookingChanged(new BookingChangedEvent(BookingChangedEvent.Type.CREATED, booking));
+            return List.of();
+        });
+
+        scheduler.rebuild();
+
+        assertEquals(2, scheduledReminders(booking), "Os dois lembretes devem entrar na roda");
+    }
+
+    @Test
+    void shouldNotDuplicateRemindersSeenByTheLoadAndTheEvent() {
+        Booking booking = bookingIn(47);
+        when(bookingService.getBookingsBetween(any(), any())).thenAnswer(invocation -> {
+            scheduler.onBookingChanged(new BookingChangedEvent(BookingChangedEvent.Type.CREATED, booking));
+            return List.of(booking);
+        });
+
+        scheduler.rebuild();
+
+        assertEquals(2, scheduledReminders(booking));
+    }
+
+    private static Booking bookingIn(long hours) {
+        LocalDateTime start = LocalDateTime.now(ZONE).plusHours(hours).withSecond(0).withNano(0);
+        Booking booking = new Booking(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                start.toLocalDate(), start.toLocalTime(), start.toLocalTime().plusMinutes(30));
+        ReflectionTestUtils.setField(booking, "id", UUID.randomUUID());
+        return booking;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int scheduledReminders(Booking booking) {
+        Map<UUID, List<?>> timeouts = (Map<UUID, List<?>>) ReflectionTestUtils.getField(scheduler, "timeoutsByBooking");
+        assertNotNull(timeouts);
+        List<?> reminders = timeouts.get(booking.getId());
+        return reminders == null ? 0 : reminders.size();
+    }
+}
@@ -0,0 +1,65 @@
+package com.webbarber.webbarber.infra.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSchedulingConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskSchedulingAutoConfiguration.class))
+            .withUserConfiguration(BrokerConfiguration.class, TaskSchedulingConfiguration.class, Job.class)
+            .withPropertyValues("spring.task.scheduling.thread-name-prefix=jobs-");
+
+    @Test
+    void shouldNotRunScheduledJobsOnTheBrokerScheduler() {
+        contextRunner.run(context -> {
+            Thread thread = context.getBean(Job.class).thread.get(5, TimeUnit.SECONDS);
+            assertTrue(thread.getName().startsWith("jobs-"), thread.getName());
+        });
+    }
+
+    @Test
+    void shouldRunScheduledJobsOnVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            Thread thread = context.getBean(Job.class).thread.get(5, TimeUnit.SECONDS);
+            assertTrue(thread.isVirtual(), thread.getName());
+        });
+    }
+
+    /**
+     * Simula o agendador registrado pelo broker STOMP.
+     */
+    @Configuration
+    @EnableScheduling
+    static class BrokerConfiguration {
+
+        @Bean
+        ThreadPoolTaskScheduler messageBrokerTaskScheduler() {
+            ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+            scheduler.setThreadNamePrefix("MessageBroker-");
+            return scheduler;
+        }
+    }
+
+    static class Job {
+
+        final CompletableFuture<Thread> thread = new CompletableFuture<>();
+
+        @Scheduled(fixedDelay = 10)
+        void run() {
+            thread.complete(Thread.currentThread());
+        }
+    }
+}
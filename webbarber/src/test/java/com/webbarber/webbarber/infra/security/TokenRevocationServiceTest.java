@@ -0,0 +1,34 @@
+package com.webbarber.webbarber.infra.security;
+
+import com.webbarber.webbarber.entity.RevokedToken;
+import com.webbarber.webbarber.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    @Test
+    void shouldLoadRevocationsBeforeServingRequests() {
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        Instant now = Instant.now();
+        when(repository.findRevokedSince(any(), any()))
+                .thenReturn(List.of(new RevokedToken("revoked", now, now.plusSeconds(3600))));
+        TokenRevocationService service = new TokenRevocationService(repository);
+        ReflectionTestUtils.setField(service, "expectedTokens", 1_000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.000001);
+        ReflectionTestUtils.setField(service, "syncOverlapSeconds", 60L);
+
+        service.afterSingletonsInstantiated();
+
+        assertTrue(service.isRevoked("revoked"));
+        assertFalse(service.isRevoked("active"));
+        verify(repository, never()).findById(any());
+    }
+}
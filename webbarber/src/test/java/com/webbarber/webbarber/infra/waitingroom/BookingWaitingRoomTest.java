@@ -0,0 +1,103 @@
+package com.webbarber.webbarber.infra.waitingroom;
+
+import com.webbarber.webbarber.dto.QueueTicketDTO;
+import com.webbarber.webbarber.dto.RequestBookingDTO;
+import com.webbarber.webbarber.exception.BookingOverloadedException;
+import com.webbarber.webbarber.infra.admission.BookingAdmissionController;
+import com.webbarber.webbarber.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookingWaitingRoomTest {
+
+    private static final RequestBookingDTO BOOKING = new RequestBookingDTO(UUID.randomUUID(), UUID.randomUUID(),
+            LocalDate.of(2030, 4, 1), LocalTime.of(9, 0), LocalTime.of(9, 30));
+
+    private BookingService bookingService;
+    private BookingWaitingRoom waitingRoom;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = mock(BookingService.class);
+        waitingRoom = new BookingWaitingRoom(bookingService, new BookingAdmissionController(10, 10, 10, 1_000));
+        ReflectionTestUtils.setField(waitingRoom, "maxSize", 3);
+        ReflectionTestUtils.setField(waitingRoom, "admissionsPerInterval", 2);
+        ReflectionTestUtils.setField(waitingRoom, "ticketTtlMillis", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitingRoom.shutdown();
+    }
+
+    @Test
+    void shouldAdmitAtMostTheConfiguredTicketsPerIntervalInArrivalOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        waitingRoom.enqueue("1", first, BOOKING);
+        waitingRoom.enqueue("2", second, BOOKING);
+        QueueTicketDTO last = waitingRoom.enqueue("3", third, BOOKING);
+        assertEquals(2, last.position());
+
+        waitingRoom.admit();
+
+        verify(bookingService, timeout(1_000)).bookAppointment(first, BOOKING);
+        verify(bookingService, timeout(1_000)).bookAppointment(second, BOOKING);
+        QueueTicketDTO polled = waitingRoom.poll("3", last.ticketId());
+        assertEquals(TicketStatus.WAITING, polled.status());
+        assertEquals(0, polled.position());
+        verify(bookingService, never()).bookAppointment(eq(third), any());
+
+        waitingRoom.admit();
+        verify(bookingService, timeout(1_000)).bookAppointment(third, BOOKING);
+    }
+
+    @Test
+    void shouldRejectNewTicketsWhenTheRoomIsFullButReturnTheWaitingOne() {
+        QueueTicketDTO first = waitingRoom.enqueue("1", UUID.randomUUID(), BOOKING);
+        waitingRoom.enqueue("2", UUID.randomUUID(), BOOKING);
+        waitingRoom.enqueue("3", UUID.randomUUID(), BOOKING);
+
+        assertThrows(BookingOverloadedException.class, () -> waitingRoom.enqueue("4", UUID.randomUUID(), BOOKING));
+        assertEquals(first.ticketId(), waitingRoom.enqueue("1", UUID.randomUUID(), BOOKING).ticketId(),
+                "Quem já aguarda recebe o mesmo ticket");
+    }
+
+    @Test
+    void shouldExpireUnpolledTicketsSkipThemInPositionsAndFreeTheirPlaces() throws InterruptedException {
+        ReflectionTestUtils.setField(waitingRoom, "ticketTtlMillis", 50L);
+        QueueTicketDTO abandoned = waitingRoom.enqueue("1", UUID.randomUUID(), BOOKING);
+        waitingRoom.enqueue("2", UUID.randomUUID(), BOOKING);
+        Thread.sleep(100);
+        UUID active = UUID.randomUUID();
+        QueueTicketDTO waiting = waitingRoom.enqueue("3", active, BOOKING);
+        assertEquals(2, waiting.position());
+
+        // Nenhuma admissão neste intervalo: apenas a expiração dos tickets abandonados
+        ReflectionTestUtils.setField(waitingRoom, "admissionsPerInterval", 0);
+        waitingRoom.admit();
+
+        assertEquals(0, waitingRoom.poll("3", waiting.ticketId()).position());
+        assertEquals(TicketStatus.EXPIRED, waitingRoom.poll("1", abandoned.ticketId()).status());
+        waitingRoom.enqueue("4", UUID.randomUUID(), BOOKING);
+        assertEquals(2, waitingRoom.enqueue("5", UUID.randomUUID(), BOOKING).position(),
+                "As vagas dos tickets expirados foram liberadas");
+
+        ReflectionTestUtils.setField(waitingRoom, "admissionsPerInterval", 1);
+        waitingRoom.admit();
+        verify(bookingService, timeout(1_000)).bookAppointment(active, BOOKING);
+        verify(bookingService, times(1)).bookAppointment(any(), any());
+    }
+}
@@ -0,0 +1,309 @@
+package com.webbarber.webbarber.repository;
+
+import com.webbarber.webbarber.repository.StatementRecorder.RecordedStatement;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Chama cada consulta dos repositórios de agendamentos, horários, exceções de horário e serviços, grava o SQL que o
+ * Hibernate realmente enviou ao banco (com os mesmos parâmetros) e executa EXPLAIN sobre ele, falhando se alguma
+ * delas depender de uma varredura sequencial. As varreduras sequenciais são desestimuladas
+ * ({@code enable_seqscan = off}), de modo que o planejador só as escolhe quando não existe índice capaz de atender a
+ * consulta. As consultas de agendamentos filtradas por data também precisam ler uma única partição mensal. Os dados
+ * semeados e as exclusões feitas pelas consultas são desfeitos ao fim de cada teste.
+ */
+@SpringBootTest
+@Transactional
+class QueryPlanTest {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("\"Node Type\"\\s*:\\s*\"Seq Scan\"");
+    private static final Pattern BOOKINGS_PARTITION = Pattern.compile("\"Relation Name\"\\s*:\\s*\"(bookings_\\w+)\"");
+
+    private static final UUID BARBER = seeded("barber-3");
+    private static final UUID USER = seeded("user-42");
+    private static final UUID SERVICE = seeded("service-2");
+    private static final LocalDate DAY = LocalDate.of(2024, 2, 1);
+
+    // Consultas que filtram os agendamentos por um dia ou intervalo dentro de fevereiro de 2024
+    private static final Set<String> SINGLE_PARTITION_QUERIES = Set.of(
+            "BookingRepository.findByBarberIdAndDateAndStartTime",
+            "BookingRepository.findStartTimesByBarberIdAndDate",
+            "BookingRepository.findConflictingBooking",
+            "BookingRepository.findAllByBarberIdAndDate",
+            "BookingRepository.findAllByUserIdAndDateBetween",
+            "BookingRepository.findAllByDateBetween",
+            "BookingRepository.streamAgendaByDate",
+            "TimeSlotRepository.findAvailabilityVersion");
+
+    /**
+     * Grava os comandos enviados ao banco durante os testes.
+     */
+    @TestConfiguration
+    static class StatementRecorderConfiguration {
+
+        @Bean
+        static BeanPostProcessor statementRecorder() {
+            return StatementRecorder.dataSourceWrapper();
+        }
+    }
+
+    /**
+     * Chamada de uma consulta de repositório.
+     */
+    @FunctionalInterface
+    interface RepositoryCall {
+        Object call(QueryPlanTest test);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private TimeSlotOverrideRepository timeSlotOverrideRepository;
+
+    @Autowired
+    private TimeSlotRangeOverrideRepository timeSlotRangeOverrideRepository;
+
+    @Autowired
+    private TimeSlotRecurringOverrideRepository timeSlotRecurringOverrideRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @BeforeEach
+    void seed() {
+        for (int month = 0; month < 4; month++) {
+            jdbcTemplate.queryForObject("SELECT create_bookings_partition(DATE '2024-01-01' + INTERVAL '" + month + " months')",
+                    String.class);
+        }
+        jdbcTemplate.execute("INSERT INTO barbers (id, name, phone, password) " +
+                "SELECT md5('barber-' || i)::uuid, 'Barbeiro ' || i, '+55830000' || lpad(i::text, 5, '0'), 'x' FROM generate_series(1, 20) i");
+        jdbcTemplate.execute("INSERT INTO users (id, name, phone, password) " +
+                "SELECT md5('user-' || i)::uuid, 'Cliente ' || i, '+55839999' || lpad(i::text, 5, '0'), 'x' FROM generate_series(1, 500) i");
+        jdbcTemplate.execute("INSERT INTO services (id, barber_id, name, duration, active) " +
+                "SELECT md5('service-' || i)::uuid, md5('barber-' || (i % 20 + 1))::uuid, 'Corte ' || i, 1, i % 4 <> 0 FROM generate_series(1, 100) i");
+        jdbcTemplate.execute("INSERT INTO bookings (id, barber_id, user_id, service_id, \"date\", start_time, end_time) " +
+                "SELECT md5('booking-' || i)::uuid, md5('barber-' || (i % 20 + 1))::uuid, md5('user-' || (i % 500 + 1))::uuid, md5('service-' || (i % 100 + 1))::uuid, " +
+                "DATE '2024-01-01' + (i / 400), TIME '08:00' + (i % 20) * INTERVAL '30 minutes', " +
+                "TIME '08:30' + (i % 20) * INTERVAL '30 minutes' FROM generate_series(1, 40000) i");
+        jdbcTemplate.execute("INSERT INTO timeslot (id, barber_id, day_of_week, am_start_time, am_end_time, pm_start_time, pm_end_time, interval) " +
+                "SELECT md5('timeslot-' || b || '-' || d)::uuid, md5('barber-' || b)::uuid, d, '08:00', '12:00', '13:00', '18:00', 30 " +
+                "FROM generate_series(1, 20) b, generate_series(1, 7) d");
+        jdbcTemplate.execute("INSERT INTO timeslot_override (id, barber_id, \"date\", interval, is_closed) " +
+                "SELECT md5('override-' || b || '-' || d)::uuid, md5('barber-' || b)::uuid, DATE '2024-01-01' + d, 30, false " +
+                "FROM generate_series(1, 20) b, generate_series(1, 100) d");
+        jdbcTemplate.execute("INSERT INTO timeslot_override_closed_slots (timeslot_override_id, closed_slots) " +
+                "SELECT md5('override-' || b || '-' || d)::uuid, '09:00' FROM generate_series(1, 20) b, generate_series(1, 100) d");
+        for (String table : new String[]{"barbers", "users", "services", "bookings", "timeslot", "timeslot_override",
+                "timeslot_override_closed_slots"}) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("BookingRepository.findById",
+                        t -> t.bookingRepository.findById(seeded("booking-10"))),
+                // 07:00 fica fora dos horários semeados, então as consultas de resultado único não encontram mais de uma linha
+                query("BookingRepository.findByBarberIdAndDateAndStartTime",
+                        t -> t.bookingRepository.findByBarberIdAndDateAndStartTime(BARBER, DAY, LocalTime.of(7, 0))),
+                query("BookingRepository.findStartTimesByBarberIdAndDate",
+                        t -> t.bookingRepository.findStartTimesByBarberIdAndDate(BARBER, DAY)),
+                query("BookingRepository.findConflictingBooking",
+                        t -> t.bookingRepository.findConflictingBooking(BARBER, DAY, LocalTime.of(7, 15))),
+                query("BookingRepository.findAllByBarberIdAndDate",
+                        t -> t.bookingRepository.findAllByBarberIdAndDate(BARBER, DAY)),
+                query("BookingRepository.findAllByBarberIdAndUserId",
+                        t -> t.bookingRepository.findAllByBarberIdAndUserId(BARBER, USER)),
+                query("BookingRepository.findAllByUserId",
+                        t -> t.bookingRepository.findAllByUserId(USER)),
+                query("BookingRepository.findAllByUserIdFrom",
+                        t -> t.bookingRepository.findAllByUserIdFrom(USER, DAY)),
+                query("BookingRepository.findAllByUserIdUntil",
+                        t -> t.bookingRepository.findAllByUserIdUntil(USER, DAY)),
+                query("BookingRepository.findAllByUserIdAndDateBetween",
+                        t -> t.bookingRepository.findAllByUserIdAndDateBetween(USER, DAY, DAY.plusDays(27))),
+                query("BookingArchiveRepository.findAllByUserIdAndDateBetween",
+                        t -> t.bookingArchiveRepository.findAllByUserIdAndDateBetween(USER, LocalDate.of(2023, 1, 1),
+                                LocalDate.of(2023, 12, 31))),
+                query("BookingArchiveRepository.findAllByBarberIdAndUserIdAndDateBetween",
+                        t -> t.bookingArchiveRepository.findAllByBarberIdAndUserIdAndDateBetween(BARBER, USER,
+                                LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31))),
+                query("BookingRepository.findAllByDateBetween",
+                        t -> t.bookingRepository.findAllByDateBetween(DAY, DAY.plusDays(2))),
+                query("BookingRepository.findExistingIds",
+                        t -> t.bookingRepository.findExistingIds(
+                                List.of(seeded("booking-1"), seeded("booking-2"), seeded("booking-3")))),
+                query("BookingRepository.streamAgendaByDate",
+                        t -> t.bookingRepository.streamAgendaByDate(DAY)),
+                query("BookingRepository.findSyncByBarberId",
+                        t -> t.bookingRepository.findSyncByBarberId(BARBER, 100, 200)),
+                query("BookingRepository.findSyncByUserId",
+                        t -> t.bookingRepository.findSyncByUserId(USER, 100, 200)),
+                query("TimeSlotRepository.findByBarberIdAndDayOfWeek",
+                        t -> t.timeSlotRepository.findByBarberIdAndDayOfWeek(BARBER, 2)),
+                query("TimeSlotRepository.optionalFindByBarberIdAndDayOfWeek",
+                        t -> t.timeSlotRepository.optionalFindByBarberIdAndDayOfWeek(BARBER, 2)),
+                query("TimeSlotRepository.findSyncByBarberId",
+                        t -> t.timeSlotRepository.findSyncByBarberId(BARBER, 100, 200)),
+                query("TimeSlotRepository.findAvailabilityVersion",
+                        t -> t.timeSlotRepository.findAvailabilityVersion(BARBER, DAY.plusDays(9))),
+                // Carrega também os horários fechados da alteração, em um segundo comando
+                query("TimeSlotOverrideRepository.findByBarberIdAndDate",
+                        t -> t.timeSlotOverrideRepository.findByBarberIdAndDate(BARBER, DAY)),
+                query("TimeSlotOverrideRepository.lockExpiredIds",
+                        t -> t.timeSlotOverrideRepository.lockExpiredIds(LocalDate.of(2024, 1, 10), 500)),
+                query("TimeSlotOverrideRepository.deleteClosedSlotsByOverrideIds",
+                        t -> t.timeSlotOverrideRepository.deleteClosedSlotsByOverrideIds(
+                                List.of(seeded("override-3-1"), seeded("override-3-2")))),
+                query("TimeSlotOverrideRepository.findSyncByBarberId",
+                        t -> t.timeSlotOverrideRepository.findSyncByBarberId(BARBER, 100, 200)),
+                query("TimeSlotRangeOverrideRepository.findCurrentByBarberId",
+                        t -> t.timeSlotRangeOverrideRepository.findCurrentByBarberId(BARBER, DAY.plusDays(9))),
+                query("TimeSlotRangeOverrideRepository.existsOverlapping",
+                        t -> t.timeSlotRangeOverrideRepository.existsOverlapping(BARBER, DAY.plusDays(9), DAY.plusDays(19))),
+                query("TimeSlotRangeOverrideRepository.findSyncByBarberId",
+                        t -> t.timeSlotRangeOverrideRepository.findSyncByBarberId(BARBER, 100, 200)),
+                query("TimeSlotRecurringOverrideRepository.findActiveByBarberId",
+                        t -> t.timeSlotRecurringOverrideRepository.findActiveByBarberId(BARBER, DAY, DAY.plusDays(28))),
+                query("TimeSlotRecurringOverrideRepository.findCurrentByBarberId",
+                        t -> t.timeSlotRecurringOverrideRepository.findCurrentByBarberId(BARBER, DAY)),
+                query("TimeSlotRecurringOverrideRepository.findSyncByBarberId",
+                        t -> t.timeSlotRecurringOverrideRepository.findSyncByBarberId(BARBER, 100, 200)),
+                query("ServiceRepository.findByBarberIdAndId",
+                        t -> t.serviceRepository.findByBarberIdAndId(BARBER, SERVICE)),
+                query("ServiceRepository.existsByBarberIdAndId",
+                        t -> t.serviceRepository.existsByBarberIdAndId(BARBER, SERVICE)),
+                query("ServiceRepository.findAllByBarberIdAndActiveTrue",
+                        t -> t.serviceRepository.findAllByBarberIdAndActiveTrue(BARBER)),
+                query("ServiceRepository.getDurationByBarberIdAndId",
+                        t -> t.serviceRepository.getDurationByBarberIdAndId(BARBER, SERVICE)),
+                query("ServiceRepository.findSyncByBarberId",
+                        t -> t.serviceRepository.findSyncByBarberId(BARBER, 100, 200)),
+                query("ServiceRepository.findVersionByBarberId",
+                        t -> t.serviceRepository.findVersionByBarberId(BARBER)));
+    }
+
+    static Stream<Arguments> singlePartitionBookingQueries() {
+        return repositoryQueries().filter(arguments -> SINGLE_PARTITION_QUERIES.contains((String) arguments.get()[0]));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void shouldNotFallBackToSequentialScan(String query, RepositoryCall call) {
+        for (RecordedStatement statement : run(query, call)) {
+            String plan = explain(statement);
+
+            assertFalse(SEQ_SCAN.matcher(plan).find(), query + " usa varredura sequencial em:\n" + statement.sql() + "\n" + plan);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("singlePartitionBookingQueries")
+    void shouldPruneToSingleBookingsPartition(String query, RepositoryCall call) {
+        Set<String> partitions = new TreeSet<>();
+        StringBuilder plans = new StringBuilder();
+        for (RecordedStatement statement : run(query, call)) {
+            String plan = explain(statement);
+            plans.append(statement.sql()).append('\n').append(plan).append('\n');
+            Matcher matcher = BOOKINGS_PARTITION.matcher(plan);
+            while (matcher.find()) {
+                partitions.add(matcher.group(1));
+            }
+        }
+        assertEquals(Set.of("bookings_p2024_02"), partitions, query + " não descarta as demais partições:\n" + plans);
+    }
+
+    private static Arguments query(String name, RepositoryCall call) {
+        return Arguments.of(name, call);
+    }
+
+    /**
+     * Executa a consulta com o cache de segundo nível vazio, para que ela chegue ao banco, e devolve os comandos enviados.
+     *
+     * @param query Nome da consulta.
+     * @param call Chamada da consulta.
+     * @return Os comandos preparados durante a chamada.
+     */
+    private List<RecordedStatement> run(String query, RepositoryCall call) {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        List<RecordedStatement> statements = StatementRecorder.record(() -> {
+            if(call.call(this) instanceof Stream<?> stream) {
+                try (stream) {
+                    stream.forEach(row -> {});
+                }
+            }
+        });
+        assertFalse(statements.isEmpty(), query + " não enviou nenhum comando ao banco");
+        return statements;
+    }
+
+    private String explain(RecordedStatement statement) {
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = statement.prepare(connection, "EXPLAIN (FORMAT JSON) ");
+                 ResultSet resultSet = explain.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        });
+        assertNotNull(plan);
+        return plan;
+    }
+
+    /**
+     * Reproduz os IDs semeados, gerados no banco com {@code md5(chave)::uuid}.
+     *
+     * @param key Chave usada na semeadura, como {@code "barber-3"}.
+     * @return O ID correspondente.
+     */
+    private static UUID seeded(String key) {
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8)));
+            return new UUID(digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
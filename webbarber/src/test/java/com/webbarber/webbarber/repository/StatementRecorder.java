@@ -0,0 +1,149 @@
+package com.webbarber.webbarber.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava os comandos SQL preparados pelo Hibernate e os valores associados a eles, para que os testes possam
+ * reexecutar exatamente o mesmo comando (por exemplo, sob {@code EXPLAIN}). O {@link DataSource} da aplicação é
+ * envolvido por um proxy que só grava enquanto {@link #record(Runnable)} está em execução.
+ */
+final class StatementRecorder {
+
+    /**
+     * Comando preparado e as chamadas {@code setXxx(índice, valor...)} feitas sobre ele, na ordem.
+     *
+     * @param sql Comando SQL.
+     * @param binds Chamadas de associação de parâmetros.
+     */
+    record RecordedStatement(String sql, List<Bind> binds) {
+
+        /**
+         * Prepara o comando com um prefixo e reaplica os mesmos parâmetros.
+         *
+         * @param connection Conexão usada na reexecução.
+         * @param prefix Prefixo do comando, como {@code "EXPLAIN "}.
+         * @return O comando preparado, com os parâmetros associados.
+         * @throws SQLException Se a preparação ou a associação falhar.
+         */
+        PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            try {
+                for (Bind bind : binds) {
+                    bind.method().invoke(statement, bind.args());
+                }
+            } catch (IllegalAccessException | InvocationTargetException exception) {
+                statement.close();
+                throw new SQLException("Falha ao reaplicar os parâmetros de: " + sql, exception);
+            }
+            return statement;
+        }
+    }
+
+    /**
+     * Chamada de associação de parâmetro, como {@code setObject(1, valor, tipo)}.
+     *
+     * @param method Método chamado.
+     * @param args Argumentos da chamada.
+     */
+    record Bind(Method method, Object[] args) {}
+
+    private static final List<RecordedStatement> RECORDED = new ArrayList<>();
+    private static volatile boolean recording;
+
+    private StatementRecorder() {}
+
+    /**
+     * Executa uma ação gravando os comandos que ela preparar.
+     *
+     * @param action Ação a ser executada.
+     * @return Os comandos preparados pela ação, na ordem.
+     */
+    static synchronized List<RecordedStatement> record(Runnable action) {
+        RECORDED.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(RECORDED);
+    }
+
+    /**
+     * Pós-processador que envolve o {@link DataSource} da aplicação no proxy de gravação.
+     *
+     * @return O pós-processador.
+     */
+    static BeanPostProcessor dataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(!(bean instanceof DataSource dataSource)) return bean;
+                return proxy(dataSource, new Class<?>[]{DataSource.class, AutoCloseable.class}, (method, args, result) ->
+                        result instanceof Connection connection ? wrap(connection) : result);
+            }
+        };
+    }
+
+    /**
+     * Envolve uma conexão, gravando os comandos preparados por ela.
+     *
+     * @param connection Conexão original.
+     * @return A conexão envolvida.
+     */
+    private static Connection wrap(Connection connection) {
+        return (Connection) proxy(connection, new Class<?>[]{Connection.class}, (method, args, result) -> {
+            if(!recording || !method.getName().equals("prepareStatement")) return result;
+            RecordedStatement recorded = new RecordedStatement((String) args[0], new ArrayList<>());
+            RECORDED.add(recorded);
+            return wrap((PreparedStatement) result, recorded);
+        });
+    }
+
+    /**
+     * Envolve um comando preparado, gravando as associações de parâmetros feitas sobre ele.
+     *
+     * @param statement Comando original.
+     * @param recorded Registro do comando.
+     * @return O comando envolvido.
+     */
+    private static PreparedStatement wrap(PreparedStatement statement, RecordedStatement recorded) {
+        return (PreparedStatement) proxy(statement, new Class<?>[]{PreparedStatement.class}, (method, args, result) -> {
+            // setFetchSize(int), setMaxRows(int) e similares configuram o comando, não associam parâmetros
+            if(method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                recorded.binds().add(new Bind(method, args.clone()));
+            }
+            return result;
+        });
+    }
+
+    private interface ResultHandler {
+        Object handle(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    private static Object proxy(Object target, Class<?>[] interfaces, ResultHandler resultHandler) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            // As chaves de recursos das transações são comparadas por igualdade; o proxy só é igual a si mesmo
+            if(method.getName().equals("equals") && args != null && args.length == 1) return proxy == args[0];
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+            return resultHandler.handle(method, args, result);
+        };
+        return Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), interfaces, handler);
+    }
+}
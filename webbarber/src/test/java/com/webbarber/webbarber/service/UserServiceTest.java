@@ -9,6 +9,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import java.util.Optional;
+import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -23,6 +24,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     private final String testPhone = "+5583993250033";
+    private final UUID testUserId = UUID.randomUUID();
     private final String testName = "User";
     private final String encodedPassword = "encodedPassword123";
 
@@ -30,23 +32,23 @@ class UserServiceTest {
     void whenValidUserIdThenUserShouldBeFound() {
         User mockUser = new User(testName, testPhone, encodedPassword);
 
-        when(userService.getUserById(testPhone)).thenReturn(Optional.of(mockUser));
+        when(userService.getUserById(testUserId)).thenReturn(Optional.of(mockUser));
 
-        Optional<User> found = userService.getUserById(testPhone);
+        Optional<User> found = userService.getUserById(testUserId);
 
         assertTrue(found.isPresent(), "O usuário deveria estar presente");
         assertEquals(testName, found.get().getName());
         assertEquals(testPhone, found.get().getPhone());
 
-        verify(userService, times(1)).getUserById(testPhone);
+        verify(userService, times(1)).getUserById(testUserId);
     }
 
     @Test
     void whenInvalidUserIdThenUserShouldNotBeFound() {
-        String notRegisteredPhone = "+552389823682";
-        Optional<User> found = userService.getUserById(notRegisteredPhone); //invalid phone
+        UUID notRegisteredId = UUID.randomUUID();
+        Optional<User> found = userService.getUserById(notRegisteredId); //invalid id
         assertFalse(found.isPresent(), "Usuário inválido");
-        verify(userService, times(1)).getUserById(notRegisteredPhone);
+        verify(userService, times(1)).getUserById(notRegisteredId);
     }
 
     @Test